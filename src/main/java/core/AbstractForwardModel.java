@@ -2,6 +2,7 @@ package core;
 
 import core.actions.AbstractAction;
 import utilities.ElapsedCpuChessTimer;
+import utilities.FastRandom;
 import utilities.Utils;
 
 import java.util.Arrays;
@@ -13,6 +14,9 @@ import static core.CoreConstants.VERBOSE;
 
 public abstract class AbstractForwardModel {
 
+    // Picks actions for players who ran out of time or played an illegal action; split from the game seed in setup
+    private FastRandom rnd;
+
     /* Limited access/Final methods */
 
     /**
@@ -32,6 +36,7 @@ public abstract class AbstractForwardModel {
                     firstState.gameParameters.incrementRoundS, firstState.gameParameters.incrementMilestoneS);
         }
 
+        rnd = new FastRandom(firstState.gameParameters.getRandomSeed()).split();
         _setup(firstState);
         firstState.addAllComponents();
     }
@@ -69,6 +74,21 @@ public abstract class AbstractForwardModel {
      */
     protected abstract List<AbstractAction> _computeAvailableActions(AbstractGameState gameState);
 
+    /**
+     * Picks one of the actions currently available uniformly at random, as computeAvailableActions() would list them.
+     * By default this computes the full list and picks one; games with many actions can override it to count the
+     * options and build only the one picked. Any changes _computeAvailableActions() makes to the state must be made
+     * here too, and the distribution must be the same (the order of the options does not matter).
+     *
+     * @param gameState - current game state, not in the middle of an extended action sequence.
+     * @param rnd       - random generator to pick with.
+     * @return - the action picked, or null if there are no actions available.
+     */
+    protected AbstractAction _sampleRandomAction(AbstractGameState gameState, Random rnd) {
+        List<AbstractAction> actions = _computeAvailableActions(gameState);
+        return actions.isEmpty() ? null : actions.get(rnd.nextInt(actions.size()));
+    }
+
     /**
      * Gets a copy of the FM with a new random number generator.
      *
@@ -104,8 +124,12 @@ public abstract class AbstractForwardModel {
             gameState.setPlayerResult(Utils.GameResult.DISQUALIFY, gameState.getCurrentPlayer());
             gameState.turnOrder.endPlayerTurn(gameState);
         } else {
+            if (rnd == null) {
+                // Copies given to players are not set up
+                rnd = new FastRandom(gameState.getGameParameters().getRandomSeed()).split();
+            }
             List<AbstractAction> possibleActions = computeAvailableActions(gameState);
-            int randomAction = new Random(gameState.getGameParameters().getRandomSeed()).nextInt(possibleActions.size());
+            int randomAction = rnd.nextInt(possibleActions.size());
             next(gameState, possibleActions.get(randomAction));
         }
     }
@@ -158,6 +182,23 @@ public abstract class AbstractForwardModel {
         return _computeAvailableActions(gameState);
     }
 
+    /**
+     * Picks one of the available actions uniformly at random. Equivalent to picking a random element of the list
+     * returned by computeAvailableActions(), but games can implement it without building the whole list, which makes
+     * random rollouts much cheaper when many actions are available.
+     *
+     * @param gameState - game state to pick an action in.
+     * @param rnd       - random generator to pick with.
+     * @return - the action picked, or null if there are no actions available.
+     */
+    public final AbstractAction sampleRandomAction(AbstractGameState gameState, Random rnd) {
+        if (gameState.isActionInProgress()) {
+            List<AbstractAction> actions = computeAvailableActions(gameState);
+            return actions.isEmpty() ? null : actions.get(rnd.nextInt(actions.size()));
+        }
+        return _sampleRandomAction(gameState, rnd);
+    }
+
     /**
      * Returns a copy of this forward model with a new random seed.
      *
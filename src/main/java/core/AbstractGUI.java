@@ -3,6 +3,7 @@ package core;
 import core.actions.AbstractAction;
 import gui.WindowInput;
 import players.human.ActionController;
+import utilities.Pair;
 import utilities.Utils;
 
 import javax.swing.*;
@@ -10,9 +11,11 @@ import java.awt.*;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
+import static core.CoreConstants.FRAME_SLEEP_MS;
 import static java.util.stream.Collectors.*;
 
 @SuppressWarnings("rawtypes")
@@ -23,6 +26,7 @@ public abstract class AbstractGUI extends JFrame {
     public static int defaultCardWidth = 100, defaultCardHeight = 80;
     public static int defaultBoardWidth = 400, defaultBoardHeight = 300;
     public static int defaultDisplayWidth = 500, defaultDisplayHeight = 400;
+    public static int spectatorQueueSize = 5;
 
     protected ActionButton[] actionButtons;
     protected int maxActionSpace;
@@ -33,6 +37,13 @@ public abstract class AbstractGUI extends JFrame {
     private int actionsAtLastUpdate;
     private WindowInput wi;
 
+    // Snapshots published by the game loop, rendered on the Swing EDT at this GUI's own frame rate.
+    // When the game runs faster than the GUI renders, the oldest snapshots are dropped.
+    private final ArrayBlockingQueue<Pair<AbstractPlayer, AbstractGameState>> spectatorQueue =
+            new ArrayBlockingQueue<>(spectatorQueueSize);
+    private Timer frameTimer;
+    protected int frameDelayMS = (int) FRAME_SLEEP_MS;
+
     protected int width, height;
 
     public AbstractGUI(ActionController ac, int maxActionSpace) {
@@ -58,6 +69,24 @@ public abstract class AbstractGUI extends JFrame {
         setDefaultCloseOperation(DISPOSE_ON_CLOSE);
 //        setDefaultCloseOperation(EXIT_ON_CLOSE);
         repaint();
+
+        // Start rendering published snapshots, now that the subclass has finished building its views
+        frameTimer = new Timer(frameDelayMS, e -> renderNextSnapshot());
+        frameTimer.start();
+    }
+
+    /**
+     * Renders the oldest snapshot published since the last frame, if any. Runs on the Swing EDT.
+     */
+    private void renderNextSnapshot() {
+        if (!isWindowOpen()) {
+            frameTimer.stop();
+            return;
+        }
+        Pair<AbstractPlayer, AbstractGameState> snapshot = spectatorQueue.poll();
+        if (snapshot != null) {
+            update(snapshot.a, snapshot.b);
+        }
     }
 
     /* Methods that should/can be implemented by subclass */
@@ -164,9 +193,9 @@ public abstract class AbstractGUI extends JFrame {
      * @param gameState - current game state to be used for the update.
      */
     protected void updateGameStateInfo(AbstractGameState gameState) {
-        List<String> history = gameState.getHistoryAsText();
-        if (history.size() > actionsAtLastUpdate) {
+        if (gameState.getHistorySize() > actionsAtLastUpdate) {
             // this is to stop the panel updating on every tick during one's own turn
+            List<String> history = gameState.getHistoryAsText();
             actionsAtLastUpdate = history.size();
             historyInfo.setText(String.join("\n", history));
             historyInfo.setCaretPosition(historyInfo.getDocument().getLength());
@@ -187,7 +216,32 @@ public abstract class AbstractGUI extends JFrame {
     /* Public API */
 
     /**
-     * Updates the GUI, public method called from the Game class. Updates game state info panels, resets action buttons
+     * Publishes the current state of the game for display, public method called from the Game class.
+     * A copy of the state is queued, and rendered later on the Swing EDT, so this returns immediately and never
+     * blocks the game loop. If the queue is full, the oldest snapshot is dropped.
+     * @param player - current player acting.
+     * @param gameState - current game state, copied before being queued.
+     */
+    public void publish(AbstractPlayer player, AbstractGameState gameState) {
+        Pair<AbstractPlayer, AbstractGameState> snapshot = new Pair<>(player, gameState.copy());
+        while (!spectatorQueue.offer(snapshot)) {
+            spectatorQueue.poll();
+        }
+    }
+
+    /**
+     * Sets the delay between frames rendered by this GUI.
+     * @param frameDelayMS - delay in milliseconds.
+     */
+    public void setFrameDelay(int frameDelayMS) {
+        this.frameDelayMS = frameDelayMS;
+        if (frameTimer != null) {
+            frameTimer.setDelay(frameDelayMS);
+        }
+    }
+
+    /**
+     * Updates the GUI, called on the Swing EDT with snapshots published by the game. Updates game state info panels, resets action buttons
      * and then calls the _update() method to allow subclasses to update their inner state.
      * @param player - current player acting.
      * @param gameState - current game state to be used in updating visuals.
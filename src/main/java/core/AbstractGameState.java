@@ -3,6 +3,7 @@ package core;
 import core.actions.AbstractAction;
 import core.components.Area;
 import core.components.Component;
+import core.components.Deck;
 import core.components.PartialObservableDeck;
 import core.interfaces.IComponentContainer;
 import core.interfaces.IExtendedSequence;
@@ -13,8 +14,8 @@ import utilities.ElapsedCpuChessTimer;
 import utilities.Utils;
 
 import java.util.*;
+import java.util.function.Predicate;
 
-import static java.util.stream.Collectors.toList;
 import static utilities.Utils.GameResult.GAME_ONGOING;
 import static utilities.Utils.GameResult.WIN;
 
@@ -34,16 +35,16 @@ public abstract class AbstractGameState {
     // Parameters, forward model and turn order for the game
     protected final AbstractParameters gameParameters;
     protected TurnOrder turnOrder;
-    private Area allComponents;
+    private ComponentRegistry allComponents;
 
     // Timers for all players
     protected ElapsedCpuChessTimer[] playerTimer;
     // Game being played
     protected final GameType gameType;
 
-    // A record of all actions taken to reach this game state
-    private List<AbstractAction> history = new ArrayList<>();
-    private List<String> historyText = new ArrayList<>();
+    // A record of all actions taken to reach this game state. Entries are immutable and shared by copies.
+    private HistoryEntry history;
+    private CoreConstants.HistoryMode historyMode = CoreConstants.HistoryMode.ACTIONS;
 
     // Status of the game, and status for each player (in cooperative games, the game status is also each player's status)
     protected Utils.GameResult gameStatus;
@@ -76,13 +77,12 @@ public abstract class AbstractGameState {
      */
     void reset() {
         turnOrder.reset();
-        allComponents = new Area(-1, "All Components");
+        allComponents = new ComponentRegistry();
         gameStatus = GAME_ONGOING;
         playerResults = new Utils.GameResult[getNPlayers()];
         Arrays.fill(playerResults, GAME_ONGOING);
         gamePhase = DefaultGamePhase.Main;
-        history = new ArrayList<>();
-        historyText = new ArrayList<>();
+        history = null;
         playerTimer = new ElapsedCpuChessTimer[getNPlayers()];
         _reset();
     }
@@ -120,11 +120,22 @@ public abstract class AbstractGameState {
         return gamePhase;
     }
     public final Component getComponentById(int id) {
-        return allComponents.getComponent(id);
+        Component c = allComponents.get(id);
+        if (c == null && id >= 0) {
+            // The component may have been created since the components were last registered
+            addAllComponents();
+            c = allComponents.get(id);
+        }
+        return c;
     }
+
+    /**
+     * @return - a new Area with every component in the state, including those inside other components (for GUIs and
+     * reports; actions should use getComponentById()).
+     */
     public final Area getAllComponents() {
         addAllComponents(); // otherwise the list of allComponents is only ever updated when we copy the state!
-        return allComponents;
+        return allComponents.toArea();
     }
 
     /**
@@ -142,11 +153,11 @@ public abstract class AbstractGameState {
     /* Limited access final methods */
 
     /**
-     * Adds all components given by the game to the allComponents map in the correct way, first clearing the map.
+     * Registers all components given by the game, and those they contain, so they can be found by getComponentById().
+     * This replaces the components registered before. Needs calling when components have been replaced by new ones.
      */
     protected final void addAllComponents() {
-        allComponents.clear();
-        allComponents.putComponents(_getAllComponents());
+        allComponents.register(_getAllComponents());
     }
 
     /**
@@ -159,16 +170,16 @@ public abstract class AbstractGameState {
         AbstractGameState s = _copy(playerId);
         // Copy super class things
         s.turnOrder = turnOrder.copy();
-        s.allComponents = new Area(-1, "All components");
+        s.allComponents = allComponents.emptyCopy();  // Same component IDs, so the copy shares the ID layout
         s.gameStatus = gameStatus;
         s.playerResults = playerResults.clone();
         s.gamePhase = gamePhase;
         s.data = data;  // Should never be modified
 
+        s.historyMode = historyMode;
         if (!CoreConstants.COMPETITION_MODE) {
-            s.history = new ArrayList<>(history);
-            s.historyText = new ArrayList<>(historyText);
-            // we do not copy individual actions in history, as these are now dead and should not change
+            s.history = history;
+            // History entries are never modified, so the copy shares them and only adds its own on top
             // History is for debugging and spectation of games. There is a risk that History might contain information
             // formally hidden to some participants. For this reason, in COMPETITION_MODE we explicitly do not copy
             // any history over in case a sneaky agent tries to take advantage of it.
@@ -187,6 +198,10 @@ public abstract class AbstractGameState {
 
         // Update the list of components for ID matching in actions.
         s.addAllComponents();
+        if (playerId == -1 && !allComponents.sameLayout(s.allComponents)) {
+            // Components were created or dropped since this state last registered them, catch up with the copy
+            allComponents.register(_getAllComponents(), s.allComponents);
+        }
         return s;
     }
 
@@ -291,44 +306,107 @@ public abstract class AbstractGameState {
 
     private List<Integer> unknownComponents(IComponentContainer<?> container, int player) {
         ArrayList<Integer> retValue = new ArrayList<>();
-        if (container instanceof PartialObservableDeck<?>) {
-            PartialObservableDeck<?> pod = (PartialObservableDeck<?>) container;
-            for (int i = 0; i < pod.getSize(); i++) {
-                if (!pod.getVisibilityForPlayer(i, player))
-                    retValue.add(pod.get(i).getComponentID());
-            }
-        } else {
-            switch (container.getVisibilityMode()) {
-                case VISIBLE_TO_ALL:
-                    break;
-                case HIDDEN_TO_ALL:
-                    retValue.addAll(container.getComponents().stream().map(Component::getComponentID).collect(toList()));
-                    break;
-                case VISIBLE_TO_OWNER:
-                    if (((Component) container).getOwnerId() != player)
-                        retValue.addAll(container.getComponents().stream().map(Component::getComponentID).collect(toList()));
-                    break;
-                case FIRST_VISIBLE_TO_ALL:
-                    // add everything as unseen, and then remove the first element
-                    retValue.addAll(container.getComponents().stream().map(Component::getComponentID).collect(toList()));
-                    retValue.remove(container.getComponents().get(0).getComponentID());
-                    break;
-                case LAST_VISIBLE_TO_ALL:
-                    // add in the ID of the last item only
-                    int length = container.getComponents().size();
-                    retValue.add(container.getComponents().get(length - 1).getComponentID());
-                    break;
-                case MIXED_VISIBILITY:
-                    throw new AssertionError("If something uses this visibility mode, then you need to also add code to this method please!");
-            }
+        List<? extends Component> components = container.getComponents();
+        for (int i = 0; i < components.size(); i++) {
+            if (isHidden(container, i, player))
+                retValue.add(components.get(i).getComponentID());
         }
         // we also need to run through the contents in case that contains any Containers
-        container.getComponents().stream().filter(c -> c instanceof IComponentContainer<?>).forEach( c->
+        components.stream().filter(c -> c instanceof IComponentContainer<?>).forEach( c->
                 retValue.addAll(unknownComponents((IComponentContainer<?>) c, player))
         );
         return retValue;
     }
 
+    /**
+     * @param container - container of components.
+     * @param idx       - position in the container.
+     * @param player    - player observing the container.
+     * @return - true if the component at the given position is hidden from the player.
+     */
+    private static boolean isHidden(IComponentContainer<?> container, int idx, int player) {
+        if (container instanceof PartialObservableDeck<?>)
+            return !((PartialObservableDeck<?>) container).getVisibilityForPlayer(idx, player);
+        switch (container.getVisibilityMode()) {
+            case VISIBLE_TO_ALL:
+                return false;
+            case HIDDEN_TO_ALL:
+                return true;
+            case VISIBLE_TO_OWNER:
+                return ((Component) container).getOwnerId() != player;
+            case FIRST_VISIBLE_TO_ALL:
+                return idx != 0;
+            case LAST_VISIBLE_TO_ALL:
+                return idx != container.getComponents().size() - 1;
+            default:
+                throw new AssertionError("If something uses this visibility mode, then you need to also add code to this method please!");
+        }
+    }
+
+    /**
+     * Re-samples in place the information hidden from the given player, see redeterminise().
+     * The default implementation shuffles the components hidden from the player within each top-level Deck, and
+     * leaves everything else as it is. Games where a hidden component could be in one of several decks (an opponent's
+     * hand or the draw pile, say), or with other hidden information, should override this; shuffleHiddenComponents()
+     * does most of the work.
+     *
+     * @param playerId - ID of player observing the state.
+     * @param rnd      - random number generator to sample with.
+     */
+    protected void _redeterminise(int playerId, Random rnd) {
+        for (Component c : getAllTopLevelComponents()) {
+            if (c instanceof Deck<?>)
+                shuffleHiddenComponents(playerId, rnd, Collections.singletonList((Deck<?>) c), null);
+        }
+    }
+
+    /**
+     * Shuffles the components hidden from the given player between all the positions they hold in the given decks.
+     * Hidden components may move from one deck to another, while visible components, the visibility of each position
+     * and the size of each deck stay the same.
+     *
+     * @param playerId - ID of player observing the decks.
+     * @param rnd      - random number generator to shuffle with.
+     * @param decks    - decks to shuffle hidden components between.
+     * @param filter   - only hidden components accepted by this are shuffled; null to shuffle all of them.
+     */
+    protected static void shuffleHiddenComponents(int playerId, Random rnd, List<? extends Deck<?>> decks,
+                                                  Predicate<Component> filter) {
+        int n = 0;
+        for (Deck<?> d : decks) {
+            n += d.getSize();
+        }
+        int[] deckIdx = new int[n];
+        int[] compIdx = new int[n];
+        n = 0;
+        for (int d = 0; d < decks.size(); d++) {
+            Deck<?> deck = decks.get(d);
+            for (int i = 0; i < deck.getSize(); i++) {
+                if (isHidden(deck, i, playerId) && (filter == null || filter.test(deck.get(i)))) {
+                    deckIdx[n] = d;
+                    compIdx[n] = i;
+                    n++;
+                }
+            }
+        }
+        for (int k = n - 1; k > 0; k--) {
+            int j = rnd.nextInt(k + 1);
+            swapComponents(decks.get(deckIdx[k]), compIdx[k], decks.get(deckIdx[j]), compIdx[j]);
+        }
+    }
+
+    /**
+     * Swaps the components at the given positions of two decks, which may be the same deck.
+     */
+    @SuppressWarnings("unchecked")
+    protected static void swapComponents(Deck<?> deckA, int idxA, Deck<?> deckB, int idxB) {
+        Deck<Component> a = (Deck<Component>) deckA;
+        Deck<Component> b = (Deck<Component>) deckB;
+        Component c = a.get(idxA);
+        a.setComponent(idxA, b.get(idxB));
+        b.setComponent(idxB, c);
+    }
+
     /**
      * Resets variables initialised for this game state.
      */
@@ -397,24 +475,121 @@ public abstract class AbstractGameState {
         return  retValue;
     }
 
+    /**
+     * Samples again, in place, the information in this state that is hidden from the given player, keeping everything
+     * the player can observe. This is meant for a state copied once with copy(playerId): each call then gives a new
+     * determinisation without rebuilding the whole state, as another copy(playerId) would.
+     *
+     * @param playerId - ID of player observing the state.
+     * @param rnd      - random number generator to sample with.
+     */
+    public final void redeterminise(int playerId, Random rnd) {
+        if (CoreConstants.PARTIAL_OBSERVABLE && playerId != -1)
+            _redeterminise(playerId, rnd);
+    }
+
+    /**
+     * Whether any information in this game can be hidden from a player. Games where everything is always visible to
+     * everyone can override this to return false, so players only reading the state get it without a copy.
+     *
+     * @return true by default.
+     */
+    public boolean hasHiddenInformation() {
+        return true;
+    }
+
     /**
      * Used by ForwardModel.next() to log history (very useful for debugging)
      *
      * @param action The action that has just been applied (or is about to be applied) to the game state
      */
     protected void recordAction(AbstractAction action) {
-        history.add(action);
-        historyText.add("Player " + this.getCurrentPlayer() + " : " + action.getString(this));
+        if (historyMode == CoreConstants.HistoryMode.OFF) return;
+        int player = getCurrentPlayer();
+        String text = historyMode == CoreConstants.HistoryMode.TEXT ? historyLine(player, action) : null;
+        history = new HistoryEntry(action, player, text, history);
+    }
+
+    /**
+     * Sets how much history this state (and copies made from it) records from now on. Actions already recorded are
+     * kept.
+     *
+     * @param historyMode - new history mode.
+     */
+    public void setHistoryMode(CoreConstants.HistoryMode historyMode) {
+        this.historyMode = historyMode;
+    }
+
+    public CoreConstants.HistoryMode getHistoryMode() {
+        return historyMode;
+    }
+
+    /**
+     * @return Number of actions recorded in history.
+     */
+    public int getHistorySize() {
+        return history == null ? 0 : history.size;
     }
 
     /**
      * @return All actions that have been executed on this state since reset()/initialisation
      */
     public List<AbstractAction> getHistory() {
-        return new ArrayList<>(history);
+        AbstractAction[] actions = new AbstractAction[getHistorySize()];
+        for (HistoryEntry e = history; e != null; e = e.previous) {
+            actions[e.size - 1] = e.action;
+        }
+        return new ArrayList<>(Arrays.asList(actions));
     }
+
+    /**
+     * Text for all actions in history. In ACTIONS mode this is generated now, from this state, for any entries
+     * without text; so descriptions that depend on components that have since moved may differ from what they were
+     * when the action was played. Use TEXT mode where the exact text matters.
+     * The text generated is not kept: entries are shared with the states this one was copied from and its copies,
+     * which would describe them differently, and may be on other threads.
+     *
+     * @return One line per action executed on this state since reset()/initialisation
+     */
     public List<String> getHistoryAsText() {
-        return new ArrayList<>(historyText);
+        String[] lines = new String[getHistorySize()];
+        for (HistoryEntry e = history; e != null; e = e.previous) {
+            String text = e.text;
+            if (text == null) {
+                try {
+                    text = historyLine(e.player, e.action);
+                } catch (RuntimeException ex) {
+                    // The action refers to something no longer in this state, so cannot describe itself from it
+                    text = "Player " + e.player + " : " + e.action;
+                }
+            }
+            lines[e.size - 1] = text;
+        }
+        return new ArrayList<>(Arrays.asList(lines));
+    }
+
+    private String historyLine(int player, AbstractAction action) {
+        return "Player " + player + " : " + action.getString(this);
+    }
+
+    /**
+     * One recorded action, linked to the entries before it. Copies of a state share its entries, so recording an
+     * action is constant time and copying history is free.
+     */
+    private static final class HistoryEntry {
+        final AbstractAction action;
+        final int player;
+        final HistoryEntry previous;
+        final int size;
+        final String text;  // Formatted when recorded in TEXT mode, null otherwise
+
+        HistoryEntry(AbstractAction action, int player, String text, HistoryEntry previous) {
+            this.action = action;
+            this.player = player;
+            this.text = text;
+            this.previous = previous;
+            this.size = previous == null ? 1 : previous.size + 1;
+        }
     }
 
     void setGameID(int id) {gameID = id;} // package level deliberately
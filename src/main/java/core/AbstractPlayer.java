@@ -14,6 +14,8 @@ public abstract class AbstractPlayer {
     // Forward model for the game
     AbstractForwardModel forwardModel;
     String name;
+    // Best action found so far in the current decision, played by the game if the player runs out of time
+    volatile AbstractAction bestActionSoFar;
 
     /* Final methods */
 
@@ -33,6 +35,15 @@ public abstract class AbstractPlayer {
         return forwardModel;
     }
 
+    /**
+     * Publishes the best action found so far in the current call to getAction(). Games with hard timeouts (see
+     * Game.setHardTimeouts()) play it if the player runs out of thinking time before returning an action.
+     * @param action - one of the actions the player was given, or an action equal to one of them.
+     */
+    public final void publishBestAction(AbstractAction action) {
+        bestActionSoFar = action;
+    }
+
     /* Methods that should be implemented in subclass */
 
     /**
@@ -64,6 +75,15 @@ public abstract class AbstractPlayer {
      */
     public void registerUpdatedObservation(AbstractGameState gameState) {}
 
+    /**
+     * Declares what this player needs to see of the game state. Players that do not modify the observations they
+     * receive, or do not look at them at all, can avoid the game copying the state for them at every decision.
+     * @return type of observation needed, COPY by default
+     */
+    public CoreConstants.ObservationType getObservationType() {
+        return CoreConstants.ObservationType.COPY;
+    }
+
     public void setName(String name) {this.name = name;}
 
     @Override
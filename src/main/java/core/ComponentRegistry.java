@@ -0,0 +1,236 @@
+package core;
+
+import core.components.Area;
+import core.components.Component;
+import core.interfaces.IComponentContainer;
+
+import java.util.*;
+
+/**
+ * Finds the components of a game state by their ID, for AbstractGameState.getComponentById().
+ *
+ * Copies of a state keep the IDs of the components they copy, so which IDs there are, and a dense index for each, is
+ * worked out once (the Layout) and shared by a state and all its copies; each state only has its own array of
+ * components, in the order of the layout. Refreshing the registry of a copy just walks its components and stores each
+ * in its slot, and a lookup is an array read. A new layout is only built when the components found are not the ones
+ * the layout was built for (components created or dropped by the game).
+ */
+final class ComponentRegistry {
+
+    /**
+     * Dense index of each registered ID. Never modified once built, so it can be shared between threads.
+     */
+    private static final class Layout {
+        final int[] ids;             // Index -> ID
+        final int minId;
+        final int[] indexOfId;       // ID - minId -> index, -1 if not registered; null if IDs are too sparse
+        // Used instead of indexOfId when IDs are too sparse: open addressing hash table from ID to index + 1 (0 if free)
+        final int[] hashedIds;
+        final int[] hashedIndex;
+        final int hashShift;
+
+        Layout(Collection<Integer> registered) {
+            ids = new int[registered.size()];
+            int i = 0, min = Integer.MAX_VALUE, max = Integer.MIN_VALUE;
+            for (int id : registered) {
+                ids[i++] = id;
+                min = Math.min(min, id);
+                max = Math.max(max, id);
+            }
+            minId = min;
+            // IDs come from a counter shared by all games, so those of one game are usually close together; if they
+            // are not (e.g. components created long after setup, while other games or copies also create some) fall
+            // back to a hash table rather than a huge array
+            long range = ids.length == 0 ? 0 : (long) max - min + 1;
+            if (range <= 4L * ids.length + 1024) {
+                indexOfId = new int[(int) range];
+                Arrays.fill(indexOfId, -1);
+                for (i = 0; i < ids.length; i++) {
+                    indexOfId[ids[i] - min] = i;
+                }
+                hashedIds = null;
+                hashedIndex = null;
+                hashShift = 0;
+            } else {
+                indexOfId = null;
+                // At most half full, so probe sequences stay short
+                int capacity = Integer.highestOneBit(ids.length * 4 - 1);
+                hashedIds = new int[capacity];
+                hashedIndex = new int[capacity];
+                hashShift = 32 - Integer.numberOfTrailingZeros(capacity);
+                for (i = 0; i < ids.length; i++) {
+                    int slot = slot(ids[i]);
+                    while (hashedIndex[slot] != 0) {
+                        slot = (slot + 1) & (capacity - 1);
+                    }
+                    hashedIds[slot] = ids[i];
+                    hashedIndex[slot] = i + 1;
+                }
+            }
+        }
+
+        private int slot(int id) {
+            // Fibonacci hashing, spreads consecutive IDs over the table
+            return (id * 0x9E3779B9) >>> hashShift;
+        }
+
+        int indexOf(int id) {
+            if (indexOfId != null) {
+                int offset = id - minId;
+                return offset >= 0 && offset < indexOfId.length ? indexOfId[offset] : -1;
+            }
+            for (int slot = slot(id); hashedIndex[slot] != 0; slot = (slot + 1) & (hashedIds.length - 1)) {
+                if (hashedIds[slot] == id) return hashedIndex[slot] - 1;
+            }
+            return -1;
+        }
+    }
+
+    private static final Layout EMPTY = new Layout(Collections.emptyList());
+
+    private Layout layout;
+    private Component[] components;
+
+    ComponentRegistry() {
+        layout = EMPTY;
+        components = new Component[0];
+    }
+
+    /**
+     * @return - an empty registry sharing the layout of this one, to be filled with the components of a copy.
+     */
+    ComponentRegistry emptyCopy() {
+        ComponentRegistry copy = new ComponentRegistry();
+        copy.layout = layout;
+        copy.components = new Component[layout.ids.length];
+        return copy;
+    }
+
+    /**
+     * Registers the given components and all the components they contain, replacing those registered before.
+     * The current layout is kept if it has a slot for every component found, and every slot is filled.
+     *
+     * @param topLevel - top level components of the state, as given by _getAllComponents().
+     */
+    void register(List<Component> topLevel) {
+        if (fillLayout(topLevel))
+            return;
+
+        // The components are not those of the layout, build a new one
+        LinkedHashMap<Integer, Component> all = new LinkedHashMap<>();
+        for (Component c : topLevel) {
+            collect(c, all);
+        }
+        layout = new Layout(all.keySet());
+        components = all.values().toArray(new Component[0]);
+    }
+
+    /**
+     * Registers the given components with the layout of another registry if it fits them, otherwise as register().
+     * Used when a full copy of the state had to build a new layout: the state has the same component IDs as the copy,
+     * and sharing the new layout saves its later copies from building it again.
+     */
+    void register(List<Component> topLevel, ComponentRegistry other) {
+        Layout own = layout;
+        layout = other.layout;
+        if (!fillLayout(topLevel)) {
+            layout = own;
+            register(topLevel);
+        }
+    }
+
+    /**
+     * @return - true if this registry uses the same layout as the other one.
+     */
+    boolean sameLayout(ComponentRegistry other) {
+        return layout == other.layout;
+    }
+
+    /**
+     * Stores the given components, and those they contain, in the slots of the current layout.
+     *
+     * @return - true if this worked: every component had a slot, and every slot was filled.
+     */
+    private boolean fillLayout(List<Component> topLevel) {
+        Component[] filled = components.length == layout.ids.length ? components : new Component[layout.ids.length];
+        Arrays.fill(filled, null);
+        for (Component c : topLevel) {
+            if (!fill(c, filled)) return false;
+        }
+        for (Component c : filled) {
+            if (c == null) return false;
+        }
+        components = filled;
+        return true;
+    }
+
+    /**
+     * Stores a component, and those it contains, in their slots of the current layout.
+     *
+     * @return - false if a component has no slot in the layout.
+     */
+    private boolean fill(Component c, Component[] filled) {
+        if (c == null) return true;
+        int index = layout.indexOf(c.getComponentID());
+        if (index < 0) return false;
+        filled[index] = c;
+        if (c instanceof IComponentContainer) {
+            for (Component nested : ((IComponentContainer<?>) c).getComponents()) {
+                if (!fill(nested, filled)) return false;
+            }
+        }
+        return true;
+    }
+
+    private static void collect(Component c, Map<Integer, Component> all) {
+        if (c == null) return;
+        all.put(c.getComponentID(), c);
+        if (c instanceof IComponentContainer) {
+            for (Component nested : ((IComponentContainer<?>) c).getComponents()) {
+                collect(nested, all);
+            }
+        }
+    }
+
+    /**
+     * @param id - component ID.
+     * @return - the component registered with this ID, or null if there is none.
+     */
+    Component get(int id) {
+        int index = layout.indexOf(id);
+        return index < 0 ? null : components[index];
+    }
+
+    /**
+     * @return - a new Area holding every component registered.
+     */
+    Area toArea() {
+        Area area = new Area(-1, "All Components");
+        for (Component c : components) {
+            area.putComponent(c.getComponentID(), c);
+        }
+        return area;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof ComponentRegistry)) return false;
+        ComponentRegistry other = (ComponentRegistry) o;
+        if (components.length != other.components.length) return false;
+        for (Component c : components) {
+            if (!c.equals(other.get(c.getComponentID()))) return false;
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        // Independent of the order of the layout, as for a map from IDs to components
+        int result = 0;
+        for (Component c : components) {
+            result += c.getComponentID() ^ c.hashCode();
+        }
+        return result;
+    }
+}
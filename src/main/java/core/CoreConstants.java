@@ -33,6 +33,30 @@ public class CoreConstants {
     public final static int imgHash = Hash.GetInstance().hash("img");
     public final static int backgroundImgHash = Hash.GetInstance().hash("backgroundImg");
 
+    /**
+     * How much of the action history is kept by game states.
+     * OFF - nothing recorded.
+     * ACTIONS - actions are recorded; their text is only produced when requested, from the state at that time.
+     * TEXT - text is also formatted as each action is recorded, from the state it is applied to.
+     */
+    public enum HistoryMode {
+        OFF, ACTIONS, TEXT
+    }
+
+    /**
+     * What a player needs to see of the game state to make decisions.
+     * COPY - its own copy of the state, with hidden information redeterminised; the player may modify it.
+     * READ_ONLY - the player only reads the state. In games without hidden information it receives the real state
+     * with no copying; otherwise it still receives a copy, as that is how hidden information is enforced. The player
+     * must not modify the state it receives, nor keep it once the call it was passed to returns, as the game goes on
+     * changing it: anything it needs to modify or keep must be copied with copy().
+     * NONE - the player does not inspect the state at all (e.g. picks actions at random), so it receives the real
+     * state, which it must not read or modify.
+     */
+    public enum ObservationType {
+        COPY, READ_ONLY, NONE
+    }
+
     public enum GameEvents {
         ABOUT_TO_START, GAME_OVER, ROUND_OVER, TURN_OVER, ACTION_CHOSEN
     }
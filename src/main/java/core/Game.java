@@ -4,6 +4,8 @@ import core.actions.AbstractAction;
 import core.interfaces.IGameListener;
 import core.interfaces.IPrintable;
 import core.turnorders.ReactiveTurnOrder;
+import core.turnorders.SimultaneousTurnOrder;
+import core.turnorders.TurnOrder;
 import games.GameType;
 import players.human.ActionController;
 import players.human.HumanGUIPlayer;
@@ -13,8 +15,12 @@ import utilities.Pair;
 import utilities.TAGStatSummary;
 import utilities.Utils;
 
+import utilities.ElapsedCpuChessTimer;
+import utilities.ElapsedCpuTimer;
+
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import static core.CoreConstants.*;
@@ -34,6 +40,8 @@ public class Game {
     protected AbstractGameState gameState;
     protected AbstractForwardModel forwardModel;
     protected List<IGameListener> listeners = new ArrayList<>();
+    // Forward model copies given to players in the last reset, by player ID
+    private AbstractForwardModel[] playerModels;
 
     /* Game Statistics */
 
@@ -47,10 +55,57 @@ public class Game {
     private int nDecisions;
     // Number of actions taken in a turn by a player
     private int nActionsPerTurn, nActionsPerTurnSum, nActionsPerTurnCount;
+    // True if any player interacts through the GUI
+    private boolean humanInGame;
+    // Index of the last action chosen in the list of actions available to the player, -1 if none
+    private int lastActionIndex;
+    // Index reported for a decision on which the player ran out of time, see getLastActionIndex()
+    public static final int TIMED_OUT = -2;
 
     private static final AtomicInteger idFountain = new AtomicInteger(0);
     private int gameID;
 
+    /**
+     * Decision of a player gathered at the start of a round of simultaneous moves, with what it was made from.
+     */
+    private static final class SimultaneousDecision {
+        final AbstractGameState observation;
+        final List<AbstractAction> actions;
+        AbstractAction action;
+        long agentTime;
+
+        SimultaneousDecision(AbstractGameState observation, List<AbstractAction> actions) {
+            this.observation = observation;
+            this.actions = actions;
+        }
+    }
+
+    // If true, players in a round of simultaneous moves decide at the same time, each on its own thread
+    private boolean concurrentDecisions = true;
+    // Decisions gathered for the current round of simultaneous moves, by player ID (null if used, or none)
+    private SimultaneousDecision[] pendingDecisions;
+    // Round for which decisions were last gathered, -1 if none
+    private int gatheredRound;
+    private ExecutorService decisionExecutor;
+
+    /**
+     * Decision of a player asked on a thread of its own, with hard timeouts.
+     */
+    private static final class TimedDecision {
+        volatile long threadId = -1;  // Thread deciding, -1 until it starts
+        volatile long startCpuTime;   // CPU time of that thread when it started
+        final CountDownLatch done = new CountDownLatch(1);  // Released when the call to the player returns
+        long cpuTime;                 // CPU time taken, once done
+        AbstractAction action;
+        boolean timedOut;
+    }
+
+    // If true, players decide on a thread of their own, and are stopped when they run out of thinking time
+    private boolean hardTimeouts = false;
+    // Decisions abandoned on timeout, by player ID (null if none); the player is not asked again until they are done
+    private TimedDecision[] abandonedDecisions;
+    private ExecutorService timedExecutor;
+
     /**
      * Game constructor. Receives a list of players, a forward model and a game state. Sets unique and final
      * IDs to all players in the game, and performs initialisation of the game state and forward model objects.
@@ -89,7 +144,7 @@ public class Game {
         forwardModel.abstractSetup(gameState);
         if (players != null) {
             for (AbstractPlayer player : players) {
-                AbstractGameState observation = gameState.copy(player.getPlayerID());
+                AbstractGameState observation = getObservation(gameState, player.getPlayerID(), player.getObservationType());
                 player.initializePlayer(observation);
             }
         }
@@ -105,23 +160,7 @@ public class Game {
     public final void reset(List<AbstractPlayer> players) {
         gameState.reset();
         forwardModel.abstractSetup(gameState);
-        this.players = players;
-        int id = 0;
-        for (AbstractPlayer player : players) {
-            // Create a FM copy for this player (different random seed)
-            player.forwardModel = this.forwardModel.copy();
-            // Create initial state observation
-            AbstractGameState observation = gameState.copy(id);
-            // Give player their ID
-            player.playerID = id++;
-            // Allow player to initialize
-
-            player.initializePlayer(observation);
-        }
-        gameID = idFountain.incrementAndGet();
-        gameState.setGameID(gameID);
-
-        resetStats();
+        initialisePlayers(players);
     }
 
     /**
@@ -134,13 +173,31 @@ public class Game {
     public final void reset(List<AbstractPlayer> players, long newRandomSeed) {
         gameState.reset(newRandomSeed);
         forwardModel.abstractSetup(gameState);
+        initialisePlayers(players);
+    }
+
+    /**
+     * Assigns players to the game after the game state has been set up, gives them their IDs and initial
+     * observations, and resets statistics for the new game.
+     * The copy of the forward model each player receives is kept for later games if the same player object plays
+     * in the same seat again, so a Game reused for many runs does not create new forward models every time.
+     *
+     * @param players - players for the game
+     */
+    private void initialisePlayers(List<AbstractPlayer> players) {
+        if (playerModels == null || playerModels.length != players.size()) {
+            playerModels = new AbstractForwardModel[players.size()];
+        }
         this.players = players;
         int id = 0;
         for (AbstractPlayer player : players) {
-            // Create a FM copy for this player (different random seed)
-            player.forwardModel = this.forwardModel.copy();
+            // Create a FM copy for this player (different random seed), unless they already have one from this game
+            if (playerModels[id] == null || player.forwardModel != playerModels[id]) {
+                playerModels[id] = this.forwardModel.copy();
+            }
+            player.forwardModel = playerModels[id];
             // Create initial state observation
-            AbstractGameState observation = gameState.copy(id);
+            AbstractGameState observation = getObservation(gameState, id, player.getObservationType());
             // Give player their ID
             player.playerID = id++;
             // Allow player to initialize
@@ -177,6 +234,10 @@ public class Game {
     public final void run(AbstractGUI gui) {
 
         boolean firstEnd = true;
+        // Only slow the game down to the GUI's frame rate if a human is playing through it
+        humanInGame = players.stream().anyMatch(p -> p instanceof HumanGUIPlayer);
+        pendingDecisions = null;
+        gatheredRound = -1;
 
         while (gameState.isNotTerminal() || gui != null && gui.isWindowOpen()) {
             if (gui != null && !gui.isWindowOpen()) {
@@ -204,15 +265,30 @@ public class Game {
             // This is the next player to be asked for a decision
             currentPlayer = players.get(activePlayer);
 
-            // Get player observation, and time how long it takes
-            double s = System.nanoTime();
-            AbstractGameState observation = gameState.copy(activePlayer);
-            copyTime += (System.nanoTime() - s);
-
-            // Get actions for the player
-            s = System.nanoTime();
-            List<AbstractAction> observedActions = forwardModel.computeAvailableActions(observation);
-            actionComputeTime += (System.nanoTime() - s);
+            // At the start of a round of simultaneous moves, all players decide at once
+            if (concurrentDecisions && !hardTimeouts && !humanInGame && gameState.isNotTerminal() && startsSimultaneousRound()) {
+                gatherSimultaneousDecisions();
+            }
+            SimultaneousDecision decision = takeSimultaneousDecision(activePlayer);
+
+            AbstractGameState observation;
+            List<AbstractAction> observedActions;
+            double s;
+            if (decision != null) {
+                // Observation and actions were worked out when the decision was gathered
+                observation = decision.observation;
+                observedActions = decision.actions;
+            } else {
+                // Get player observation, and time how long it takes
+                s = System.nanoTime();
+                observation = getObservation(gameState, activePlayer, currentPlayer.getObservationType());
+                copyTime += (System.nanoTime() - s);
+
+                // Get actions for the player
+                s = System.nanoTime();
+                observedActions = forwardModel.computeAvailableActions(observation);
+                actionComputeTime += (System.nanoTime() - s);
+            }
             actionSpaceSize.add(new Pair<>(activePlayer, observedActions.size()));
 
             // GUI update
@@ -227,13 +303,31 @@ public class Game {
                     ((IPrintable) observation).printToConsole();
                 }
 
-                // Start the timer for this decision
-                gameState.playerTimer[activePlayer].resume();
+                // With hard timeouts, players with a choice to make decide on a thread of their own
+                boolean timed = hardTimeouts && decision == null && observedActions.size() > 1
+                        && !(currentPlayer instanceof HumanGUIPlayer);
+                boolean timedOut = false;
+
+                // Start the timer for this decision (already timed on its own thread if gathered or timed)
+                if (decision == null && !timed) {
+                    gameState.playerTimer[activePlayer].resume();
+                }
 
                 // Either ask player which action to use or, in case no actions are available, report the updated observation
                 AbstractAction action = null;
                 if (observedActions.size() > 0) {
-                    if (observedActions.size() == 1 && !(currentPlayer instanceof HumanGUIPlayer)) {
+                    if (timed) {
+                        s = System.nanoTime();
+                        TimedDecision timedDecision = timedDecision(observation, observedActions, activePlayer);
+                        agentTime += (System.nanoTime() - s);
+                        nDecisions++;
+                        action = timedDecision.action;
+                        timedOut = timedDecision.timedOut;
+                    } else if (decision != null) {
+                        action = decision.action;
+                        agentTime += decision.agentTime;
+                        nDecisions++;
+                    } else if (observedActions.size() == 1 && !(currentPlayer instanceof HumanGUIPlayer)) {
                         // Can only do 1 action, so do it.
                         action = observedActions.get(0);
                         currentPlayer.registerUpdatedObservation(observation);
@@ -251,20 +345,30 @@ public class Game {
                             nDecisions++;
                         }
                     }
-                    if (COMPETITION_MODE && !observedActions.contains(action)) {
+                    if (COMPETITION_MODE && action != null && !observedActions.contains(action)) {
                         System.out.printf("Action played that was not in the list of available actions: %s%n", action.getString(gameState));
                         action = null;
                     }
-                    AbstractAction finalAction = action;
-                    listeners.forEach(l -> l.onEvent(GameEvents.ACTION_CHOSEN, gameState, finalAction));
                 } else {
                     currentPlayer.registerUpdatedObservation(observation);
                 }
 
                 // End the timer for this decision
-                gameState.playerTimer[activePlayer].pause();
+                if (decision == null && !timed) {
+                    gameState.playerTimer[activePlayer].pause();
+                }
                 gameState.playerTimer[activePlayer].incrementAction();
 
+                // A player out of time (a player stopped on a hard timeout plays the best action it published, if any)
+                // is disqualified or plays a random action instead of the one chosen
+                boolean outOfTime = timed ? timedOut && action == null :
+                        observation.playerTimer[activePlayer].exceededMaxTime();
+                if (observedActions.size() > 0) {
+                    lastActionIndex = outOfTime ? TIMED_OUT : indexOfAction(observedActions, action);
+                    AbstractAction finalAction = action;
+                    listeners.forEach(l -> l.onEvent(GameEvents.ACTION_CHOSEN, gameState, finalAction));
+                }
+
                 if (VERBOSE) {
                     if (action != null) {
                         System.out.println(action.toString());
@@ -273,8 +377,7 @@ public class Game {
                     }
                 }
 
-                // Check player timeout
-                if (observation.playerTimer[activePlayer].exceededMaxTime()) {
+                if (outOfTime) {
                     forwardModel.disqualifyOrRandomAction(DISQUALIFY_PLAYER_ON_TIMEOUT, gameState);
                 } else {
                     // Resolve action and game rules, time it
@@ -308,17 +411,264 @@ public class Game {
     }
 
     /**
-     * Performs GUI update.
+     * Creates the observation of the game state given to a player, according to what the player needs.
+     *
+     * @param gameState - real game state.
+     * @param playerId  - player observing the state.
+     * @param type      - type of observation the player needs.
+     * @return - the real game state where the player does not need a copy, or a copy from the player's perspective.
+     */
+    static AbstractGameState getObservation(AbstractGameState gameState, int playerId, ObservationType type) {
+        switch (type) {
+            case NONE:
+                return gameState;
+            case READ_ONLY:
+                return gameState.hasHiddenInformation() ? gameState.copy(playerId) : gameState;
+            default:
+                return gameState.copy(playerId);
+        }
+    }
+
+    /**
+     * @return - true if the game is at the first turn of a round of simultaneous moves, and decisions for this round
+     * were not gathered yet.
+     */
+    private boolean startsSimultaneousRound() {
+        TurnOrder turnOrder = gameState.getTurnOrder();
+        return turnOrder instanceof SimultaneousTurnOrder && turnOrder.getTurnCounter() == 0
+                && !gameState.isActionInProgress() && turnOrder.getRoundCounter() != gatheredRound;
+    }
+
+    /**
+     * Asks all players still in the game with a choice to make for their decision in this round of simultaneous moves,
+     * each on its own thread, and waits for them all. The decisions are then applied one by one, in the order of the
+     * turn order, by the game loop.
+     * The moves of a round are only resolved once all players have made theirs, and players can not see those made
+     * before them in the round (SimultaneousTurnOrder states hide them in their copies), so each player's observation
+     * can be taken now, from the state with the player as turn owner. Each player's timer runs on its own thread.
+     */
+    private void gatherSimultaneousDecisions() {
+        TurnOrder turnOrder = gameState.getTurnOrder();
+        gatheredRound = turnOrder.getRoundCounter();
+        int turnOwner = turnOrder.getTurnOwner();
+        SimultaneousDecision[] decisions = new SimultaneousDecision[players.size()];
+        int nDeciding = 0;
+        for (AbstractPlayer player : players) {
+            int p = player.getPlayerID();
+            if (gameState.getPlayerResults()[p] != Utils.GameResult.GAME_ONGOING) continue;
+
+            turnOrder.setTurnOwner(p);
+            double s = System.nanoTime();
+            AbstractGameState observation = getObservation(gameState, p, player.getObservationType());
+            if (observation == gameState) {
+                // Players think at the same time, so each needs a state of their own
+                observation = gameState.copy();
+            }
+            copyTime += (System.nanoTime() - s);
+            s = System.nanoTime();
+            List<AbstractAction> actions = forwardModel.computeAvailableActions(observation);
+            actionComputeTime += (System.nanoTime() - s);
+            // Players with no choice to make are left to the game loop
+            if (actions.size() > 1) {
+                decisions[p] = new SimultaneousDecision(observation, actions);
+                nDeciding++;
+            }
+        }
+        turnOrder.setTurnOwner(turnOwner);
+        if (nDeciding < 2) return;  // Nothing to gain from threads
+
+        if (decisionExecutor == null) {
+            decisionExecutor = Executors.newFixedThreadPool(players.size(), r -> {
+                Thread t = new Thread(r, "Simultaneous decision");
+                t.setDaemon(true);
+                return t;
+            });
+        }
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < decisions.length; i++) {
+            if (decisions[i] == null) continue;
+            final int p = i;
+            SimultaneousDecision decision = decisions[p];
+            AbstractPlayer player = players.get(p);
+            futures.add(decisionExecutor.submit(() -> {
+                // CPU timers measure the thread they run on, so the player's timer is started and stopped here
+                gameState.playerTimer[p].resume();
+                long s = System.nanoTime();
+                decision.action = player.getAction(decision.observation, decision.actions);
+                decision.agentTime = System.nanoTime() - s;
+                gameState.playerTimer[p].pause();
+            }));
+        }
+        try {
+            for (Future<?> f : futures) {
+                f.get();
+            }
+        } catch (Exception e) {
+            throw new AssertionError("Simultaneous decision failed : " + e.getMessage(), e);
+        }
+        pendingDecisions = decisions;
+    }
+
+    /**
+     * Asks the current player for an action on a thread of its own, and waits for it only as long as the player has
+     * thinking time left in its ElapsedCpuChessTimer: the call is abandoned, and its thread interrupted, once that
+     * thread has used up this CPU time or, for players that block rather than compute, once twice this time has passed
+     * on the wall clock. The player's timer is charged with the CPU time taken, all of it on a timeout. A player still
+     * running an abandoned call waits for it to return, and is charged with the wall clock time this takes.
+     * As an abandoned call may still be reading its observation, READ_ONLY players get a copy of the real state.
+     *
+     * @param observation - observation of the player.
+     * @param actions     - actions available to the player.
+     * @param playerId    - ID of the current player.
+     * @return - the decision: the action returned or, on a timeout, the last action the player published with
+     * AbstractPlayer.publishBestAction() (null if none, or not one of the actions available).
+     */
+    private TimedDecision timedDecision(AbstractGameState observation, List<AbstractAction> actions, int playerId) {
+        ElapsedCpuChessTimer timer = gameState.playerTimer[playerId];
+        AbstractPlayer player = currentPlayer;
+        TimedDecision decision = new TimedDecision();
+        long limit = timer.remainingTime();
+        if (abandonedDecisions == null || abandonedDecisions.length != players.size()) {
+            abandonedDecisions = new TimedDecision[players.size()];
+        }
+        TimedDecision abandoned = abandonedDecisions[playerId];
+        if (abandoned != null && limit > 0) {
+            // The last call abandoned may still be on its way out; the player waits for it on its own time
+            // (Future.isDone() is true as soon as a call is cancelled, whether it stopped or not)
+            long waitStart = System.nanoTime();
+            try {
+                if (abandoned.done.await(limit, TimeUnit.NANOSECONDS)) {
+                    abandonedDecisions[playerId] = null;
+                }
+            } catch (InterruptedException e) {
+                throw new AssertionError("Interrupted while waiting for player " + playerId + " : " + e.getMessage(), e);
+            }
+            long waited = System.nanoTime() - waitStart;
+            timer.spend(waited);
+            limit = abandonedDecisions[playerId] == null ? limit - waited : 0;
+        }
+        if (limit <= 0) {
+            decision.timedOut = true;
+            return decision;
+        }
+        player.bestActionSoFar = null;
+        // A call abandoned goes on running while the game loop changes the real state, so a player reading it gets a
+        // private copy instead (players that do not look at the state can still have it)
+        AbstractGameState playerState = observation == gameState
+                && player.getObservationType() != ObservationType.NONE ? gameState.copy(playerId) : observation;
+
+        if (timedExecutor == null) {
+            // Cached, so that calls abandoned and still running do not hold up the next decisions
+            timedExecutor = Executors.newCachedThreadPool(r -> {
+                Thread t = new Thread(r, "Timed decision");
+                t.setDaemon(true);
+                return t;
+            });
+        }
+        Future<AbstractAction> future = timedExecutor.submit(() -> {
+            try {
+                ElapsedCpuTimer cpuTimer = new ElapsedCpuTimer();
+                decision.startCpuTime = ElapsedCpuTimer.threadCpuTime(Thread.currentThread().getId());
+                decision.threadId = Thread.currentThread().getId();
+                AbstractAction action = player.getAction(playerState, actions);
+                decision.cpuTime = cpuTimer.elapsed();
+                return action;
+            } finally {
+                decision.done.countDown();
+            }
+        });
+
+        long start = System.nanoTime();
+        long cpuUsed = 0;
+        try {
+            while (true) {
+                // The thread can not use more CPU time than wall clock time, so nothing to check before this
+                long wait = Math.min(limit - cpuUsed, 2 * limit - (System.nanoTime() - start));
+                if (wait <= 0) break;
+                try {
+                    decision.action = future.get(wait, TimeUnit.NANOSECONDS);
+                    timer.spend(decision.cpuTime);
+                    return decision;
+                } catch (TimeoutException e) {
+                    long threadId = decision.threadId;
+                    if (threadId != -1) {
+                        cpuUsed = ElapsedCpuTimer.threadCpuTime(threadId) - decision.startCpuTime;
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            throw new AssertionError("Interrupted while waiting for player " + playerId + " : " + e.getMessage(), e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) throw (RuntimeException) e.getCause();
+            if (e.getCause() instanceof Error) throw (Error) e.getCause();
+            throw new AssertionError("Decision of player " + playerId + " failed : " + e.getMessage(), e);
+        }
+
+        // Out of time
+        future.cancel(true);
+        abandonedDecisions[playerId] = decision;
+        timer.spend(limit);
+        decision.timedOut = true;
+        AbstractAction best = player.bestActionSoFar;
+        if (best != null && indexOfAction(actions, best) != -1) {
+            decision.action = best;
+        }
+        return decision;
+    }
+
+    /**
+     * @param playerId - player about to decide.
+     * @return - the decision gathered for this player in the current round of simultaneous moves, or null if there is
+     * none (in which case the player is asked as usual).
+     */
+    private SimultaneousDecision takeSimultaneousDecision(int playerId) {
+        if (pendingDecisions == null) return null;
+        if (gameState.getTurnOrder().getRoundCounter() != gatheredRound || gameState.isActionInProgress()) {
+            // The round is over, or the game is not where the decisions were gathered for
+            pendingDecisions = null;
+            return null;
+        }
+        SimultaneousDecision decision = pendingDecisions[playerId];
+        pendingDecisions[playerId] = null;
+        return decision;
+    }
+
+    /**
+     * Finds the position of the chosen action in the list the player chose from. Actions are normally returned
+     * straight from the list, so identity is checked first; equality is the fallback, for players returning their
+     * own copies. Equality must then hold both ways, or the index could point to a different action.
+     *
+     * @param actions - actions available to the player.
+     * @param action  - action chosen.
+     * @return - index of the action in the list, -1 if not found.
+     */
+    private static int indexOfAction(List<AbstractAction> actions, AbstractAction action) {
+        for (int i = 0; i < actions.size(); i++) {
+            if (actions.get(i) == action) return i;
+        }
+        int idx = actions.indexOf(action);
+        if (idx != -1 && !actions.get(idx).equals(action))
+            throw new AssertionError("Action " + action + " (" + action.getClass().getSimpleName() + ") equals " +
+                    actions.get(idx) + " (" + actions.get(idx).getClass().getSimpleName() + "), but not the other way round");
+        return idx;
+    }
+
+    /**
+     * Publishes the current state to the GUI, which renders it asynchronously at its own frame rate.
+     * The game loop only sleeps if a human is playing through the GUI, or once the game is over and we are just
+     * waiting for the window to close; AI-only games run at full speed.
      *
      * @param gui - gui to update.
      */
     private void updateGUI(AbstractGUI gui) {
         if (gui != null) {
-            gui.update(currentPlayer, gameState);
-            try {
-                Thread.sleep(FRAME_SLEEP_MS);
-            } catch (Exception e) {
-                System.out.println("EXCEPTION " + e);
+            gui.publish(currentPlayer, gameState);
+            if (humanInGame || !gameState.isNotTerminal()) {
+                try {
+                    Thread.sleep(FRAME_SLEEP_MS);
+                } catch (Exception e) {
+                    System.out.println("EXCEPTION " + e);
+                }
             }
         }
     }
@@ -341,11 +691,23 @@ public class Game {
 
         // Allow players to terminate
         for (AbstractPlayer player : players) {
-            player.finalizePlayer(gameState.copy(player.getPlayerID()));
+            player.finalizePlayer(getObservation(gameState, player.getPlayerID(), player.getObservationType()));
         }
 
         // Timers should average
         terminateTimers();
+
+        pendingDecisions = null;
+        if (decisionExecutor != null) {
+            decisionExecutor.shutdown();
+            decisionExecutor = null;
+        }
+        abandonedDecisions = null;
+        if (timedExecutor != null) {
+            // Interrupts any call abandoned on timeout still running
+            timedExecutor.shutdownNow();
+            timedExecutor = null;
+        }
     }
 
     /**
@@ -433,6 +795,18 @@ public class Game {
         return nDecisions;
     }
 
+    /**
+     * Retrieves the index of the action last chosen by a player, in the list of available actions computed on their
+     * observation. Valid for listeners receiving an ACTION_CHOSEN event.
+     *
+     * @return - index of last action chosen, -1 if it was not one of the available actions, TIMED_OUT if the player
+     * ran out of time and was disqualified or had a random action played instead (see
+     * AbstractForwardModel.disqualifyOrRandomAction()).
+     */
+    public int getLastActionIndex() {
+        return lastActionIndex;
+    }
+
     /**
      * Number of actions taken in a turn by a player, before turn moves to another.
      *
@@ -460,6 +834,43 @@ public class Game {
         return gameType;
     }
 
+    /**
+     * Sets how much action history the game state records (and any copies of it, such as player observations).
+     * Persists across resets.
+     *
+     * @param historyMode - OFF, ACTIONS (text generated on request) or TEXT (text formatted as actions are played)
+     */
+    public void setHistoryMode(HistoryMode historyMode) {
+        gameState.setHistoryMode(historyMode);
+    }
+
+    /**
+     * Sets whether players decide at the same time, each on its own thread, in rounds of simultaneous moves
+     * (games with a SimultaneousTurnOrder). On by default; turn it off for runs that must be reproducible, as the
+     * order in which the players' threads create components then changes the component IDs.
+     *
+     * @param concurrentDecisions - true to gather simultaneous decisions concurrently, false to ask players in turn.
+     */
+    public void setConcurrentDecisions(boolean concurrentDecisions) {
+        this.concurrentDecisions = concurrentDecisions;
+    }
+
+    /**
+     * Sets whether the thinking time of players is enforced as it runs out, rather than checked once they return an
+     * action. With hard timeouts each player decides on a thread of its own, and is stopped as soon as it has no
+     * thinking time left (see AbstractParameters.thinkingTimeMins and the increments); it then plays the best action
+     * it published with AbstractPlayer.publishBestAction(), or is disqualified or given a random action as for any
+     * timeout (CoreConstants.DISQUALIFY_PLAYER_ON_TIMEOUT). So one slow or stuck player can not hold up a tournament.
+     * Off by default, as handing each decision over to another thread costs time. Rounds of simultaneous moves are
+     * then played in turn (see setConcurrentDecisions()).
+     * A player that ignores interrupts may still be running an abandoned call when the game goes on.
+     *
+     * @param hardTimeouts - true to stop players when they run out of time.
+     */
+    public void setHardTimeouts(boolean hardTimeouts) {
+        this.hardTimeouts = hardTimeouts;
+    }
+
     public void addListener(IGameListener listener) {
         if (!listeners.contains(listener)) {
             listeners.add(listener);
@@ -518,6 +929,8 @@ public class Game {
             if (ac != null) {
                 // Create GUI (null if not implemented; running without visuals)
                 gui = gameToPlay.createGUI(game, ac);
+                // Spectators see the history as it was played
+                if (gui != null) game.setHistoryMode(HistoryMode.TEXT);
             }
 
             // Run!
@@ -0,0 +1,345 @@
+package core;
+
+import core.actions.AbstractAction;
+import core.interfaces.ITunableParameters;
+import games.GameType;
+
+import java.io.*;
+import java.util.*;
+import java.util.function.BiConsumer;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Compact record of one game: game type, number of players, the type of observation each player received, random
+ * seed, parameter values and, for each decision, the index of the chosen action in the list of actions available to
+ * the player (as computed by forwardModel.computeAvailableActions() on the player's observation).
+ *
+ * Nothing else is stored: any intermediate state is reconstructed by re-simulating the game from the seed, and the
+ * text history is produced on demand during replay. Decision indices are written as variable-length integers, so most
+ * decisions take a single byte.
+ *
+ * Replay mirrors the game loop in Game.run(), including the observation copies it takes, so it is exact for games
+ * whose randomness derives from the random seed of their parameters. Decisions on which the player ran out of time
+ * are recorded as Game.TIMED_OUT, and replayed as the game played them: the player is disqualified or a random action
+ * is played instead, drawn from the forward model's generator (which is split from the seed, see
+ * AbstractForwardModel.disqualifyOrRandomAction()).
+ */
+public class GameRecord {
+
+    private static final int MAGIC = 0x54414752;  // "TAGR"
+    private static final int VERSION = 2;
+
+    private final GameType gameType;
+    private final int nPlayers;
+    private final long seed;
+    private final Map<String, Object> parameters;
+    private final CoreConstants.ObservationType[] observationTypes;  // What each player observed, see Game.getObservation()
+    private int[] decisions;
+    private int nDecisions;
+
+    public GameRecord(GameType gameType, int nPlayers, long seed, Map<String, Object> parameters,
+                      CoreConstants.ObservationType[] observationTypes) {
+        if (observationTypes.length != nPlayers)
+            throw new IllegalArgumentException("One observation type needed per player");
+        this.gameType = gameType;
+        this.nPlayers = nPlayers;
+        this.seed = seed;
+        this.parameters = new LinkedHashMap<>(parameters);
+        this.observationTypes = observationTypes.clone();
+        this.decisions = new int[64];
+    }
+
+    /**
+     * Creates an empty record for the game given, capturing its current seed and parameter values. To be called
+     * once the game has been reset, before any decisions are made.
+     */
+    public GameRecord(Game game) {
+        this(game.getGameType(), game.getGameState().getNPlayers(),
+                game.getGameState().getGameParameters().getRandomSeed(),
+                parameterValues(game.getGameState().getGameParameters()),
+                game.getPlayers().stream().map(AbstractPlayer::getObservationType).toArray(CoreConstants.ObservationType[]::new));
+    }
+
+    private static Map<String, Object> parameterValues(AbstractParameters params) {
+        if (params instanceof ITunableParameters) {
+            ITunableParameters tunable = (ITunableParameters) params;
+            Map<String, Object> values = new LinkedHashMap<>();
+            for (String name : tunable.getParameterNames()) {
+                values.put(name, tunable.getParameterValue(name));
+            }
+            return values;
+        }
+        return Collections.emptyMap();
+    }
+
+    /**
+     * Adds one decision to the record.
+     *
+     * @param actionIndex - index of the action chosen in the list of available actions, -1 for no action,
+     *                    Game.TIMED_OUT if the player ran out of time.
+     */
+    public void addDecision(int actionIndex) {
+        if (nDecisions == decisions.length) {
+            decisions = Arrays.copyOf(decisions, decisions.length * 2);
+        }
+        decisions[nDecisions++] = actionIndex;
+    }
+
+    public GameType getGameType() {
+        return gameType;
+    }
+
+    public int getNPlayers() {
+        return nPlayers;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public Map<String, Object> getParameters() {
+        return Collections.unmodifiableMap(parameters);
+    }
+
+    public int getNDecisions() {
+        return nDecisions;
+    }
+
+    public int getDecision(int i) {
+        if (i < 0 || i >= nDecisions)
+            throw new IndexOutOfBoundsException("Decision " + i + " not in record of " + nDecisions + " decisions");
+        return decisions[i];
+    }
+
+    /**
+     * Creates a new game instance with the seed and parameters of this record, set up as it was before the first
+     * decision.
+     *
+     * @return - game ready to be replayed.
+     */
+    public Game createGame() {
+        AbstractParameters params = gameType.getDefaultParams(seed);
+        if (!parameters.isEmpty()) {
+            if (!(params instanceof ITunableParameters))
+                throw new AssertionError("Record has parameters, but " + gameType + " parameters are not tunable");
+            ((ITunableParameters) params).setParameterValues(parameters);
+        }
+        Game game = gameType.createGameInstance(nPlayers, seed, params);
+        if (game == null)
+            throw new AssertionError("Could not create " + gameType + " with " + nPlayers + " players");
+        // Game.reset(players) gives every player an initial observation
+        AbstractGameState state = game.getGameState();
+        for (int p = 0; p < nPlayers; p++) {
+            Game.getObservation(state, p, observationTypes[p]);
+        }
+        return game;
+    }
+
+    /**
+     * Reconstructs the state of the game after the given number of decisions.
+     *
+     * @param nSteps - number of decisions to replay, capped at the number in the record.
+     * @return - game state after these decisions.
+     */
+    public AbstractGameState replay(int nSteps) {
+        return replay(nSteps, null);
+    }
+
+    /**
+     * Reconstructs the final state of the game.
+     */
+    public AbstractGameState replay() {
+        return replay(nDecisions, null);
+    }
+
+    /**
+     * Reconstructs the state of the game after the given number of decisions, reporting each decision as it is
+     * replayed.
+     *
+     * @param nSteps  - number of decisions to replay, capped at the number in the record.
+     * @param visitor - called with the state (before the action is applied) and the action chosen for each decision;
+     *                may be null.
+     * @return - game state after these decisions.
+     */
+    public AbstractGameState replay(int nSteps, BiConsumer<AbstractGameState, AbstractAction> visitor) {
+        Game game = createGame();
+        AbstractGameState state = game.getGameState();
+        AbstractForwardModel fm = game.getForwardModel();
+        int steps = Math.min(nSteps, nDecisions);
+        int decision = 0;
+        while (state.isNotTerminal() && decision < steps) {
+            // Same calls as the game loop, so any randomness consumed by creating observations is consumed here too
+            int player = state.getCurrentPlayer();
+            AbstractGameState observation = Game.getObservation(state, player, observationTypes[player]);
+            List<AbstractAction> actions = fm.computeAvailableActions(observation);
+            AbstractAction action = null;
+            if (actions.size() > 0) {
+                int idx = decisions[decision++];
+                if (idx == Game.TIMED_OUT) {
+                    if (visitor != null) visitor.accept(state, null);
+                    fm.disqualifyOrRandomAction(CoreConstants.DISQUALIFY_PLAYER_ON_TIMEOUT, state);
+                    continue;
+                }
+                if (idx >= actions.size())
+                    throw new AssertionError("Replay diverged at decision " + (decision - 1) + ": action " + idx +
+                            " of " + actions.size() + " available");
+                action = idx == -1 ? null : actions.get(idx);
+                if (visitor != null) visitor.accept(state, action);
+            }
+            fm.next(state, action);
+        }
+        if (!state.isNotTerminal()) {
+            fm.endGame(state);
+        }
+        return state;
+    }
+
+    /**
+     * Produces the text history of this game by replaying it, in the same format as
+     * AbstractGameState.getHistoryAsText().
+     *
+     * @return - one line per decision.
+     */
+    public List<String> getHistoryAsText() {
+        List<String> text = new ArrayList<>(nDecisions);
+        replay(nDecisions, (state, action) -> text.add("Player " + state.getCurrentPlayer() + " : " +
+                (action == null ? "null" : action.getString(state))));
+        return text;
+    }
+
+    /**
+     * Writes this record in binary format.
+     */
+    public void write(DataOutput out) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeByte(VERSION);
+        out.writeUTF(gameType.name());
+        out.writeByte(nPlayers);
+        for (CoreConstants.ObservationType type : observationTypes) {
+            out.writeByte(type.ordinal());
+        }
+        out.writeLong(seed);
+        writeVarInt(out, parameters.size());
+        for (Map.Entry<String, Object> e : parameters.entrySet()) {
+            out.writeUTF(e.getKey());
+            writeValue(out, e.getValue());
+        }
+        writeVarInt(out, nDecisions);
+        for (int i = 0; i < nDecisions; i++) {
+            // Shifted by two so timeouts (-2) and no action (-1) are written as 0 and 1
+            writeVarInt(out, decisions[i] + 2);
+        }
+    }
+
+    /**
+     * Reads one record in binary format.
+     */
+    public static GameRecord read(DataInput in) throws IOException {
+        if (in.readInt() != MAGIC)
+            throw new IOException("Not a game record");
+        int version = in.readUnsignedByte();
+        if (version != VERSION)
+            throw new IOException("Unsupported game record version " + version);
+        GameType gameType = GameType.valueOf(in.readUTF());
+        int nPlayers = in.readUnsignedByte();
+        CoreConstants.ObservationType[] observationTypes = new CoreConstants.ObservationType[nPlayers];
+        for (int p = 0; p < nPlayers; p++) {
+            observationTypes[p] = CoreConstants.ObservationType.values()[in.readUnsignedByte()];
+        }
+        long seed = in.readLong();
+        int nParams = readVarInt(in);
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        for (int i = 0; i < nParams; i++) {
+            String name = in.readUTF();
+            parameters.put(name, readValue(in));
+        }
+        GameRecord record = new GameRecord(gameType, nPlayers, seed, parameters, observationTypes);
+        int n = readVarInt(in);
+        record.decisions = new int[Math.max(n, 1)];
+        for (int i = 0; i < n; i++) {
+            record.decisions[i] = readVarInt(in) - 2;
+        }
+        record.nDecisions = n;
+        return record;
+    }
+
+    /**
+     * Reads all records in a file written by GameRecordListener (gzipped if the file name ends in .gz).
+     *
+     * @param fileName - file to read.
+     * @return - list of records, in the order the games were played.
+     */
+    public static List<GameRecord> readAll(String fileName) {
+        List<GameRecord> records = new ArrayList<>();
+        try (InputStream file = new FileInputStream(fileName)) {
+            InputStream stream = fileName.endsWith(".gz") ? new GZIPInputStream(file) : file;
+            DataInputStream in = new DataInputStream(new BufferedInputStream(stream));
+            while (true) {
+                try {
+                    records.add(read(in));
+                } catch (EOFException e) {
+                    break;
+                }
+            }
+        } catch (IOException e) {
+            throw new AssertionError("Problem reading game records from " + fileName + " : " + e.getMessage());
+        }
+        return records;
+    }
+
+    private static void writeValue(DataOutput out, Object value) throws IOException {
+        if (value instanceof Integer) {
+            out.writeByte('i');
+            out.writeInt((Integer) value);
+        } else if (value instanceof Long) {
+            out.writeByte('l');
+            out.writeLong((Long) value);
+        } else if (value instanceof Double) {
+            out.writeByte('d');
+            out.writeDouble((Double) value);
+        } else if (value instanceof Boolean) {
+            out.writeByte('b');
+            out.writeBoolean((Boolean) value);
+        } else {
+            // Strings and enums; TunableParameters maps enum names back to their constants
+            out.writeByte('s');
+            out.writeUTF(String.valueOf(value));
+        }
+    }
+
+    private static Object readValue(DataInput in) throws IOException {
+        int type = in.readUnsignedByte();
+        switch (type) {
+            case 'i':
+                return in.readInt();
+            case 'l':
+                return in.readLong();
+            case 'd':
+                return in.readDouble();
+            case 'b':
+                return in.readBoolean();
+            case 's':
+                return in.readUTF();
+            default:
+                throw new IOException("Unknown parameter value type " + type);
+        }
+    }
+
+    private static void writeVarInt(DataOutput out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    private static int readVarInt(DataInput in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return value;
+        }
+        throw new IOException("Malformed variable-length integer");
+    }
+}
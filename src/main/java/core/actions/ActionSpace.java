@@ -0,0 +1,101 @@
+package core.actions;
+
+import java.util.AbstractList;
+import java.util.RandomAccess;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+
+/**
+ * List of available actions which only builds an action when it is asked for: size() counts the options, and get(i)
+ * decodes option i into an action. Forward models can return one from computeAvailableActions() when there are many
+ * options, so that players who only look at a few of them (random rollouts, RMHC, progressive widening...) do not pay
+ * for building all of them. Anything else (Game.run(), GUIs) sees an ordinary unmodifiable List.
+ *
+ * Each call to get() builds a new action, so actions from an action space should be compared with equals().
+ */
+public abstract class ActionSpace extends AbstractList<AbstractAction> implements RandomAccess {
+
+    /**
+     * @return - number of actions in this space.
+     */
+    @Override
+    public abstract int size();
+
+    /**
+     * Builds the action with the given index.
+     *
+     * @param index - index of the action, 0 <= index < size().
+     * @return - new action.
+     */
+    protected abstract AbstractAction decode(int index);
+
+    @Override
+    public final AbstractAction get(int index) {
+        if (index < 0 || index >= size())
+            throw new IndexOutOfBoundsException("Index " + index + " out of action space of size " + size());
+        return decode(index);
+    }
+
+    /**
+     * @param size    - number of actions.
+     * @param decoder - builds the action with the given index.
+     * @return - action space of the given size, with actions built by the decoder.
+     */
+    public static ActionSpace of(int size, IntFunction<AbstractAction> decoder) {
+        return new ActionSpace() {
+            @Override
+            public int size() {
+                return size;
+            }
+
+            @Override
+            protected AbstractAction decode(int index) {
+                return decoder.apply(index);
+            }
+        };
+    }
+
+    /**
+     * Action space with one action for each ordering of n elements (n! actions), in lexicographic order.
+     *
+     * @param n       - number of elements, at most 12.
+     * @param decoder - builds the action for an ordering, given as an array holding 0 ... n-1 in that order.
+     * @return - action space of all orderings.
+     */
+    public static ActionSpace permutations(int n, Function<int[], AbstractAction> decoder) {
+        if (n < 0 || n > 12)
+            throw new IllegalArgumentException("Can not index the permutations of " + n + " elements with an int");
+        int size = 1;
+        for (int i = 2; i <= n; i++) {
+            size *= i;
+        }
+        return of(size, index -> decoder.apply(permutation(n, index)));
+    }
+
+    /**
+     * Decodes the index of a permutation of n elements, in lexicographic order, with its factorial number system
+     * representation (Lehmer code).
+     *
+     * @param n     - number of elements.
+     * @param index - index of the permutation, 0 <= index < n!.
+     * @return - the permutation, an ordering of 0 ... n-1.
+     */
+    public static int[] permutation(int n, int index) {
+        int[] factorials = new int[n];
+        int[] remaining = new int[n];
+        for (int i = 0; i < n; i++) {
+            factorials[i] = i == 0 ? 1 : factorials[i - 1] * i;
+            remaining[i] = i;
+        }
+        int[] permutation = new int[n];
+        for (int i = 0; i < n; i++) {
+            int f = factorials[n - 1 - i];
+            int digit = index / f;
+            index %= f;
+            permutation[i] = remaining[digit];
+            // Remove the element used from those remaining
+            System.arraycopy(remaining, digit + 1, remaining, digit, n - 1 - i - digit);
+        }
+        return permutation;
+    }
+}
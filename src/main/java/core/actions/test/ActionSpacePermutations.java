@@ -0,0 +1,129 @@
+package core.actions.test;
+
+import core.AbstractGameState;
+import core.actions.AbstractAction;
+import core.actions.ActionSpace;
+import org.junit.*;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class ActionSpacePermutations {
+
+    /**
+     * Action standing for one ordering, as built by the decoder of a permutation space.
+     */
+    static class Order extends AbstractAction {
+        final int[] order;
+
+        Order(int[] order) {
+            this.order = order;
+        }
+
+        @Override
+        public boolean execute(AbstractGameState gs) {
+            return true;
+        }
+
+        @Override
+        public AbstractAction copy() {
+            return new Order(order.clone());
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof Order && Arrays.equals(order, ((Order) obj).order);
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(order);
+        }
+
+        @Override
+        public String getString(AbstractGameState gameState) {
+            return Arrays.toString(order);
+        }
+    }
+
+    @Test
+    public void threeElementsInLexicographicOrder() {
+        int[][] expected = {{0, 1, 2}, {0, 2, 1}, {1, 0, 2}, {1, 2, 0}, {2, 0, 1}, {2, 1, 0}};
+        for (int i = 0; i < expected.length; i++) {
+            assertArrayEquals(expected[i], ActionSpace.permutation(3, i));
+        }
+    }
+
+    @Test
+    public void allPermutationsOnceInOrder() {
+        List<AbstractAction> space = ActionSpace.permutations(5, Order::new);
+        assertEquals(120, space.size());
+        Set<AbstractAction> seen = new HashSet<>();
+        int[] previous = null;
+        for (AbstractAction action : space) {
+            int[] order = ((Order) action).order;
+            int[] sorted = order.clone();
+            Arrays.sort(sorted);
+            assertArrayEquals(new int[]{0, 1, 2, 3, 4}, sorted);
+            if (previous != null) {
+                assertTrue(compare(previous, order) < 0);
+            }
+            previous = order;
+            assertTrue(seen.add(action));
+        }
+        assertEquals(120, seen.size());
+    }
+
+    private static int compare(int[] a, int[] b) {
+        for (int i = 0; i < a.length; i++) {
+            if (a[i] != b[i]) return Integer.compare(a[i], b[i]);
+        }
+        return 0;
+    }
+
+    @Test
+    public void largestSpace() {
+        ActionSpace space = ActionSpace.permutations(12, Order::new);
+        assertEquals(479001600, space.size());
+        assertArrayEquals(new int[]{0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11}, ((Order) space.get(0)).order);
+        assertArrayEquals(new int[]{11, 10, 9, 8, 7, 6, 5, 4, 3, 2, 1, 0},
+                ((Order) space.get(space.size() - 1)).order);
+    }
+
+    @Test
+    public void noElements() {
+        ActionSpace space = ActionSpace.permutations(0, Order::new);
+        assertEquals(1, space.size());
+        assertEquals(0, ((Order) space.get(0)).order.length);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void tooManyElements() {
+        ActionSpace.permutations(13, Order::new);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void indexOutOfSpace() {
+        ActionSpace.permutations(3, Order::new).get(6);
+    }
+
+    @Test
+    public void actionsOnlyBuiltWhenAskedFor() {
+        int[] built = new int[1];
+        ActionSpace space = ActionSpace.of(1000, i -> {
+            built[0]++;
+            return new Order(new int[]{i});
+        });
+        assertEquals(1000, space.size());
+        assertEquals(0, built[0]);
+        assertEquals(new Order(new int[]{42}), space.get(42));
+        assertEquals(1, built[0]);
+        assertEquals(42, space.indexOf(new Order(new int[]{42})));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void unmodifiable() {
+        ActionSpace.permutations(3, Order::new).add(new Order(new int[]{0, 1, 2}));
+    }
+}
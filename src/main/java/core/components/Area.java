@@ -30,7 +30,8 @@ public class Area extends Component implements IComponentContainer<Component> {
         Area new_area = new Area(ownerId, componentName, componentID);
         new_area.components = new HashMap<>();
         for (Map.Entry<Integer, Component> c: this.components.entrySet()){
-            new_area.components.put(c.getKey(), c.getValue().copy());
+            Component comp = c.getValue();
+            new_area.components.put(c.getKey(), comp.isImmutable() ? comp : comp.copy());
         }
         copyComponentTo(new_area);
         return new_area;
@@ -0,0 +1,267 @@
+package core.components;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * GridBoard variant backed by primitive bitboards instead of a Component[][] grid.
+ * Each cell holds either the default value or one value from a small, fixed palette (e.g. one token per player).
+ * One bitboard (long[]) is kept per palette value, with cell (x, y) mapped to bit index y * width + x.
+ * Copies are just array clones, and line checks become a few mask ANDs (see lineMasks()).
+ *
+ * The GridBoard API (getElement, setElement, getGridValues, flattenGrid...) is kept as a view over the bits, so GUIs
+ * and generic actions such as SetGridValueAction work unchanged.
+ */
+public class BitGridBoard<T extends Component> extends GridBoard<T> {
+
+    private final List<T> palette;  // Values that can be placed in cells, index in this list is the bitboard layer
+    private final T defaultValue;  // Value of any cell not set in any layer
+    private long[][] layers;  // One bitboard per palette value
+
+    public BitGridBoard(int width, int height, T defaultValue, List<T> palette) {
+        super();
+        this.width = width;
+        this.height = height;
+        this.defaultValue = defaultValue;
+        this.palette = new ArrayList<>(palette);
+        this.layers = new long[palette.size()][nWords(width * height)];
+    }
+
+    private BitGridBoard(BitGridBoard<T> orig) {
+        super(orig.width, orig.height, orig.componentID);
+        this.defaultValue = orig.defaultValue;
+        this.palette = orig.palette;  // Immutable, shared
+        this.layers = new long[orig.layers.length][];
+        for (int i = 0; i < layers.length; i++) {
+            layers[i] = orig.layers[i].clone();
+        }
+    }
+
+    /**
+     * @param nBits - number of bits needed.
+     * @return - number of longs needed to store this many bits.
+     */
+    public static int nWords(int nBits) {
+        return (nBits + 63) >>> 6;
+    }
+
+    /**
+     * @return - bit index of cell (x, y) in the bitboards of this grid.
+     */
+    public int getCellIndex(int x, int y) {
+        return y * width + x;
+    }
+
+    /**
+     * @return - index in the palette of the value placed in cell (x, y), -1 if it holds the default value.
+     */
+    public int getValueIndex(int x, int y) {
+        return getValueIndex(getCellIndex(x, y));
+    }
+
+    public int getValueIndex(int cellIdx) {
+        int word = cellIdx >>> 6;
+        long bit = 1L << cellIdx;
+        for (int i = 0; i < layers.length; i++) {
+            if ((layers[i][word] & bit) != 0) return i;
+        }
+        return -1;
+    }
+
+    /**
+     * Sets cell (x, y) to the value at the given index in the palette, or to the default value if -1.
+     */
+    public void setValueIndex(int x, int y, int valueIdx) {
+        int cellIdx = getCellIndex(x, y);
+        int word = cellIdx >>> 6;
+        long bit = 1L << cellIdx;
+        for (long[] layer : layers) {
+            layer[word] &= ~bit;
+        }
+        if (valueIdx >= 0) layers[valueIdx][word] |= bit;
+    }
+
+    /**
+     * Retrieves the bitboard for one palette value. This is the live array used by the grid, and must not be modified.
+     *
+     * @param valueIdx - index of value in the palette.
+     * @return - bitboard with a bit set for every cell holding this value.
+     */
+    public long[] getLayer(int valueIdx) {
+        return layers[valueIdx];
+    }
+
+    /**
+     * @return true if all cells in the mask hold the value with the given palette index.
+     */
+    public boolean containsAll(int valueIdx, long[] mask) {
+        long[] layer = layers[valueIdx];
+        for (int w = 0; w < mask.length; w++) {
+            if ((layer[w] & mask[w]) != mask[w]) return false;
+        }
+        return true;
+    }
+
+    /**
+     * @return number of cells in the mask holding the value with the given palette index.
+     */
+    public int count(int valueIdx, long[] mask) {
+        long[] layer = layers[valueIdx];
+        int count = 0;
+        for (int w = 0; w < mask.length; w++) {
+            count += Long.bitCount(layer[w] & mask[w]);
+        }
+        return count;
+    }
+
+    /**
+     * @return number of cells not holding the default value.
+     */
+    public int countOccupied() {
+        int count = 0;
+        for (long[] layer : layers) {
+            for (long word : layer) {
+                count += Long.bitCount(word);
+            }
+        }
+        return count;
+    }
+
+    public List<T> getPalette() {
+        return palette;
+    }
+
+    public T getDefaultValue() {
+        return defaultValue;
+    }
+
+    /**
+     * Generates masks for all straight lines of n consecutive cells (horizontal, vertical and both diagonals) in a
+     * grid of the given size. Used to precompute N-in-a-row win conditions.
+     *
+     * @param width  - width of the grid.
+     * @param height - height of the grid.
+     * @param n      - length of line.
+     * @return - list of masks, one per line, for use with containsAll() and count().
+     */
+    public static List<long[]> lineMasks(int width, int height, int n) {
+        List<long[]> masks = new ArrayList<>();
+        int[][] directions = new int[][]{{1, 0}, {0, 1}, {1, 1}, {-1, 1}};
+        for (int[] d : directions) {
+            for (int y = 0; y < height; y++) {
+                for (int x = 0; x < width; x++) {
+                    int endX = x + d[0] * (n - 1);
+                    int endY = y + d[1] * (n - 1);
+                    if (endX < 0 || endX >= width || endY >= height) continue;
+                    long[] mask = new long[nWords(width * height)];
+                    for (int i = 0; i < n; i++) {
+                        int idx = (y + d[1] * i) * width + x + d[0] * i;
+                        mask[idx >>> 6] |= 1L << idx;
+                    }
+                    masks.add(mask);
+                }
+            }
+        }
+        return masks;
+    }
+
+    /**
+     * @return true if the given cell index is included in the mask.
+     */
+    public static boolean maskContains(long[] mask, int cellIdx) {
+        return (mask[cellIdx >>> 6] & (1L << cellIdx)) != 0;
+    }
+
+    @Override
+    public boolean setElement(int x, int y, T value) {
+        if (x >= 0 && x < width && y >= 0 && y < height) {
+            int valueIdx = -1;
+            if (value != null && !value.equals(defaultValue)) {
+                valueIdx = palette.indexOf(value);
+                if (valueIdx == -1)
+                    throw new IllegalArgumentException("Value " + value + " is not in the palette of this BitGridBoard");
+            }
+            setValueIndex(x, y, valueIdx);
+            return true;
+        } else
+            return false;
+    }
+
+    @Override
+    public T getElement(int x, int y) {
+        if (x >= 0 && x < width && y >= 0 && y < height) {
+            int valueIdx = getValueIndex(x, y);
+            return valueIdx == -1 ? defaultValue : palette.get(valueIdx);
+        }
+        return null;
+    }
+
+    @Override
+    public void setWidthHeight(int width, int height, int offsetX, int offsetY) {
+        if (offsetX + this.width > width) offsetX = 0;
+        if (offsetY + this.height > height) offsetY = 0;
+
+        int w = Math.min(width, this.width);
+        int h = Math.min(height, this.height);
+
+        long[][] newLayers = new long[layers.length][nWords(width * height)];
+        for (int i = 0; i < h; i++) {
+            for (int j = 0; j < w; j++) {
+                int valueIdx = getValueIndex(j, i);
+                if (valueIdx != -1) {
+                    int idx = (i + offsetY) * width + j + offsetX;
+                    newLayers[valueIdx][idx >>> 6] |= 1L << idx;
+                }
+            }
+        }
+        this.width = width;
+        this.height = height;
+        this.layers = newLayers;
+    }
+
+    /**
+     * Builds a Component[][] view of this grid. Modifying the returned array does not modify the grid.
+     *
+     * @return - 2D grid.
+     */
+    @Override
+    public Component[][] getGridValues() {
+        Component[][] grid = new Component[height][width];
+        for (int i = 0; i < height; i++) {
+            for (int j = 0; j < width; j++) {
+                grid[i][j] = getElement(j, i);
+            }
+        }
+        return grid;
+    }
+
+    @Override
+    public Component[] flattenGrid() {
+        Component[] array = new Component[width * height];
+        for (int i = 0; i < array.length; i++) {
+            int valueIdx = getValueIndex(i);
+            array[i] = valueIdx == -1 ? defaultValue : palette.get(valueIdx);
+        }
+        return array;
+    }
+
+    @Override
+    public BitGridBoard<T> copy() {
+        BitGridBoard<T> g = new BitGridBoard<>(this);
+        copyComponentTo(g);
+        return g;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o instanceof BitGridBoard) {
+            BitGridBoard<?> other = (BitGridBoard<?>) o;
+            return componentID == other.componentID && width == other.width && height == other.height &&
+                    Objects.equals(defaultValue, other.defaultValue) && palette.equals(other.palette) &&
+                    Arrays.deepEquals(layers, other.layers);
+        }
+        return super.equals(o);
+    }
+}
@@ -1,24 +1,25 @@
 package core.components;
 
-import core.properties.Property;
 import org.json.simple.JSONArray;
 import org.json.simple.JSONObject;
 import utilities.Utils;
 
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 
 public class BoardNode extends Component {
 
-    private HashSet<BoardNode> neighbours;  // Neighbours of this board node
+    private HashSet<BoardNode> neighbours;  // Neighbours of this board node, in the order they were added
     private HashMap<BoardNode, Integer> neighbourSideMapping;  // Neighbours mapping to a side of this board node
     private int maxNeighbours;  // Maximum number of neighbours for this board node
 
     public BoardNode(int maxNeighbours, String name) {
         super(Utils.ComponentType.BOARD_NODE, name);
         this.maxNeighbours = maxNeighbours;
-        this.neighbours = new HashSet<>();
-        this.neighbourSideMapping = new HashMap<>();
+        this.neighbours = new LinkedHashSet<>();
+        this.neighbourSideMapping = new LinkedHashMap<>();
     }
 
     public BoardNode() {
@@ -28,8 +29,8 @@ public class BoardNode extends Component {
     BoardNode(int maxNeighbours, String name, int ID) {
         super(Utils.ComponentType.BOARD_NODE, name, ID);
         this.maxNeighbours = maxNeighbours;
-        this.neighbours = new HashSet<>();
-        this.neighbourSideMapping = new HashMap<>();
+        this.neighbours = new LinkedHashSet<>();
+        this.neighbourSideMapping = new LinkedHashMap<>();
     }
 
     /**
@@ -122,10 +123,7 @@ public class BoardNode extends Component {
 
         StringBuilder sb = new StringBuilder();
         sb.append("{id: " + componentID + "; maxNeighbours: " + maxNeighbours + "; ");
-        for(int prop_key : properties.keySet()) {
-            Property prop = properties.get(prop_key);
-            sb.append(prop.getHashString() + ": " +  prop.toString() + "; ");
-        }
+        properties.forEach(prop -> sb.append(prop.getHashString() + ": " +  prop.toString() + "; "));
 
         return sb.toString();
     }
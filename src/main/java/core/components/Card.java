@@ -20,6 +20,7 @@ public class Card extends Component {
 
     @Override
     public Card copy(){
+        if (isImmutable()) return this;
         Card copy = new Card(componentName, componentID);
         copyComponentTo(copy);
         return copy;
@@ -6,42 +6,44 @@ import org.json.simple.JSONObject;
 import utilities.Utils.ComponentType;
 
 import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public abstract class Component {
-    private static int ID = 0;  // All components receive a unique and final ID from this always increasing counter
+    private static final AtomicInteger ID = new AtomicInteger(0);  // All components receive a unique and final ID from this always increasing counter (shared by games running in parallel)
 
     protected final int componentID;  // Unique ID of this component
     protected final ComponentType type;  // Type of this component
-    protected final HashMap<Integer, Property> properties;  // Maps between integer key for the property and the property object
+    protected final PropertyMap properties;  // Maps between integer key for the property and the property object
     protected int ownerId = -1;  // By default belongs to the game
     protected String componentName;  // Name of this component
+    private boolean immutable;  // Set once by setImmutable()
 
     public Component(ComponentType type, String name) {
-        this.componentID = ID++;
+        this.componentID = ID.getAndIncrement();
         this.type = type;
         this.componentName = name;
-        this.properties = new HashMap<>();
+        this.properties = new PropertyMap();
     }
 
     public Component(ComponentType type) {
-        this.componentID = ID++;
+        this.componentID = ID.getAndIncrement();
         this.type = type;
         this.componentName = type.toString();
-        this.properties = new HashMap<>();
+        this.properties = new PropertyMap();
     }
 
     protected Component(ComponentType type, String name, int componentID) {
         this.componentID = componentID;
         this.type = type;
         this.componentName = name;
-        this.properties = new HashMap<>();
+        this.properties = new PropertyMap();
     }
 
     protected Component(ComponentType type, int componentID) {
         this.componentID = componentID;
         this.type = type;
         this.componentName = type.toString();
-        this.properties = new HashMap<>();
+        this.properties = new PropertyMap();
     }
 
     /**
@@ -50,6 +52,32 @@ public abstract class Component {
      */
     public abstract Component copy();
 
+    /**
+     * Immutable components never change once set up, so game state copies share them instead of copying them:
+     * their copy() returns the component itself, and Deck and Area copies keep the same reference.
+     * As they may be held by different owners in different copies of the game state, immutable components do not
+     * track their owner (getOwnerId() is always -1), and their properties and name cannot be changed.
+     * Subclasses whose instances are all immutable override this to return true; otherwise single instances can be
+     * marked with setImmutable().
+     * @return - true if this component is immutable.
+     */
+    public boolean isImmutable() {
+        return immutable;
+    }
+
+    /**
+     * Marks this component as immutable, see isImmutable(). This cannot be undone.
+     */
+    public void setImmutable() {
+        ownerId = -1;
+        immutable = true;
+    }
+
+    private void checkMutable() {
+        if (isImmutable())
+            throw new AssertionError("Component " + componentName + " is immutable and cannot be modified");
+    }
+
     /**
      * Get and set the type of this component.
      */
@@ -74,7 +102,8 @@ public abstract class Component {
         return ownerId;
     }
     public void setOwnerId(int ownerId) {
-        this.ownerId = ownerId;
+        if (!isImmutable())
+            this.ownerId = ownerId;
     }
 
     /**
@@ -97,15 +126,16 @@ public abstract class Component {
      * @param componentName - new name for this component.
      */
     public void setComponentName(String componentName) {
+        checkMutable();
         this.componentName = componentName;
     }
 
     /**
-     * Get the full map of properties.
+     * Get the full map of properties. Modifying the map returned does not modify this component.
      * @return - mapping from property integer key to property objects.
      */
     public HashMap<Integer, Property> getProperties() {
-        return properties;
+        return properties.toHashMap();
     }
 
     /**
@@ -118,12 +148,25 @@ public abstract class Component {
         return properties.get(propId);
     }
 
+    /**
+     * Gets a property in order to modify its value in place. Property objects are shared between copies of a
+     * component until modified, so getProperty() must not be used for this.
+     * @param propId id of the property to look for
+     * @return the property value, not shared with any copy of this component. Null if it doesn't exist.
+     */
+    public Property getPropertyForUpdate(int propId)
+    {
+        checkMutable();
+        return properties.getForUpdate(propId);
+    }
+
     /**
      * Adds a property with an id and a Property object
      * @param prop property to add
      */
     public void setProperty(Property prop)
     {
+        checkMutable();
         properties.put(prop.getHashKey(), prop);
     }
 
@@ -204,11 +247,7 @@ public abstract class Component {
      */
     public void copyComponentTo(Component copyTo)
     {
-        copyTo.properties.clear();
-        for (int prop_key : this.properties.keySet()) {
-            Property newProp = this.properties.get(prop_key).copy();
-            copyTo.setProperty(newProp);
-        }
+        copyTo.properties.copyFrom(properties);
         copyTo.ownerId = ownerId;
         copyTo.componentName = componentName;
     }
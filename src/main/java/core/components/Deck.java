@@ -316,10 +316,12 @@ public class Deck<T extends Component> extends Component implements IComponentCo
     }
 
     protected void copyTo(Deck<T> deck) {
-        ArrayList<T> newComponents = new ArrayList<>();
-        for (T c : components)
-        {
-            newComponents.add((T)c.copy());
+        // Immutable components are shared, so the copy is a single array copy if all are immutable
+        ArrayList<T> newComponents = new ArrayList<>(components);
+        for (int i = 0; i < newComponents.size(); i++) {
+            T c = newComponents.get(i);
+            if (!c.isImmutable())
+                newComponents.set(i, (T) c.copy());
         }
         deck.components = newComponents;
         deck.capacity = capacity;
@@ -54,7 +54,7 @@ public class GraphBoard extends Component implements IComponentContainer<BoardNo
     public GraphBoard copy()
     {
         GraphBoard b = new GraphBoard(componentName, componentID);
-        HashMap<Integer, BoardNode> nodeCopies = new HashMap<>();
+        HashMap<Integer, BoardNode> nodeCopies = new LinkedHashMap<>();  // Keeps the order of the nodes
         // Copy board nodes
         for (BoardNode bn: boardNodes) {
             BoardNode bnCopy = new BoardNode(bn.getMaxNeighbours(), "", bn.getComponentID());
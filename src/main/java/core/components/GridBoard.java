@@ -22,8 +22,8 @@ import static utilities.Utils.getNeighbourhood;
 
 public class GridBoard<T extends Component> extends Component implements IComponentContainer<T> {
 
-    private int width;  // Width of the board
-    private int height;  // Height of the board
+    protected int width;  // Width of the board
+    protected int height;  // Height of the board
 
     private Component[][] grid;  // 2D grid representation of this board
 
@@ -58,6 +58,15 @@ public class GridBoard<T extends Component> extends Component implements ICompon
         this.grid = grid;
     }
 
+    /**
+     * Constructor for subclasses that keep their own cell storage (see BitGridBoard). No grid array is allocated.
+     */
+    protected GridBoard(int width, int height, int ID) {
+        super(Utils.ComponentType.BOARD, ID);
+        this.width = width;
+        this.height = height;
+    }
+
     public GridBoard(GridBoard<T> orig) {
         super(Utils.ComponentType.BOARD);
         this.width = orig.getWidth();
@@ -175,12 +184,12 @@ public class GridBoard<T extends Component> extends Component implements ICompon
      * @return - new grid with the same elements and correct orientation.
      */
     public Component[][] rotate(int orientation) {
-        GridBoard<T> copy = copy();
+        Component[][] rotated = copy().getGridValues();
         orientation %= 4;  // Maximum 4 sides to a grid
         for (int i = 0; i < orientation; i++) {
-            copy.grid = rotateClockWise(copy.grid);
+            rotated = rotateClockWise(rotated);
         }
-        return copy.grid;
+        return rotated;
     }
 
     /**
@@ -1,11 +1,9 @@
 package core.components;
 
 import core.CoreConstants.VisibilityMode;
-import utilities.Pair;
 
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
+import java.util.Arrays;
 import java.util.Random;
 
 import static core.CoreConstants.PARTIAL_OBSERVABLE;
@@ -17,15 +15,29 @@ public class PartialObservableDeck<T extends Component> extends Deck<T> {
     // (true if player can see the deck, false otherwise)
     protected boolean[] deckVisibility;
 
-    // Visibility of each component in the deck, order corresponds to order of elements in the deck;
-    protected ArrayList<boolean[]> elementVisibility = new ArrayList<>();
+    // Visibility of each component in the deck, order corresponds to order of elements in the deck.
+    // Stored as one bitmask per component (bit p set if player p can see it); only the first components.size()
+    // entries are in use, the rest is spare capacity.
+    protected long[] elementVisibility = new long[8];
 
     public boolean getVisibilityForPlayer(int elementIdx, int playerID) {
-        return elementVisibility.get(elementIdx)[playerID];
+        return (elementVisibility[elementIdx] & (1L << playerID)) != 0;
     }
 
+    /**
+     * @param elementIdx - index of component.
+     * @return - new array with the visibility of the component for each player; modifying it does not modify the deck.
+     */
     public boolean[] getVisibilityOfComponent(int elementIdx) {
-        return elementVisibility.get(elementIdx);
+        return toArray(elementVisibility[elementIdx]);
+    }
+
+    /**
+     * @param elementIdx - index of component.
+     * @return - visibility of the component as a bitmask, with bit p set if player p can see it.
+     */
+    public long getVisibilityMask(int elementIdx) {
+        return elementVisibility[elementIdx];
     }
 
     public PartialObservableDeck(String id, boolean[] defaultVisibility) {
@@ -34,6 +46,7 @@ public class PartialObservableDeck<T extends Component> extends Deck<T> {
 
     public PartialObservableDeck(String id, int ownerID, boolean[] defaultVisibility) {
         super(id, ownerID, VisibilityMode.MIXED_VISIBILITY);
+        checkPlayers(defaultVisibility.length);
         this.deckVisibility = defaultVisibility;
     }
 
@@ -50,6 +63,46 @@ public class PartialObservableDeck<T extends Component> extends Deck<T> {
         this.deckVisibility = defaultVisibility;
     }
 
+    private static void checkPlayers(int nPlayers) {
+        if (nPlayers > 64)
+            throw new IllegalArgumentException("PartialObservableDeck supports at most 64 players, not " + nPlayers);
+    }
+
+    private static long toMask(boolean[] visibility) {
+        long mask = 0;
+        for (int i = 0; i < visibility.length; i++) {
+            if (visibility[i]) mask |= 1L << i;
+        }
+        return mask;
+    }
+
+    private boolean[] toArray(long mask) {
+        boolean[] visibility = new boolean[deckVisibility.length];
+        for (int i = 0; i < visibility.length; i++) {
+            visibility[i] = (mask & (1L << i)) != 0;
+        }
+        return visibility;
+    }
+
+    /**
+     * Makes room for n new visibility entries at the given index, shifting later entries up.
+     * Must be called before the components themselves are added.
+     */
+    private void openGap(int index, int n) {
+        int size = components.size();
+        if (size + n > elementVisibility.length)
+            elementVisibility = Arrays.copyOf(elementVisibility, Math.max(size + n, elementVisibility.length * 2));
+        System.arraycopy(elementVisibility, index, elementVisibility, index + n, size - index);
+    }
+
+    /**
+     * Removes the visibility entry at the given index, shifting later entries down.
+     * Must be called after the component itself has been removed.
+     */
+    private void closeGap(int index) {
+        System.arraycopy(elementVisibility, index + 1, elementVisibility, index, components.size() - index);
+    }
+
     /**
      * Retrieves the components in this deck visible by the given player.
      *
@@ -62,10 +115,10 @@ public class PartialObservableDeck<T extends Component> extends Deck<T> {
         if (playerID < 0 || playerID >= deckVisibility.length)
             throw new IllegalArgumentException("playerID " + playerID + " needs to be in range [0," + (deckVisibility.length - 1) + "]");
 
+        long bit = 1L << playerID;
         ArrayList<T> visibleComponents = new ArrayList<>(components.size());
         for (int i = 0; i < components.size(); i++) {
-            boolean[] b = elementVisibility.get(i);
-            if (b[playerID])
+            if ((elementVisibility[i] & bit) != 0)
                 visibleComponents.add(i, components.get(i));
             else
                 visibleComponents.add(i, null);
@@ -83,7 +136,7 @@ public class PartialObservableDeck<T extends Component> extends Deck<T> {
     public boolean isComponentVisible(int idx, int playerID) {
         if (playerID < 0 || playerID >= deckVisibility.length)
             throw new IllegalArgumentException("playerID " + playerID + " needs to be in range [0," + (deckVisibility.length - 1) + "]");
-        return elementVisibility.get(idx)[playerID];
+        return getVisibilityForPlayer(idx, playerID);
     }
 
     /**
@@ -96,7 +149,7 @@ public class PartialObservableDeck<T extends Component> extends Deck<T> {
      */
     public void setComponents(ArrayList<T> components, ArrayList<boolean[]> visibilityPerPlayer) {
         super.setComponents(components);
-        this.elementVisibility = visibilityPerPlayer;
+        setVisibility(visibilityPerPlayer);
     }
 
     /**
@@ -109,7 +162,11 @@ public class PartialObservableDeck<T extends Component> extends Deck<T> {
             if (b.length != this.deckVisibility.length)
                 throw new IllegalArgumentException("All entries of visibility need to have length " + deckVisibility.length +
                         " but at least one entry is of length " + b.length);
-        this.elementVisibility = visibility;
+        long[] newVisibility = new long[Math.max(visibility.size(), elementVisibility.length)];
+        for (int i = 0; i < visibility.size(); i++) {
+            newVisibility[i] = toMask(visibility.get(i));
+        }
+        this.elementVisibility = newVisibility;
     }
 
     /**
@@ -120,10 +177,13 @@ public class PartialObservableDeck<T extends Component> extends Deck<T> {
      * @param visibility - true if player can see this component, false otherwise.
      */
     public void setVisibilityOfComponent(int index, int playerID, boolean visibility) {
-        if (index >= 0 && index < elementVisibility.size()) {
-            if (playerID >= 0 && playerID < deckVisibility.length)
-                this.elementVisibility.get(index)[playerID] = visibility;
-            else
+        if (index >= 0 && index < components.size()) {
+            if (playerID >= 0 && playerID < deckVisibility.length) {
+                if (visibility)
+                    elementVisibility[index] |= 1L << playerID;
+                else
+                    elementVisibility[index] &= ~(1L << playerID);
+            } else
                 throw new IllegalArgumentException("playerID " + playerID + "needs to be in range [0," + deckVisibility.length + "]");
         } else {
             throw new IllegalArgumentException("component index " + index + " needs to be in range [0," + components.size() + "]");
@@ -137,8 +197,8 @@ public class PartialObservableDeck<T extends Component> extends Deck<T> {
      * @param visibility - true if player can see this component, false otherwise.
      */
     public void setVisibilityOfComponent(int index, boolean[] visibility) {
-        if (index >= 0 && index < elementVisibility.size()) {
-            this.elementVisibility.set(index, visibility.clone());
+        if (index >= 0 && index < components.size()) {
+            this.elementVisibility[index] = toMask(visibility);
         } else {
             throw new IllegalArgumentException("component index " + index + " needs to be in range [0," + components.size() + "]");
         }
@@ -166,7 +226,22 @@ public class PartialObservableDeck<T extends Component> extends Deck<T> {
      * @return true if not over capacity, false otherwise.
      */
     public boolean add(T c, int index, boolean[] visibilityPerPlayer) {
-        this.elementVisibility.add(index, visibilityPerPlayer.clone());
+        return add(c, index, toMask(visibilityPerPlayer));
+    }
+
+    /**
+     * Adds a new component at the given index, with visibility given as a bitmask (bit p set if player p can see it).
+     *
+     * @param c          - component to add.
+     * @param index      - where to add the component.
+     * @param visibility - visibility bitmask.
+     * @return true if not over capacity, false otherwise.
+     */
+    public boolean add(T c, int index, long visibility) {
+        if (c == null)
+            throw new IllegalArgumentException("null cannot be added to a Deck");
+        openGap(index, 1);
+        elementVisibility[index] = visibility;
         return super.add(c, index);
     }
 
@@ -178,9 +253,9 @@ public class PartialObservableDeck<T extends Component> extends Deck<T> {
      * @return true if not over capacity, false otherwise.
      */
     public boolean add(Deck<T> d, int index) {
-        for (int i = 0; i < d.components.size(); i++) {
-            this.elementVisibility.add(index, deckVisibility.clone());
-        }
+        int n = d.components.size();
+        openGap(index, n);
+        Arrays.fill(elementVisibility, index, index + n, toMask(deckVisibility));
         return super.add(d, index);
     }
 
@@ -193,38 +268,35 @@ public class PartialObservableDeck<T extends Component> extends Deck<T> {
     public boolean add(PartialObservableDeck<T> d) {
         if (d == null)
             throw new IllegalArgumentException("d cannot be null");
-        elementVisibility.addAll(d.elementVisibility);
+        int n = d.components.size();
+        openGap(0, n);
+        System.arraycopy(d.elementVisibility, 0, elementVisibility, 0, n);
         for (int i = 0; i < deckVisibility.length; i++) {
             deckVisibility[i] &= d.deckVisibility[i];
         }
-        return super.add(d);
+        return super.add(d, 0);
     }
 
     @Override
     public boolean add(Deck<T> d) {
         if (d == null)
             throw new IllegalArgumentException("d cannot be null");
-        for (int i = 0; i < d.getSize(); i++) {
-            elementVisibility.add(deckVisibility.clone());
-        }
-        return super.add(d);
+        return add(d, 0);
     }
 
     @Override
     public void setComponents(ArrayList<T> components) {
         super.setComponents(components);
-
-        elementVisibility.clear();
-        for (int i = 0; i < components.size(); i++) {
-            elementVisibility.add(deckVisibility.clone());
-        }
+        if (components.size() > elementVisibility.length)
+            elementVisibility = new long[components.size()];
+        Arrays.fill(elementVisibility, 0, components.size(), toMask(deckVisibility));
     }
 
     @Override
     public T pick(int idx) {
         T el = super.pick(idx);
         if (el != null) {
-            elementVisibility.remove(idx);
+            closeGap(idx);
             return el;
         }
         return null;
@@ -243,49 +315,37 @@ public class PartialObservableDeck<T extends Component> extends Deck<T> {
     @Override
     public boolean remove(int idx) {
         if (super.remove(idx)) {
-            elementVisibility.remove(idx);
+            closeGap(idx);
             return true;
         }
         return false;
     }
 
-    @Override
-    public void clear() {
-        super.clear();
-        elementVisibility.clear();
-    }
-
     @Override
     public void shuffle(Random rnd) {
-        Pair<ArrayList<T>, ArrayList<boolean[]>> shuffled = shuffleLists(components, elementVisibility, rnd);
-        components = shuffled.a;
-        elementVisibility = shuffled.b;
+        shuffle(0, components.size(), rnd);
     }
 
     /**
-     * Shuffles a list of components and associated visibility
-     *
-     * @param comps - list of components
-     * @param vis   - associated visibility
-     * @param rnd   - random number generator to be used in shuffling.
-     * @return - both lists shuffled, keeping the mapping from component to visibility at the same index.
+     * Shuffles part of the deck in place, given by range [fromIndex, toIndex), keeping each component's visibility
+     * with it.
      */
-    private Pair<ArrayList<T>, ArrayList<boolean[]>> shuffleLists(ArrayList<T> comps, ArrayList<boolean[]> vis, Random rnd) {
-        ArrayList<T> tmp_components = new ArrayList<>();
-        ArrayList<boolean[]> tmp_visibility = new ArrayList<>();
-
-        List<Integer> indexList = new ArrayList<>();
-        for (int i = 0; i < comps.size(); i++)
-            indexList.add(i);
-        Collections.shuffle(indexList, rnd);
-
-        for (int targetIndex = 0; targetIndex < indexList.size(); targetIndex++) {
-            int sourceIndex = indexList.get(targetIndex);
-            tmp_components.add(targetIndex, comps.get(sourceIndex));
-            tmp_visibility.add(targetIndex, vis.get(sourceIndex));
+    @Override
+    public void shuffle(int fromIndex, int toIndex, Random rnd) {
+        for (int i = toIndex - 1; i > fromIndex; i--) {
+            swap(i, fromIndex + rnd.nextInt(i - fromIndex + 1), true);
         }
+    }
 
-        return new Pair(tmp_components, tmp_visibility);
+    private void swap(int i, int j, boolean withVisibility) {
+        T c = components.get(i);
+        components.set(i, components.get(j));
+        components.set(j, c);
+        if (withVisibility) {
+            long v = elementVisibility[i];
+            elementVisibility[i] = elementVisibility[j];
+            elementVisibility[j] = v;
+        }
     }
 
     /**
@@ -296,32 +356,21 @@ public class PartialObservableDeck<T extends Component> extends Deck<T> {
      * @param visible  - if true, shuffles only visible cards; otherwise, shuffles only hidden cards.
      */
     public void shuffleVisible(Random rnd, int playerId, boolean visible) {
-        ArrayList<T> visibleComponents = new ArrayList<>();
-        ArrayList<boolean[]> visibility = new ArrayList<>();
-        for (int i = 0; i < components.size(); i++) {
-            boolean[] b = elementVisibility.get(i);
-            if (b[playerId] == visible) {
-                visibleComponents.add(components.get(i));
-                visibility.add(b);
-            }
-        }
-        Pair<ArrayList<T>, ArrayList<boolean[]>> shuffled = shuffleLists(visibleComponents, visibility, rnd);
-
+        long bit = 1L << playerId;
+        int size = components.size();
+        int[] positions = new int[size];
         int n = 0;
-        for (int i = 0; i < components.size(); i++) {
-            boolean[] b = elementVisibility.get(i);
-            if (b[playerId] == visible) {
-                // Draw element from shuffled lists
-                components.set(i, shuffled.a.get(n));
-                /*
-                if other players can see a card, we know which card position they can see, but
-                not the actual card (otherwise, it would by definition be visible to us). Therefore
-                we do *not* shuffle element visibility, and keep this in the same order
-                */
-                if (visible)
-                    elementVisibility.set(i, shuffled.b.get(n));
-                n++;
-            }
+        for (int i = 0; i < size; i++) {
+            if (((elementVisibility[i] & bit) != 0) == visible)
+                positions[n++] = i;
+        }
+        /*
+        if other players can see a hidden card, we know which card position they can see, but
+        not the actual card (otherwise, it would by definition be visible to us). Therefore
+        we do *not* shuffle element visibility of hidden cards, and keep this in the same order
+        */
+        for (int k = n - 1; k > 0; k--) {
+            swap(positions[k], positions[rnd.nextInt(k + 1)], visible);
         }
     }
 
@@ -335,12 +384,7 @@ public class PartialObservableDeck<T extends Component> extends Deck<T> {
         this.copyTo(dp); // Copy super
 
         dp.deckVisibility = deckVisibility.clone();
-
-        ArrayList<boolean[]> newVisibility = new ArrayList<>();
-        for (boolean[] visibility : elementVisibility) {
-            newVisibility.add(visibility.clone());
-        }
-        dp.elementVisibility = newVisibility;
+        dp.elementVisibility = Arrays.copyOf(elementVisibility, components.size());
 
         return dp;
     }
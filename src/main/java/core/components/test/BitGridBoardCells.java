@@ -0,0 +1,180 @@
+package core.components.test;
+
+import core.components.BitGridBoard;
+import core.components.Component;
+import core.components.GridBoard;
+import core.components.Token;
+import org.junit.*;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class BitGridBoardCells {
+
+    Token empty = new Token("Empty");
+    Token x = new Token("x");
+    Token o = new Token("o");
+    Token z = new Token("z");
+
+    BitGridBoard<Token> board(int width, int height) {
+        return new BitGridBoard<>(width, height, empty, Arrays.asList(x, o, z));
+    }
+
+    @Test
+    public void sameCellsAsGridBoard() {
+        // More than 64 cells, so bitboards take several words
+        BitGridBoard<Token> bits = board(11, 9);
+        GridBoard<Token> grid = new GridBoard<>(11, 9, empty);
+        List<Token> values = Arrays.asList(empty, x, o, z);
+        Random rnd = new Random(31);
+        for (int i = 0; i < 1000; i++) {
+            int cx = rnd.nextInt(11), cy = rnd.nextInt(9);
+            Token value = values.get(rnd.nextInt(values.size()));
+            assertTrue(bits.setElement(cx, cy, value));
+            grid.setElement(cx, cy, value);
+        }
+        for (int cy = 0; cy < 9; cy++) {
+            for (int cx = 0; cx < 11; cx++) {
+                assertSame(grid.getElement(cx, cy), bits.getElement(cx, cy));
+            }
+        }
+        assertArrayEquals(grid.flattenGrid(), bits.flattenGrid());
+        Component[][] gridValues = bits.getGridValues();
+        for (int cy = 0; cy < 9; cy++) {
+            assertArrayEquals(grid.getGridValues()[cy], gridValues[cy]);
+        }
+
+        int occupied = 0;
+        for (Component c : grid.flattenGrid()) {
+            if (c != empty) occupied++;
+        }
+        assertEquals(occupied, bits.countOccupied());
+    }
+
+    @Test
+    public void valueIndices() {
+        BitGridBoard<Token> bits = board(3, 3);
+        assertEquals(-1, bits.getValueIndex(1, 1));
+        bits.setElement(1, 1, o);
+        assertEquals(1, bits.getValueIndex(1, 1));
+        assertEquals(1, bits.getValueIndex(bits.getCellIndex(1, 1)));
+        assertEquals(4, bits.getCellIndex(1, 1));
+        // Placing another value clears the previous one
+        bits.setValueIndex(1, 1, 2);
+        assertSame(z, bits.getElement(1, 1));
+        assertEquals(0, bits.getLayer(1)[0]);
+        assertEquals(1L << 4, bits.getLayer(2)[0]);
+        bits.setElement(1, 1, empty);
+        assertEquals(0, bits.countOccupied());
+        bits.setElement(1, 1, null);
+        assertSame(empty, bits.getElement(1, 1));
+    }
+
+    @Test
+    public void outOfBounds() {
+        BitGridBoard<Token> bits = board(3, 3);
+        assertFalse(bits.setElement(3, 0, x));
+        assertFalse(bits.setElement(0, -1, x));
+        assertNull(bits.getElement(0, 3));
+        assertEquals(0, bits.countOccupied());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void valueNotInPalette() {
+        board(3, 3).setElement(0, 0, new Token("x"));
+    }
+
+    @Test
+    public void copiesAreIndependent() {
+        BitGridBoard<Token> bits = board(10, 10);
+        bits.setElement(2, 3, x);
+        bits.setElement(9, 9, o);
+        BitGridBoard<Token> copy = bits.copy();
+        assertEquals(bits, copy);
+        assertEquals(bits.getComponentID(), copy.getComponentID());
+
+        copy.setElement(2, 3, o);
+        copy.setElement(0, 0, z);
+        assertNotEquals(bits, copy);
+        assertSame(x, bits.getElement(2, 3));
+        assertSame(empty, bits.getElement(0, 0));
+        assertEquals(2, bits.countOccupied());
+        assertEquals(3, copy.countOccupied());
+    }
+
+    @Test
+    public void lineMasks() {
+        // 3 rows, 3 columns and 2 diagonals
+        assertEquals(8, BitGridBoard.lineMasks(3, 3, 3).size());
+        // Lines of 5 in 10x10: 6 per row, 6 per column and 6x6 in each diagonal direction
+        List<long[]> masks = BitGridBoard.lineMasks(10, 10, 5);
+        assertEquals(60 + 60 + 36 + 36, masks.size());
+        Set<String> distinct = new HashSet<>();
+        for (long[] mask : masks) {
+            assertEquals(2, mask.length);
+            assertEquals(5, Long.bitCount(mask[0]) + Long.bitCount(mask[1]));
+            assertTrue(distinct.add(Arrays.toString(mask)));
+        }
+        // Anti-diagonal from (4, 0) to (0, 4)
+        long[] anti = new long[2];
+        for (int i = 0; i < 5; i++) {
+            int idx = i * 10 + 4 - i;
+            anti[idx >>> 6] |= 1L << idx;
+        }
+        assertTrue(distinct.contains(Arrays.toString(anti)));
+        assertTrue(BitGridBoard.maskContains(anti, 40));
+        assertFalse(BitGridBoard.maskContains(anti, 41));
+    }
+
+    @Test
+    public void lineChecks() {
+        BitGridBoard<Token> bits = board(10, 10);
+        List<long[]> masks = BitGridBoard.lineMasks(10, 10, 5);
+        // Vertical line across the word boundary (cells 32 to 72)
+        for (int cy = 3; cy < 8; cy++) {
+            bits.setElement(2, cy, o);
+        }
+        int full = 0;
+        for (long[] mask : masks) {
+            if (bits.containsAll(1, mask)) {
+                full++;
+                for (int cy = 3; cy < 8; cy++) {
+                    assertTrue(BitGridBoard.maskContains(mask, bits.getCellIndex(2, cy)));
+                }
+            }
+            assertFalse(bits.containsAll(0, mask));
+        }
+        assertEquals(1, full);
+
+        bits.setElement(2, 5, x);
+        for (long[] mask : masks) {
+            assertFalse(bits.containsAll(1, mask));
+            if (BitGridBoard.maskContains(mask, bits.getCellIndex(2, 3)) &&
+                    BitGridBoard.maskContains(mask, bits.getCellIndex(2, 7))) {
+                assertEquals(4, bits.count(1, mask));
+                assertEquals(1, bits.count(0, mask));
+            }
+        }
+    }
+
+    @Test
+    public void resizingKeepsCells() {
+        BitGridBoard<Token> bits = board(3, 3);
+        bits.setElement(0, 0, x);
+        bits.setElement(2, 1, o);
+        bits.setWidthHeight(9, 8, 2, 3);
+        assertEquals(9, bits.getWidth());
+        assertEquals(8, bits.getHeight());
+        assertSame(x, bits.getElement(2, 3));
+        assertSame(o, bits.getElement(4, 4));
+        assertSame(empty, bits.getElement(0, 0));
+        assertSame(empty, bits.getElement(8, 7));
+        assertEquals(2, bits.countOccupied());
+        assertEquals(2, bits.getLayer(0).length);
+
+        bits.setWidthHeight(3, 2);
+        assertSame(empty, bits.getElement(0, 0));
+        assertEquals(0, bits.countOccupied());
+    }
+}
@@ -0,0 +1,193 @@
+package core.components.test;
+
+import core.CoreConstants.VisibilityMode;
+import core.components.Card;
+import core.components.Deck;
+import core.components.PartialObservableDeck;
+import org.junit.*;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class PartialObservableDeckVisibility {
+
+    PartialObservableDeck<Card> deck;
+    // Visibility of each card by name, to check it stays with the card
+    Map<String, boolean[]> visibilityOf = new HashMap<>();
+
+    @Before
+    public void setup() {
+        deck = new PartialObservableDeck<>("Test", new boolean[]{true, false, false});
+        for (int i = 0; i < 20; i++) {
+            boolean[] visibility = {i % 2 == 0, i % 3 == 0, i % 5 == 0};
+            Card card = new Card("Card " + i);
+            visibilityOf.put(card.getComponentName(), visibility);
+            // More cards than the initial capacity of the visibility array
+            deck.add(card, deck.getSize(), visibility);
+        }
+    }
+
+    void assertVisibilityWithCards(PartialObservableDeck<Card> deck) {
+        for (int i = 0; i < deck.getSize(); i++) {
+            boolean[] expected = visibilityOf.get(deck.get(i).getComponentName());
+            assertEquals(Arrays.toString(expected), Arrays.toString(deck.getVisibilityOfComponent(i)));
+            long mask = deck.getVisibilityMask(i);
+            for (int p = 0; p < expected.length; p++) {
+                assertEquals(expected[p], deck.getVisibilityForPlayer(i, p));
+                assertEquals(expected[p], deck.isComponentVisible(i, p));
+                assertEquals(expected[p], (mask & (1L << p)) != 0);
+            }
+        }
+    }
+
+    @Test
+    public void visibilityOfEachCard() {
+        assertEquals(20, deck.getSize());
+        assertVisibilityWithCards(deck);
+    }
+
+    @Test
+    public void addingAndRemovingMovesVisibility() {
+        boolean[] visibility = {false, true, true};
+        Card inserted = new Card("Inserted");
+        visibilityOf.put(inserted.getComponentName(), visibility);
+        deck.add(inserted, 7, visibility);
+        assertSame(inserted, deck.get(7));
+        assertVisibilityWithCards(deck);
+
+        // Added with the default visibility of the deck
+        Card onTop = new Card("On top");
+        visibilityOf.put(onTop.getComponentName(), new boolean[]{true, false, false});
+        deck.add(onTop);
+        assertSame(onTop, deck.get(0));
+        assertVisibilityWithCards(deck);
+
+        deck.pick(3);
+        deck.remove(10);
+        deck.draw();
+        assertEquals(19, deck.getSize());
+        assertVisibilityWithCards(deck);
+    }
+
+    @Test
+    public void addingDecks() {
+        Deck<Card> plain = new Deck<>("Plain", VisibilityMode.VISIBLE_TO_ALL);
+        for (int i = 0; i < 3; i++) {
+            Card card = new Card("Plain " + i);
+            visibilityOf.put(card.getComponentName(), new boolean[]{true, false, false});
+            plain.add(card);
+        }
+        deck.add(plain, 5);
+        assertEquals(23, deck.getSize());
+        assertVisibilityWithCards(deck);
+
+        PartialObservableDeck<Card> other = new PartialObservableDeck<>("Other", new boolean[]{true, true, true});
+        Card card = new Card("Other card");
+        visibilityOf.put(card.getComponentName(), new boolean[]{false, false, true});
+        other.add(card, new boolean[]{false, false, true});
+        deck.add(other);
+        assertSame(card, deck.get(0));
+        assertVisibilityWithCards(deck);
+    }
+
+    @Test
+    public void visibleComponents() {
+        List<Card> seenBy1 = deck.getVisibleComponents(1);
+        assertEquals(deck.getSize(), seenBy1.size());
+        for (int i = 0; i < deck.getSize(); i++) {
+            if (deck.getVisibilityForPlayer(i, 1))
+                assertSame(deck.get(i), seenBy1.get(i));
+            else
+                assertNull(seenBy1.get(i));
+        }
+    }
+
+    @Test
+    public void settingVisibility() {
+        deck.setVisibilityOfComponent(4, 2, true);
+        deck.setVisibilityOfComponent(4, 0, false);
+        assertEquals("[false, false, true]", Arrays.toString(deck.getVisibilityOfComponent(4)));
+        deck.setVisibilityOfComponent(5, new boolean[]{true, true, true});
+        assertEquals(7L, deck.getVisibilityMask(5));
+        // The array returned is a copy
+        deck.getVisibilityOfComponent(5)[0] = false;
+        assertTrue(deck.getVisibilityForPlayer(5, 0));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void settingVisibilityOutOfDeck() {
+        deck.setVisibilityOfComponent(20, 0, true);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void settingVisibilityForUnknownPlayer() {
+        deck.setVisibilityOfComponent(0, 3, true);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void tooManyPlayers() {
+        new PartialObservableDeck<Card>("Too big", 65);
+    }
+
+    @Test
+    public void sixtyFourPlayers() {
+        PartialObservableDeck<Card> big = new PartialObservableDeck<>("Big", 64);
+        big.add(new Card("Card"));
+        big.setVisibilityOfComponent(0, 63, true);
+        assertTrue(big.getVisibilityForPlayer(0, 63));
+        assertFalse(big.getVisibilityForPlayer(0, 62));
+        assertEquals(Long.MIN_VALUE, big.getVisibilityMask(0));
+    }
+
+    @Test
+    public void shuffleKeepsVisibilityWithCards() {
+        List<Card> before = new ArrayList<>(deck.getComponents());
+        deck.shuffle(new Random(12));
+        assertNotEquals(before, deck.getComponents());
+        assertVisibilityWithCards(deck);
+
+        deck.shuffle(5, 15, new Random(13));
+        assertVisibilityWithCards(deck);
+    }
+
+    @Test
+    public void shuffleVisibleOnlyMovesHiddenCards() {
+        List<Card> before = new ArrayList<>(deck.getComponents());
+        long[] masks = new long[deck.getSize()];
+        for (int i = 0; i < masks.length; i++) {
+            masks[i] = deck.getVisibilityMask(i);
+        }
+
+        deck.shuffleVisible(new Random(5), 1, false);
+
+        Set<Card> hiddenBefore = new HashSet<>();
+        Set<Card> hiddenAfter = new HashSet<>();
+        for (int i = 0; i < masks.length; i++) {
+            // Visibility stays in place, as other players may know which position they see
+            assertEquals(masks[i], deck.getVisibilityMask(i));
+            if (deck.getVisibilityForPlayer(i, 1)) {
+                assertSame(before.get(i), deck.get(i));
+            } else {
+                hiddenBefore.add(before.get(i));
+                hiddenAfter.add(deck.get(i));
+            }
+        }
+        assertEquals(hiddenBefore, hiddenAfter);
+        assertNotEquals(before, deck.getComponents());
+    }
+
+    @Test
+    public void copiesAreIndependent() {
+        PartialObservableDeck<Card> copy = deck.copy();
+        assertVisibilityWithCards(copy);
+
+        copy.setVisibilityOfComponent(1, 2, true);
+        assertTrue(copy.getVisibilityForPlayer(1, 2));
+        copy.add(new Card("Extra"), new boolean[]{true, true, true});
+
+        assertFalse(deck.getVisibilityForPlayer(1, 2));
+        assertEquals(20, deck.getSize());
+        assertVisibilityWithCards(deck);
+    }
+}
@@ -0,0 +1,20 @@
+package core.interfaces;
+
+import core.AbstractGameState;
+import core.actions.AbstractAction;
+
+/**
+ * Implemented by actions that players other than the one playing them only see in part, such as a card played face
+ * down. Actions that do not implement it are seen in full by all players.
+ */
+public interface IPartialObservableAction {
+    /**
+     * Describes this action as seen by another player than the one playing it. Actions that this player cannot tell
+     * apart must be described by equal objects, which are only compared, never executed.
+     *
+     * @param gameState - state the action is about to be applied to.
+     * @param playerId  - player observing the action.
+     * @return - the action as seen by the given player.
+     */
+    AbstractAction getObservedAction(AbstractGameState gameState, int playerId);
+}
@@ -10,4 +10,14 @@ public interface IVectorObservation {
      */
     VectorObservation getVectorObservation();
 
+    /**
+     * Encode the game state into a vector of numbers (fixed length during game), e.g. as features for learning.
+     * By default this converts the vector observation with VectorObservation.toDoubleArray(); games whose vector
+     * observation holds components or other objects should override it.
+     * @return - a numerical vector observation.
+     */
+    default double[] getNumericalObservation() {
+        return getVectorObservation().toDoubleArray();
+    }
+
 }
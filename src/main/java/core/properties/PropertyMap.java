@@ -0,0 +1,170 @@
+package core.properties;
+
+import java.util.HashMap;
+import java.util.function.Consumer;
+
+/**
+ * Compact map from integer property keys (see utilities.Hash) to properties, used by components.
+ * Keys and values are kept in two parallel open-addressing arrays (linear probing), so there is no boxing of keys and
+ * no entry object per property; the arrays are only allocated when the first property is added.
+ *
+ * Copies are copy-on-write: copyFrom() shares the arrays and the Property objects of the other map, and each map
+ * takes its own arrays the first time it is written to. Property objects in a shared map must therefore never be
+ * modified in place: use getForUpdate() to retrieve a property to be modified, which copies it first if it may still
+ * be shared with another map.
+ */
+public class PropertyMap {
+
+    private int[] keys;
+    private Property[] values;  // null entries are empty slots
+    private boolean[] owned;  // true if the property in this slot is not shared with any other map; null if none are
+    private boolean sharedArrays;  // true if keys and values may be shared with another map
+    private int size;
+
+    /**
+     * @param key - property key.
+     * @return - the property with the given key, or null if none. This must not be modified, see getForUpdate().
+     */
+    public Property get(int key) {
+        if (values == null) return null;
+        return values[findSlot(key)];
+    }
+
+    /**
+     * Retrieves a property that the caller is going to modify in place. If the property is shared with copies of
+     * this map, it is first replaced in this map with a copy of its own.
+     *
+     * @param key - property key.
+     * @return - the property with the given key, or null if none.
+     */
+    public Property getForUpdate(int key) {
+        if (values == null) return null;
+        int slot = findSlot(key);
+        if (values[slot] == null) return null;
+        if (owned == null || !owned[slot]) {
+            ensureOwnArrays();
+            values[slot] = values[slot].copy();
+            markOwned(slot);
+        }
+        return values[slot];
+    }
+
+    /**
+     * Adds a property with the given key, replacing any property already stored with this key.
+     */
+    public void put(int key, Property prop) {
+        if (prop == null)
+            throw new IllegalArgumentException("null property cannot be added for key " + key);
+        if (values == null) {
+            keys = new int[4];
+            values = new Property[4];
+        } else {
+            ensureOwnArrays();
+            if ((size + 1) * 4 > values.length * 3) resize(values.length * 2);
+        }
+        int slot = findSlot(key);
+        if (values[slot] == null) size++;
+        keys[slot] = key;
+        values[slot] = prop;
+        markOwned(slot);
+    }
+
+    public boolean containsKey(int key) {
+        return get(key) != null;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Makes this map a copy of the other. No properties are copied until one of the maps is written to.
+     *
+     * @param other - map to copy.
+     */
+    public void copyFrom(PropertyMap other) {
+        if (other == this) return;
+        keys = other.keys;
+        values = other.values;
+        size = other.size;
+        owned = null;
+        other.owned = null;
+        sharedArrays = other.sharedArrays = values != null;
+    }
+
+    /**
+     * Applies the given function to all properties, in no particular order. Properties must not be modified.
+     */
+    public void forEach(Consumer<Property> f) {
+        if (values == null) return;
+        for (Property p : values) {
+            if (p != null) f.accept(p);
+        }
+    }
+
+    /**
+     * @return - a new HashMap with the same contents as this map. Properties are shared, not copied.
+     */
+    public HashMap<Integer, Property> toHashMap() {
+        HashMap<Integer, Property> map = new HashMap<>();
+        if (values != null) {
+            for (int i = 0; i < values.length; i++) {
+                if (values[i] != null) map.put(keys[i], values[i]);
+            }
+        }
+        return map;
+    }
+
+    /**
+     * @return - slot holding the given key, or the empty slot where it would be inserted.
+     */
+    private int findSlot(int key) {
+        int mask = values.length - 1;
+        int slot = mix(key) & mask;
+        while (values[slot] != null && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private static int mix(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private void ensureOwnArrays() {
+        if (sharedArrays) {
+            keys = keys.clone();
+            values = values.clone();
+            if (owned != null) owned = owned.clone();
+            sharedArrays = false;
+        }
+    }
+
+    private void markOwned(int slot) {
+        if (owned == null) owned = new boolean[values.length];
+        owned[slot] = true;
+    }
+
+    private void resize(int capacity) {
+        int[] oldKeys = keys;
+        Property[] oldValues = values;
+        boolean[] oldOwned = owned;
+        keys = new int[capacity];
+        values = new Property[capacity];
+        owned = oldOwned == null ? null : new boolean[capacity];
+        for (int i = 0; i < oldValues.length; i++) {
+            if (oldValues[i] != null) {
+                int slot = findSlot(oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+                if (oldOwned != null) owned[slot] = oldOwned[i];
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return toHashMap().toString();
+    }
+}
@@ -0,0 +1,134 @@
+package core.properties.test;
+
+import core.components.Card;
+import core.properties.*;
+import org.junit.*;
+import utilities.Hash;
+
+import java.util.HashMap;
+
+import static org.junit.Assert.*;
+
+public class PropertyMapCopyOnWrite {
+
+    PropertyMap original;
+    int countKey = Hash.GetInstance().hash("count");
+    int nameKey = Hash.GetInstance().hash("name");
+
+    @Before
+    public void setup() {
+        original = new PropertyMap();
+        original.put(countKey, new PropertyInt("count", 3));
+        original.put(nameKey, new PropertyString("name", "Gold"));
+    }
+
+    @Test
+    public void copySharesPropertiesUntilWritten() {
+        PropertyMap copy = new PropertyMap();
+        copy.copyFrom(original);
+
+        assertEquals(2, copy.size());
+        assertSame(original.get(countKey), copy.get(countKey));
+        assertSame(original.get(nameKey), copy.get(nameKey));
+    }
+
+    @Test
+    public void updatingCopyDoesNotChangeOriginal() {
+        PropertyMap copy = new PropertyMap();
+        copy.copyFrom(original);
+
+        PropertyInt count = (PropertyInt) copy.getForUpdate(countKey);
+        assertNotSame(original.get(countKey), count);
+        count.value = 10;
+
+        assertEquals(3, ((PropertyInt) original.get(countKey)).value);
+        assertEquals(10, ((PropertyInt) copy.get(countKey)).value);
+        // Properties not updated are still shared
+        assertSame(original.get(nameKey), copy.get(nameKey));
+        // Once copied, the property belongs to the copy
+        assertSame(count, copy.getForUpdate(countKey));
+    }
+
+    @Test
+    public void updatingOriginalDoesNotChangeCopy() {
+        PropertyMap copy = new PropertyMap();
+        copy.copyFrom(original);
+
+        ((PropertyInt) original.getForUpdate(countKey)).value = 7;
+
+        assertEquals(7, ((PropertyInt) original.get(countKey)).value);
+        assertEquals(3, ((PropertyInt) copy.get(countKey)).value);
+    }
+
+    @Test
+    public void putInCopyDoesNotChangeOriginal() {
+        PropertyMap copy = new PropertyMap();
+        copy.copyFrom(original);
+
+        copy.put(countKey, new PropertyInt("count", 5));
+        // Enough new keys to make the copy resize its arrays
+        for (int i = 0; i < 20; i++) {
+            copy.put(Hash.GetInstance().hash("extra" + i), new PropertyInt("extra" + i, i));
+        }
+
+        assertEquals(2, original.size());
+        assertEquals(22, copy.size());
+        assertEquals(3, ((PropertyInt) original.get(countKey)).value);
+        assertEquals(5, ((PropertyInt) copy.get(countKey)).value);
+        assertNull(original.get(Hash.GetInstance().hash("extra0")));
+        for (int i = 0; i < 20; i++) {
+            assertEquals(i, ((PropertyInt) copy.get(Hash.GetInstance().hash("extra" + i))).value);
+        }
+    }
+
+    @Test
+    public void copiesOfCopiesAreIndependent() {
+        PropertyMap copy = new PropertyMap();
+        copy.copyFrom(original);
+        PropertyMap copyOfCopy = new PropertyMap();
+        copyOfCopy.copyFrom(copy);
+
+        ((PropertyInt) copy.getForUpdate(countKey)).value = 4;
+        ((PropertyInt) copyOfCopy.getForUpdate(countKey)).value = 5;
+
+        assertEquals(3, ((PropertyInt) original.get(countKey)).value);
+        assertEquals(4, ((PropertyInt) copy.get(countKey)).value);
+        assertEquals(5, ((PropertyInt) copyOfCopy.get(countKey)).value);
+    }
+
+    @Test
+    public void emptyMap() {
+        PropertyMap empty = new PropertyMap();
+        PropertyMap copy = new PropertyMap();
+        copy.copyFrom(empty);
+
+        assertEquals(0, copy.size());
+        assertNull(copy.get(countKey));
+        assertNull(copy.getForUpdate(countKey));
+        assertFalse(copy.containsKey(countKey));
+
+        copy.put(countKey, new PropertyInt("count", 1));
+        assertEquals(0, empty.size());
+        assertTrue(copy.containsKey(countKey));
+    }
+
+    @Test
+    public void toHashMapHasAllProperties() {
+        HashMap<Integer, Property> map = original.toHashMap();
+        assertEquals(2, map.size());
+        assertEquals(3, ((PropertyInt) map.get(countKey)).value);
+        assertEquals("Gold", ((PropertyString) map.get(nameKey)).value);
+    }
+
+    @Test
+    public void componentCopiesAreIndependent() {
+        Card card = new Card("Gold");
+        card.setProperty(new PropertyInt("count", 3));
+        Card copy = card.copy();
+
+        ((PropertyInt) copy.getPropertyForUpdate(countKey)).value = 8;
+
+        assertEquals(3, ((PropertyInt) card.getProperty(countKey)).value);
+        assertEquals(8, ((PropertyInt) copy.getProperty(countKey)).value);
+    }
+}
@@ -0,0 +1,119 @@
+package core.test;
+
+import core.AbstractGameState;
+import core.AbstractPlayer;
+import core.components.Card;
+import core.components.Component;
+import core.interfaces.IComponentContainer;
+import games.dominion.*;
+import games.dominion.DominionConstants.DeckType;
+import games.dominion.cards.CardType;
+import games.dominion.test.TestPlayer;
+import org.junit.*;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class ComponentLookupById {
+
+    List<AbstractPlayer> players = Arrays.asList(new TestPlayer(),
+            new TestPlayer(),
+            new TestPlayer());
+
+    DominionGame game = new DominionGame(players, DominionParameters.firstGame(4592));
+    DominionGameState state = (DominionGameState) game.getGameState();
+
+    /**
+     * @return - every component of the state, including those nested in others, found by walking its top level
+     * components rather than through its registry.
+     */
+    static List<Component> allComponents(AbstractGameState state) {
+        List<Component> all = new ArrayList<>();
+        for (Component c : state.getAllTopLevelComponents()) {
+            collect(c, all);
+        }
+        return all;
+    }
+
+    private static void collect(Component c, List<Component> all) {
+        if (c == null) return;
+        all.add(c);
+        if (c instanceof IComponentContainer) {
+            for (Component nested : ((IComponentContainer<?>) c).getComponents()) {
+                collect(nested, all);
+            }
+        }
+    }
+
+    static void assertAllFound(AbstractGameState state) {
+        List<Component> all = allComponents(state);
+        assertFalse(all.isEmpty());
+        for (Component c : all) {
+            assertSame(c, state.getComponentById(c.getComponentID()));
+        }
+        assertEquals(new HashSet<>(all).size(), state.getAllComponents().getComponents().size());
+    }
+
+    @Test
+    public void everyComponentFound() {
+        assertAllFound(state);
+    }
+
+    @Test
+    public void copiesFindTheirOwnComponents() {
+        AbstractGameState copy = state.copy();
+        assertAllFound(copy);
+        AbstractGameState playerCopy = state.copy(1);
+        assertAllFound(playerCopy);
+        assertAllFound(copy.copy(2));
+
+        // The decks of the copy are not those of the original
+        Component deck = state.getDeck(DeckType.HAND, 0);
+        assertNotSame(deck, copy.getComponentById(deck.getComponentID()));
+        assertNotSame(deck, playerCopy.getComponentById(deck.getComponentID()));
+    }
+
+    @Test
+    public void unknownIdNotFound() {
+        Card elsewhere = new Card("Not in the game");
+        assertNull(state.getComponentById(elsewhere.getComponentID()));
+        assertNull(state.copy().getComponentById(elsewhere.getComponentID()));
+        assertNull(state.getComponentById(-1));
+    }
+
+    @Test
+    public void componentsCreatedDuringTheGameFound() {
+        state.addCard(CardType.GOLD, 0, DeckType.HAND);
+        Component gold = state.getDeck(DeckType.HAND, 0).peek();
+        assertSame(gold, state.getComponentById(gold.getComponentID()));
+        assertAllFound(state);
+
+        AbstractGameState copy = state.copy();
+        assertAllFound(copy);
+        assertNotNull(copy.getComponentById(gold.getComponentID()));
+    }
+
+    @Test
+    public void sparseIdsFound() {
+        // Other games and copies take IDs from the same counter, so components created later can have IDs far
+        // away from those created at setup
+        for (int i = 0; i < 100000; i++) {
+            new Card("Elsewhere");
+        }
+        state.addCard(CardType.SMITHY, 1, DeckType.DRAW);
+        state.addCard(CardType.MARKET, 2, DeckType.DISCARD);
+        assertAllFound(state);
+
+        AbstractGameState copy = state.copy();
+        assertAllFound(copy);
+        assertAllFound(copy.copy(0));
+
+        // Components dropped from the state are no longer found
+        Component market = state.getDeck(DeckType.DISCARD, 2).peek();
+        state.getDeck(DeckType.DISCARD, 2).clear();
+        AbstractGameState afterClear = state.copy();
+        assertNull(afterClear.getComponentById(market.getComponentID()));
+        assertAllFound(afterClear);
+    }
+}
@@ -0,0 +1,209 @@
+package core.test;
+
+import core.AbstractGameState;
+import core.AbstractPlayer;
+import core.Game;
+import core.GameRecord;
+import core.actions.AbstractAction;
+import games.GameType;
+import org.junit.*;
+import players.PlayerConstants;
+import players.mcts.MCTSParams;
+import players.mcts.MCTSPlayer;
+import players.simple.RandomPlayer;
+import utilities.ElapsedCpuChessTimer;
+import utilities.GameRecordListener;
+
+import java.io.*;
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class GameRecordReplay {
+
+    static List<AbstractPlayer> randomPlayers(int n) {
+        List<AbstractPlayer> players = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            players.add(new RandomPlayer(new Random(i)));
+        }
+        return players;
+    }
+
+    static String summary(AbstractGameState state) {
+        return Arrays.toString(state.getPlayerResults()) + " history " + state.getHistory().size() +
+                " rounds " + state.getTurnOrder().getRoundCounter();
+    }
+
+    /**
+     * Plays a few games of the given type with random players, and checks that replaying each record ends in the
+     * same state, both from the records kept in memory and from those written to file.
+     */
+    void playAndReplay(GameType gameType, int nPlayers) throws IOException {
+        playAndReplay(gameType, randomPlayers(nPlayers));
+    }
+
+    void playAndReplay(GameType gameType, List<AbstractPlayer> players) throws IOException {
+        int nPlayers = players.size();
+        File file = File.createTempFile("records", ".bin.gz");
+        file.deleteOnExit();
+        GameRecordListener listener = new GameRecordListener(file.getPath(), true);
+        List<String> finals = new ArrayList<>();
+        List<Integer> nActions = new ArrayList<>();
+        for (int g = 0; g < 3; g++) {
+            Game game = Game.runOne(gameType, players, 100 + g, null, false, Collections.singletonList(listener));
+            assertNotNull(game);
+            finals.add(summary(game.getGameState()));
+            nActions.add(game.getGameState().getHistory().size());
+        }
+        listener.allGamesFinished();
+
+        List<GameRecord> inMemory = listener.getRecords();
+        List<GameRecord> fromFile = GameRecord.readAll(file.getPath());
+        assertEquals(3, inMemory.size());
+        assertEquals(3, fromFile.size());
+        for (int g = 0; g < 3; g++) {
+            GameRecord record = fromFile.get(g);
+            assertEquals(gameType, record.getGameType());
+            assertEquals(nPlayers, record.getNPlayers());
+            assertEquals(100 + g, record.getSeed());
+            assertEquals(inMemory.get(g).getParameters(), record.getParameters());
+            assertEquals(inMemory.get(g).getNDecisions(), record.getNDecisions());
+            for (int i = 0; i < record.getNDecisions(); i++) {
+                assertEquals(inMemory.get(g).getDecision(i), record.getDecision(i));
+            }
+
+            assertEquals(finals.get(g), summary(inMemory.get(g).replay()));
+            assertEquals(finals.get(g), summary(record.replay()));
+            assertEquals((int) nActions.get(g), record.getHistoryAsText().size());
+        }
+    }
+
+    @Test
+    public void ticTacToe() throws IOException {
+        playAndReplay(GameType.TicTacToe, 2);
+    }
+
+    @Test
+    public void loveLetter() throws IOException {
+        playAndReplay(GameType.LoveLetter, 3);
+    }
+
+    @Test
+    public void uno() throws IOException {
+        playAndReplay(GameType.Uno, 3);
+    }
+
+    @Test
+    public void dominion() throws IOException {
+        playAndReplay(GameType.Dominion, 2);
+    }
+
+    @Test
+    public void pandemic() throws IOException {
+        // Boards and decks built from data files, with components in hashed collections
+        playAndReplay(GameType.Pandemic, 2);
+    }
+
+    /**
+     * Picks actions at random, but returns its own copy of the action rather than the one in the list.
+     */
+    static class CopyingPlayer extends AbstractPlayer {
+        final Random rnd;
+
+        CopyingPlayer(long seed) {
+            rnd = new Random(seed);
+        }
+
+        @Override
+        public AbstractAction getAction(AbstractGameState gameState, List<AbstractAction> possibleActions) {
+            return possibleActions.get(rnd.nextInt(possibleActions.size())).copy();
+        }
+    }
+
+    @Test
+    public void copiedActions() throws IOException {
+        // Recorded by equality, which must tell apart actions of different types with the same fields
+        playAndReplay(GameType.Dominion, Arrays.asList(new CopyingPlayer(1), new CopyingPlayer(2)));
+        playAndReplay(GameType.LoveLetter, Arrays.asList(new CopyingPlayer(1), new CopyingPlayer(2),
+                new CopyingPlayer(3)));
+    }
+
+    @Test
+    public void mctsDominion() throws IOException {
+        // MCTS returns the action from its own copy of the state
+        List<AbstractPlayer> players = new ArrayList<>();
+        for (int p = 0; p < 2; p++) {
+            MCTSParams params = new MCTSParams(p);
+            params.budgetType = PlayerConstants.BUDGET_ITERATIONS;
+            params.budget = 50;
+            players.add(new MCTSPlayer(params));
+        }
+        playAndReplay(GameType.Dominion, players);
+    }
+
+    /**
+     * Spins until interrupted, without ever publishing an action.
+     */
+    static class StallingPlayer extends AbstractPlayer {
+        @Override
+        public AbstractAction getAction(AbstractGameState gameState, List<AbstractAction> possibleActions) {
+            while (!Thread.currentThread().isInterrupted()) {
+                Thread.onSpinWait();
+            }
+            return possibleActions.get(0);
+        }
+    }
+
+    @Test
+    public void timeouts() {
+        GameRecordListener listener = new GameRecordListener();
+        Game game = GameType.LoveLetter.createGameInstance(3, 53);
+        game.addListener(listener);
+        game.reset(Arrays.asList(new StallingPlayer(), new RandomPlayer(new Random(1)), new RandomPlayer(new Random(2))));
+        game.setHardTimeouts(true);
+        // Times out on its first decision, and has no time left for the rest of the game
+        ElapsedCpuChessTimer timer = game.getGameState().getPlayerTimer()[0];
+        timer.spend(timer.remainingTime() - 20_000_000);
+        game.run();
+
+        GameRecord record = listener.getRecords().get(0);
+        int nTimeouts = 0;
+        for (int i = 0; i < record.getNDecisions(); i++) {
+            if (record.getDecision(i) == Game.TIMED_OUT) nTimeouts++;
+        }
+        assertTrue(nTimeouts > 1);
+        // Random actions played in place of the player's are drawn again by the forward model
+        assertEquals(summary(game.getGameState()), summary(record.replay()));
+    }
+
+    @Test
+    public void partialReplay() {
+        GameRecordListener listener = new GameRecordListener();
+        Game game = Game.runOne(GameType.LoveLetter, randomPlayers(2), 7, null, false,
+                Collections.singletonList(listener));
+        GameRecord record = listener.getRecords().get(0);
+        assertTrue(record.getNDecisions() > 2);
+
+        AbstractGameState start = record.replay(0);
+        assertTrue(start.isNotTerminal());
+        assertEquals(0, start.getHistory().size());
+        AbstractGameState halfway = record.replay(record.getNDecisions() / 2);
+        assertTrue(halfway.getHistory().size() > 0);
+        assertTrue(halfway.getHistory().size() < game.getGameState().getHistory().size());
+        // Asking for more decisions than recorded stops at the end of the game
+        assertEquals(summary(game.getGameState()), summary(record.replay(record.getNDecisions() + 10)));
+    }
+
+    @Test(expected = IOException.class)
+    public void notARecord() throws IOException {
+        GameRecord.read(new DataInputStream(new ByteArrayInputStream(new byte[]{1, 2, 3, 4, 5})));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void decisionOutOfRecord() {
+        GameRecordListener listener = new GameRecordListener();
+        Game.runOne(GameType.TicTacToe, randomPlayers(2), 1, null, false, Collections.singletonList(listener));
+        GameRecord record = listener.getRecords().get(0);
+        record.getDecision(record.getNDecisions());
+    }
+}
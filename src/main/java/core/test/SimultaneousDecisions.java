@@ -0,0 +1,205 @@
+package core.test;
+
+import core.AbstractGameState;
+import core.AbstractPlayer;
+import core.CoreConstants;
+import core.Game;
+import core.actions.AbstractAction;
+import core.interfaces.IGameListener;
+import games.GameType;
+import games.diamant.actions.OutOfCave;
+import org.junit.*;
+import utilities.Utils;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class SimultaneousDecisions {
+
+    // Players currently deciding, and the most ever deciding at once
+    AtomicInteger deciding = new AtomicInteger();
+    AtomicInteger maxDeciding = new AtomicInteger();
+
+    /**
+     * Picks actions at random with a generator of its own, taking the given CPU time for each decision, and keeps
+     * track of the actions it returned and of the threads it decided on.
+     */
+    class TrackingPlayer extends AbstractPlayer {
+        final Random rnd;
+        final long cpuNanos;
+        final List<AbstractAction> returned = new ArrayList<>();
+        final Set<String> threads = new HashSet<>();
+
+        TrackingPlayer(long seed, long cpuNanos) {
+            rnd = new Random(seed);
+            this.cpuNanos = cpuNanos;
+        }
+
+        @Override
+        public AbstractAction getAction(AbstractGameState gameState, List<AbstractAction> possibleActions) {
+            maxDeciding.accumulateAndGet(deciding.incrementAndGet(), Math::max);
+            ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+            long start = bean.getCurrentThreadCpuTime();
+            while (bean.getCurrentThreadCpuTime() - start < cpuNanos) {
+                Thread.onSpinWait();
+            }
+            AbstractAction action = possibleActions.get(rnd.nextInt(possibleActions.size()));
+            synchronized (this) {
+                returned.add(action);
+                threads.add(Thread.currentThread().getName());
+            }
+            deciding.decrementAndGet();
+            return action;
+        }
+    }
+
+    /**
+     * Keeps the actions chosen by each player, in the order the game loop applies them.
+     */
+    static class ChosenActions implements IGameListener {
+        final List<Integer> players = new ArrayList<>();
+        final List<AbstractAction> actions = new ArrayList<>();
+        final List<Integer> rounds = new ArrayList<>();
+
+        @Override
+        public void onGameEvent(CoreConstants.GameEvents type, Game game) {
+        }
+
+        @Override
+        public void onEvent(CoreConstants.GameEvents type, AbstractGameState state, AbstractAction action) {
+            if (type == CoreConstants.GameEvents.ACTION_CHOSEN) {
+                players.add(state.getCurrentPlayer());
+                actions.add(action);
+                rounds.add(state.getTurnOrder().getRoundCounter());
+            }
+        }
+    }
+
+    List<TrackingPlayer> createPlayers(int n, long cpuNanos) {
+        List<TrackingPlayer> players = new ArrayList<>();
+        for (int p = 0; p < n; p++) {
+            players.add(new TrackingPlayer(31 + p, cpuNanos));
+        }
+        return players;
+    }
+
+    Game createGame(List<TrackingPlayer> players, long seed, boolean concurrent, IGameListener listener) {
+        Game game = GameType.Diamant.createGameInstance(players.size(), seed);
+        if (listener != null) game.addListener(listener);
+        game.reset(new ArrayList<>(players));
+        game.setConcurrentDecisions(concurrent);
+        return game;
+    }
+
+    static String summary(AbstractGameState state) {
+        return Arrays.toString(state.getPlayerResults()) + " " + state.getHistoryAsText();
+    }
+
+    @Test
+    public void sameResultsAsSequential() {
+        // Players that only look at their own generator decide the same whether asked at once or in turn
+        for (long seed = 0; seed < 5; seed++) {
+            Game sequential = createGame(createPlayers(4, 0), seed, false, null);
+            sequential.run();
+            Game concurrent = createGame(createPlayers(4, 0), seed, true, null);
+            concurrent.run();
+            assertEquals(summary(sequential.getGameState()), summary(concurrent.getGameState()));
+        }
+    }
+
+    @Test
+    public void appliedInTurnOrder() {
+        List<TrackingPlayer> players = createPlayers(4, 1_000_000);
+        ChosenActions chosen = new ChosenActions();
+        Game game = createGame(players, 17, true, chosen);
+        game.run();
+        assertFalse(game.getGameState().isNotTerminal());
+        assertTrue(maxDeciding.get() > 1);
+
+        // Each player's actions are played in the order it returned them; players out of the cave have no choice to
+        // make, and are not asked
+        for (TrackingPlayer player : players) {
+            List<AbstractAction> played = new ArrayList<>();
+            for (int i = 0; i < chosen.actions.size(); i++) {
+                if (chosen.players.get(i) == player.getPlayerID() && !(chosen.actions.get(i) instanceof OutOfCave)) {
+                    played.add(chosen.actions.get(i));
+                }
+            }
+            assertEquals(player.returned.size(), played.size());
+            for (int i = 0; i < played.size(); i++) {
+                assertSame(player.returned.get(i), played.get(i));
+            }
+            assertTrue(player.threads.contains("Simultaneous decision"));
+        }
+        // Within each round, in turn order
+        for (int i = 1; i < chosen.players.size(); i++) {
+            if (chosen.rounds.get(i).equals(chosen.rounds.get(i - 1))) {
+                assertTrue(chosen.players.get(i) > chosen.players.get(i - 1));
+            }
+        }
+    }
+
+    @Test
+    public void sequentialOnTheGameThread() {
+        List<TrackingPlayer> players = createPlayers(4, 0);
+        Game game = createGame(players, 17, false, null);
+        game.run();
+        assertEquals(1, maxDeciding.get());
+        for (TrackingPlayer player : players) {
+            assertEquals(Collections.singleton(Thread.currentThread().getName()), player.threads);
+        }
+    }
+
+    @Test
+    public void timersCharged() {
+        long cpuNanos = 2_000_000;
+        List<TrackingPlayer> players = createPlayers(3, cpuNanos);
+        Game game = createGame(players, 23, true, null);
+        long[] before = new long[players.size()];
+        for (int p = 0; p < players.size(); p++) {
+            before[p] = game.getGameState().getPlayerTimer()[p].remainingTime();
+        }
+        game.run();
+        for (TrackingPlayer player : players) {
+            assertTrue(player.threads.contains("Simultaneous decision"));
+            // CPU timers measure the thread they run on, so the time must be taken on the player's thread
+            long spent = before[player.getPlayerID()] - game.getGameState().getPlayerTimer()[player.getPlayerID()].remainingTime();
+            assertTrue(spent >= player.returned.size() * cpuNanos);
+        }
+    }
+
+    @Test
+    public void eliminatedPlayersNotAsked() {
+        List<TrackingPlayer> players = createPlayers(4, 0);
+        ChosenActions chosen = new ChosenActions();
+        Game game = createGame(players, 29, true, chosen);
+        AbstractGameState state = game.getGameState();
+        state.setPlayerResult(Utils.GameResult.LOSE, 3);
+        // Diamant waits for the actions of all players, so the game is stopped once the first round is played
+        game.addListener(new IGameListener() {
+            @Override
+            public void onGameEvent(CoreConstants.GameEvents type, Game game) {
+            }
+
+            @Override
+            public void onEvent(CoreConstants.GameEvents type, AbstractGameState state, AbstractAction action) {
+                if (type == CoreConstants.GameEvents.ACTION_CHOSEN && chosen.actions.size() == 3) {
+                    state.setGameStatus(Utils.GameResult.GAME_END);
+                }
+            }
+        });
+        game.run();
+
+        assertEquals(Arrays.asList(0, 1, 2), chosen.players);
+        assertTrue(players.get(3).returned.isEmpty());
+        for (int p = 0; p < 3; p++) {
+            assertEquals(1, players.get(p).returned.size());
+            assertSame(players.get(p).returned.get(0), chosen.actions.get(p));
+            assertTrue(players.get(p).threads.contains("Simultaneous decision"));
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package core.test;
+
+import core.AbstractGameState;
+import core.AbstractPlayer;
+import core.CoreConstants;
+import core.Game;
+import core.actions.AbstractAction;
+import core.interfaces.IGameListener;
+import games.GameType;
+import org.junit.*;
+import players.simple.RandomPlayer;
+import utilities.ElapsedCpuChessTimer;
+import utilities.ElapsedCpuTimer;
+import utilities.Utils;
+
+import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class TimedDecisions {
+
+    static final long MS = 1_000_000;
+
+    /**
+     * Keeps what happened on each decision of player 0, and ends the game after the given number of them.
+     */
+    static class Decisions implements IGameListener {
+        final int nDecisions;
+        final List<AbstractAction> actions = new ArrayList<>();
+        final List<Integer> indices = new ArrayList<>();
+        final List<Long> remaining = new ArrayList<>();
+        Game game;
+
+        Decisions(int nDecisions) {
+            this.nDecisions = nDecisions;
+        }
+
+        @Override
+        public void onGameEvent(CoreConstants.GameEvents type, Game game) {
+            if (type == CoreConstants.GameEvents.ABOUT_TO_START) this.game = game;
+        }
+
+        @Override
+        public void onEvent(CoreConstants.GameEvents type, AbstractGameState state, AbstractAction action) {
+            if (type != CoreConstants.GameEvents.ACTION_CHOSEN || state.getCurrentPlayer() != 0) return;
+            actions.add(action);
+            indices.add(game.getLastActionIndex());
+            remaining.add(state.getPlayerTimer()[0].remainingTime());
+            onDecision(state);
+            if (actions.size() == nDecisions) state.setGameStatus(Utils.GameResult.GAME_END);
+        }
+
+        void onDecision(AbstractGameState state) {
+        }
+    }
+
+    static Game createGame(AbstractPlayer player, IGameListener listener, long thinkingTime) {
+        Game game = GameType.TicTacToe.createGameInstance(2, 61);
+        game.addListener(listener);
+        game.reset(Arrays.asList(player, new RandomPlayer(new Random(3))));
+        game.setHardTimeouts(true);
+        setRemaining(game.getGameState().getPlayerTimer()[0], thinkingTime);
+        return game;
+    }
+
+    static void setRemaining(ElapsedCpuChessTimer timer, long nanos) {
+        timer.spend(timer.remainingTime() - nanos);
+    }
+
+    /**
+     * Publishes the last action available as its best so far, then spins until interrupted.
+     */
+    static class SlowPlayer extends AbstractPlayer {
+        AbstractAction published;
+        final CountDownLatch stopped = new CountDownLatch(1);
+
+        @Override
+        public AbstractAction getAction(AbstractGameState gameState, List<AbstractAction> possibleActions) {
+            published = possibleActions.get(possibleActions.size() - 1);
+            publishBestAction(published);
+            while (!Thread.currentThread().isInterrupted()) {
+                Thread.onSpinWait();
+            }
+            stopped.countDown();
+            return possibleActions.get(0);
+        }
+    }
+
+    @Test
+    public void publishedActionPlayed() throws InterruptedException {
+        SlowPlayer player = new SlowPlayer();
+        Decisions decisions = new Decisions(1);
+        createGame(player, decisions, 30 * MS).run();
+
+        assertNotNull(player.published);
+        assertSame(player.published, decisions.actions.get(0));
+        assertEquals(8, (int) decisions.indices.get(0));
+        // Charged with all of the time it had left
+        assertEquals(0, (long) decisions.remaining.get(0));
+        assertTrue(player.stopped.await(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void outOfTimeWithoutPublishing() {
+        AbstractPlayer player = new AbstractPlayer() {
+            @Override
+            public AbstractAction getAction(AbstractGameState gameState, List<AbstractAction> possibleActions) {
+                while (!Thread.currentThread().isInterrupted()) {
+                    Thread.onSpinWait();
+                }
+                return possibleActions.get(0);
+            }
+        };
+        Decisions decisions = new Decisions(2);
+        Game game = createGame(player, decisions, 30 * MS);
+        game.run();
+        // A random action is played instead, and the player is not asked again without time left
+        assertEquals(Arrays.asList(Game.TIMED_OUT, Game.TIMED_OUT), decisions.indices);
+        assertTrue(decisions.remaining.get(1) <= 0);
+        // Both random actions, and the move of the other player in between
+        assertEquals(3, game.getGameState().getHistorySize());
+    }
+
+    @Test
+    public void fastPlayerCharged() {
+        // Takes about 5ms of CPU time to decide, and is charged for it
+        AbstractPlayer player = new AbstractPlayer() {
+            @Override
+            public AbstractAction getAction(AbstractGameState gameState, List<AbstractAction> possibleActions) {
+                long start = ElapsedCpuTimer.threadCpuTime(Thread.currentThread().getId());
+                while (ElapsedCpuTimer.threadCpuTime(Thread.currentThread().getId()) - start < 5 * MS) {
+                    Thread.onSpinWait();
+                }
+                return possibleActions.get(1);
+            }
+        };
+        Decisions decisions = new Decisions(1);
+        createGame(player, decisions, 1000 * MS).run();
+        assertEquals(1, (int) decisions.indices.get(0));
+        long spent = 1000 * MS - decisions.remaining.get(0);
+        assertTrue(spent >= 5 * MS);
+        assertTrue(spent < 500 * MS);
+    }
+
+    /**
+     * Ignores interrupts: the first call takes the given wall clock time, whatever happens.
+     */
+    static class StubbornPlayer extends AbstractPlayer {
+        final long firstCallNanos;
+        volatile long firstCallEnd = -1;
+        volatile boolean firstDoneBeforeSecond;
+        int nCalls;
+
+        StubbornPlayer(long firstCallNanos) {
+            this.firstCallNanos = firstCallNanos;
+        }
+
+        @Override
+        public AbstractAction getAction(AbstractGameState gameState, List<AbstractAction> possibleActions) {
+            if (nCalls++ == 0) {
+                long start = System.nanoTime();
+                while (System.nanoTime() - start < firstCallNanos) {
+                    Thread.onSpinWait();
+                }
+                firstCallEnd = System.nanoTime();
+            } else {
+                firstDoneBeforeSecond = firstCallEnd != -1;
+            }
+            return possibleActions.get(0);
+        }
+    }
+
+    @Test
+    public void abandonedCallWaitedFor() {
+        StubbornPlayer player = new StubbornPlayer(400 * MS);
+        long[] timedOutAt = new long[1];
+        Decisions decisions = new Decisions(2) {
+            @Override
+            void onDecision(AbstractGameState state) {
+                if (actions.size() == 1) {
+                    // Gives the player time again, so it is asked for its next decision
+                    timedOutAt[0] = System.nanoTime();
+                    setRemaining(state.getPlayerTimer()[0], 10_000 * MS);
+                }
+            }
+        };
+        createGame(player, decisions, 30 * MS).run();
+
+        assertEquals(Game.TIMED_OUT, (int) decisions.indices.get(0));
+        assertEquals(0, (int) decisions.indices.get(1));
+        assertEquals(2, player.nCalls);
+        // The next call only started once the one abandoned was over, and the player was charged with the wait
+        assertTrue(player.firstDoneBeforeSecond);
+        long waited = player.firstCallEnd - timedOutAt[0];
+        assertTrue(waited > 100 * MS);
+        long spent = 10_000 * MS - decisions.remaining.get(1);
+        assertTrue(spent >= waited / 2);
+    }
+}
@@ -0,0 +1,167 @@
+package evaluation;
+
+import core.AbstractParameters;
+import core.AbstractPlayer;
+import core.Game;
+import core.interfaces.IGameListener;
+import games.GameType;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Runs a large number of games of one type, for statistics gathering.
+ *
+ * Each worker thread creates one Game (with its own parameters, forward model and game state) and one set of players
+ * the first time it runs, and then plays every game it is given on these by calling reset(players, seed), so that
+ * nothing is reconstructed between games (data files, parameters, forward model copies for the players...).
+ *
+ * Game i of a run always uses seed (seed + i), whichever thread plays it, so the set of games played does not depend
+ * on the number of threads (players with their own random generators will still play them differently).
+ */
+public class BatchSimulation {
+
+    private final GameType gameType;
+    private final int nPlayers;
+    private final AbstractParameters params;
+    private final Supplier<List<AbstractPlayer>> playerFactory;
+    private final Supplier<List<IGameListener>> listenerFactory;
+    private final ThreadLocal<Worker> workers = new ThreadLocal<>();
+    private final List<IGameListener> allListeners = Collections.synchronizedList(new ArrayList<>());
+
+    private static class Worker {
+        final Game game;
+        final List<AbstractPlayer> players;
+
+        Worker(Game game, List<AbstractPlayer> players) {
+            this.game = game;
+            this.players = players;
+        }
+    }
+
+    /**
+     * @param gameType        - game to play.
+     * @param nPlayers        - number of players in each game.
+     * @param params          - parameters to use, copied for each worker; null for the game defaults.
+     * @param playerFactory   - creates the players for one worker. Called once per worker thread.
+     * @param listenerFactory - creates the listeners for one worker, called once per worker thread; may be null.
+     *                        Listeners are only ever called from the thread of their worker.
+     */
+    public BatchSimulation(GameType gameType, int nPlayers, AbstractParameters params,
+                           Supplier<List<AbstractPlayer>> playerFactory,
+                           Supplier<List<IGameListener>> listenerFactory) {
+        this.gameType = gameType;
+        this.nPlayers = nPlayers;
+        this.params = params;
+        this.playerFactory = playerFactory;
+        this.listenerFactory = listenerFactory;
+    }
+
+    public BatchSimulation(GameType gameType, int nPlayers, Supplier<List<AbstractPlayer>> playerFactory) {
+        this(gameType, nPlayers, null, playerFactory, null);
+    }
+
+    /**
+     * @return - the worker for the calling thread, created on first use.
+     */
+    private Worker getWorker(long seed) {
+        Worker worker = workers.get();
+        if (worker == null) {
+            AbstractParameters workerParams = params == null ? gameType.getDefaultParams(seed) : params.copy();
+            Game game = gameType.createGameInstance(nPlayers, seed, workerParams);
+            if (game == null)
+                throw new IllegalArgumentException("Could not create " + gameType + " for " + nPlayers + " players");
+            if (listenerFactory != null) {
+                List<IGameListener> listeners = listenerFactory.get();
+                listeners.forEach(game::addListener);
+                allListeners.addAll(listeners);
+            }
+            List<AbstractPlayer> players = playerFactory.get();
+            if (players.size() != nPlayers)
+                throw new IllegalArgumentException("Player factory created " + players.size() + " players, " + nPlayers + " needed");
+            worker = new Worker(game, players);
+            workers.set(worker);
+        }
+        return worker;
+    }
+
+    /**
+     * Tells the listeners of all workers that all games are finished.
+     */
+    public void allGamesFinished() {
+        synchronized (allListeners) {
+            allListeners.forEach(IGameListener::allGamesFinished);
+        }
+    }
+
+    /**
+     * Plays one game on the calling thread's pooled game instance.
+     *
+     * @param seed - random seed for the game.
+     * @return - the game after it has finished. This is reused for the next game played on this thread, so any
+     * results must be read before then.
+     */
+    public Game runOne(long seed) {
+        Worker worker = getWorker(seed);
+        worker.game.reset(worker.players, seed);
+        worker.game.run();
+        return worker.game;
+    }
+
+    /**
+     * Plays nGames games on the calling thread.
+     *
+     * @param nGames  - number of games to play.
+     * @param seed    - seed of the first game; game i uses seed + i.
+     * @param results - called with each finished game; may be null.
+     */
+    public void run(int nGames, long seed, Consumer<Game> results) {
+        for (int i = 0; i < nGames; i++) {
+            Game game = runOne(seed + i);
+            if (results != null) results.accept(game);
+        }
+    }
+
+    /**
+     * Plays nGames games split between nThreads worker threads, each with its own pooled game and players.
+     *
+     * @param nGames   - number of games to play.
+     * @param seed     - seed of the first game; game i uses seed + i.
+     * @param nThreads - number of worker threads.
+     * @param results  - called with each finished game, from the worker thread that played it; may be null. Must
+     *                 be thread-safe if nThreads > 1.
+     */
+    public void run(int nGames, long seed, int nThreads, Consumer<Game> results) {
+        if (nThreads <= 1) {
+            run(nGames, seed, results);
+            return;
+        }
+        AtomicInteger nextGame = new AtomicInteger(0);
+        ExecutorService executor = Executors.newFixedThreadPool(nThreads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < nThreads; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = nextGame.getAndIncrement(); i < nGames; i = nextGame.getAndIncrement()) {
+                        Game game = runOne(seed + i);
+                        if (results != null) results.accept(game);
+                    }
+                }));
+            }
+            for (Future<?> f : futures) {
+                f.get();
+            }
+        } catch (Exception e) {
+            throw new AssertionError("Batch simulation of " + gameType + " failed : " + e.getMessage(), e);
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -1,7 +1,5 @@
 package evaluation;
 
-import core.AbstractPlayer;
-import core.Game;
 import core.interfaces.IGameListener;
 import core.interfaces.IStatisticLogger;
 import games.GameType;
@@ -11,6 +9,7 @@ import utilities.Pair;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.stream.IntStream;
 
 import static java.util.stream.Collectors.toList;
 import static utilities.Utils.getArg;
@@ -103,28 +102,23 @@ public class GameReportII {
                     continue;
                 }
 
-                Game game = gameType.createGameInstance(playerCount);
-
                 List<IGameListener> gameTrackers = new ArrayList<>();
                 for (int i = 0; i < listenerClasses.size(); i++) {
                     String logFile = logFiles.size() == 1 ? logFiles.get(0) : logFiles.get(i);
                     String listenerClass = listenerClasses.size() == 1 ? listenerClasses.get(0) : listenerClasses.get(i);
                     IStatisticLogger logger = IStatisticLogger.createLogger(loggerClass, logFile);
                     IGameListener gameTracker = IGameListener.createListener(listenerClass, logger);
-                    game.addListener(gameTracker);
                     gameTrackers.add(gameTracker);
                 }
 
-                for (int i = 0; i < nGames; i++) {
-                    List<AbstractPlayer> allPlayers = new ArrayList<>();
-                    for (int j = 0; j < playerCount; j++) {
-                        allPlayers.add(PlayerFactory.createPlayer(playerDescriptor));
-                    }
-                    // Run games, resetting the player each time
-
-                    game.reset(allPlayers);
-                    game.run();
-                }
+                // One game instance and set of players is reused for all runs, each with a new seed
+                int finalPlayerCount = playerCount;
+                BatchSimulation simulation = new BatchSimulation(gameType, playerCount, null,
+                        () -> IntStream.range(0, finalPlayerCount)
+                                .mapToObj(j -> PlayerFactory.createPlayer(playerDescriptor))
+                                .collect(toList()),
+                        () -> gameTrackers);
+                simulation.run(nGames, System.currentTimeMillis(), null);
                 // Once all games are complete, let the gameTracker know
                 for (IGameListener gameTracker : gameTrackers) {
                     gameTracker.allGamesFinished();
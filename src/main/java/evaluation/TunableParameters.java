@@ -63,6 +63,7 @@ public abstract class TunableParameters extends AbstractParameters implements IT
         tunable.possibleValues = new HashMap<>(possibleValues);
         tunable.defaultValues = new HashMap<>(defaultValues);
         tunable.parameterTypes = new HashMap<>(parameterTypes);
+        tunable.currentValues = new HashMap<>(currentValues);
         tunable._reset();
         return tunable;
     }
@@ -3,6 +3,7 @@ package evaluation.testplayers;
 import core.AbstractGameState;
 import core.AbstractPlayer;
 import core.actions.AbstractAction;
+import utilities.FastRandom;
 import utilities.TAGStatSummary;
 
 import java.util.HashSet;
@@ -24,7 +25,7 @@ public class RandomTestPlayer extends AbstractPlayer {
     private TAGStatSummary scores;
 
     public RandomTestPlayer() {
-        this(new Random());
+        this(new FastRandom());
     }
 
     public RandomTestPlayer(Random random) {
@@ -14,6 +14,7 @@ import games.coltexpress.actions.*;
 import games.coltexpress.cards.ColtExpressCard;
 import games.coltexpress.components.Compartment;
 import games.coltexpress.components.Loot;
+import utilities.FastRandom;
 import utilities.Group;
 import utilities.Utils;
 
@@ -27,7 +28,7 @@ public class ColtExpressForwardModel extends AbstractForwardModel {
 
     @Override
     public void _setup(AbstractGameState firstState) {
-        Random rnd = new Random(firstState.getGameParameters().getRandomSeed());
+        Random rnd = new FastRandom(firstState.getGameParameters().getRandomSeed());
         ColtExpressGameState cegs = (ColtExpressGameState) firstState;
         ColtExpressParameters cep = (ColtExpressParameters) firstState.getGameParameters();
 
@@ -35,8 +36,8 @@ public class ColtExpressForwardModel extends AbstractForwardModel {
         setupTrain(cegs);
         cegs.playerCharacters = new HashMap<>();
 
-        HashSet<CharacterType> characters = new HashSet<>();
-        Collections.addAll(characters, CharacterType.values());
+        // In declaration order: hash sets of enums iterate in identity hash order, which changes between runs
+        ArrayList<CharacterType> characters = new ArrayList<>(Arrays.asList(CharacterType.values()));
 
         cegs.playerDecks = new ArrayList<>(cegs.getNPlayers());
         cegs.playerHandCards = new ArrayList<>(cegs.getNPlayers());
@@ -53,13 +54,14 @@ public class ColtExpressForwardModel extends AbstractForwardModel {
                 cegs.playerPlayingBelle = playerIndex;
 
             Deck<ColtExpressCard> playerCards = new Deck<>("playerCards" + playerIndex, playerIndex, VisibilityMode.HIDDEN_TO_ALL);
-            for (ColtExpressCard.CardType type : cep.cardCounts.keySet()){
+            for (ColtExpressCard.CardType type : ColtExpressCard.CardType.values()){
+                if (!cep.cardCounts.containsKey(type)) continue;
                 for (int j = 0; j < cep.cardCounts.get(type); j++) {
                     playerCards.add(new ColtExpressCard(playerIndex, type));
                 }
             }
             cegs.playerDecks.add(playerCards);
-            playerCards.shuffle(new Random(cep.getRandomSeed()+playerIndex));
+            playerCards.shuffle(new FastRandom(cep.getRandomSeed()+playerIndex));
 
             Deck<ColtExpressCard> playerHand = new Deck<>("playerHand" + playerIndex, playerIndex, VisibilityMode.VISIBLE_TO_OWNER);
 
@@ -77,9 +79,9 @@ public class ColtExpressForwardModel extends AbstractForwardModel {
             cegs.playerLoot.add(loot);
 
             if (playerIndex % 2 == 0)
-                cegs.getTrainCompartments().get(0).addPlayerInside(playerIndex);
+                cegs.trainCompartments[0].addPlayerInside(playerIndex);
             else
-                cegs.getTrainCompartments().get(1).addPlayerInside(playerIndex);
+                cegs.trainCompartments[1].addPlayerInside(playerIndex);
         }
         distributeCards(cegs);
 
@@ -96,7 +98,7 @@ public class ColtExpressForwardModel extends AbstractForwardModel {
         // Add random round cards
         ArrayList<ColtExpressTypes.RegularRoundCard> availableRounds = new ArrayList<>(Arrays.asList(cep.roundCards));
         for (int i = 0; i < cep.nMaxRounds-1; i++) {
-            Random r = new Random(cep.getRandomSeed() + cegs.getTurnOrder().getRoundCounter() + i);
+            Random r = new FastRandom(cep.getRandomSeed() + cegs.getTurnOrder().getRoundCounter() + i);
             int choice = r.nextInt(availableRounds.size());
             cegs.rounds.add(cegs.getRoundCard(availableRounds.get(choice), cegs.getNPlayers()));
             availableRounds.remove(availableRounds.get(choice));
@@ -144,18 +146,8 @@ public class ColtExpressForwardModel extends AbstractForwardModel {
         _next(gameState, action);
     }
 
-    private CharacterType pickRandomCharacterType(Random rnd, HashSet<CharacterType> characters){
-        int size = characters.size();
-        int item = rnd.nextInt(size);
-        int i = 0;
-        for(CharacterType obj : characters) {
-            if (i == item){
-                characters.remove(obj);
-                return obj;
-            }
-            i++;
-        }
-        return null;
+    private CharacterType pickRandomCharacterType(Random rnd, ArrayList<CharacterType> characters){
+        return characters.remove(rnd.nextInt(characters.size()));
     }
 
     private void distributeCards(ColtExpressGameState cegs){
@@ -266,7 +258,7 @@ public class ColtExpressForwardModel extends AbstractForwardModel {
         ColtExpressTurnOrder ceto = (ColtExpressTurnOrder) cegs.getTurnOrder();
         int player = cegs.getCurrentPlayer();
 
-        HashSet<ColtExpressCard.CardType> types = new HashSet<>();
+        EnumSet<ColtExpressCard.CardType> types = EnumSet.noneOf(ColtExpressCard.CardType.class);
 
         Deck<ColtExpressCard> playerHand = cegs.playerHandCards.get(player);
         int fromID = playerHand.getComponentID();
@@ -327,41 +319,35 @@ public class ColtExpressForwardModel extends AbstractForwardModel {
                 case Shoot:
                     createShootingActions(cegs, actions, player, cardIdx);
                     break;
-                case MoveVertical:
-                    for (Compartment compartment : cegs.trainCompartments) {
-                        if (compartment.playersInsideCompartment.contains(player) ||
-                                compartment.playersOnTopOfCompartment.contains(player)) {
-                            boolean toRoof = compartment.playersInsideCompartment.contains(player);
-                            actions.add(new MoveVerticalAction(deckFromID, deckToID, cardIdx, compartment.getComponentID(), toRoof));
-                            break;
-                        }
+                case MoveVertical: {
+                    int i = cegs.getPlayerCompartment(player);
+                    if (i >= 0) {
+                        Compartment compartment = cegs.trainCompartments[i];
+                        boolean toRoof = compartment.isPlayerInside(player);
+                        actions.add(new MoveVerticalAction(deckFromID, deckToID, cardIdx, compartment.getComponentID(), toRoof));
                     }
                     break;
-                case MoveMarshal:
-                    for (int i = 0; i < cegs.trainCompartments.size(); i++){
-                        Compartment compartment = cegs.trainCompartments.get(i);
-                        if (compartment.containsMarshal){
-                            if (i > 0)
-                                // Move marshal left
-                                actions.add(new MoveMarshalAction(deckFromID, deckToID, cardIdx, compartment.getComponentID(),
-                                        cegs.trainCompartments.get(i-1).getComponentID()));
-                            if (i < cegs.trainCompartments.size() - 1)
-                                // Move marshal right
-                                actions.add(new MoveMarshalAction(deckFromID, deckToID, cardIdx, compartment.getComponentID(),
-                                        cegs.trainCompartments.get(i+1).getComponentID()));
-                            break;
-                        }
-                    }
+                }
+                case MoveMarshal: {
+                    int i = cegs.marshalCompartment;
+                    Compartment compartment = cegs.trainCompartments[i];
+                    if (i > 0)
+                        // Move marshal left
+                        actions.add(new MoveMarshalAction(deckFromID, deckToID, cardIdx, compartment.getComponentID(),
+                                cegs.trainCompartments[i-1].getComponentID()));
+                    if (i < cegs.trainCompartments.length - 1)
+                        // Move marshal right
+                        actions.add(new MoveMarshalAction(deckFromID, deckToID, cardIdx, compartment.getComponentID(),
+                                cegs.trainCompartments[i+1].getComponentID()));
                     break;
-                case CollectMoney:
-                    for (Compartment compartment : cegs.trainCompartments) {
-                        Deck<Loot> availableLoot = null;
-                        if (compartment.playersOnTopOfCompartment.contains(player))
-                            availableLoot = compartment.lootOnTop;
-                        else if (compartment.playersInsideCompartment.contains(player))
-                            availableLoot = compartment.lootInside;
-                        if (availableLoot != null && availableLoot.getSize() > 0) {
-                            HashSet<LootType> lootTypes = new HashSet<>();
+                }
+                case CollectMoney: {
+                    int i = cegs.getPlayerCompartment(player);
+                    if (i >= 0) {
+                        Compartment compartment = cegs.trainCompartments[i];
+                        Deck<Loot> availableLoot = compartment.isPlayerOnTop(player) ? compartment.lootOnTop : compartment.lootInside;
+                        if (availableLoot.getSize() > 0) {
+                            EnumSet<LootType> lootTypes = EnumSet.noneOf(LootType.class);
                             for (Loot loot : availableLoot.getComponents()) {
                                 lootTypes.add(loot.getLootType());
                             }
@@ -369,47 +355,46 @@ public class ColtExpressForwardModel extends AbstractForwardModel {
                                 actions.add(new CollectMoneyAction(deckFromID, deckToID, cardIdx, lt,
                                         availableLoot.getComponentID()));
                             }
-                            break;
                         }
                     }
                     if (actions.size() == 0) {
                         actions.add(new CollectMoneyAction(deckFromID, deckToID, cardIdx,null, -1));
                     }
                     break;
-                case MoveSideways:
-                    for (int i = 0; i < cegs.trainCompartments.size(); i++){
-                        Compartment compartment = cegs.trainCompartments.get(i);
-                        if (compartment.playersOnTopOfCompartment.contains(player)){
-                            // Rules for movement on top
-                            for (int offset = 1; offset < ((ColtExpressParameters)cegs.getGameParameters()).nRoofMove; offset++){
-                                if ((i-offset) >= 0) {
-                                    // Move left
-                                    actions.add(new MoveSidewaysAction(deckFromID, deckToID, cardIdx, compartment.getComponentID(),
-                                            cegs.trainCompartments.get(i-offset).getComponentID()));
-                                }
-                                if ((i+offset) <= cegs.trainCompartments.size()-1) {
-                                    // Move right
-                                    actions.add(new MoveSidewaysAction(deckFromID, deckToID, cardIdx, compartment.getComponentID(),
-                                            cegs.trainCompartments.get(i+offset).getComponentID()));
-                                }
-                            }
-                            break;
-                        } else if (compartment.playersInsideCompartment.contains(player)){
-                            // Inside can only move to adjacent compartment
-                            if ((i-1) >= 0) {
+                }
+                case MoveSideways: {
+                    int i = cegs.getPlayerCompartment(player);
+                    if (i < 0) break;
+                    Compartment compartment = cegs.trainCompartments[i];
+                    if (compartment.isPlayerOnTop(player)){
+                        // Rules for movement on top
+                        for (int offset = 1; offset < ((ColtExpressParameters)cegs.getGameParameters()).nRoofMove; offset++){
+                            if ((i-offset) >= 0) {
                                 // Move left
                                 actions.add(new MoveSidewaysAction(deckFromID, deckToID, cardIdx, compartment.getComponentID(),
-                                        cegs.trainCompartments.get(i-1).getComponentID()));
+                                        cegs.trainCompartments[i-offset].getComponentID()));
                             }
-                            if ((i+1) <= cegs.trainCompartments.size()-1) {
+                            if ((i+offset) <= cegs.trainCompartments.length-1) {
                                 // Move right
                                 actions.add(new MoveSidewaysAction(deckFromID, deckToID, cardIdx, compartment.getComponentID(),
-                                        cegs.trainCompartments.get(i+1).getComponentID()));
+                                        cegs.trainCompartments[i+offset].getComponentID()));
                             }
-                            break;
+                        }
+                    } else {
+                        // Inside can only move to adjacent compartment
+                        if ((i-1) >= 0) {
+                            // Move left
+                            actions.add(new MoveSidewaysAction(deckFromID, deckToID, cardIdx, compartment.getComponentID(),
+                                    cegs.trainCompartments[i-1].getComponentID()));
+                        }
+                        if ((i+1) <= cegs.trainCompartments.length-1) {
+                            // Move right
+                            actions.add(new MoveSidewaysAction(deckFromID, deckToID, cardIdx, compartment.getComponentID(),
+                                    cegs.trainCompartments[i+1].getComponentID()));
                         }
                     }
                     break;
+                }
                 default:
                     throw new IllegalArgumentException("cardType " + plannedActionCard.cardType + "" +
                             " unknown to ColtExpressGameState");
@@ -426,55 +411,36 @@ public class ColtExpressForwardModel extends AbstractForwardModel {
         int deckToID = cegs.playerDecks.get(player).getComponentID();
         boolean playerIsCheyenne = cegs.playerCharacters.get(player) == CharacterType.Cheyenne;
 
-        int playerCompartmentIndex = 0;
-        Compartment playerCompartment = null;
-        HashSet<Integer> availableTargets = new HashSet<>();
-
-        for (int i = 0; i < cegs.trainCompartments.size(); i++)
-        {
-            Compartment compartment = cegs.trainCompartments.get(i);
-            if (compartment.playersOnTopOfCompartment.contains(player)) {
-                for (Integer targetID : compartment.playersOnTopOfCompartment){
-                    if (targetID != player)
-                        availableTargets.add(targetID);
-                }
-
-                playerCompartmentIndex = i;
-                playerCompartment = compartment;
-                break;
-            } else if (compartment.playersInsideCompartment.contains(player)){
-                for (Integer targetID : compartment.playersInsideCompartment){
-                    if (targetID != player)
-                        availableTargets.add(targetID);
-                }
-
-                playerCompartmentIndex = i;
-                playerCompartment = compartment;
-                break;
-            }
-        }
+        int playerCompartmentIndex = cegs.getPlayerCompartment(player);
 
         // punch forward or backward
-        if (playerCompartment != null) {
+        if (playerCompartmentIndex >= 0) {
+            Compartment playerCompartment = cegs.trainCompartments[playerCompartmentIndex];
             int sourceCompID = playerCompartment.getComponentID();
 
+            // Targets are the other players at the same level of the compartment
+            int availableTargets = playerCompartment.isPlayerOnTop(player) ?
+                    playerCompartment.getPlayersOnTop() : playerCompartment.getPlayersInside();
+            availableTargets &= ~(1 << player);
+
             // Belle can't be a target if others are available
-            if (availableTargets.size() > 1)
-                availableTargets.remove(cegs.playerPlayingBelle);
+            if (Integer.bitCount(availableTargets) > 1 && cegs.playerPlayingBelle != -1)
+                availableTargets &= ~(1 << cegs.playerPlayingBelle);
 
             // Create punch actions
             for (int offset = -1; offset <= 1; offset++) {
-                if (offset == 0 || playerCompartmentIndex + offset < 0 || playerCompartmentIndex + offset >= cegs.trainCompartments.size())
+                if (offset == 0 || playerCompartmentIndex + offset < 0 || playerCompartmentIndex + offset >= cegs.trainCompartments.length)
                     continue;
-                Compartment targetCompartment = cegs.trainCompartments.get(playerCompartmentIndex + offset);
+                Compartment targetCompartment = cegs.trainCompartments[playerCompartmentIndex + offset];
 
                 // For each available target
-                for (Integer targetPlayer : availableTargets) {
+                for (int targets = availableTargets; targets != 0; targets &= targets - 1) {
+                    int targetPlayer = Integer.numberOfTrailingZeros(targets);
                     Deck<Loot> availableLoot = cegs.playerLoot.get(targetPlayer);
 
                     if (availableLoot.getSize() > 0) {
                         // Punch and make them drop random loot of type
-                        HashSet<LootType> lootTypes = new HashSet<>();
+                        EnumSet<LootType> lootTypes = EnumSet.noneOf(LootType.class);
                         for (Loot loot : availableLoot.getComponents()) {
                             lootTypes.add(loot.getLootType());
                         }
@@ -503,85 +469,65 @@ public class ColtExpressForwardModel extends AbstractForwardModel {
         int deckToID = cegs.playerDecks.get(player).getComponentID();
         boolean playerIsDjango = cegs.playerCharacters.get(player) == CharacterType.Django;
 
-        int playerCompartmentIndex = 0;
-        Compartment playerCompartment = null;
-        boolean playerOnTop = false;
-
-        for (int i = 0; i < cegs.trainCompartments.size(); i++)
-        {
-            Compartment compartment = cegs.trainCompartments.get(i);
-            if (compartment.playersOnTopOfCompartment.contains(player)) {
-                playerCompartmentIndex = i;
-                playerCompartment = compartment;
-                playerOnTop = true;
-                break;
-            } else if (compartment.playersInsideCompartment.contains(player)){
-                playerCompartmentIndex = i;
-                playerCompartment = compartment;
-                break;
-            }
-        }
-        if (playerCompartment != null) {
-
+        int playerCompartmentIndex = cegs.getPlayerCompartment(player);
+        if (playerCompartmentIndex >= 0) {
+            Compartment playerCompartment = cegs.trainCompartments[playerCompartmentIndex];
             int sourceCompID = playerCompartment.getComponentID();
-            HashMap<Integer, Compartment> targets = new HashMap<>();
+            // Compartment index each player can be shot in, -1 if they can not be shot
+            int[] targets = new int[cegs.getNPlayers()];
+            Arrays.fill(targets, -1);
 
-            if (playerOnTop) {
+            if (playerCompartment.isPlayerOnTop(player)) {
                 //shots in rear direction
                 for (int offset = 1; playerCompartmentIndex - offset >= 0; offset++) {
-                    Compartment targetCompartment = cegs.trainCompartments.get(playerCompartmentIndex - offset);
-                    if (targetCompartment.playersOnTopOfCompartment.size() > 0) {
-                        for (Integer target : targetCompartment.playersOnTopOfCompartment)
-                            targets.put(target, targetCompartment);
+                    Compartment targetCompartment = cegs.trainCompartments[playerCompartmentIndex - offset];
+                    if (targetCompartment.getPlayersOnTop() != 0) {
+                        addTargets(targets, targetCompartment.getPlayersOnTop(), playerCompartmentIndex - offset);
                         break;
                     }
                 }
 
                 //shots to the front of the train
-                for (int offset = 1; playerCompartmentIndex + offset < cegs.trainCompartments.size(); offset++) {
-                    Compartment targetCompartment = cegs.trainCompartments.get(playerCompartmentIndex + offset);
-                    if (targetCompartment.playersOnTopOfCompartment.size() > 0) {
-                        for (Integer target : targetCompartment.playersOnTopOfCompartment)
-                            targets.put(target, targetCompartment);
+                for (int offset = 1; playerCompartmentIndex + offset < cegs.trainCompartments.length; offset++) {
+                    Compartment targetCompartment = cegs.trainCompartments[playerCompartmentIndex + offset];
+                    if (targetCompartment.getPlayersOnTop() != 0) {
+                        addTargets(targets, targetCompartment.getPlayersOnTop(), playerCompartmentIndex + offset);
                         break;
                     }
                 }
 
                 //add player below if your are tuco
                 if (cegs.playerCharacters.get(player) == CharacterType.Tuco) {
-                    for (Integer target : cegs.trainCompartments.get(playerCompartmentIndex).playersInsideCompartment)
-                        targets.put(target, playerCompartment);
+                    addTargets(targets, playerCompartment.getPlayersInside(), playerCompartmentIndex);
                 }
             } else {
                 if (playerCompartmentIndex - 1 >= 0) {
-                    Compartment targetCompartment = cegs.trainCompartments.get(playerCompartmentIndex - 1);
-                    if (targetCompartment.playersInsideCompartment.size() > 0) {
-                        for (Integer target : targetCompartment.playersInsideCompartment)
-                            targets.put(target, targetCompartment);
-                    }
+                    Compartment targetCompartment = cegs.trainCompartments[playerCompartmentIndex - 1];
+                    addTargets(targets, targetCompartment.getPlayersInside(), playerCompartmentIndex - 1);
                 }
 
-                if (playerCompartmentIndex + 1 < cegs.trainCompartments.size()) {
-                    Compartment targetCompartment = cegs.trainCompartments.get(playerCompartmentIndex + 1);
-                    if (targetCompartment.playersInsideCompartment.size() > 0) {
-                        for (Integer target : targetCompartment.playersInsideCompartment)
-                            targets.put(target, targetCompartment);
-                    }
+                if (playerCompartmentIndex + 1 < cegs.trainCompartments.length) {
+                    Compartment targetCompartment = cegs.trainCompartments[playerCompartmentIndex + 1];
+                    addTargets(targets, targetCompartment.getPlayersInside(), playerCompartmentIndex + 1);
                 }
 
                 // Add player above if your are tuco
                 if (cegs.playerCharacters.get(player) == CharacterType.Tuco) {
-                    for (Integer target : cegs.trainCompartments.get(playerCompartmentIndex).playersOnTopOfCompartment)
-                        targets.put(target, playerCompartment);
+                    addTargets(targets, playerCompartment.getPlayersOnTop(), playerCompartmentIndex);
                 }
             }
 
-            if (targets.size() > 1)
-                targets.remove(cegs.playerPlayingBelle);
+            int nTargets = 0;
+            for (int t : targets) {
+                if (t != -1) nTargets++;
+            }
+            if (nTargets > 1 && cegs.playerPlayingBelle != -1)
+                targets[cegs.playerPlayingBelle] = -1;
 
-            for (Map.Entry<Integer, Compartment> entry : targets.entrySet()) {
-                actions.add(new ShootPlayerAction(deckFromID, deckToID, cardIdx, sourceCompID,
-                        entry.getValue().getComponentID(), entry.getKey(), playerIsDjango));
+            for (int target = 0; target < targets.length; target++) {
+                if (targets[target] != -1)
+                    actions.add(new ShootPlayerAction(deckFromID, deckToID, cardIdx, sourceCompID,
+                            cegs.trainCompartments[targets[target]].getComponentID(), target, playerIsDjango));
             }
 
             if (actions.size() == 0)
@@ -590,20 +536,28 @@ public class ColtExpressForwardModel extends AbstractForwardModel {
         }
     }
 
+    private static void addTargets(int[] targets, int players, int compartmentIndex) {
+        for (; players != 0; players &= players - 1) {
+            targets[Integer.numberOfTrailingZeros(players)] = compartmentIndex;
+        }
+    }
+
     private void setupTrain(ColtExpressGameState cegs) {
         // Choose random compartment configurations
-        Random random = new Random(cegs.getGameParameters().getRandomSeed());
+        Random random = new FastRandom(cegs.getGameParameters().getRandomSeed());
         ArrayList<Integer> availableCompartments = new ArrayList<>();
         for (int i = 0; i < ((ColtExpressParameters)cegs.getGameParameters()).trainCompartmentConfigurations.size() - 1; i++) {
             availableCompartments.add(i);
         }
+        cegs.trainCompartments = new Compartment[cegs.getNPlayers() + 1];
         for (int i = 0; i < cegs.getNPlayers(); i++) {
             int which = random.nextInt(availableCompartments.size());
-            cegs.trainCompartments.add(new Compartment(cegs.getNPlayers(), i, which, (ColtExpressParameters)cegs.getGameParameters()));
+            cegs.trainCompartments[i] = new Compartment(cegs.getNPlayers(), i, which, (ColtExpressParameters)cegs.getGameParameters());
             availableCompartments.remove(Integer.valueOf(which));
         }
 
-        // Add locomotive
-        cegs.trainCompartments.add(Compartment.createLocomotive(cegs.getNPlayers(), (ColtExpressParameters) cegs.getGameParameters()));
+        // Add locomotive, where the marshal starts
+        cegs.trainCompartments[cegs.getNPlayers()] = Compartment.createLocomotive(cegs.getNPlayers(), (ColtExpressParameters) cegs.getGameParameters());
+        cegs.marshalCompartment = cegs.getNPlayers();
     }
 }
@@ -14,6 +14,7 @@ import games.coltexpress.cards.ColtExpressCard;
 import games.coltexpress.cards.RoundCard;
 import games.coltexpress.components.Compartment;
 import games.coltexpress.components.Loot;
+import utilities.FastRandom;
 import utilities.Pair;
 
 import java.util.*;
@@ -43,8 +44,10 @@ public class ColtExpressGameState extends AbstractGameState implements IPrintabl
 
     // The card stack built by players each round
     PartialObservableDeck<ColtExpressCard> plannedActions;
-    // The train to loot
-    LinkedList<Compartment> trainCompartments;
+    // The train to loot, from the caboose (index 0) to the locomotive (index nPlayers)
+    Compartment[] trainCompartments;
+    // Index of the compartment the marshal is in
+    int marshalCompartment;
     // The round cards
     PartialObservableDeck<RoundCard> rounds;
 
@@ -53,16 +56,16 @@ public class ColtExpressGameState extends AbstractGameState implements IPrintabl
     public ColtExpressGameState(AbstractParameters gameParameters, int nPlayers) {
         super(gameParameters, new ColtExpressTurnOrder(nPlayers, ((ColtExpressParameters) gameParameters).nMaxRounds), GameType.ColtExpress);
         gamePhase = ColtExpressGamePhase.PlanActions;
-        trainCompartments = new LinkedList<>();
+        trainCompartments = new Compartment[0];
         playerPlayingBelle = -1;
-        rnd = new Random(gameParameters.getRandomSeed());
+        rnd = new FastRandom(gameParameters.getRandomSeed());
     }
 
     @Override
     public List<Component> _getAllComponents() {
         List<Component> components = new ArrayList<>();
         components.add(plannedActions);
-        components.addAll(trainCompartments);
+        Collections.addAll(components, trainCompartments);
         components.addAll(playerHandCards);
         components.addAll(playerDecks);
         components.addAll(playerLoot);
@@ -94,10 +97,11 @@ public class ColtExpressGameState extends AbstractGameState implements IPrintabl
         }
         copy.plannedActions = plannedActions.copy();
         copy.rounds = rounds.copy();
-        copy.trainCompartments = new LinkedList<>();
-        for (Compartment d: trainCompartments) {
-            copy.trainCompartments.add((Compartment) d.copy());
+        copy.trainCompartments = new Compartment[trainCompartments.length];
+        for (int i = 0; i < trainCompartments.length; i++) {
+            copy.trainCompartments[i] = (Compartment) trainCompartments[i].copy();
         }
+        copy.marshalCompartment = marshalCompartment;
 
         if (PARTIAL_OBSERVABLE && playerId != -1) {
             for (int i = 0; i < getNPlayers(); i++) {
@@ -127,9 +131,9 @@ public class ColtExpressGameState extends AbstractGameState implements IPrintabl
             }
 
             // All loot in train is also hidden
-            for (int i = 0; i < trainCompartments.size(); i++) {
-                Compartment realCompartment = trainCompartments.get(i);
-                Compartment copyCompartment = copy.trainCompartments.get(i);
+            for (int i = 0; i < trainCompartments.length; i++) {
+                Compartment realCompartment = trainCompartments[i];
+                Compartment copyCompartment = copy.trainCompartments[i];
                 copyCompartment.lootOnTop.clear();
                 copyCompartment.lootInside.clear();
                 for (int j = 0; j < realCompartment.lootOnTop.getSize(); j++) {
@@ -204,6 +208,52 @@ public class ColtExpressGameState extends AbstractGameState implements IPrintabl
         return copy;
     }
 
+    @Override
+    protected void _redeterminise(int playerId, Random rnd) {
+        ColtExpressParameters cep = (ColtExpressParameters) gameParameters;
+        for (int p = 0; p < getNPlayers(); p++) {
+            // Cards hidden in a player's hand and deck can be anywhere in those, bullets included
+            List<Deck<ColtExpressCard>> decks = new ArrayList<>();
+            decks.add(playerHandCards.get(p));
+            decks.add(playerDecks.get(p));
+            shuffleHiddenComponents(playerId, rnd, decks, null);
+            // Their hidden planned actions could also be any of their other cards, except for bullets
+            final int player = p;
+            decks.add(plannedActions);
+            shuffleHiddenComponents(playerId, rnd, decks, c -> ((ColtExpressCard) c).playerID == player &&
+                    ((ColtExpressCard) c).cardType != ColtExpressCard.CardType.Bullet);
+
+            // All loot is hidden, random value for loot of this same type
+            randomiseLootValues(playerLoot.get(p), cep, rnd);
+        }
+        for (Compartment compartment : trainCompartments) {
+            randomiseLootValues(compartment.lootOnTop, cep, rnd);
+            randomiseLootValues(compartment.lootInside, cep, rnd);
+        }
+
+        // Round cards are hidden for subsequent rounds, randomize those
+        List<RoundCard> exclusionList = rounds.getVisibleComponents(playerId).stream()
+                .filter(Objects::nonNull).collect(toList());
+        for (int i = 0; i < rounds.getSize(); i++) {
+            if (!rounds.isComponentVisible(i, playerId)) {
+                if (i == rounds.getSize() - 1) { // last card, so use an End Round Card
+                    rounds.setComponent(i, getRandomEndRoundCard(cep, rnd));
+                } else {
+                    rounds.setComponent(i, getRandomRoundCard(cep, exclusionList, rnd));
+                    exclusionList.add(rounds.get(i));
+                }
+            }
+        }
+    }
+
+    private static void randomiseLootValues(Deck<Loot> loot, ColtExpressParameters cep, Random rnd) {
+        for (int j = 0; j < loot.getSize(); j++) {
+            ColtExpressTypes.LootType type = loot.get(j).getLootType();
+            ArrayList<Pair<Integer,Integer>> lootOptions = cep.loot.get(type);
+            loot.setComponent(j, new Loot(type, lootOptions.get(rnd.nextInt(lootOptions.size())).a));
+        }
+    }
+
     @Override
     protected double _getHeuristicScore(int playerId) {
         return new ColtExpressHeuristic().evaluateState(this, playerId);
@@ -223,9 +273,11 @@ public class ColtExpressGameState extends AbstractGameState implements IPrintabl
         playerCharacters = new HashMap<>();
         playerPlayingBelle = -1;
         plannedActions = null;
-        trainCompartments = new LinkedList<>();
+        trainCompartments = new Compartment[0];
+        marshalCompartment = 0;
         rounds = new PartialObservableDeck<>("Rounds", -1, getNPlayers());
         gamePhase = ColtExpressGamePhase.PlanActions;
+        rnd = new FastRandom(getGameParameters().getRandomSeed());
     }
 
     @Override
@@ -235,20 +287,22 @@ public class ColtExpressGameState extends AbstractGameState implements IPrintabl
         if (!super.equals(o)) return false;
         ColtExpressGameState gameState = (ColtExpressGameState) o;
         return playerPlayingBelle == gameState.playerPlayingBelle &&
+                marshalCompartment == gameState.marshalCompartment &&
                 Objects.equals(playerHandCards, gameState.playerHandCards) &&
                 Objects.equals(playerDecks, gameState.playerDecks) &&
                 Objects.equals(playerLoot, gameState.playerLoot) &&
                 Arrays.equals(bulletsLeft, gameState.bulletsLeft) &&
                 Objects.equals(playerCharacters, gameState.playerCharacters) &&
                 Objects.equals(plannedActions, gameState.plannedActions) &&
-                Objects.equals(trainCompartments, gameState.trainCompartments) &&
+                Arrays.equals(trainCompartments, gameState.trainCompartments) &&
                 Objects.equals(rounds, gameState.rounds);
     }
 
     @Override
     public int hashCode() {
-        int result = Objects.hash(super.hashCode(), playerHandCards, playerDecks, playerLoot, playerCharacters, playerPlayingBelle, plannedActions, trainCompartments, rounds);
+        int result = Objects.hash(super.hashCode(), playerHandCards, playerDecks, playerLoot, playerCharacters, playerPlayingBelle, plannedActions, marshalCompartment, rounds);
         result = 31 * result + Arrays.hashCode(bulletsLeft);
+        result = 31 * result + Arrays.hashCode(trainCompartments);
         return result;
     }
 
@@ -302,9 +356,36 @@ public class ColtExpressGameState extends AbstractGameState implements IPrintabl
         return playersWithMostSuccessfulShots;
     }
 
+    /**
+     * @param playerID - ID of player to find.
+     * @return - index in the train of the compartment the player is in (or on top of), -1 if none.
+     */
+    public int getPlayerCompartment(int playerID) {
+        for (int i = 0; i < trainCompartments.length; i++) {
+            if (trainCompartments[i].containsPlayer(playerID))
+                return i;
+        }
+        return -1;
+    }
+
     // Getters, setters
-    public LinkedList<Compartment> getTrainCompartments() {
-        return trainCompartments;
+    public List<Compartment> getTrainCompartments() {
+        return Arrays.asList(trainCompartments);
+    }
+    public Compartment getCompartment(int index) {
+        return trainCompartments[index];
+    }
+    public int getNCompartments() {
+        return trainCompartments.length;
+    }
+    public int getMarshalCompartment() {
+        return marshalCompartment;
+    }
+    public void setMarshalCompartment(int index) {
+        marshalCompartment = index;
+    }
+    public boolean containsMarshal(Compartment compartment) {
+        return compartment.getCompartmentID() == marshalCompartment;
     }
     public Deck<Loot> getLoot(int playerID) {
         return playerLoot.get(playerID);
@@ -378,6 +459,8 @@ public class ColtExpressGameState extends AbstractGameState implements IPrintabl
         for (Compartment compartment : trainCompartments)
         {
             sb.append(compartment.toString());
+            if (containsMarshal(compartment))
+                sb.append("; Marshal");
             sb.append("\n");
         }
         sb.deleteCharAt(sb.length()-1);
@@ -390,6 +473,10 @@ public class ColtExpressGameState extends AbstractGameState implements IPrintabl
      */
 
     RoundCard getRandomEndRoundCard(ColtExpressParameters cep) {
+        return getRandomEndRoundCard(cep, rnd);
+    }
+
+    RoundCard getRandomEndRoundCard(ColtExpressParameters cep, Random rnd) {
         int nEndCards = cep.endRoundCards.length;
         int choice = rnd.nextInt(nEndCards);
         return getEndRoundCard(cep, choice);
@@ -405,6 +492,10 @@ public class ColtExpressGameState extends AbstractGameState implements IPrintabl
     }
 
     RoundCard getRandomRoundCard(ColtExpressParameters cep, int i, List<RoundCard> exclusionList) {
+        return getRandomRoundCard(cep, exclusionList, rnd);
+    }
+
+    RoundCard getRandomRoundCard(ColtExpressParameters cep, List<RoundCard> exclusionList, Random rnd) {
         List<String> namesToExclude = exclusionList.stream().map(RoundCard::getComponentName).collect(toList());
         List<ColtExpressTypes.RegularRoundCard> availableTypes = Arrays.stream(cep.roundCards)
                 .filter(rc -> !namesToExclude.contains(rc.name())).collect(toList());
@@ -8,9 +8,9 @@ import games.coltexpress.ColtExpressGameState;
 import games.coltexpress.ColtExpressTypes;
 import games.coltexpress.cards.ColtExpressCard;
 import games.coltexpress.components.Loot;
+import utilities.FastRandom;
 
 import java.util.Objects;
-import java.util.Random;
 
 import static core.CoreConstants.VisibilityMode;
 
@@ -45,7 +45,7 @@ public class CollectMoneyAction extends DrawCard {
 
         // Choose random loot of type to collect
         if (possible.getSize() > 0) {
-            Loot available = possible.pick(new Random(gameState.getGameParameters().getRandomSeed()));
+            Loot available = possible.pick(new FastRandom(gameState.getGameParameters().getRandomSeed()));
             ColtExpressCard card = (ColtExpressCard) getCard(gameState);
             ((ColtExpressGameState) gameState).addLoot(card.playerID, available);
             availableLootDeck.remove(available);
@@ -25,16 +25,14 @@ public class MoveMarshalAction extends DrawCard {
     public boolean execute(AbstractGameState gs) {
         super.execute(gs);
 
-        Compartment source = (Compartment) gs.getComponentById(sourceCompartment);
         Compartment target = (Compartment) gs.getComponentById(targetCompartment);
 
-        source.containsMarshal = false;
-        target.containsMarshal = true;
-        for (Integer playerID : target.playersInsideCompartment){
-            target.playersOnTopOfCompartment.add(playerID);
+        ((ColtExpressGameState) gs).setMarshalCompartment(target.getCompartmentID());
+        for (int playerID : Compartment.players(target.getPlayersInside())){
+            target.addPlayerOnTop(playerID);
             ((ColtExpressGameState) gs).addNeutralBullet(playerID);
         }
-        target.playersInsideCompartment.clear();
+        target.setPlayersInside(0);
         return true;
 
     }
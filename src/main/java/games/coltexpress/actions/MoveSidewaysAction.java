@@ -30,18 +30,18 @@ public class MoveSidewaysAction extends DrawCard {
         Compartment target = (Compartment) gs.getComponentById(targetCompartment);
         ColtExpressCard card = (ColtExpressCard) getCard(gs);
 
-        if (source.playersInsideCompartment.contains(card.playerID)){
-            source.playersInsideCompartment.remove(card.playerID);
-            if (target.containsMarshal){
+        if (source.isPlayerInside(card.playerID)){
+            source.removePlayerInside(card.playerID);
+            if (((ColtExpressGameState) gs).containsMarshal(target)){
                 ((ColtExpressGameState) gs).addNeutralBullet(card.playerID);
-                target.playersOnTopOfCompartment.add(card.playerID);
+                target.addPlayerOnTop(card.playerID);
             } else {
-                target.playersInsideCompartment.add(card.playerID);
+                target.addPlayerInside(card.playerID);
             }
         }
         else {
-            source.playersOnTopOfCompartment.remove(card.playerID);
-            target.playersOnTopOfCompartment.add(card.playerID);
+            source.removePlayerOnTop(card.playerID);
+            target.addPlayerOnTop(card.playerID);
         }
 
         return true;
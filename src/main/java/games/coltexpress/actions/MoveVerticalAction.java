@@ -29,11 +29,11 @@ public class MoveVerticalAction extends DrawCard {
         ColtExpressCard card = (ColtExpressCard) getCard(gs);
 
         if (climbRoof){
-            comp.playersInsideCompartment.remove(card.playerID);
-            comp.playersOnTopOfCompartment.add(card.playerID);
+            comp.removePlayerInside(card.playerID);
+            comp.addPlayerOnTop(card.playerID);
         } else {
-            comp.playersOnTopOfCompartment.remove(card.playerID);
-            comp.playersInsideCompartment.add(card.playerID);
+            comp.removePlayerOnTop(card.playerID);
+            comp.addPlayerInside(card.playerID);
         }
 
         return true;
@@ -9,11 +9,11 @@ import games.coltexpress.ColtExpressTypes;
 import games.coltexpress.cards.ColtExpressCard;
 import games.coltexpress.components.Compartment;
 import games.coltexpress.components.Loot;
+import utilities.FastRandom;
 
 import java.util.LinkedList;
 import java.util.Objects;
 import java.util.Random;
-import java.util.Set;
 
 
 public class PunchAction  extends DrawCard {
@@ -50,26 +50,22 @@ public class PunchAction  extends DrawCard {
         Deck<Loot> availableLootDeck = (Deck<Loot>) gameState.getComponentById(availableLoot);
 
         //move player
-        Set<Integer> sourceArea;
-        Set<Integer> targetArea;
         Deck<Loot> targetLootArea;
-        if (source.playersOnTopOfCompartment.contains(opponentID)){
-            sourceArea = source.playersOnTopOfCompartment;
+        if (source.isPlayerOnTop(opponentID)){
+            source.removePlayerOnTop(opponentID);
             targetLootArea = source.lootOnTop;
-            targetArea = target.playersOnTopOfCompartment;
+            target.addPlayerOnTop(opponentID);
         } else {
-            sourceArea = source.playersInsideCompartment;
+            source.removePlayerInside(opponentID);
             targetLootArea = source.lootInside;
-            if (target.containsMarshal)
+            if (((ColtExpressGameState) gameState).containsMarshal(target))
             {
-                targetArea = target.playersOnTopOfCompartment;
+                target.addPlayerOnTop(opponentID);
                 ((ColtExpressGameState) gameState).addNeutralBullet(opponentID);
             } else
-                targetArea = target.playersInsideCompartment;
+                target.addPlayerInside(opponentID);
 
         }
-        sourceArea.remove(opponentID);
-        targetArea.add(opponentID);
 
         //drop loot
         LinkedList<Loot> potentialLoot = new LinkedList<>();
@@ -80,7 +76,7 @@ public class PunchAction  extends DrawCard {
             }
 
             if (potentialLoot.size() > 0){
-                Random r = new Random(gameState.getGameParameters().getRandomSeed());
+                Random r = new FastRandom(gameState.getGameParameters().getRandomSeed());
                 Loot chosenLoot = potentialLoot.get(r.nextInt(potentialLoot.size()));
                 if (playerIsCheyenne && loot == ColtExpressTypes.LootType.Purse)
                     ((ColtExpressGameState) gameState).addLoot(card.playerID, chosenLoot);
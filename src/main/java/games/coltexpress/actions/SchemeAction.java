@@ -4,6 +4,7 @@ import core.AbstractGameState;
 import core.actions.AbstractAction;
 import core.actions.DrawCard;
 import core.components.PartialObservableDeck;
+import core.interfaces.IPartialObservableAction;
 import core.interfaces.IPrintable;
 import games.coltexpress.cards.ColtExpressCard;
 
@@ -11,14 +12,32 @@ import java.util.Arrays;
 import java.util.Objects;
 
 
-public class SchemeAction extends DrawCard implements IPrintable {
+public class SchemeAction extends DrawCard implements IPrintable, IPartialObservableAction {
 
     private final boolean hidden;
+    // Type of card other players see played, only in actions as observed by them (see getObservedAction())
+    private final ColtExpressCard.CardType observedType;
 
     public SchemeAction(int handCards, int actionList, int cardIdx, boolean hidden){
+        this(handCards, actionList, cardIdx, hidden, null);
+    }
+
+    private SchemeAction(int handCards, int actionList, int cardIdx, boolean hidden,
+                         ColtExpressCard.CardType observedType) {
         super(handCards, actionList, cardIdx);
 
         this.hidden = hidden;
+        this.observedType = observedType;
+    }
+
+    /**
+     * Other players see the type of card played, or only that a card was played if it is hidden; they never know
+     * where it was in the hand.
+     */
+    @Override
+    public AbstractAction getObservedAction(AbstractGameState gameState, int playerId) {
+        ColtExpressCard.CardType type = hidden ? null : ((ColtExpressCard) getCard(gameState)).cardType;
+        return new SchemeAction(deckFrom, deckTo, -1, hidden, type);
     }
 
     @Override
@@ -45,16 +64,18 @@ public class SchemeAction extends DrawCard implements IPrintable {
         if (!(o instanceof SchemeAction)) return false;
         if (!super.equals(o)) return false;
         SchemeAction that = (SchemeAction) o;
-        return hidden == that.hidden;
+        return hidden == that.hidden && observedType == that.observedType;
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(super.hashCode(), hidden);
+        return Objects.hash(super.hashCode(), hidden, observedType);
     }
 
     @Override
     public String getString(AbstractGameState gameState) {
+        if (fromIndex == -1)
+            return toString();
         return ((ColtExpressCard)getCard(gameState)).cardType.name();
     }
 
@@ -62,11 +83,13 @@ public class SchemeAction extends DrawCard implements IPrintable {
     public String toString(){
         if (hidden)
             return "PlayCard(hidden)";
+        if (observedType != null)
+            return "PlayCard(" + observedType + ")";
         return "PlayCard";
     }
 
     @Override
     public AbstractAction copy() {
-        return new SchemeAction(deckFrom, deckTo, fromIndex, hidden);
+        return new SchemeAction(deckFrom, deckTo, fromIndex, hidden, observedType);
     }
 }
@@ -58,17 +58,17 @@ public class ShootPlayerAction extends DrawCard {
 
             if (movementIndex > 0 && movementIndex <= cegs.getNPlayers())
             {
-                Compartment movementCompartment = cegs.getTrainCompartments().get(movementIndex);
+                Compartment movementCompartment = cegs.getCompartment(movementIndex);
 
                 // django's shots can move the player
-                if (target.playersInsideCompartment.contains(targetID)) {
-                    target.playersInsideCompartment.remove(targetID);
+                if (target.isPlayerInside(targetID)) {
+                    target.removePlayerInside(targetID);
 
-                    if (movementCompartment.containsMarshal) {
+                    if (cegs.containsMarshal(movementCompartment)) {
                         cegs.addNeutralBullet(targetID);
-                        movementCompartment.playersOnTopOfCompartment.add(targetID);
+                        movementCompartment.addPlayerOnTop(targetID);
                     } else
-                        movementCompartment.playersInsideCompartment.add(targetID);
+                        movementCompartment.addPlayerInside(targetID);
                 }
             }
         }
@@ -15,12 +15,12 @@ public class EndCardHostage extends AbstractAction {
     @Override
     public boolean execute(AbstractGameState gs) {
         ColtExpressGameState gameState = (ColtExpressGameState) gs;
-        Compartment locomotive = gameState.getTrainCompartments().get(gameState.getNPlayers());
+        Compartment locomotive = gameState.getCompartment(gameState.getNPlayers());
         int reward = ((ColtExpressParameters)gs.getGameParameters()).nCardHostageReward;
-        for (Integer playerID : locomotive.playersOnTopOfCompartment){
+        for (int playerID : Compartment.players(locomotive.getPlayersOnTop())){
             gameState.addLoot(playerID, new Loot(Purse, reward));
         }
-        for (Integer playerID : locomotive.playersInsideCompartment){
+        for (int playerID : Compartment.players(locomotive.getPlayersInside())){
             gameState.addLoot(playerID, new Loot(Purse, reward));
         }
         gameState.setGameStatus(Utils.GameResult.GAME_END);
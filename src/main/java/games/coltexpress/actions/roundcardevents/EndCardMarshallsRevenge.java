@@ -10,7 +10,6 @@ import games.coltexpress.components.Compartment;
 import games.coltexpress.components.Loot;
 import utilities.Utils;
 
-import java.util.LinkedList;
 
 public class EndCardMarshallsRevenge extends AbstractAction {
 
@@ -18,22 +17,17 @@ public class EndCardMarshallsRevenge extends AbstractAction {
     public boolean execute(AbstractGameState gs) {
         ColtExpressGameState gameState = (ColtExpressGameState) gs;
 
-        LinkedList<Compartment> train = gameState.getTrainCompartments();
-        for (Compartment c : train) {
-            if (c.containsMarshal) {
-                for (Integer playerID : c.playersOnTopOfCompartment) {
-                    Deck<Loot> playerLoot = gameState.getLoot(playerID);
-                    Loot lestValueablePurse = null;
-                    for (Loot loot : playerLoot.getComponents()) {
-                        if (loot.getLootType() == ColtExpressTypes.LootType.Purse &&
-                                (lestValueablePurse == null || lestValueablePurse.getValue() < loot.getValue()))
-                            lestValueablePurse = loot;
-                    }
-                    if (lestValueablePurse != null)
-                        playerLoot.remove(lestValueablePurse);
-                }
-                break;
+        Compartment c = gameState.getCompartment(gameState.getMarshalCompartment());
+        for (int playerID : Compartment.players(c.getPlayersOnTop())) {
+            Deck<Loot> playerLoot = gameState.getLoot(playerID);
+            Loot lestValueablePurse = null;
+            for (Loot loot : playerLoot.getComponents()) {
+                if (loot.getLootType() == ColtExpressTypes.LootType.Purse &&
+                        (lestValueablePurse == null || lestValueablePurse.getValue() < loot.getValue()))
+                    lestValueablePurse = loot;
             }
+            if (lestValueablePurse != null)
+                playerLoot.remove(lestValueablePurse);
         }
 
         gameState.setGameStatus(Utils.GameResult.GAME_END);
@@ -6,9 +6,11 @@ import games.coltexpress.ColtExpressGameState;
 import games.coltexpress.ColtExpressTypes;
 import games.coltexpress.components.Compartment;
 import games.coltexpress.components.Loot;
+import utilities.FastRandom;
 import utilities.Utils;
 
 import java.util.LinkedList;
+import java.util.List;
 import java.util.Random;
 
 public class EndCardPickPocket extends AbstractAction {
@@ -16,30 +18,30 @@ public class EndCardPickPocket extends AbstractAction {
     @Override
     public boolean execute(AbstractGameState gs) {
         ColtExpressGameState gameState = (ColtExpressGameState) gs;
-        Random random = new Random(gs.getGameParameters().getRandomSeed());
+        Random random = new FastRandom(gs.getGameParameters().getRandomSeed());
 
-        LinkedList<Compartment> train = gameState.getTrainCompartments();
+        List<Compartment> train = gameState.getTrainCompartments();
         for (Compartment currentCompartment : train) {
-            if (currentCompartment.playersInsideCompartment.size() == 1) {
+            if (currentCompartment.nPlayersInside() == 1) {
                 LinkedList<Loot> purses = new LinkedList<>();
                 for (Loot loot : currentCompartment.lootInside.getComponents()) {
                     if (loot.getLootType() == ColtExpressTypes.LootType.Purse)
                         purses.add(loot);
                 }
                 if (purses.size() > 0) {
-                    for (Integer playerID : currentCompartment.playersInsideCompartment)
+                    for (int playerID : Compartment.players(currentCompartment.getPlayersInside()))
                         gameState.addLoot(playerID, purses.get(random.nextInt(purses.size())));
                 }
             }
 
-            if (currentCompartment.playersOnTopOfCompartment.size() == 1) {
+            if (currentCompartment.nPlayersOnTop() == 1) {
                 LinkedList<Loot> purses = new LinkedList<>();
                 for (Loot loot : currentCompartment.lootOnTop.getComponents()) {
                     if (loot.getLootType() == ColtExpressTypes.LootType.Purse)
                         purses.add(loot);
                 }
                 if (purses.size() > 0) {
-                    for (Integer playerID : currentCompartment.playersOnTopOfCompartment)
+                    for (int playerID : Compartment.players(currentCompartment.getPlayersOnTop()))
                         gameState.addLoot(playerID, purses.get(random.nextInt(purses.size())));
                 }
             }
@@ -5,7 +5,6 @@ import core.actions.AbstractAction;
 import games.coltexpress.ColtExpressGameState;
 import games.coltexpress.components.Compartment;
 
-import java.util.LinkedList;
 
 public class RoundCardAngryMarshall extends AbstractAction {
 
@@ -13,18 +12,12 @@ public class RoundCardAngryMarshall extends AbstractAction {
     public boolean execute(AbstractGameState gs) {
         ColtExpressGameState gameState = (ColtExpressGameState) gs;
 
-        LinkedList<Compartment> train = gameState.getTrainCompartments();
-        for (int i = 0; i < train.size(); i++){
-            Compartment c = train.get(i);
-            if (c.containsMarshal){
-                for (Integer playerID : c.playersOnTopOfCompartment)
-                    gameState.addNeutralBullet(playerID);
-                if (i > 0){
-                    c.containsMarshal = false;
-                    train.get(i-1).containsMarshal = true;
-                }
-            }
-        }
+        int i = gameState.getMarshalCompartment();
+        Compartment c = gameState.getCompartment(i);
+        for (int playerID : Compartment.players(c.getPlayersOnTop()))
+            gameState.addNeutralBullet(playerID);
+        if (i > 0)
+            gameState.setMarshalCompartment(i - 1);
         return true;
     }
 
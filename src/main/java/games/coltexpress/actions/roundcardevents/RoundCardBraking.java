@@ -5,19 +5,19 @@ import core.actions.AbstractAction;
 import games.coltexpress.ColtExpressGameState;
 import games.coltexpress.components.Compartment;
 
-import java.util.LinkedList;
+import java.util.List;
 
 public class RoundCardBraking extends AbstractAction {
 
     @Override
     public boolean execute(AbstractGameState gs) {
-        LinkedList<Compartment> train = ((ColtExpressGameState)gs).getTrainCompartments();
+        List<Compartment> train = ((ColtExpressGameState)gs).getTrainCompartments();
         Compartment targetCompartment = train.get(train.size()-1);
         Compartment sourceCompartment;
         for (int i = train.size()-2; i >= 0; i--){
             sourceCompartment = train.get(i);
-            targetCompartment.playersOnTopOfCompartment.addAll(sourceCompartment.playersOnTopOfCompartment);
-            sourceCompartment.playersOnTopOfCompartment.clear();
+            targetCompartment.setPlayersOnTop(targetCompartment.getPlayersOnTop() | sourceCompartment.getPlayersOnTop());
+            sourceCompartment.setPlayersOnTop(0);
             targetCompartment = sourceCompartment;
         }
         return true;
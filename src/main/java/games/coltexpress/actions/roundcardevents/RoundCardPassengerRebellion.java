@@ -5,16 +5,16 @@ import core.actions.AbstractAction;
 import games.coltexpress.ColtExpressGameState;
 import games.coltexpress.components.Compartment;
 
-import java.util.LinkedList;
+import java.util.List;
 
 public class RoundCardPassengerRebellion extends AbstractAction {
 
     @Override
     public boolean execute(AbstractGameState gs) {
         ColtExpressGameState gameState = (ColtExpressGameState) gs;
-        LinkedList<Compartment> train = gameState.getTrainCompartments();
+        List<Compartment> train = gameState.getTrainCompartments();
         for (Compartment c : train) {
-            for (Integer playerID : c.playersInsideCompartment) {
+            for (int playerID : Compartment.players(c.getPlayersInside())) {
                 gameState.addNeutralBullet(playerID);
             }
         }
@@ -5,7 +5,7 @@ import core.actions.AbstractAction;
 import games.coltexpress.ColtExpressGameState;
 import games.coltexpress.components.Compartment;
 
-import java.util.LinkedList;
+import java.util.List;
 
 public class RoundCardSwivelArm extends AbstractAction {
 
@@ -13,12 +13,12 @@ public class RoundCardSwivelArm extends AbstractAction {
     public boolean execute(AbstractGameState gs) {
         ColtExpressGameState cegs = (ColtExpressGameState) gs;
 
-        LinkedList<Compartment> train = ((ColtExpressGameState)gs).getTrainCompartments();
+        List<Compartment> train = ((ColtExpressGameState)gs).getTrainCompartments();
         Compartment caboose = train.get(0);
         for (int i = 1; i < train.size(); i++) {
             Compartment compartment = train.get(i);
-            caboose.playersOnTopOfCompartment.addAll(compartment.playersOnTopOfCompartment);
-            compartment.playersOnTopOfCompartment.clear();
+            caboose.setPlayersOnTop(caboose.getPlayersOnTop() | compartment.getPlayersOnTop());
+            compartment.setPlayersOnTop(0);
         }
 
         return true;
@@ -8,21 +8,16 @@ import games.coltexpress.ColtExpressTypes;
 import games.coltexpress.components.Compartment;
 import games.coltexpress.components.Loot;
 
-import java.util.LinkedList;
 
 public class RoundCardTakeItAll extends AbstractAction {
 
     @Override
     public boolean execute(AbstractGameState gs) {
-        LinkedList<Compartment> train = ((ColtExpressGameState)gs).getTrainCompartments();
+        ColtExpressGameState cegs = (ColtExpressGameState) gs;
         int reward = ((ColtExpressParameters)gs.getGameParameters()).nCardTakeItAllReward;
-        for (Compartment c : train) {
-            if (c.containsMarshal) {
-                ColtExpressTypes.LootType strongBox = ColtExpressTypes.LootType.Strongbox;
-                c.lootInside.add(new Loot(strongBox, reward));
-                break;
-            }
-        }
+        Compartment c = cegs.getCompartment(cegs.getMarshalCompartment());
+        ColtExpressTypes.LootType strongBox = ColtExpressTypes.LootType.Strongbox;
+        c.lootInside.add(new Loot(strongBox, reward));
         return true;
     }
 
@@ -13,7 +13,7 @@ public class ColtExpressCard extends Card {
         Bullet
     }
 
-    public CardType cardType;
+    public final CardType cardType;
     public final int playerID;
 
     public ColtExpressCard(int playerID, CardType cardType) {
@@ -32,9 +32,14 @@ public class ColtExpressCard extends Card {
         return cardType.name() + "(" + playerID + ")";
     }
 
+    @Override
+    public boolean isImmutable() {
+        return true;
+    }
+
     @Override
     public Card copy() {
-        return new ColtExpressCard(playerID, cardType, componentID);
+        return this;
     }
 
     @Override
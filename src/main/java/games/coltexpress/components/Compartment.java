@@ -5,6 +5,7 @@ import core.components.Deck;
 import core.interfaces.IComponentContainer;
 import games.coltexpress.ColtExpressParameters;
 import games.coltexpress.ColtExpressTypes;
+import utilities.FastRandom;
 import utilities.Utils;
 
 import java.util.*;
@@ -16,10 +17,10 @@ public class Compartment extends Component implements IComponentContainer<Deck<L
 
     public Deck<Loot> lootInside;
     public Deck<Loot> lootOnTop;
-    public Set<Integer> playersInsideCompartment;
-    public Set<Integer> playersOnTopOfCompartment;
+    // Players inside and on top of this compartment, as bitmasks of player IDs (bit i set if player i is there)
+    private int playersInside;
+    private int playersOnTop;
 
-    public boolean containsMarshal;
     private final int nPlayers;
     private final int compartmentID;
 
@@ -35,9 +36,6 @@ public class Compartment extends Component implements IComponentContainer<Deck<L
         this.lootOnTop = new Deck<>("lootOntop", VisibilityMode.VISIBLE_TO_ALL);
         this.nPlayers = nPlayers;
         this.compartmentID = compartmentID;
-        playersInsideCompartment = new HashSet<>();
-        playersOnTopOfCompartment = new HashSet<>();
-        containsMarshal = false;
     }
 
     public Compartment(int nPlayers, int compartmentID, int which, ColtExpressParameters cep){
@@ -46,9 +44,6 @@ public class Compartment extends Component implements IComponentContainer<Deck<L
         this.lootOnTop = new Deck<>("lootOntop", VisibilityMode.HIDDEN_TO_ALL);
         this.nPlayers = nPlayers;
         this.compartmentID = compartmentID;
-        playersInsideCompartment = new HashSet<>();
-        playersOnTopOfCompartment = new HashSet<>();
-        containsMarshal = false;
 
         // Loot distribution setup
         pickedCount = new HashMap<>();
@@ -64,15 +59,16 @@ public class Compartment extends Component implements IComponentContainer<Deck<L
 
         // Set loot
         HashMap<ColtExpressTypes.LootType, Integer> configuration = cep.trainCompartmentConfigurations.get(which);
-        for (Map.Entry<ColtExpressTypes.LootType, Integer> e : configuration.entrySet()) {
-            for (int i = 0; i < e.getValue(); i++) {
-                lootInside.add(new Loot(e.getKey(), getRandomLootValue(cep, e.getKey(), cep.getRandomSeed())));
+        for (ColtExpressTypes.LootType t : ColtExpressTypes.LootType.values()) {
+            if (!configuration.containsKey(t)) continue;
+            for (int i = 0; i < configuration.get(t); i++) {
+                lootInside.add(new Loot(t, getRandomLootValue(cep, t, cep.getRandomSeed())));
             }
         }
     }
 
     private int getRandomLootValue(ColtExpressParameters cep, ColtExpressTypes.LootType t, long seed) {
-        Random r = new Random(seed);
+        Random r = new FastRandom(seed);
         if (stillAvailableIdx.get(t).size() > 0) {
             int idx = stillAvailableIdx.get(t).get(r.nextInt(stillAvailableIdx.get(t).size()));
             if (stillAvailableIdx.get(t).contains(idx)) {
@@ -88,32 +84,78 @@ public class Compartment extends Component implements IComponentContainer<Deck<L
 
     public static Compartment createLocomotive(int nPlayers, ColtExpressParameters cep){
         // Locomotive is always last in the list of compartment configurations
-        Compartment locomotive = new Compartment(nPlayers, nPlayers,cep.trainCompartmentConfigurations.size()-1, cep);
-        locomotive.containsMarshal = true;
-        return locomotive;
+        return new Compartment(nPlayers, nPlayers,cep.trainCompartmentConfigurations.size()-1, cep);
     }
 
 
     public boolean containsPlayer(int playerID) {
-        if (playersInsideCompartment.contains(playerID))
-            return true;
-        return playersOnTopOfCompartment.contains(playerID);
+        return ((playersInside | playersOnTop) & (1 << playerID)) != 0;
+    }
+
+    public boolean isPlayerInside(int playerID) {
+        return (playersInside & (1 << playerID)) != 0;
+    }
+
+    public boolean isPlayerOnTop(int playerID) {
+        return (playersOnTop & (1 << playerID)) != 0;
     }
 
     public void addPlayerInside(int playerID){
-        playersInsideCompartment.add(playerID);
+        playersInside |= 1 << playerID;
     }
 
     public void removePlayerInside(int playerID){
-        playersInsideCompartment.remove(playerID);
+        playersInside &= ~(1 << playerID);
     }
 
     public void addPlayerOnTop(int playerID){
-        playersOnTopOfCompartment.add(playerID);
+        playersOnTop |= 1 << playerID;
     }
 
     public void removePlayerOnTop(int playerID){
-        playersOnTopOfCompartment.remove(playerID);
+        playersOnTop &= ~(1 << playerID);
+    }
+
+    /**
+     * @return - bitmask of the IDs of the players inside this compartment, see players() to list them.
+     */
+    public int getPlayersInside() {
+        return playersInside;
+    }
+
+    /**
+     * @return - bitmask of the IDs of the players on top of this compartment, see players() to list them.
+     */
+    public int getPlayersOnTop() {
+        return playersOnTop;
+    }
+
+    public void setPlayersInside(int players) {
+        playersInside = players;
+    }
+
+    public void setPlayersOnTop(int players) {
+        playersOnTop = players;
+    }
+
+    public int nPlayersInside() {
+        return Integer.bitCount(playersInside);
+    }
+
+    public int nPlayersOnTop() {
+        return Integer.bitCount(playersOnTop);
+    }
+
+    /**
+     * @param players - bitmask of player IDs.
+     * @return - the player IDs in the bitmask, in increasing order.
+     */
+    public static int[] players(int players) {
+        int[] ids = new int[Integer.bitCount(players)];
+        for (int i = 0; players != 0; i++, players &= players - 1) {
+            ids[i] = Integer.numberOfTrailingZeros(players);
+        }
+        return ids;
     }
 
     public Deck<Loot> getLootInside() {
@@ -133,9 +175,8 @@ public class Compartment extends Component implements IComponentContainer<Deck<L
         Compartment newCompartment = new Compartment(this.nPlayers, compartmentID, componentID);
         newCompartment.lootInside = lootInside.copy();
         newCompartment.lootOnTop = lootOnTop.copy();
-        newCompartment.containsMarshal = containsMarshal;
-        newCompartment.playersOnTopOfCompartment.addAll(playersOnTopOfCompartment);
-        newCompartment.playersInsideCompartment.addAll(playersInsideCompartment);
+        newCompartment.playersOnTop = playersOnTop;
+        newCompartment.playersInside = playersInside;
         newCompartment.pickedCount = new HashMap<>();  // Copies never need to know this information
         newCompartment.stillAvailableIdx = new HashMap<>();  // Copies never need to know this information
         return newCompartment;
@@ -145,11 +186,9 @@ public class Compartment extends Component implements IComponentContainer<Deck<L
     public String toString(){
         StringBuilder sb = new StringBuilder();
         sb.append("Compartment: Inside=");
-        sb.append(playersInsideCompartment.toString());
+        sb.append(Arrays.toString(players(playersInside)));
         sb.append("; Outside=");
-        sb.append(playersOnTopOfCompartment.toString());
-        sb.append("; Marshal=");
-        sb.append(containsMarshal);
+        sb.append(Arrays.toString(players(playersOnTop)));
         sb.append("; LootInside=");
         sb.append(lootInside.toString());
         sb.append("; LootOntop=");
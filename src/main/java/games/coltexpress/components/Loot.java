@@ -15,12 +15,6 @@ public class Loot extends Component {
         this.value = value;
     }
 
-    private Loot(ColtExpressTypes.LootType type, int value, int ID){
-        super(Utils.ComponentType.TOKEN, type.toString(), ID);
-        this.type = type;
-        this.value = value;
-    }
-
     public static Loot createJewel(){
         return new Loot(ColtExpressTypes.LootType.Jewel, 500);
     }
@@ -41,9 +35,14 @@ public class Loot extends Component {
         return this.type + "_" + this.value;
     }
 
+    @Override
+    public boolean isImmutable() {
+        return true;
+    }
+
     @Override
     public Component copy() {
-        return new Loot(type, value, componentID);
+        return this;
     }
 
     @Override
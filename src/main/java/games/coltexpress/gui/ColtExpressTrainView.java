@@ -96,20 +96,21 @@ public class ColtExpressTrainView extends JComponent {
             // Players + marshal
             x1 = x + 5;
             int j = 0;
-            if (c.playersInsideCompartment.size() > 0 || c.containsMarshal) {
-                offset = lootAreaWidth / (c.playersInsideCompartment.size() + 2 + (c.containsMarshal ? 1 : 0));
-                for (int p : c.playersInsideCompartment) {
+            boolean containsMarshal = cegs != null && cegs.containsMarshal(c);
+            if (c.nPlayersInside() > 0 || containsMarshal) {
+                offset = lootAreaWidth / (c.nPlayersInside() + 2 + (containsMarshal ? 1 : 0));
+                for (int p : Compartment.players(c.getPlayersInside())) {
                     drawPlayer(g, p, new Rectangle(x1 + offset * j, y + trainCarHeight - playerSize - bottomOffset, playerSize, playerSize));
                     j++;
                 }
-                if (c.containsMarshal) {
+                if (containsMarshal) {
                     drawPlayer(g, -1, new Rectangle(x1 + offset * j, y + trainCarHeight - playerSize - bottomOffset, playerSize, playerSize));
                 }
             }
-            if (c.playersOnTopOfCompartment.size() > 0) {
-                offset = lootAreaWidth / (c.playersOnTopOfCompartment.size()+2);
+            if (c.nPlayersOnTop() > 0) {
+                offset = lootAreaWidth / (c.nPlayersOnTop()+2);
                 j = 0;
-                for (int p : c.playersOnTopOfCompartment) {
+                for (int p : Compartment.players(c.getPlayersOnTop())) {
                     drawPlayer(g, p, new Rectangle(x1 + offset * j, 0, playerSize, playerSize));
                     j++;
                 }
@@ -163,6 +164,7 @@ public class ColtExpressTrainView extends JComponent {
      */
     public void update(ColtExpressGameState cegs) {
         this.cegs = cegs;
+        this.train = cegs.getTrainCompartments();
         this.roundView.updateComponent(cegs.getRounds());
         this.roundView.updateGameState(cegs);
     }
@@ -0,0 +1,242 @@
+package games.coltexpress.test;
+
+import core.AbstractPlayer;
+import games.coltexpress.ColtExpressForwardModel;
+import games.coltexpress.ColtExpressGame;
+import games.coltexpress.ColtExpressGameState;
+import games.coltexpress.ColtExpressParameters;
+import games.coltexpress.ColtExpressTypes.LootType;
+import games.coltexpress.actions.MoveMarshalAction;
+import games.coltexpress.actions.PunchAction;
+import games.coltexpress.actions.ShootPlayerAction;
+import games.coltexpress.cards.ColtExpressCard;
+import games.coltexpress.components.Compartment;
+import games.coltexpress.components.Loot;
+import org.junit.*;
+import players.simple.RandomPlayer;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class TrainOccupancy {
+
+    List<AbstractPlayer> players = Arrays.asList(new RandomPlayer(),
+            new RandomPlayer(),
+            new RandomPlayer(),
+            new RandomPlayer());
+
+    ColtExpressGame game = new ColtExpressGame(players,
+            new ColtExpressForwardModel(),
+            new ColtExpressGameState(new ColtExpressParameters(83), 4));
+    ColtExpressGameState state = (ColtExpressGameState) game.getGameState();
+
+    @Before
+    public void emptyTrain() {
+        for (Compartment c : state.getTrainCompartments()) {
+            c.setPlayersInside(0);
+            c.setPlayersOnTop(0);
+        }
+    }
+
+    /**
+     * Plans a card of the given type for the given player.
+     *
+     * @return - index of the card in the planned actions.
+     */
+    int planCard(int playerID, ColtExpressCard.CardType type) {
+        state.getPlannedActions().add(new ColtExpressCard(playerID, type));
+        return 0;
+    }
+
+    int nBullets(int playerID, int shooterID) {
+        int n = 0;
+        for (ColtExpressCard c : state.getPlayerDecks().get(playerID).getComponents()) {
+            if (c.cardType == ColtExpressCard.CardType.Bullet && c.playerID == shooterID) n++;
+        }
+        return n;
+    }
+
+    @Test
+    public void compartmentMasks() {
+        Compartment c = state.getCompartment(2);
+        c.addPlayerInside(3);
+        c.addPlayerInside(0);
+        c.addPlayerOnTop(1);
+        assertTrue(c.isPlayerInside(0));
+        assertFalse(c.isPlayerOnTop(0));
+        assertTrue(c.isPlayerOnTop(1));
+        assertTrue(c.containsPlayer(1));
+        assertFalse(c.containsPlayer(2));
+        assertEquals(2, c.nPlayersInside());
+        assertEquals(1, c.nPlayersOnTop());
+        assertArrayEquals(new int[]{0, 3}, Compartment.players(c.getPlayersInside()));
+        assertEquals(2, state.getPlayerCompartment(3));
+        assertEquals(-1, state.getPlayerCompartment(2));
+
+        c.removePlayerInside(3);
+        assertArrayEquals(new int[]{0}, Compartment.players(c.getPlayersInside()));
+        c.removePlayerOnTop(1);
+        assertEquals(0, c.getPlayersOnTop());
+        assertEquals(-1, state.getPlayerCompartment(1));
+    }
+
+    @Test
+    public void copiesAreIndependent() {
+        state.getCompartment(1).addPlayerInside(0);
+        state.getCompartment(3).addPlayerOnTop(2);
+        state.setMarshalCompartment(3);
+        ColtExpressGameState copy = (ColtExpressGameState) state.copy();
+        assertEquals(state.getNCompartments(), copy.getNCompartments());
+        assertTrue(copy.getCompartment(1).isPlayerInside(0));
+        assertTrue(copy.getCompartment(3).isPlayerOnTop(2));
+        assertTrue(copy.containsMarshal(copy.getCompartment(3)));
+
+        copy.getCompartment(1).removePlayerInside(0);
+        copy.getCompartment(0).addPlayerInside(0);
+        copy.setMarshalCompartment(2);
+        assertTrue(state.getCompartment(1).isPlayerInside(0));
+        assertFalse(state.getCompartment(0).containsPlayer(0));
+        assertEquals(3, state.getMarshalCompartment());
+    }
+
+    @Test
+    public void punchInside() {
+        Compartment source = state.getCompartment(1), target = state.getCompartment(2);
+        source.addPlayerInside(0);
+        source.addPlayerInside(1);
+        state.setMarshalCompartment(4);
+        // The only purse the player has, so the one dropped
+        Loot purse = new Loot(LootType.Purse, 250);
+        state.getLoot(1).clear();
+        state.getLoot(1).add(purse);
+
+        int cardIdx = planCard(0, ColtExpressCard.CardType.Punch);
+        new PunchAction(state.getPlannedActions().getComponentID(), state.getPlayerDecks().get(0).getComponentID(),
+                cardIdx, 1, source.getComponentID(), target.getComponentID(), LootType.Purse,
+                state.getLoot(1).getComponentID(), false).execute(state);
+
+        assertFalse(source.containsPlayer(1));
+        assertTrue(target.isPlayerInside(1));
+        assertTrue(source.isPlayerInside(0));
+        // The loot is dropped where the player was
+        assertTrue(source.getLootInside().getComponents().contains(purse));
+        assertFalse(state.getLoot(1).getComponents().contains(purse));
+        assertEquals(0, nBullets(1, -1));
+    }
+
+    @Test
+    public void punchOnTop() {
+        Compartment source = state.getCompartment(3), target = state.getCompartment(2);
+        source.addPlayerOnTop(0);
+        source.addPlayerOnTop(2);
+        state.setMarshalCompartment(2);
+
+        int cardIdx = planCard(0, ColtExpressCard.CardType.Punch);
+        new PunchAction(state.getPlannedActions().getComponentID(), state.getPlayerDecks().get(0).getComponentID(),
+                cardIdx, 2, source.getComponentID(), target.getComponentID(), null,
+                state.getLoot(2).getComponentID(), false).execute(state);
+
+        // Stays on the roof, where the marshal does not shoot
+        assertFalse(source.containsPlayer(2));
+        assertTrue(target.isPlayerOnTop(2));
+        assertEquals(0, target.getPlayersInside());
+        assertEquals(0, nBullets(2, -1));
+    }
+
+    @Test
+    public void punchIntoTheMarshal() {
+        Compartment source = state.getCompartment(1), target = state.getCompartment(0);
+        source.addPlayerInside(3);
+        source.addPlayerInside(1);
+        state.setMarshalCompartment(0);
+
+        int cardIdx = planCard(3, ColtExpressCard.CardType.Punch);
+        new PunchAction(state.getPlannedActions().getComponentID(), state.getPlayerDecks().get(3).getComponentID(),
+                cardIdx, 1, source.getComponentID(), target.getComponentID(), null,
+                state.getLoot(1).getComponentID(), false).execute(state);
+
+        // Flees to the roof, with a neutral bullet
+        assertFalse(target.isPlayerInside(1));
+        assertTrue(target.isPlayerOnTop(1));
+        assertEquals(1, nBullets(1, -1));
+    }
+
+    @Test
+    public void djangoShotMovesTarget() {
+        Compartment from = state.getCompartment(1), target = state.getCompartment(2);
+        from.addPlayerInside(0);
+        target.addPlayerInside(1);
+        target.addPlayerInside(2);
+        state.setMarshalCompartment(4);
+        int bulletsLeft = state.getBulletsLeft()[0];
+
+        int cardIdx = planCard(0, ColtExpressCard.CardType.Shoot);
+        new ShootPlayerAction(state.getPlannedActions().getComponentID(), state.getPlayerDecks().get(0).getComponentID(),
+                cardIdx, from.getComponentID(), target.getComponentID(), 1, true).execute(state);
+
+        // Pushed one compartment further away from the shooter
+        assertFalse(target.containsPlayer(1));
+        assertTrue(state.getCompartment(3).isPlayerInside(1));
+        assertTrue(target.isPlayerInside(2));
+        assertEquals(1, nBullets(1, 0));
+        assertEquals(bulletsLeft - 1, state.getBulletsLeft()[0]);
+    }
+
+    @Test
+    public void djangoShotIntoTheMarshal() {
+        Compartment from = state.getCompartment(3), target = state.getCompartment(2);
+        from.addPlayerInside(0);
+        target.addPlayerInside(1);
+        state.setMarshalCompartment(1);
+
+        int cardIdx = planCard(0, ColtExpressCard.CardType.Shoot);
+        new ShootPlayerAction(state.getPlannedActions().getComponentID(), state.getPlayerDecks().get(0).getComponentID(),
+                cardIdx, from.getComponentID(), target.getComponentID(), 1, true).execute(state);
+
+        assertTrue(state.getCompartment(1).isPlayerOnTop(1));
+        assertFalse(state.getCompartment(1).isPlayerInside(1));
+        assertEquals(1, nBullets(1, 0));
+        assertEquals(1, nBullets(1, -1));
+    }
+
+    @Test
+    public void shotDoesNotMoveTarget() {
+        Compartment from = state.getCompartment(1), target = state.getCompartment(2);
+        from.addPlayerOnTop(0);
+        target.addPlayerOnTop(1);
+
+        int cardIdx = planCard(0, ColtExpressCard.CardType.Shoot);
+        new ShootPlayerAction(state.getPlannedActions().getComponentID(), state.getPlayerDecks().get(0).getComponentID(),
+                cardIdx, from.getComponentID(), target.getComponentID(), 1, false).execute(state);
+
+        assertTrue(target.isPlayerOnTop(1));
+        assertEquals(1, nBullets(1, 0));
+    }
+
+    @Test
+    public void marshalMoves() {
+        Compartment source = state.getCompartment(4), target = state.getCompartment(3);
+        state.setMarshalCompartment(4);
+        target.addPlayerInside(1);
+        target.addPlayerInside(2);
+        target.addPlayerOnTop(0);
+        source.addPlayerInside(3);
+
+        int cardIdx = planCard(3, ColtExpressCard.CardType.MoveMarshal);
+        new MoveMarshalAction(state.getPlannedActions().getComponentID(), state.getPlayerDecks().get(3).getComponentID(),
+                cardIdx, source.getComponentID(), target.getComponentID()).execute(state);
+
+        assertEquals(3, state.getMarshalCompartment());
+        assertTrue(state.containsMarshal(target));
+        assertFalse(state.containsMarshal(source));
+        // Everyone inside flees to the roof with a neutral bullet
+        assertEquals(0, target.getPlayersInside());
+        assertArrayEquals(new int[]{0, 1, 2}, Compartment.players(target.getPlayersOnTop()));
+        assertEquals(1, nBullets(1, -1));
+        assertEquals(1, nBullets(2, -1));
+        assertEquals(0, nBullets(0, -1));
+        assertTrue(source.isPlayerInside(3));
+    }
+}
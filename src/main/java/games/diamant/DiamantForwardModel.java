@@ -10,6 +10,7 @@ import games.diamant.actions.ExitFromCave;
 import games.diamant.actions.OutOfCave;
 import games.diamant.cards.DiamantCard;
 import games.diamant.components.ActionsPlayed;
+import utilities.FastRandom;
 import utilities.Utils;
 
 import java.util.ArrayList;
@@ -23,7 +24,7 @@ public class DiamantForwardModel extends AbstractForwardModel {
     @Override
     protected void _setup(AbstractGameState firstState) {
         DiamantGameState dgs = (DiamantGameState) firstState;
-        Random r = new Random(dgs.getGameParameters().getRandomSeed());
+        Random r = new FastRandom(dgs.getGameParameters().getRandomSeed());
 
         dgs.hands          = new ArrayList<>();
         dgs.treasureChests = new ArrayList<>();
@@ -164,7 +165,7 @@ public class DiamantForwardModel extends AbstractForwardModel {
         if (dgs.nCave == dp.nCaves)
             EndGame(dgs);
         else {
-            Random r = new Random(dgs.getGameParameters().getRandomSeed());
+            Random r = new FastRandom(dgs.getGameParameters().getRandomSeed());
 
             // Move path cards to maindeck and shuffle
             dgs.mainDeck.add(dgs.path);
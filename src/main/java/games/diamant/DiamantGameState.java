@@ -10,6 +10,7 @@ import core.turnorders.SimultaneousTurnOrder;
 import games.GameType;
 import games.diamant.cards.DiamantCard;
 import games.diamant.components.ActionsPlayed;
+import utilities.FastRandom;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -65,7 +66,7 @@ public class DiamantGameState extends AbstractGameState implements IPrintable {
     @Override
     protected AbstractGameState _copy(int playerId)
     {
-        Random r = new Random(getGameParameters().getRandomSeed());
+        Random r = new FastRandom(getGameParameters().getRandomSeed());
 
         DiamantGameState dgs = new DiamantGameState(gameParameters.copy(), getNPlayers());
 
@@ -104,7 +105,7 @@ public class DiamantGameState extends AbstractGameState implements IPrintable {
         // mainDeck and is actionsPlayed are hidden.
         if (PARTIAL_OBSERVABLE && playerId != -1)
         {
-            dgs.mainDeck.shuffle(new Random(getGameParameters().getRandomSeed()));
+            dgs.mainDeck.shuffle(new FastRandom(getGameParameters().getRandomSeed()));
 
             dgs.actionsPlayed.clear();
 
@@ -2,6 +2,7 @@ package games.dominion;
 
 import core.AbstractGameState;
 import core.AbstractPlayer;
+import core.CoreConstants;
 import core.actions.AbstractAction;
 import games.dominion.actions.BuyCard;
 import games.dominion.actions.EndPhase;
@@ -53,6 +54,11 @@ public class BigMoney extends AbstractPlayer {
         }
     }
 
+    @Override
+    public CoreConstants.ObservationType getObservationType() {
+        return CoreConstants.ObservationType.READ_ONLY;
+    }
+
     @Override
     public String toString() {
         return "BigMoney";
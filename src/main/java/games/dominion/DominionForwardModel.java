@@ -39,7 +39,7 @@ public class DominionForwardModel extends AbstractForwardModel {
         state.spentSoFar = 0;
 
         int victoryCards = params.VICTORY_CARDS_PER_PLAYER[state.playerCount];
-        state.cardsIncludedInGame = new HashMap<>(16);
+        state.cardsIncludedInGame = new EnumMap<>(CardType.class);
         state.cardsIncludedInGame.put(CardType.PROVINCE, victoryCards);
         state.cardsIncludedInGame.put(CardType.DUCHY, victoryCards);
         state.cardsIncludedInGame.put(CardType.ESTATE, victoryCards);
@@ -137,7 +137,7 @@ public class DominionForwardModel extends AbstractForwardModel {
             case "Play":
                 if (state.actionsLeft() > 0) {
                     Set<DominionCard> actionCards = state.getDeck(DeckType.HAND, playerID).stream()
-                            .filter(DominionCard::isActionCard).collect(toSet());
+                            .filter(DominionCard::isActionCard).collect(toCollection(LinkedHashSet::new));
                     List<AbstractAction> availableActions = actionCards.stream().map(dc -> dc.getAction(playerID))
                             .distinct().collect(toList());
                     availableActions.add(new EndPhase());
@@ -159,6 +159,32 @@ public class DominionForwardModel extends AbstractForwardModel {
         }
     }
 
+    /**
+     * In the Buy phase, picks one of the affordable card types (or ending the phase) without building every BuyCard
+     * action; the Play phase has few options, and uses the full list.
+     */
+    @Override
+    protected AbstractAction _sampleRandomAction(AbstractGameState gameState, Random rnd) {
+        DominionGameState state = (DominionGameState) gameState;
+        if (state.getGamePhase() != DominionGameState.DominionGamePhase.Buy)
+            return super._sampleRandomAction(gameState, rnd);
+
+        int playerID = state.getCurrentPlayer();
+        int budget = state.availableSpend(playerID);
+        int nOptions = 0;
+        for (Map.Entry<CardType, Integer> entry : state.cardsIncludedInGame.entrySet()) {
+            if (entry.getValue() > 0 && entry.getKey().cost <= budget) nOptions++;
+        }
+        int choice = rnd.nextInt(nOptions + 1);
+        if (choice == nOptions)
+            return new EndPhase();
+        for (Map.Entry<CardType, Integer> entry : state.cardsIncludedInGame.entrySet()) {
+            if (entry.getValue() > 0 && entry.getKey().cost <= budget && choice-- == 0)
+                return new BuyCard(entry.getKey(), playerID);
+        }
+        throw new AssertionError("Buy option " + choice + " not found");
+    }
+
     /**
      * Gets a copy of the FM with a new random number generator.
      *
@@ -11,6 +11,7 @@ import games.dominion.DominionConstants.DeckType;
 import games.dominion.actions.IDelayedAction;
 import games.dominion.cards.CardType;
 import games.dominion.cards.DominionCard;
+import utilities.FastRandom;
 import utilities.Utils;
 
 import java.util.*;
@@ -28,11 +29,13 @@ public class DominionGameState extends AbstractGameState {
     }
 
     Random rnd;
+    // Seeds the hidden information in copies, and the seeds of the copies; copying only reads it
+    long redeterminisationSeed;
     int playerCount;
     DominionParameters params;
 
     // Counts of cards on the table should be fine
-    Map<CardType, Integer> cardsIncludedInGame = new HashMap<>();
+    Map<CardType, Integer> cardsIncludedInGame = new EnumMap<>(CardType.class);
 
     // Then Decks for each player - Hand, Discard and Draw
     PartialObservableDeck<DominionCard>[] playerHands;
@@ -61,7 +64,6 @@ public class DominionGameState extends AbstractGameState {
      */
     public DominionGameState(AbstractParameters gameParameters, int nPlayers) {
         super(gameParameters, new DominionTurnOrder(nPlayers), GameType.Dominion);
-        rnd = new Random(gameParameters.getRandomSeed());
         playerCount = nPlayers;
         defenceStatus = new boolean[nPlayers];  // defaults to false
         params = (DominionParameters) gameParameters;
@@ -283,6 +285,9 @@ public class DominionGameState extends AbstractGameState {
     @Override
     protected AbstractGameState _copy(int playerId) {
         DominionGameState retValue = new DominionGameState(gameParameters.copy(), playerCount);
+        // Drawn from a generator of the copy's own, so that copying does not change this state
+        Random redeterminisationRnd = new FastRandom(redeterminisationSeed);
+        retValue.redeterminisationSeed = redeterminisationRnd.nextLong();
         for (CardType ct : cardsIncludedInGame.keySet()) {
             retValue.cardsIncludedInGame.put(ct, cardsIncludedInGame.get(ct));
         }
@@ -294,7 +299,7 @@ public class DominionGameState extends AbstractGameState {
                 // need to shuffle drawpile separately
                 retValue.playerHands[p] = playerHands[p].copy();
                 retValue.playerDrawPiles[p] = playerDrawPiles[p].copy();
-                retValue.playerDrawPiles[p].shuffleVisible(rnd, p, false);
+                retValue.playerDrawPiles[p].shuffleVisible(redeterminisationRnd, p, false);
             } else {
                 // need to combine and shuffle hands and drawpiles
                 retValue.playerDrawPiles[p] = playerDrawPiles[p].copy();
@@ -309,7 +314,7 @@ public class DominionGameState extends AbstractGameState {
                 // we have now moved all the non-visible Hand cards into the Draw pile to reshuffle
                 retValue.playerHands[p].clear(); // we will need to reconstruct this, including visibility status in a sec
                 // we then reshuffle all the non-visible cards
-                retValue.playerDrawPiles[p].shuffleVisible(rnd, playerId, false);
+                retValue.playerDrawPiles[p].shuffleVisible(redeterminisationRnd, playerId, false);
                 // we then remove cards from the top of the shuffled draw pile (in the region we know is not visible)
                 for (int i = 0; i < playerHands[p].getSize(); i++) {
                     if (!playerHands[p].getVisibilityForPlayer(i, playerId)) {
@@ -337,6 +342,14 @@ public class DominionGameState extends AbstractGameState {
         return retValue;
     }
 
+    @Override
+    protected void _redeterminise(int playerId, Random rnd) {
+        // each player's hidden cards can only be in their own hand or draw pile
+        for (int p = 0; p < playerCount; p++) {
+            shuffleHiddenComponents(playerId, rnd, Arrays.asList(playerHands[p], playerDrawPiles[p]), null);
+        }
+    }
+
     /**
      * Provide a simple numerical assessment of the current game state, the bigger the better.
      * Subjective heuristic function definition.
@@ -416,6 +429,8 @@ public class DominionGameState extends AbstractGameState {
             playerDiscards[i] = new Deck<>("Discard of Player " + i + 1, VISIBLE_TO_ALL);
             playerTableaux[i] = new Deck<>("Tableau of Player " + i + 1, VISIBLE_TO_ALL);
         }
+        rnd = new FastRandom(gameParameters.getRandomSeed());
+        redeterminisationSeed = rnd.nextLong();
     }
 
     /**
@@ -95,8 +95,12 @@ public class DominionParameters extends AbstractParameters {
      */
     @Override
     protected AbstractParameters _copy() {
-        return this;
-        // currently parameters are immutable
+        // the card list is never changed after construction, so can be shared; but copy() gives the copy a new
+        // random seed, so this cannot return this
+        DominionParameters retValue = new DominionParameters(getRandomSeed());
+        retValue.cardsUsed = cardsUsed;
+        retValue.dataPath = dataPath;
+        return retValue;
     }
 
     /**
@@ -45,7 +45,7 @@ public class Cellar extends DominionAction implements IExtendedSequence {
     public List<AbstractAction> _computeAvailableActions(AbstractGameState gs) {
         DominionGameState state = (DominionGameState) gs;
         // we can discard any card in hand, so create a DiscardCard action for each
-        Set<DominionCard> uniqueCardsInHand = state.getDeck(DeckType.HAND, player).stream().collect(toSet());
+        Set<DominionCard> uniqueCardsInHand = state.getDeck(DeckType.HAND, player).stream().collect(toCollection(LinkedHashSet::new));
         List<AbstractAction> discardActions = uniqueCardsInHand.stream()
                 .map(card -> new DiscardCard(card.cardType(), player))
                 .distinct()
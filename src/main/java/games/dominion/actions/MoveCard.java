@@ -79,7 +79,7 @@ public class MoveCard extends AbstractAction {
     public boolean equals(Object other) {
         if (other instanceof MoveCard) {
             MoveCard dc = (MoveCard) other;
-            return dc.playerFrom == playerFrom && dc.type == type && dc.playerTo == playerFrom
+            return dc.playerFrom == playerFrom && dc.type == type && dc.playerTo == playerTo
                     && dc.toDeck == toDeck && dc.fromDeck == fromDeck && dc.isPubliclyVisible == isPubliclyVisible;
         }
         return false;
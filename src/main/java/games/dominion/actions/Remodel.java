@@ -96,7 +96,7 @@ public class Remodel extends DominionAction implements IExtendedSequence {
     public boolean equals(Object obj) {
         if (obj instanceof Remodel) {
             Remodel other = (Remodel) obj;
-            return other.player == player && other.cardTrashed == cardGained && other.cardGained == cardGained;
+            return other.player == player && other.cardTrashed == cardTrashed && other.cardGained == cardGained;
         }
         return false;
     }
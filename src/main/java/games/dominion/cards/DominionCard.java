@@ -141,8 +141,13 @@ public class DominionCard extends Card {
     }
 
     @Override
-    public DominionCard copy() {
+    public boolean isImmutable() {
         // Currently all cardTypes are immutable - so we can save resources when copying
+        return true;
+    }
+
+    @Override
+    public DominionCard copy() {
         return this;
     }
 
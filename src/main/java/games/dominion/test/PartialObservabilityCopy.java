@@ -128,6 +128,22 @@ public class PartialObservabilityCopy {
         }
     }
 
+    @Test
+    public void copyingLeavesTheStateUnchanged() {
+        DominionGameState before = (DominionGameState) state.copy(0);
+        state.copy(1);
+        state.copy(0);
+        state.copy();
+        DominionGameState after = (DominionGameState) state.copy(0);
+        // The hidden cards of a copy are drawn from the state's seed, which making copies does not change
+        for (int playerId = 0; playerId < 4; playerId++) {
+            for (DeckType deckType : Arrays.asList(DeckType.HAND, DeckType.DRAW)) {
+                assertEquals(before.getDeck(deckType, playerId).stream().map(DominionCard::cardType).collect(toList()),
+                        after.getDeck(deckType, playerId).stream().map(DominionCard::cardType).collect(toList()));
+            }
+        }
+    }
+
     @Test
     public void tableauIsUnchanged() {
         DominionGameState myCopy = (DominionGameState) state.copy(0);
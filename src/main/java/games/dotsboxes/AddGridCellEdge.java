@@ -3,14 +3,15 @@ package games.dotsboxes;
 import core.AbstractGameState;
 import core.actions.AbstractAction;
 
-import java.util.HashSet;
 import java.util.Objects;
 
 public class AddGridCellEdge extends AbstractAction {
     DBEdge edge;  // Normally not good practice to keep references, as they wouldn't match the copies. But our equals should match.
+    final int edgeIdx;  // Index of the edge in the game state, see DBGameState.edges
 
-    public AddGridCellEdge(DBEdge edge) {
+    public AddGridCellEdge(DBEdge edge, int edgeIdx) {
         this.edge = edge;
+        this.edgeIdx = edgeIdx;
     }
 
     @Override
@@ -19,20 +20,23 @@ public class AddGridCellEdge extends AbstractAction {
         DBGameState dbgs = (DBGameState) gs;
 
         // Mark this edge as complete by current player and check if connected cells are complete too
-        dbgs.edgeToOwnerMap.put(edge, gs.getCurrentPlayer());
+        int player = gs.getCurrentPlayer();
+        dbgs.edgeBits[edgeIdx >>> 6] |= 1L << edgeIdx;
+        dbgs.edgeOwner[edgeIdx] = player;
 
-        HashSet<DBCell> cells = dbgs.edgeToCellMap.get(edge);
-        for (DBCell c : cells) {
-            int nEdgesComplete = 0;
-            for (DBEdge e: dbgs.cellToEdgesMap.get(c)) {
-                if (dbgs.edgeToOwnerMap.containsKey(e)) {
-                    nEdgesComplete++;
+        for (int c : dbgs.edgeToCells[edgeIdx]) {
+            boolean complete = true;
+            for (int e : dbgs.cellToEdges[c]) {
+                if (!dbgs.isEdgePlaced(e)) {
+                    complete = false;
+                    break;
                 }
             }
-            if (nEdgesComplete == 4) {  // A cell has 4 sides
+            if (complete) {  // A cell has 4 sides
                 // All edges complete, this box complete
-                dbgs.cellToOwnerMap.put(c, gs.getCurrentPlayer());
-                dbgs.nCellsPerPlayer[gs.getCurrentPlayer()]++;
+                dbgs.cellOwner[c] = player;
+                dbgs.nCellsComplete++;
+                dbgs.nCellsPerPlayer[player]++;
             }
         }
 
@@ -41,7 +45,7 @@ public class AddGridCellEdge extends AbstractAction {
 
     @Override
     public AbstractAction copy() {
-        return new AddGridCellEdge(edge.copy());
+        return new AddGridCellEdge(edge.copy(), edgeIdx);
     }
 
     @Override
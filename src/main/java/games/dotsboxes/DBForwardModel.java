@@ -7,8 +7,7 @@ import utilities.Utils;
 import utilities.Vector2D;
 
 import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.HashSet;
+import java.util.Arrays;
 import java.util.List;
 
 public class DBForwardModel extends AbstractForwardModel {
@@ -18,34 +17,53 @@ public class DBForwardModel extends AbstractForwardModel {
         DBGameState dbgs = (DBGameState) firstState;
         DBParameters dbp = (DBParameters) firstState.getGameParameters();
 
-        // Generate edge to cell mapping and all cell objects with appropriate constructor
-        dbgs.edgeToCellMap = new HashMap<>();
-        dbgs.cellToEdgesMap = new HashMap<>();
-        dbgs.cellToOwnerMap = new HashMap<>();
-        dbgs.edgeToOwnerMap = new HashMap<>();
-        dbgs.edges = new HashSet<>();
-        dbgs.cells = new HashSet<>();
-        for (int i = 0; i < dbp.gridHeight; i++) {
-            for (int j = 0; j < dbp.gridWidth; j++) {
-                DBCell c = new DBCell(j, i);
-                dbgs.cells.add(c);
-                HashSet<DBEdge> edges = new HashSet<>(4);
-                edges.add(new DBEdge(new Vector2D(j, i), new Vector2D(j, i+1)));
-                edges.add(new DBEdge(new Vector2D(j, i), new Vector2D(j+1, i)));
-                edges.add(new DBEdge(new Vector2D(j+1, i), new Vector2D(j+1, i+1)));
-                edges.add(new DBEdge(new Vector2D(j, i+1), new Vector2D(j+1, i+1)));
-                
-                for (DBEdge edge: edges) {
-                    dbgs.edges.add(edge);
-                    if (!dbgs.edgeToCellMap.containsKey(edge)) {
-                        dbgs.edgeToCellMap.put(edge, new HashSet<>());
-                    }
-                    dbgs.edgeToCellMap.get(edge).add(c);
-                }
+        // Generate all edges and cells, with dense indices: horizontal edges first (row by row), then vertical edges
+        int w = dbp.gridWidth, h = dbp.gridHeight;
+        int nHorizontal = (h + 1) * w;
+        int nEdges = nHorizontal + h * (w + 1);
+        dbgs.edges = new DBEdge[nEdges];
+        for (int i = 0; i <= h; i++) {
+            for (int j = 0; j < w; j++) {
+                dbgs.edges[i * w + j] = new DBEdge(new Vector2D(j, i), new Vector2D(j+1, i));
+            }
+        }
+        for (int i = 0; i < h; i++) {
+            for (int j = 0; j <= w; j++) {
+                dbgs.edges[nHorizontal + i * (w + 1) + j] = new DBEdge(new Vector2D(j, i), new Vector2D(j, i+1));
+            }
+        }
 
-                dbgs.cellToEdgesMap.put(c, edges);
+        // Generate cells, and the mappings between cell and edge indices
+        dbgs.cells = new DBCell[w * h];
+        dbgs.cellToEdges = new int[w * h][];
+        List<List<Integer>> edgeToCells = new ArrayList<>();
+        for (int e = 0; e < nEdges; e++) edgeToCells.add(new ArrayList<>(2));
+        for (int i = 0; i < h; i++) {
+            for (int j = 0; j < w; j++) {
+                int c = i * w + j;
+                dbgs.cells[c] = new DBCell(j, i);
+                dbgs.cellToEdges[c] = new int[]{
+                        i * w + j,  // top
+                        (i + 1) * w + j,  // bottom
+                        nHorizontal + i * (w + 1) + j,  // left
+                        nHorizontal + i * (w + 1) + j + 1  // right
+                };
+                for (int e : dbgs.cellToEdges[c]) {
+                    edgeToCells.get(e).add(c);
+                }
             }
         }
+        dbgs.edgeToCells = new int[nEdges][];
+        for (int e = 0; e < nEdges; e++) {
+            dbgs.edgeToCells[e] = edgeToCells.get(e).stream().mapToInt(Integer::intValue).toArray();
+        }
+
+        dbgs.edgeBits = new long[(nEdges + 63) >>> 6];
+        dbgs.edgeOwner = new int[nEdges];
+        Arrays.fill(dbgs.edgeOwner, -1);
+        dbgs.cellOwner = new int[w * h];
+        Arrays.fill(dbgs.cellOwner, -1);
+        dbgs.nCellsComplete = 0;
         // Initialise other variables
         dbgs.nCellsPerPlayer = new int[dbgs.getNPlayers()];
     }
@@ -57,11 +75,11 @@ public class DBForwardModel extends AbstractForwardModel {
 
         // Will need to check if any cells completed through this action, as that would keep the turn to the current
         // player, otherwise it changes. So keep track of current number of cells completed before action is executed.
-        int nCellsCompleteBefore = dbgs.cellToOwnerMap.size();
+        int nCellsCompleteBefore = dbgs.nCellsComplete;
         // Execute action
         action.execute(currentState);
         // Check end of game (when all cells completed)
-        if (dbgs.cellToOwnerMap.size() == dbp.gridWidth * dbp.gridHeight) {
+        if (dbgs.nCellsComplete == dbgs.cells.length) {
             // Game is over. Set status and find winner
             dbgs.setGameStatus(Utils.GameResult.GAME_END);
             int winner = -1;
@@ -82,25 +100,25 @@ public class DBForwardModel extends AbstractForwardModel {
         }
 
         // If not returned, check if the action completed one more box, otherwise move to the next player
-        if (dbgs.cellToOwnerMap.size() == nCellsCompleteBefore) {
+        if (dbgs.nCellsComplete == nCellsCompleteBefore) {
             currentState.getTurnOrder().endPlayerTurn(currentState);
         }
     }
 
     @Override
     protected List<AbstractAction> _computeAvailableActions(AbstractGameState gameState) {
-        HashSet<AbstractAction> actions = new HashSet<>();  // Same edge may appear in multiple cells, ensure unique actions
+        List<AbstractAction> actions = new ArrayList<>();
         DBGameState dbgs = (DBGameState) gameState;
 
         // Actions in this game are adding edges to the board (that don't already exist)
-        for (DBEdge e: dbgs.edges) {
-            if (!dbgs.edgeToOwnerMap.containsKey(e)) {
+        for (int e = 0; e < dbgs.edges.length; e++) {
+            if (!dbgs.isEdgePlaced(e)) {
                 // Can add this edge
-                actions.add(new AddGridCellEdge(e));
+                actions.add(new AddGridCellEdge(dbgs.edges[e], e));
             }
         }
 
-        return new ArrayList<>(actions);
+        return actions;
     }
 
     @Override
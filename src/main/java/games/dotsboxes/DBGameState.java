@@ -13,19 +13,20 @@ public class DBGameState extends AbstractGameState {
 
     IStateHeuristic heuristic = new DotsAndBoxesHeuristic();
 
-    // List of all edges possible
-    HashSet<DBEdge> edges;
-    // List of all cells possible
-    HashSet<DBCell> cells;
-    // Mapping from each edge to the cells it neighbours
-    HashMap<DBEdge, HashSet<DBCell>> edgeToCellMap;
-    // Mapping from each cell to its edges
-    HashMap<DBCell, HashSet<DBEdge>> cellToEdgesMap;
+    // All edges and cells, indexed. These indices are the bit positions used in the bitboards below.
+    DBEdge[] edges;
+    DBCell[] cells;
+    // Indices of the cells on either side of each edge
+    int[][] edgeToCells;
+    // Indices of the 4 edges of each cell
+    int[][] cellToEdges;
 
     // Mutable state:
     int[] nCellsPerPlayer;
-    HashMap<DBCell, Integer> cellToOwnerMap;  // Mapping from each cell to its owner, if complete
-    HashMap<DBEdge, Integer> edgeToOwnerMap;  // Mapping from each edge to its owner, if placed
+    int nCellsComplete;
+    long[] edgeBits;  // Bit set for each edge placed
+    int[] edgeOwner;  // Player who placed each edge, -1 if not placed
+    int[] cellOwner;  // Owner of each cell, -1 if not complete
 
     /**
      * Constructor. Initialises some generic game state variables.
@@ -39,7 +40,7 @@ public class DBGameState extends AbstractGameState {
 
     @Override
     protected List<Component> _getAllComponents() {
-        return new ArrayList<Component>() {{ addAll(edges); addAll(cells); }};
+        return new ArrayList<Component>() {{ addAll(Arrays.asList(edges)); addAll(Arrays.asList(cells)); }};
     }
 
     @Override
@@ -47,12 +48,14 @@ public class DBGameState extends AbstractGameState {
         DBGameState dbgs = new DBGameState(gameParameters, getNPlayers());
         dbgs.edges = edges;
         dbgs.cells = cells;
-        dbgs.edgeToCellMap = edgeToCellMap;
-        dbgs.cellToEdgesMap = cellToEdgesMap;
+        dbgs.edgeToCells = edgeToCells;
+        dbgs.cellToEdges = cellToEdges;
 
         dbgs.nCellsPerPlayer = nCellsPerPlayer.clone();
-        dbgs.cellToOwnerMap = (HashMap<DBCell, Integer>) cellToOwnerMap.clone();
-        dbgs.edgeToOwnerMap = (HashMap<DBEdge, Integer>) edgeToOwnerMap.clone();
+        dbgs.nCellsComplete = nCellsComplete;
+        dbgs.edgeBits = edgeBits.clone();
+        dbgs.edgeOwner = edgeOwner.clone();
+        dbgs.cellOwner = cellOwner.clone();
         return dbgs;
     }
 
@@ -77,8 +80,15 @@ public class DBGameState extends AbstractGameState {
     @Override
     protected void _reset() {
         nCellsPerPlayer = null;
-        cellToOwnerMap = null;
-        edgeToOwnerMap = null;
+        nCellsComplete = 0;
+        edgeBits = null;
+        edgeOwner = null;
+        cellOwner = null;
+    }
+
+    @Override
+    public boolean hasHiddenInformation() {
+        return false;
     }
 
     @Override
@@ -87,15 +97,26 @@ public class DBGameState extends AbstractGameState {
         if (!(o instanceof DBGameState)) return false;
         if (!super.equals(o)) return false;
         DBGameState that = (DBGameState) o;
-        return Arrays.equals(nCellsPerPlayer, that.nCellsPerPlayer) &&
-                Objects.equals(edgeToOwnerMap, that.edgeToOwnerMap) &&
-                Objects.equals(cellToOwnerMap, that.cellToOwnerMap);
+        return nCellsComplete == that.nCellsComplete &&
+                Arrays.equals(nCellsPerPlayer, that.nCellsPerPlayer) &&
+                Arrays.equals(edgeOwner, that.edgeOwner) &&
+                Arrays.equals(cellOwner, that.cellOwner);
     }
 
     @Override
     public int hashCode() {
-        int result = Objects.hash(super.hashCode(), cellToOwnerMap, edgeToOwnerMap);
+        int result = Objects.hash(super.hashCode(), nCellsComplete);
         result = 31 * result + Arrays.hashCode(nCellsPerPlayer);
+        result = 31 * result + Arrays.hashCode(edgeOwner);
+        result = 31 * result + Arrays.hashCode(cellOwner);
         return result;
     }
+
+    /**
+     * @param edgeIdx - index of edge.
+     * @return true if this edge has already been placed.
+     */
+    public boolean isEdgePlaced(int edgeIdx) {
+        return (edgeBits[edgeIdx >>> 6] & (1L << edgeIdx)) != 0;
+    }
 }
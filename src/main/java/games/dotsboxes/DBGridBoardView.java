@@ -40,20 +40,19 @@ public class DBGridBoardView extends JComponent {
 
     public void drawGridBoard(Graphics2D g, int x, int y) {
         // Draw cells
-        for (DBCell c: dbgs.cells) {
+        for (int i = 0; i < dbgs.cells.length; i++) {
+            DBCell c = dbgs.cells[i];
             int xC = x + c.position.getX() * defaultItemSize;
             int yC = y + c.position.getY() * defaultItemSize;
-            int owner = -1;
-            if (dbgs.cellToOwnerMap.containsKey(c)) {
-                owner = dbgs.cellToOwnerMap.get(c);
-            }
-            drawCell(g, c, owner, xC, yC, x, y);
+            drawCell(g, c, dbgs.cellOwner[i], xC, yC, x, y);
         }
         // Draw edges
         Stroke s = g.getStroke();
         g.setStroke(new BasicStroke(3));
-        for (DBEdge e: dbgs.edgeToOwnerMap.keySet()) {
-            g.setColor(edgeColors[dbgs.edgeToOwnerMap.get(e)]);
+        for (int i = 0; i < dbgs.edges.length; i++) {
+            if (dbgs.edgeOwner[i] == -1) continue;
+            DBEdge e = dbgs.edges[i];
+            g.setColor(edgeColors[dbgs.edgeOwner[i]]);
             g.drawLine(e.from.getX() * defaultItemSize + x, e.from.getY() * defaultItemSize + y,
                     e.to.getX() * defaultItemSize + x, e.to.getY() * defaultItemSize + y);
         }
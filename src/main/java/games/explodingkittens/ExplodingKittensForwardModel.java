@@ -4,6 +4,7 @@ import core.AbstractForwardModel;
 import core.AbstractGameState;
 import core.CoreConstants.VisibilityMode;
 import core.actions.AbstractAction;
+import core.actions.ActionSpace;
 import core.components.Deck;
 import core.components.PartialObservableDeck;
 import games.explodingkittens.actions.*;
@@ -12,13 +13,13 @@ import games.explodingkittens.actions.reactions.GiveCard;
 import games.explodingkittens.actions.reactions.PassAction;
 import games.explodingkittens.actions.reactions.PlaceExplodingKitten;
 import games.explodingkittens.cards.ExplodingKittensCard;
+import utilities.FastRandom;
 import utilities.Utils;
 
 import java.util.*;
 
 import static core.CoreConstants.VERBOSE;
 import static games.explodingkittens.ExplodingKittensGameState.ExplodingKittensGamePhase.Nope;
-import static utilities.Utils.generatePermutations;
 
 public class ExplodingKittensForwardModel extends AbstractForwardModel {
 
@@ -27,7 +28,7 @@ public class ExplodingKittensForwardModel extends AbstractForwardModel {
      * @param firstState - the state to be modified to the initial game state.
      */
     protected void _setup(AbstractGameState firstState) {
-        Random rnd = new Random(firstState.getGameParameters().getRandomSeed());
+        Random rnd = new FastRandom(firstState.getGameParameters().getRandomSeed());
 
         ExplodingKittensGameState ekgs = (ExplodingKittensGameState)firstState;
         ExplodingKittensParameters ekp = (ExplodingKittensParameters)firstState.getGameParameters();
@@ -37,11 +38,12 @@ public class ExplodingKittensForwardModel extends AbstractForwardModel {
         ekgs.setDrawPile(drawPile);
 
         // Add all cards but defuse and exploding kittens
-        for (HashMap.Entry<ExplodingKittensCard.CardType, Integer> entry : ekp.cardCounts.entrySet()) {
-            if (entry.getKey() == ExplodingKittensCard.CardType.DEFUSE || entry.getKey() == ExplodingKittensCard.CardType.EXPLODING_KITTEN)
+        for (ExplodingKittensCard.CardType type : ExplodingKittensCard.CardType.values()) {
+            if (type == ExplodingKittensCard.CardType.DEFUSE || type == ExplodingKittensCard.CardType.EXPLODING_KITTEN
+                    || !ekp.cardCounts.containsKey(type))
                 continue;
-            for (int i = 0; i < entry.getValue(); i++) {
-                ExplodingKittensCard card = new ExplodingKittensCard(entry.getKey());
+            for (int i = 0; i < ekp.cardCounts.get(type); i++) {
+                ExplodingKittensCard card = new ExplodingKittensCard(type);
                 drawPile.add(card);
             }
         }
@@ -178,7 +180,7 @@ public class ExplodingKittensForwardModel extends AbstractForwardModel {
     @Override
     protected List<AbstractAction> _computeAvailableActions(AbstractGameState gameState) {
         ExplodingKittensGameState ekgs = (ExplodingKittensGameState) gameState;
-        ArrayList<AbstractAction> actions;
+        List<AbstractAction> actions;
 
         // The actions per player do not change a lot in between two turns
         // Could update an existing list instead of generating a new list every time we query this function
@@ -316,7 +318,7 @@ public class ExplodingKittensForwardModel extends AbstractForwardModel {
         return actions;
     }
 
-    private ArrayList<AbstractAction> seeTheFutureActions(ExplodingKittensGameState ekgs, int playerID){
+    private List<AbstractAction> seeTheFutureActions(ExplodingKittensGameState ekgs, int playerID){
         ArrayList<AbstractAction> actions = new ArrayList<>();
         Deck<ExplodingKittensCard> playerDeck = ekgs.playerHandCards.get(playerID);
 
@@ -333,17 +335,11 @@ public class ExplodingKittensForwardModel extends AbstractForwardModel {
             int numberOfCards = ekgs.drawPile.getSize();
             int n = Math.min(((ExplodingKittensParameters) ekgs.getGameParameters()).nSeeFutureCards, numberOfCards);
             if (n > 0) {
-
-                ArrayList<int[]> permutations = new ArrayList<>();
-                int[] order = new int[n];
-                for (int i = 0; i < n; i++) {
-                    order[i] = i;
-                }
-                generatePermutations(n, order, permutations);
-                for (int[] perm : permutations) {
-                    actions.add(new ChooseSeeTheFutureOrder(playerDeck.getComponentID(),
-                            ekgs.discardPile.getComponentID(), cardIdx, ekgs.drawPile.getComponentID(), perm));
-                }
+                // One action per ordering of the cards seen, only built when asked for
+                int deckFrom = playerDeck.getComponentID(), deckTo = ekgs.discardPile.getComponentID();
+                int drawPile = ekgs.drawPile.getComponentID(), finalCardIdx = cardIdx;
+                return ActionSpace.permutations(n, perm ->
+                        new ChooseSeeTheFutureOrder(deckFrom, deckTo, finalCardIdx, drawPile, perm));
             }
         } else {
             System.out.println("ERROR: Player doesn't have see the future card");
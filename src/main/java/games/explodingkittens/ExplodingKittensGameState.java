@@ -10,6 +10,7 @@ import core.interfaces.IGamePhase;
 import core.interfaces.IPrintable;
 import games.GameType;
 import games.explodingkittens.cards.ExplodingKittensCard;
+import utilities.FastRandom;
 import utilities.Utils;
 
 import java.util.*;
@@ -77,7 +78,7 @@ public class ExplodingKittensGameState extends AbstractGameState implements IPri
                     for (int j = 0; j < ekgs.playerHandCards.get(i).getSize(); j++) {
                         if (!ekgs.playerHandCards.get(i).isComponentVisible(j, playerId)) {
                             ExplodingKittensCard c = ekgs.playerHandCards.get(i).get(j);
-                            ekgs.drawPile.add(c, ekgs.playerHandCards.get(i).getVisibilityOfComponent(j).clone());
+                            ekgs.drawPile.add(c, 0, ekgs.playerHandCards.get(i).getVisibilityMask(j));
                             cs.add(c);
                         }
                     }
@@ -86,7 +87,7 @@ public class ExplodingKittensGameState extends AbstractGameState implements IPri
                     }
                 }
             }
-            Random r = new Random(ekgs.gameParameters.getRandomSeed());
+            Random r = new FastRandom(ekgs.gameParameters.getRandomSeed());
 
             // Shuffles only hidden cards in draw pile, if player knows what's on top those will stay in place
             ekgs.drawPile.shuffleVisible(r, playerId, false);
@@ -120,6 +121,17 @@ public class ExplodingKittensGameState extends AbstractGameState implements IPri
         return ekgs;
     }
 
+    @Override
+    protected void _redeterminise(int playerId, Random rnd) {
+        // Exploding kittens can only be in the draw pile: shuffle its hidden cards first, so that they end up anywhere
+        // hidden in there, and then shuffle all other hidden cards between the draw pile and the other players' hands
+        shuffleHiddenComponents(playerId, rnd, Collections.singletonList(drawPile), null);
+        List<Deck<ExplodingKittensCard>> decks = new ArrayList<>(playerHandCards);
+        decks.add(drawPile);
+        shuffleHiddenComponents(playerId, rnd, decks,
+                c -> ((ExplodingKittensCard) c).cardType != ExplodingKittensCard.CardType.EXPLODING_KITTEN);
+    }
+
     private void moveHiddenCards(PartialObservableDeck<?> from, PartialObservableDeck<?> to){
 
     }
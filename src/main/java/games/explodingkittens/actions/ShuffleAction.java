@@ -7,9 +7,9 @@ import core.components.PartialObservableDeck;
 import core.interfaces.IPrintable;
 import games.explodingkittens.ExplodingKittensGameState;
 import games.explodingkittens.cards.ExplodingKittensCard;
+import utilities.FastRandom;
 
 import java.util.Arrays;
-import java.util.Random;
 
 public class ShuffleAction extends DrawCard implements IsNopeable, IPrintable {
 
@@ -19,7 +19,7 @@ public class ShuffleAction extends DrawCard implements IsNopeable, IPrintable {
 
     @Override
     public boolean execute(AbstractGameState gs) {
-        ((ExplodingKittensGameState)gs).getDrawPile().shuffle(new Random(gs.getGameParameters().getRandomSeed()));
+        ((ExplodingKittensGameState)gs).getDrawPile().shuffle(new FastRandom(gs.getGameParameters().getRandomSeed()));
         return super.execute(gs);
     }
 
@@ -19,7 +19,7 @@ public class ExplodingKittensCard extends Card {
         RAINBOWCAT,
     }
 
-    public CardType cardType;
+    public final CardType cardType;
 
     public ExplodingKittensCard(CardType cardType) {
         super(cardType.toString());
@@ -31,9 +31,14 @@ public class ExplodingKittensCard extends Card {
         this.cardType = cardType;
     }
 
+    @Override
+    public boolean isImmutable() {
+        return true;
+    }
+
     @Override
     public Card copy() {
-        return new ExplodingKittensCard(cardType, componentID);
+        return this;
     }
 
     @Override
@@ -9,6 +9,7 @@ import core.interfaces.IGamePhase;
 import games.GameType;
 import games.loveletter.actions.*;
 import games.loveletter.cards.LoveLetterCard;
+import utilities.FastRandom;
 import utilities.Utils;
 
 import java.util.*;
@@ -56,15 +57,16 @@ public class LoveLetterForwardModel extends AbstractForwardModel {
 
         // Add all cards to the draw pile
         llgs.drawPile.clear();
-        for (HashMap.Entry<LoveLetterCard.CardType, Integer> entry : llp.cardCounts.entrySet()) {
-            for (int i = 0; i < entry.getValue(); i++) {
-                LoveLetterCard card = new LoveLetterCard(entry.getKey());
+        for (LoveLetterCard.CardType type : LoveLetterCard.CardType.values()) {
+            if (!llp.cardCounts.containsKey(type)) continue;
+            for (int i = 0; i < llp.cardCounts.get(type); i++) {
+                LoveLetterCard card = new LoveLetterCard(type);
                 llgs.drawPile.add(card);
             }
         }
 
         // Put one card to the side, such that player's won't know all cards in the game
-        Random r = new Random(llgs.getGameParameters().getRandomSeed() + llgs.getTurnOrder().getRoundCounter());
+        Random r = new FastRandom(llgs.getGameParameters().getRandomSeed() + llgs.getTurnOrder().getRoundCounter());
         llgs.drawPile.shuffle(r);
         llgs.reserveCards.clear();
         llgs.reserveCards.add(llgs.drawPile.draw());
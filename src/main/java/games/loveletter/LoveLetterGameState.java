@@ -9,6 +9,7 @@ import core.components.PartialObservableDeck;
 import core.interfaces.IPrintable;
 import games.GameType;
 import games.loveletter.cards.LoveLetterCard;
+import utilities.FastRandom;
 import utilities.Utils;
 
 import java.util.*;
@@ -71,40 +72,44 @@ public class LoveLetterGameState extends AbstractGameState implements IPrintable
         llgs.affectionTokens = affectionTokens.clone();
 
         if (PARTIAL_OBSERVABLE && playerId != -1) {
-            // Draw pile, some reserve cards and other player's hand is possibly hidden. Mix all together and draw randoms
+            // Draw pile, some reserve cards and the cards in other players' hands the player has not seen (e.g. with a
+            // Priest) are hidden. Mix all together and deal random cards in their place
+            List<PartialObservableDeck<LoveLetterCard>> hiding = new ArrayList<>();
             for (int i = 0; i < getNPlayers(); i++) {
-                if (i != playerId && llgs.playerHandCards.get(i).getDeckVisibility()[playerId]) {
-                    // Hide!
-                    llgs.drawPile.add(llgs.playerHandCards.get(i));
-                    llgs.playerHandCards.get(i).clear();
-                }
+                if (i != playerId) hiding.add(llgs.playerHandCards.get(i));
             }
-            for (int i = 0; i < llgs.reserveCards.getSize(); i++) {
-                if (!llgs.reserveCards.isComponentVisible(i, playerId)) {
-                    // Hide!
-                    llgs.drawPile.add(llgs.reserveCards.get(i));
+            hiding.add(llgs.reserveCards);
+            for (PartialObservableDeck<LoveLetterCard> deck : hiding) {
+                for (int i = 0; i < deck.getSize(); i++) {
+                    if (!deck.isComponentVisible(i, playerId)) {
+                        // Hide!
+                        llgs.drawPile.add(deck.get(i));
+                    }
                 }
             }
-            Random r = new Random(llgs.getGameParameters().getRandomSeed());
+            Random r = new FastRandom(llgs.getGameParameters().getRandomSeed());
             llgs.drawPile.shuffle(r);
-            for (int i = 0; i < getNPlayers(); i++) {
-                if (i != playerId && llgs.playerHandCards.get(i).getDeckVisibility()[playerId]) {
-                    // New random cards
-                    for (int j = 0; j < playerHandCards.get(i).getSize(); j++) {
-                        llgs.playerHandCards.get(i).add(llgs.drawPile.draw());
+            for (PartialObservableDeck<LoveLetterCard> deck : hiding) {
+                for (int i = 0; i < deck.getSize(); i++) {
+                    if (!deck.isComponentVisible(i, playerId)) {
+                        // New random card
+                        deck.setComponent(i, llgs.drawPile.draw());
                     }
                 }
             }
-            for (int i = 0; i < llgs.reserveCards.getSize(); i++) {
-                if (!llgs.reserveCards.isComponentVisible(i, playerId)) {
-                    // New random card
-                    llgs.reserveCards.setComponent(i, llgs.drawPile.draw());
-                }
-            }
         }
         return llgs;
     }
 
+    @Override
+    protected void _redeterminise(int playerId, Random rnd) {
+        // Hidden cards may be in the draw pile, the reserve or other players' hands
+        List<Deck<LoveLetterCard>> decks = new ArrayList<>(playerHandCards);
+        decks.add(drawPile);
+        decks.add(reserveCards);
+        shuffleHiddenComponents(playerId, rnd, decks, null);
+    }
+
     @Override
     protected double _getHeuristicScore(int playerId) {
         return new LoveLetterHeuristic().evaluateState(this, playerId);
@@ -4,6 +4,7 @@ import core.AbstractParameters;
 import core.interfaces.IStateHeuristic;
 import evaluation.TunableParameters;
 import games.loveletter.cards.LoveLetterCard;
+import utilities.FastRandom;
 import utilities.Utils;
 
 import java.util.Random;
@@ -40,7 +41,7 @@ public class LoveLetterHeuristic extends TunableParameters implements IStateHeur
 
         double cardValues = 0;
 
-        Random r = new Random(llgs.getGameParameters().getRandomSeed());
+        Random r = new FastRandom(llgs.getGameParameters().getRandomSeed());
         for (LoveLetterCard card: llgs.getPlayerHandCards().get(playerId).getComponents()) {
             if (card.cardType == LoveLetterCard.CardType.Countess) {
                 if (r.nextDouble() > COUNTESS_PLAY_THRESHOLD) {
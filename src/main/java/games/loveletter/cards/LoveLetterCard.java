@@ -41,8 +41,13 @@ public class LoveLetterCard extends Card {
         return cardType.toString();
     }
 
+    @Override
+    public boolean isImmutable() {
+        return true;
+    }
+
     @Override
     public Card copy() {
-        return new LoveLetterCard(cardType, componentID);
+        return this;
     }
 }
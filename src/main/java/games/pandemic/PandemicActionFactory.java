@@ -10,13 +10,13 @@ import games.pandemic.actions.*;
 
 import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
 
 import static core.CoreConstants.*;
 import static games.pandemic.PandemicConstants.*;
 import static games.pandemic.PandemicConstants.infectionHash;
-import static utilities.Utils.generatePermutations;
 import static utilities.Utils.indexOf;
 
 class PandemicActionFactory {
@@ -37,7 +37,7 @@ class PandemicActionFactory {
         int activePlayer = pgs.getTurnOrder().getCurrentPlayer(pgs);
 
         // Create a list for possible actions, including first move actions
-        Set<AbstractAction> actions = new HashSet<>(getMoveActions(pgs, activePlayer, playerHand));
+        Set<AbstractAction> actions = new LinkedHashSet<>(getMoveActions(pgs, activePlayer, playerHand));
 
         // Build research station, discard card corresponding to current player location to build one, if not already there.
         if (!((PropertyBoolean) playerLocationNode.getProperty(researchStationHash)).value
@@ -207,7 +207,7 @@ class PandemicActionFactory {
      * @return - list of AddResearchStation* actions
      */
     static List<AbstractAction> getResearchStationActions(PandemicGameState pgs, String playerLocation, Card card, int cardIdx) {
-        Set<AbstractAction> actions = new HashSet<>();
+        Set<AbstractAction> actions = new LinkedHashSet<>();
         Counter rStationCounter = (Counter) pgs.getComponent(researchStationHash);
 
         // Check if any research station tokens left
@@ -232,7 +232,7 @@ class PandemicActionFactory {
      * @return all movement actions
      */
     static List<AbstractAction> getMoveActions(PandemicGameState pgs, int playerId, Deck<Card> playerHand){
-        Set<AbstractAction> actions = new HashSet<>();
+        Set<AbstractAction> actions = new LinkedHashSet<>();
 
         PropertyString playerLocationProperty = (PropertyString) pgs.getComponent(playerCardHash, playerId)
                 .getProperty(playerLocationHash);
@@ -290,7 +290,7 @@ class PandemicActionFactory {
         Deck<Card> playerDeck = (Deck<Card>) pgs.getComponentActingPlayer(playerHandHash);
         Deck<Card> playerDiscardDeck = (Deck<Card>) pgs.getComponent(playerDeckDiscardHash);
 
-        Set<AbstractAction> acts = new HashSet<>();  // Only discard card actions available
+        Set<AbstractAction> acts = new LinkedHashSet<>();  // Only discard card actions available
         for (int i = 0; i < playerDeck.getSize(); i++) {
             acts.add(new DrawCard(playerDeck.getComponentID(), playerDiscardDeck.getComponentID(), i));  // adding card i from player deck to player discard deck
         }
@@ -302,7 +302,7 @@ class PandemicActionFactory {
      * @return - ArrayList, RemoveCardWithCard actions + DoNothing.
      */
     static List<AbstractAction> getRPactions(PandemicGameState pgs) {
-        Set<AbstractAction> acts = new HashSet<>();
+        Set<AbstractAction> acts = new LinkedHashSet<>();
         acts.add(new DoNothing());
 
         Deck<Card> infectionDiscard = (Deck<Card>) pgs.getComponent(infectionDiscardHash);
@@ -333,7 +333,7 @@ class PandemicActionFactory {
         int fromDeck = playerHand.getComponentID();
         int toDeck = playerDiscard.getComponentID();
 
-        Set<AbstractAction> actions = new HashSet<>();
+        Set<AbstractAction> actions = new LinkedHashSet<>();
         actions.add(new DoNothing());  // Can always do nothing
 
         for (Card card: playerHand.getComponents()){
@@ -369,7 +369,7 @@ class PandemicActionFactory {
      */
     static List<AbstractAction> actionsFromEventCard(PandemicGameState pgs,
                                                       Card card, PandemicParameters pp, int deckFrom, int deckTo, int cardIdx){
-        Set<AbstractAction> actions = new HashSet<>();
+        Set<AbstractAction> actions = new LinkedHashSet<>();
         String cardString = ((PropertyString)card.getProperty(nameHash)).value;
 
         switch (cardString) {
@@ -425,19 +425,11 @@ class PandemicActionFactory {
         int deckFrom = playerHand.getComponentID();
         int deckTo = playerDiscard.getComponentID();
 
-        Set<AbstractAction> actions = new HashSet<>();
         Deck<Card> infectionDeck = (Deck<Card>) pgs.getComponent(infectionHash);
         int nInfectCards = infectionDeck.getSize();
         int n = Math.min(nInfectCards, pp.n_forecast_cards);
-        ArrayList<int[]> permutations = new ArrayList<>();
-        int[] order = new int[n];
-        for (int i = 0; i < n; i++) {
-            order[i] = i;
-        }
-        generatePermutations(n, order, permutations);
-        for (int[] perm: permutations) {
-            actions.add(new RearrangeDeckOfCards(infectionDeck.getComponentID(), perm));
-        }
-        return new ArrayList<>(actions);
+        // n! orderings (720 for 6 cards), only built when asked for
+        int infectionDeckID = infectionDeck.getComponentID();
+        return ActionSpace.permutations(n, perm -> new RearrangeDeckOfCards(infectionDeckID, perm));
     }
 }
@@ -14,6 +14,7 @@ import games.pandemic.rules.conditions.*;
 import games.pandemic.rules.gameOver.*;
 import games.pandemic.rules.rules.*;
 import games.pandemic.rules.rules.DrawCards;
+import utilities.FastRandom;
 import utilities.Hash;
 
 import java.util.*;
@@ -47,7 +48,7 @@ public class PandemicForwardModel extends AbstractRuleBasedForwardModel {
         // Rules
         RuleNode infectCities = new InfectCities(pp.infection_rate, pp.max_cubes_per_city, pp.n_cubes_infection);
         RuleNode forceDiscardReaction = new ForceDiscardReaction();
-        RuleNode epidemic2 = new EpidemicIntensify(new Random(pp.getRandomSeed()));
+        RuleNode epidemic2 = new EpidemicIntensify(new FastRandom(pp.getRandomSeed()));
         RuleNode forceRPreaction = new ForceRPReaction();
         RuleNode epidemic1 = new EpidemicInfect(pp.max_cubes_per_city, pp.n_cubes_epidemic);
         RuleNode drawCards = new DrawCards();
@@ -132,7 +133,7 @@ public class PandemicForwardModel extends AbstractRuleBasedForwardModel {
      */
     @Override
     protected void _setup(AbstractGameState firstState) {
-        Random rnd = new Random(firstState.getGameParameters().getRandomSeed());
+        Random rnd = new FastRandom(firstState.getGameParameters().getRandomSeed());
 
         PandemicGameState state = (PandemicGameState) firstState;
         PandemicParameters pp = (PandemicParameters)state.getGameParameters();
@@ -199,6 +200,9 @@ public class PandemicForwardModel extends AbstractRuleBasedForwardModel {
         Deck<Card> playerRoles = _data.findDeck("Player Roles");
         Deck<Card> infectionDeck =  _data.findDeck("Infections");
         Deck<Card> infectionDiscard =  new Deck<>("Infection Discard", VISIBLE_TO_ALL);
+        // City, event and infection cards never change, so copies of the game state can share them
+        playerDeck.getComponents().forEach(Card::setImmutable);
+        infectionDeck.getComponents().forEach(Card::setImmutable);
 
         gameArea.putComponent(PandemicConstants.playerDeckHash, playerDeck);
         gameArea.putComponent(PandemicConstants.playerDeckDiscardHash, new Deck<>("Player Deck Discard", VISIBLE_TO_ALL));
@@ -268,6 +272,7 @@ public class PandemicForwardModel extends AbstractRuleBasedForwardModel {
 
             Card card = new Card("Epidemic");
             card.setProperty(new PropertyString("name", "epidemic"));
+            card.setImmutable();
             playerDeck.add(card, index);
 
         }
@@ -8,6 +8,7 @@ import core.AbstractGameState;
 import core.components.Area;
 import core.AbstractParameters;
 import games.GameType;
+import utilities.FastRandom;
 import utilities.Hash;
 import utilities.Utils;
 
@@ -44,6 +45,8 @@ public class PandemicGameState extends AbstractGameState implements IFeatureRepr
     int nCardsDrawn;
     // Keeps track of locations of all research stations (list of names of cities / board nodes)
     ArrayList<String> researchStationLocations;
+    // Seeds the shuffle of the hidden decks in copies of this state, and the seeds of the copies; copying only reads it
+    long redeterminisationSeed;
 
     @Override
     protected List<Component> _getAllComponents() {
@@ -127,6 +130,7 @@ public class PandemicGameState extends AbstractGameState implements IFeatureRepr
         epidemic = false;
         nCardsDrawn = 0;
         researchStationLocations = new ArrayList<>();
+        redeterminisationSeed = new FastRandom(gameParameters.getRandomSeed()).split().nextLong();
     }
 
     @Override
@@ -221,6 +225,9 @@ public class PandemicGameState extends AbstractGameState implements IFeatureRepr
     @Override
     protected AbstractGameState _copy(int playerId) {
         PandemicGameState gs = new PandemicGameState(gameParameters.copy(), getNPlayers());
+        // Drawn from a generator of the copy's own, so that copying does not change this state
+        FastRandom rnd = new FastRandom(redeterminisationSeed);
+        gs.redeterminisationSeed = rnd.nextLong();
 
         gs.areas = new HashMap<>();
         for(int key : areas.keySet())
@@ -232,13 +239,12 @@ public class PandemicGameState extends AbstractGameState implements IFeatureRepr
                 HashMap<Integer, Component> oldComponents = areas.get(key).getComponentsMap();
                 for (Map.Entry<Integer, Component> e: oldComponents.entrySet()) {
                     if (PARTIAL_OBSERVABLE && playerId != -1 && (e.getKey() == playerDeckHash || e.getKey() == infectionHash)) {
-                        Random r = new Random(gs.getGameParameters().getRandomSeed());
                         Deck<Card> hiddenDeck = (Deck<Card>) e.getValue().copy();
                         if (gamePhase == Forecast && e.getKey() == infectionHash) {
                             // Top N cards should be left the same, the rest shuffled
-                            hiddenDeck.shuffle(((PandemicParameters)gameParameters).n_forecast_cards, hiddenDeck.getSize(), r);
+                            hiddenDeck.shuffle(((PandemicParameters)gameParameters).n_forecast_cards, hiddenDeck.getSize(), rnd);
                         } else {
-                            hiddenDeck.shuffle(r);  // We know what cards are in there, a simple shuffle is enough
+                            hiddenDeck.shuffle(rnd);  // We know what cards are in there, a simple shuffle is enough
                         }
                         a.putComponent(e.getKey(), hiddenDeck);
                     } else {
@@ -260,6 +266,21 @@ public class PandemicGameState extends AbstractGameState implements IFeatureRepr
         return gs;
     }
 
+    @Override
+    protected void _redeterminise(int playerId, Random rnd) {
+        // Face-down decks in game area: we know what cards are in there, a simple shuffle is enough
+        Area gameArea = areas.get(-1);
+        Deck<?> playerDeck = (Deck<?>) gameArea.getComponent(playerDeckHash);
+        Deck<?> infectionDeck = (Deck<?>) gameArea.getComponent(infectionHash);
+        playerDeck.shuffle(rnd);
+        if (gamePhase == Forecast) {
+            // Top N cards should be left the same, the rest shuffled
+            infectionDeck.shuffle(((PandemicParameters)gameParameters).n_forecast_cards, infectionDeck.getSize(), rnd);
+        } else {
+            infectionDeck.shuffle(rnd);
+        }
+    }
+
     void addComponents() {
         super.addAllComponents();
     }
@@ -0,0 +1,66 @@
+package games.pandemic.test;
+
+import core.AbstractGameState;
+import core.AbstractPlayer;
+import core.components.Card;
+import core.components.Deck;
+import core.Game;
+import games.GameType;
+import games.pandemic.PandemicGameState;
+import org.junit.*;
+import players.simple.RandomPlayer;
+
+import java.util.*;
+
+import static games.pandemic.PandemicConstants.*;
+import static org.junit.Assert.*;
+
+public class PartialObservabilityCopy {
+
+    Game game;
+    AbstractGameState state;
+
+    @Before
+    public void setup() {
+        List<AbstractPlayer> players = Arrays.asList(new RandomPlayer(new Random(5)), new RandomPlayer(new Random(6)));
+        game = GameType.Pandemic.createGameInstance(2, 8123);
+        game.reset(players);
+        state = game.getGameState();
+    }
+
+    @SuppressWarnings("unchecked")
+    static List<Integer> cardIds(AbstractGameState state, int deckHash) {
+        List<Integer> ids = new ArrayList<>();
+        for (Card c : ((Deck<Card>) ((PandemicGameState) state).getComponent(deckHash)).getComponents()) {
+            ids.add(c.getComponentID());
+        }
+        return ids;
+    }
+
+    @Test
+    public void hiddenDecksAreShuffled() {
+        AbstractGameState myCopy = state.copy(0);
+        AbstractGameState fullCopy = state.copy();
+        for (int deckHash : new int[]{playerDeckHash, infectionHash}) {
+            assertEquals(cardIds(state, deckHash), cardIds(fullCopy, deckHash));
+            assertNotEquals(cardIds(state, deckHash), cardIds(myCopy, deckHash));
+            // Same cards, in another order
+            assertEquals(new HashSet<>(cardIds(state, deckHash)), new HashSet<>(cardIds(myCopy, deckHash)));
+        }
+    }
+
+    @Test
+    public void copyingLeavesTheStateUnchanged() {
+        AbstractGameState before = state.copy(0);
+        state.copy(1);
+        state.copy(0);
+        state.copy();
+        AbstractGameState after = state.copy(0);
+        // The hidden decks of a copy are shuffled from the state's seed, which making copies does not change
+        for (int deckHash : new int[]{playerDeckHash, infectionHash}) {
+            assertEquals(cardIds(before, deckHash), cardIds(after, deckHash));
+        }
+        // Copies of copies are shuffled again
+        assertNotEquals(cardIds(before, playerDeckHash), cardIds(before.copy(0), playerDeckHash));
+    }
+}
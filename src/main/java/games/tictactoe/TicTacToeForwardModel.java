@@ -4,13 +4,14 @@ import core.AbstractForwardModel;
 import core.AbstractGameState;
 import core.actions.AbstractAction;
 import core.actions.SetGridValueAction;
-import core.components.GridBoard;
+import core.components.BitGridBoard;
 import core.components.Token;
 import utilities.Utils;
 
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.stream.IntStream;
 
 import static core.CoreConstants.VERBOSE;
 
@@ -22,7 +23,19 @@ public class TicTacToeForwardModel extends AbstractForwardModel {
         TicTacToeGameParameters tttgp = (TicTacToeGameParameters) firstState.getGameParameters();
         int gridSize = tttgp.gridSize;
         TicTacToeGameState state = (TicTacToeGameState)firstState;
-        state.gridBoard = new GridBoard<>(gridSize, gridSize, new Token(TicTacToeConstants.emptyCell));
+        state.gridBoard = new BitGridBoard<>(gridSize, gridSize, new Token(TicTacToeConstants.emptyCell),
+                TicTacToeConstants.playerMapping);
+
+        // Precompute all winning lines, and which of them go through each cell
+        List<long[]> lines = BitGridBoard.lineMasks(gridSize, gridSize, tttgp.getWinLength());
+        state.winMasks = lines.toArray(new long[0][]);
+        state.cellWinMasks = new int[gridSize * gridSize][];
+        for (int cell = 0; cell < state.cellWinMasks.length; cell++) {
+            int finalCell = cell;
+            state.cellWinMasks[cell] = IntStream.range(0, state.winMasks.length)
+                    .filter(m -> BitGridBoard.maskContains(state.winMasks[m], finalCell))
+                    .toArray();
+        }
     }
 
     @Override
@@ -33,7 +46,7 @@ public class TicTacToeForwardModel extends AbstractForwardModel {
 
         for (int x = 0; x < tttgs.gridBoard.getWidth(); x++){
             for (int y = 0; y < tttgs.gridBoard.getHeight(); y++) {
-                if (tttgs.gridBoard.getElement(x, y).getTokenType().equals(TicTacToeConstants.emptyCell))
+                if (tttgs.gridBoard.getValueIndex(x, y) == -1)
                     actions.add(new SetGridValueAction<>(tttgs.gridBoard.getComponentID(), x, y, TicTacToeConstants.playerMapping.get(player)));
             }
         }
@@ -48,97 +61,38 @@ public class TicTacToeForwardModel extends AbstractForwardModel {
     @Override
     protected void _next(AbstractGameState currentState, AbstractAction action) {
         action.execute(currentState);
-        TicTacToeGameParameters tttgp = (TicTacToeGameParameters) currentState.getGameParameters();
-        int gridSize = tttgp.gridSize;
+        TicTacToeGameState tttgs = (TicTacToeGameState) currentState;
+        int gridSize = tttgs.gridBoard.getWidth();
         if (currentState.getTurnOrder().getRoundCounter() == (gridSize * gridSize)) {
             currentState.setGameStatus(Utils.GameResult.GAME_END);
             return;
         }
 
-        if (checkGameEnd((TicTacToeGameState) currentState)) {
+        if (checkGameEnd(tttgs, (SetGridValueAction<?>) action)) {
             return;
         }
         currentState.getTurnOrder().endPlayerTurn(currentState);
     }
 
     /**
-     * Checks if the game ended.
+     * Checks if the game ended. Only lines through the last move can have been completed, so only those are checked.
      * @param gameState - game state to check game end.
+     * @param move - the move just played.
      */
-    private boolean checkGameEnd(TicTacToeGameState gameState){
-        GridBoard<Token> gridBoard = gameState.getGridBoard();
-
-        // Check columns
-        for (int x = 0; x < gridBoard.getWidth(); x++){
-            Token c = gridBoard.getElement(x, 0);
-            if (!c.getTokenType().equals(TicTacToeConstants.emptyCell)) {
-                boolean win = true;
-                for (int y = 1; y < gridBoard.getHeight(); y++) {
-                    Token o = gridBoard.getElement(x, y);
-                    if (o.getTokenType().equals(TicTacToeConstants.emptyCell) || !o.equals(c)) {
-                        win = false;
-                        break;
-                    }
-                }
-                if (win) {
-                    registerWinner(gameState, c);
-                    return true;
-                }
-            }
-        }
-
-        // Check rows
-        for (int y = 0; y < gridBoard.getHeight(); y++){
-            Token c = gridBoard.getElement(0, y);
-            if (!c.getTokenType().equals(TicTacToeConstants.emptyCell)) {
-                boolean win = true;
-                for (int x = 1; x < gridBoard.getWidth(); x++) {
-                    Token o = gridBoard.getElement(x, y);
-                    if (o.getTokenType().equals(TicTacToeConstants.emptyCell) || !o.equals(c)) {
-                        win = false;
-                        break;
-                    }
-                }
-                if (win) {
-                    registerWinner(gameState, c);
+    private boolean checkGameEnd(TicTacToeGameState gameState, SetGridValueAction<?> move){
+        BitGridBoard<Token> gridBoard = gameState.getGridBoard();
+        int player = gridBoard.getValueIndex(move.getX(), move.getY());
+
+        if (player != -1) {
+            for (int line : gameState.cellWinMasks[gridBoard.getCellIndex(move.getX(), move.getY())]) {
+                if (gridBoard.containsAll(player, gameState.winMasks[line])) {
+                    registerWinner(gameState, player);
                     return true;
                 }
             }
         }
 
-        // Check diagonals
-        // Primary
-        Token c = gridBoard.getElement(0, 0);
-        if (!c.getTokenType().equals(TicTacToeConstants.emptyCell)) {
-            boolean win = true;
-            for (int i = 1; i < gridBoard.getWidth(); i++) {
-                Token o = gridBoard.getElement(i, i);
-                if (o.getTokenType().equals(TicTacToeConstants.emptyCell) || !o.equals(c)) {
-                    win = false;
-                }
-            }
-            if (win) {
-                registerWinner(gameState, c);
-                return true;
-            }
-        }
-
-        // Secondary
-        c = gridBoard.getElement(gridBoard.getWidth()-1, 0);
-        if (!c.getTokenType().equals(TicTacToeConstants.emptyCell)) {
-            boolean win = true;
-            for (int i = 1; i < gridBoard.getWidth(); i++) {
-                Token o = gridBoard.getElement(gridBoard.getWidth()-1-i, i);
-                if (o.getTokenType().equals(TicTacToeConstants.emptyCell) || !o.equals(c)) {
-                    win = false;
-                }
-            }
-            if (win) {
-                registerWinner(gameState, c);
-                return true;
-            }
-        }
-        boolean tie = gridBoard.getComponents().stream().noneMatch(t -> t.getTokenType().equals(TicTacToeConstants.emptyCell));
+        boolean tie = gridBoard.countOccupied() == gridBoard.getWidth() * gridBoard.getHeight();
 
         if (tie){
             gameState.setGameStatus(Utils.GameResult.DRAW);
@@ -157,11 +111,10 @@ public class TicTacToeForwardModel extends AbstractForwardModel {
 
     /**
      * Inform the game this player has won.
-     * @param winnerSymbol - which player won.
+     * @param winningPlayer - which player won.
      */
-    private void registerWinner(TicTacToeGameState gameState, Token winnerSymbol){
+    private void registerWinner(TicTacToeGameState gameState, int winningPlayer){
         gameState.setGameStatus(Utils.GameResult.GAME_END);
-        int winningPlayer = TicTacToeConstants.playerMapping.indexOf(winnerSymbol);
         gameState.setPlayerResult(Utils.GameResult.WIN, winningPlayer);
         gameState.setPlayerResult(Utils.GameResult.LOSE, 1-winningPlayer);
     }
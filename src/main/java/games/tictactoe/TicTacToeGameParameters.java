@@ -8,15 +8,26 @@ import java.util.*;
 public class TicTacToeGameParameters extends TunableParameters {
 
     public int gridSize = 3;
+    // Number of pieces in a line needed to win, 0 means a full row, column or diagonal
+    public int nInARow = 0;
 
     public TicTacToeGameParameters(long seed) {
         super(seed);
-        addTunableParameter("gridSize", 3, Arrays.asList(3, 4, 5, 6));
+        addTunableParameter("gridSize", 3, Arrays.asList(3, 4, 5, 6, 9, 15));
+        addTunableParameter("nInARow", 0, Arrays.asList(0, 3, 4, 5));
     }
 
     @Override
     public void _reset() {
         gridSize = (int) getParameterValue("gridSize");
+        nInARow = (int) getParameterValue("nInARow");
+    }
+
+    /**
+     * @return number of pieces in a line needed to win.
+     */
+    public int getWinLength() {
+        return nInARow <= 0 ? gridSize : Math.min(nInARow, gridSize);
     }
 
     @Override
@@ -33,13 +44,14 @@ public class TicTacToeGameParameters extends TunableParameters {
 
     @Override
     public int hashCode() {
-        return Objects.hash(super.hashCode(), gridSize);
+        return Objects.hash(super.hashCode(), gridSize, nInARow);
     }
 
 
     @Override
     public String getParameterName(int parameterId) {
         if (parameterId == 0) return "Grid size";
+        if (parameterId == 1) return "N in a row";
         return null;
     }
 
@@ -1,8 +1,8 @@
 package games.tictactoe;
 
 import core.AbstractParameters;
+import core.components.BitGridBoard;
 import core.components.Component;
-import core.components.GridBoard;
 import core.AbstractGameState;
 import core.components.Token;
 import core.interfaces.IGridGameState;
@@ -19,7 +19,10 @@ import java.util.Objects;
 
 public class TicTacToeGameState extends AbstractGameState implements IPrintable, IGridGameState<Token>, IVectorObservation {
 
-    GridBoard<Token> gridBoard;
+    BitGridBoard<Token> gridBoard;
+    // Masks of all winning lines, and the indices of the lines that go through each cell. Immutable, shared by copies.
+    long[][] winMasks;
+    int[][] cellWinMasks;
 
     public TicTacToeGameState(AbstractParameters gameParameters, int nPlayers){
         super(gameParameters, new AlternatingTurnOrder(nPlayers), GameType.TicTacToe);
@@ -32,8 +35,10 @@ public class TicTacToeGameState extends AbstractGameState implements IPrintable,
 
     @Override
     protected AbstractGameState _copy(int playerId) {
-        TicTacToeGameState s = new TicTacToeGameState(gameParameters.copy(), getNPlayers());
+        TicTacToeGameState s = new TicTacToeGameState(gameParameters, getNPlayers());
         s.gridBoard = gridBoard.copy();
+        s.winMasks = winMasks;
+        s.cellWinMasks = cellWinMasks;
         return s;
     }
 
@@ -42,6 +47,18 @@ public class TicTacToeGameState extends AbstractGameState implements IPrintable,
         return new VectorObservation<>(gridBoard.flattenGrid());
     }
 
+    /**
+     * One value per cell, row by row: 0 if empty, otherwise 1 + index of the player whose token is there.
+     */
+    @Override
+    public double[] getNumericalObservation() {
+        double[] result = new double[gridBoard.getWidth() * gridBoard.getHeight()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = gridBoard.getValueIndex(i) + 1;
+        }
+        return result;
+    }
+
     @Override
     protected double _getHeuristicScore(int playerId) {
         return new TicTacToeHeuristic().evaluateState(this, playerId);
@@ -65,6 +82,11 @@ public class TicTacToeGameState extends AbstractGameState implements IPrintable,
         gridBoard = null;
     }
 
+    @Override
+    public boolean hasHiddenInformation() {
+        return false;
+    }
+
     @Override
     protected boolean _equals(Object o) {
         if (this == o) return true;
@@ -80,7 +102,7 @@ public class TicTacToeGameState extends AbstractGameState implements IPrintable,
     }
 
     @Override
-    public GridBoard<Token> getGridBoard() {
+    public BitGridBoard<Token> getGridBoard() {
         return gridBoard;
     }
 
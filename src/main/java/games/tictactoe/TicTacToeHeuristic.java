@@ -1,9 +1,7 @@
 package games.tictactoe;
 import core.AbstractGameState;
-import core.components.Token;
 import core.interfaces.IStateHeuristic;
 import evaluation.TunableParameters;
-import utilities.Pair;
 import utilities.Utils;
 
 public class TicTacToeHeuristic extends TunableParameters implements IStateHeuristic {
@@ -34,26 +32,23 @@ public class TicTacToeHeuristic extends TunableParameters implements IStateHeuri
         }
 
         // Count how many lines of player characters + rest empty, the more player characters the better
-        int[] nPlayer = new int[ttgs.gridBoard.getWidth()];
-        int[] nOpponent = new int[ttgs.gridBoard.getWidth()];
-
-        double nTotalCount = nPlayer.length * 2 + 2;  // N rows + N columns + 2 diagonals
-
-        Token playerChar = TicTacToeConstants.playerMapping.get(playerId);
-
-        // Check columns
-        for (int x = 0; x < ttgs.gridBoard.getWidth(); x++){
-            addCounts(countColumns(ttgs, x, playerChar), nPlayer, nOpponent);
+        int winLength = ((TicTacToeGameParameters) gs.getGameParameters()).getWinLength();
+        int[] nPlayer = new int[winLength];
+        int[] nOpponent = new int[winLength];
+
+        double nTotalCount = ttgs.winMasks.length;  // All possible winning lines
+
+        for (long[] line : ttgs.winMasks) {
+            int countPlayer = ttgs.gridBoard.count(playerId, line);
+            int countOpponent = ttgs.gridBoard.count(1 - playerId, line);
+            if (countOpponent == 0 && countPlayer > 0) {
+                // Player could have this line
+                nPlayer[countPlayer-1] ++;
+            } else if (countPlayer == 0 && countOpponent > 0) {
+                // Opponent could have this line
+                nOpponent[countOpponent-1] ++;
+            }
         }
-        // Check rows
-        for (int y = 0; y < ttgs.gridBoard.getHeight(); y++){
-            addCounts(countRows(ttgs, y, playerChar), nPlayer, nOpponent);
-        }
-        // Check diagonals
-        // Primary
-        addCounts(countPrimaryDiagonal(ttgs, playerChar), nPlayer, nOpponent);
-        // Secondary
-        addCounts(countSecondaryDiagonal(ttgs, playerChar), nPlayer, nOpponent);
 
         // Calculate scores, the more characters for player, the higher the weight
         double pScore = 0, oppScore = 0;
@@ -65,56 +60,6 @@ public class TicTacToeHeuristic extends TunableParameters implements IStateHeuri
         return pScore * FACTOR_PLAYER + oppScore * FACTOR_OPPONENT;
     }
 
-    private Pair<Integer, Integer> countColumns(TicTacToeGameState ttgs, int column, Token playerChar) {
-        Pair<Integer, Integer> count = new Pair<>(0, 0);
-        for (int y = 0; y < ttgs.gridBoard.getHeight(); y++) {
-            checkChar(count, playerChar, ttgs.gridBoard.getElement(column, y));
-        }
-        return count;
-    }
-
-    private Pair<Integer, Integer> countRows(TicTacToeGameState ttgs, int row, Token playerChar) {
-        Pair<Integer, Integer> count = new Pair<>(0, 0);
-        for (int x = 0; x < ttgs.gridBoard.getWidth(); x++) {
-            checkChar(count, playerChar, ttgs.gridBoard.getElement(x, row));
-        }
-        return count;
-    }
-
-    private Pair<Integer, Integer> countPrimaryDiagonal(TicTacToeGameState ttgs, Token playerChar) {
-        Pair<Integer, Integer> count = new Pair<>(0, 0);
-        for (int x = 0; x < ttgs.gridBoard.getWidth(); x++) {
-            checkChar(count, playerChar, ttgs.gridBoard.getElement(x, x));
-        }
-        return count;
-    }
-
-    private Pair<Integer, Integer> countSecondaryDiagonal(TicTacToeGameState ttgs, Token playerChar) {
-        Pair<Integer, Integer> count = new Pair<>(0, 0);
-        for (int x = 0; x < ttgs.gridBoard.getWidth(); x++) {
-            checkChar(count, playerChar, ttgs.gridBoard.getElement(ttgs.gridBoard.getWidth()-1-x, x));
-        }
-        return count;
-    }
-
-    private void checkChar(Pair<Integer, Integer> count, Token playerChar, Token c) {
-        if (c.equals(playerChar)) {
-            count.a ++;
-        } else if (!c.getTokenType().equals(" ")) {
-            count.b ++;
-        }
-    }
-
-    private void addCounts(Pair<Integer, Integer> count, int[] nPlayer, int[] nOpponent) {
-        if (count.b == 0 && count.a > 0) {
-            // Player could have this line
-            nPlayer[count.a-1] ++;
-        } else if (count.a == 0 && count.b > 0) {
-            // Opponent could have this line
-            nOpponent[count.b-1] ++;
-        }
-    }
-
     /**
      * Return a copy of this game parameters object, with the same parameters as in the original.
      *
@@ -7,6 +7,7 @@ import core.components.Deck;
 import games.uno.actions.NoCards;
 import games.uno.actions.PlayCard;
 import games.uno.cards.UnoCard;
+import utilities.FastRandom;
 import utilities.Utils;
 
 import java.util.ArrayList;
@@ -96,7 +97,7 @@ public class UnoForwardModel extends AbstractForwardModel {
      * @param ugs - current game state.
      */
     private void setupRound(UnoGameState ugs) {
-        Random r = new Random(ugs.getGameParameters().getRandomSeed() + ugs.getTurnOrder().getRoundCounter());
+        Random r = new FastRandom(ugs.getGameParameters().getRandomSeed() + ugs.getTurnOrder().getRoundCounter());
 
         // Refresh player decks
         for (int i = 0; i < ugs.getNPlayers(); i++) {
@@ -7,6 +7,7 @@ import core.AbstractGameState;
 import core.interfaces.IPrintable;
 import games.GameType;
 import games.uno.cards.*;
+import utilities.FastRandom;
 
 import java.util.*;
 
@@ -132,7 +133,7 @@ public class UnoGameState extends AbstractGameState implements IPrintable {
         if (PARTIAL_OBSERVABLE && playerId != -1) {
             // Other player cards and the draw deck are unknown.
             // Combine all into one deck, shuffle, then deal random cards to the other players (hand size kept)
-            Random r = new Random(copy.gameParameters.getRandomSeed());
+            Random r = new FastRandom(copy.gameParameters.getRandomSeed());
             for (int i = 0; i < getNPlayers(); i++) {
                 if (i != playerId) {
                     copy.drawDeck.add(copy.playerDecks.get(i));
@@ -158,6 +159,14 @@ public class UnoGameState extends AbstractGameState implements IPrintable {
         return copy;
     }
 
+    @Override
+    protected void _redeterminise(int playerId, Random rnd) {
+        // Other player cards and the draw deck are unknown, hand sizes are kept
+        List<Deck<UnoCard>> decks = new ArrayList<>(playerDecks);
+        decks.add(drawDeck);
+        shuffleHiddenComponents(playerId, rnd, decks, null);
+    }
+
     @Override
     protected double _getHeuristicScore(int playerId) {
         return new UnoHeuristic().evaluateState(this, playerId);
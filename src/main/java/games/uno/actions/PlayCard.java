@@ -10,6 +10,7 @@ import core.interfaces.IPrintable;
 import games.uno.UnoTurnOrder;
 import games.uno.cards.UnoCard;
 import games.uno.UnoGameState;
+import utilities.FastRandom;
 
 import java.util.List;
 import java.util.Objects;
@@ -32,7 +33,7 @@ public class PlayCard extends DrawCard implements IPrintable {
         UnoGameState ugs = (UnoGameState)gameState;
         super.execute(gameState);
 
-        Random r = new Random(ugs.getGameParameters().getRandomSeed() + ugs.getTurnOrder().getRoundCounter());
+        Random r = new FastRandom(ugs.getGameParameters().getRandomSeed() + ugs.getTurnOrder().getRoundCounter());
 
         UnoCard cardToBePlayed = (UnoCard) gameState.getComponentById(cardId);
         ugs.updateCurrentCard(cardToBePlayed);
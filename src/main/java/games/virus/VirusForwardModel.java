@@ -8,6 +8,7 @@ import games.virus.actions.*;
 import games.virus.cards.VirusCard;
 import games.virus.cards.VirusTreatmentCard;
 import games.virus.components.VirusBody;
+import utilities.FastRandom;
 import utilities.Utils;
 
 import java.util.*;
@@ -40,7 +41,7 @@ public class VirusForwardModel extends AbstractForwardModel {
         vgs.drawDeck = new Deck<>("DrawDeck", -1, VisibilityMode.HIDDEN_TO_ALL);
         createCards(vgs);
 
-        vgs.drawDeck.shuffle(new Random(vgs.getGameParameters().getRandomSeed()));
+        vgs.drawDeck.shuffle(new FastRandom(vgs.getGameParameters().getRandomSeed()));
 
         // Create the discard deck, at the beginning it is empty
         vgs.discardDeck = new Deck<>("DiscardDeck", -1, VisibilityMode.VISIBLE_TO_ALL);
@@ -163,7 +164,7 @@ public class VirusForwardModel extends AbstractForwardModel {
         }
 
         // Playable cards actions
-        Set<VirusCard> uniqueCards = new HashSet<>(playerHand.getComponents());
+        Set<VirusCard> uniqueCards = new LinkedHashSet<>(playerHand.getComponents());
         for (VirusCard card : uniqueCards)
             addActionsForCard(vgs, card, actions, playerHand);
 
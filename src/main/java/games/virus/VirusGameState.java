@@ -9,7 +9,7 @@ import core.turnorders.AlternatingTurnOrder;
 import games.GameType;
 import games.virus.cards.*;
 import games.virus.components.VirusBody;
-import games.virus.components.VirusOrgan;
+import utilities.FastRandom;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -57,7 +57,7 @@ public class VirusGameState extends AbstractGameState implements IPrintable {
                     vgs.playerDecks.get(i).clear();
                 }
             }
-            vgs.drawDeck.shuffle(new Random(getGameParameters().getRandomSeed()));
+            vgs.drawDeck.shuffle(new FastRandom(getGameParameters().getRandomSeed()));
             for (int i = 0; i < getNPlayers(); i++) {
                 if (playerId != i) {
                     for (int j = 0; j < playerDecks.get(i).getSize(); j++) {
@@ -69,6 +69,14 @@ public class VirusGameState extends AbstractGameState implements IPrintable {
         return vgs;
     }
 
+    @Override
+    protected void _redeterminise(int playerId, Random rnd) {
+        // Draw deck and opponent hand cards are hidden, hand sizes are kept
+        List<Deck<VirusCard>> decks = new ArrayList<>(playerDecks);
+        decks.add(drawDeck);
+        shuffleHiddenComponents(playerId, rnd, decks, null);
+    }
+
     @Override
     protected double _getHeuristicScore(int playerId) {
         return new VirusHeuristic().evaluateState(this, playerId);
@@ -76,7 +84,7 @@ public class VirusGameState extends AbstractGameState implements IPrintable {
 
     @Override
     public double getGameScore(int playerId) {
-        return playerBodies.get(playerId).organs.values().stream().filter(VirusOrgan::isHealthy).count();
+        return playerBodies.get(playerId).getNOrganHealthy();
     }
 
     @Override
@@ -1,7 +1,7 @@
 package games.virus;
 import core.AbstractGameState;
 import core.interfaces.IStateHeuristic;
-import games.virus.components.VirusOrgan;
+import games.virus.cards.VirusCard;
 import utilities.Utils;
 
 public class VirusHeuristic implements IStateHeuristic {
@@ -18,12 +18,8 @@ public class VirusHeuristic implements IStateHeuristic {
         if (playerResult == Utils.GameResult.WIN)
             return 1;
 
-        int nHealthyOrgans = 0;
-        for (VirusOrgan o: vgs.playerBodies.get(playerId).organs.values()) {
-            if (o.isHealthy()) {
-                nHealthyOrgans ++;
-            }
-        }
-        return nHealthyOrgans*1.0/vgs.playerBodies.get(playerId).organs.size();
+        // Treatment is not an organ
+        int nHealthyOrgans = vgs.playerBodies.get(playerId).getNOrganHealthy();
+        return nHealthyOrgans*1.0/(VirusCard.OrganType.values().length-1);
     }
 }
\ No newline at end of file
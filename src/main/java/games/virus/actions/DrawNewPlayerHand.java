@@ -8,9 +8,9 @@ import games.virus.VirusGameParameters;
 import games.virus.VirusGameState;
 import games.virus.cards.VirusCard;
 import games.virus.components.VirusBody;
+import utilities.FastRandom;
 
 import java.util.Objects;
-import java.util.Random;
 
 public class DrawNewPlayerHand extends AbstractAction implements IPrintable {
 
@@ -46,7 +46,7 @@ public class DrawNewPlayerHand extends AbstractAction implements IPrintable {
             VirusCard card = vgs.getDiscardDeck().draw();
             vgs.getDrawDeck().add(card);
         }
-        vgs.getDrawDeck().shuffle(new Random(vgs.getGameParameters().getRandomSeed()));
+        vgs.getDrawDeck().shuffle(new FastRandom(vgs.getGameParameters().getRandomSeed()));
     }
 
     @Override
@@ -2,10 +2,8 @@ package games.virus.actions;
 
 import core.AbstractGameState;
 import core.actions.AbstractAction;
-import core.components.Deck;
 import core.interfaces.IPrintable;
 import games.virus.VirusGameState;
-import games.virus.cards.VirusCard;
 import games.virus.components.VirusBody;
 
 import java.util.Objects;
@@ -31,28 +29,7 @@ public class PlayMedicalError extends PlayVirusCard implements IPrintable {
         VirusBody myBody    = (VirusBody) vgs.getComponentById(bodyId);
         VirusBody otherBody = (VirusBody) vgs.getComponentById(otherBodyId);
 
-        VirusBody temp = new VirusBody();
-
-        for (VirusCard.OrganType organType : VirusCard.OrganType.values()) {
-            if (myBody.hasOrgan(organType)) {
-                Deck<VirusCard> cards = myBody.removeOrgan(organType);
-                temp.addCardsToOrgan(cards, organType);
-            }
-        }
-
-        for (VirusCard.OrganType organType : VirusCard.OrganType.values()) {
-            if (otherBody.hasOrgan(organType)) {
-                Deck<VirusCard> cards = otherBody.removeOrgan(organType);
-                myBody.addCardsToOrgan(cards, organType);
-            }
-        }
-
-        for (VirusCard.OrganType organType : VirusCard.OrganType.values()) {
-            if (temp.hasOrgan(organType)) {
-                Deck<VirusCard> cards = temp.removeOrgan(organType);
-                otherBody.addCardsToOrgan(cards, organType);
-            }
-        }
+        myBody.swapOrgans(otherBody);
 
         return true;
     }
@@ -2,7 +2,6 @@ package games.virus.actions;
 
 import core.AbstractGameState;
 import core.actions.AbstractAction;
-import core.components.Deck;
 import core.interfaces.IPrintable;
 import games.virus.VirusGameState;
 import games.virus.cards.VirusCard;
@@ -30,7 +29,7 @@ public class PlayOrganThief extends PlayVirusCard implements IPrintable {
         VirusBody myBody    = (VirusBody) vgs.getComponentById(bodyId);
         VirusBody otherBody = (VirusBody) vgs.getComponentById(otherBodyId);
 
-        Deck<VirusCard> cards = otherBody.removeOrgan(organ);
+        VirusCard[] cards = otherBody.removeOrgan(organ);
         myBody.addCardsToOrgan(cards, organ);
 
         return true;
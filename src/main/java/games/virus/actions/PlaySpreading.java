@@ -37,7 +37,7 @@ public class PlaySpreading extends PlayVirusCard implements IPrintable {
         VirusBody otherBody = (VirusBody) vgs.getComponentById(otherPlayerBodyId);
 
         VirusCard card = myBody.removeAVirusCard(myOrganType);
-        myBody.organs.get(myOrganType).state= Neutral;
+        myBody.setOrganState(myOrganType, Neutral);
         otherBody.applyVirus(card, otherOrganType);
 
         return true;
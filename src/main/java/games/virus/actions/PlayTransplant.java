@@ -2,7 +2,6 @@ package games.virus.actions;
 
 import core.AbstractGameState;
 import core.actions.AbstractAction;
-import core.components.Deck;
 import core.interfaces.IPrintable;
 import games.virus.VirusGameState;
 import games.virus.cards.VirusCard;
@@ -35,8 +34,8 @@ public class PlayTransplant extends PlayVirusCard implements IPrintable {
         VirusBody myBody    = (VirusBody) vgs.getComponentById(bodyId);
         VirusBody otherBody = (VirusBody) vgs.getComponentById(otherBodyId);
 
-        Deck<VirusCard> myCards    = myBody.removeOrgan(myOrganType);
-        Deck<VirusCard> otherCards = otherBody.removeOrgan(otherOrganType);
+        VirusCard[] myCards    = myBody.removeOrgan(myOrganType);
+        VirusCard[] otherCards = otherBody.removeOrgan(otherOrganType);
 
         myBody.addCardsToOrgan(otherCards, otherOrganType);
         otherBody.addCardsToOrgan(myCards, myOrganType);
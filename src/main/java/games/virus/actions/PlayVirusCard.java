@@ -6,9 +6,9 @@ import core.actions.DrawCard;
 import games.virus.VirusGameState;
 import games.virus.cards.VirusCard;
 import games.virus.components.VirusBody;
+import utilities.FastRandom;
 
 import java.util.Objects;
-import java.util.Random;
 
 public class PlayVirusCard extends DrawCard {
     public int bodyId;
@@ -60,7 +60,7 @@ public class PlayVirusCard extends DrawCard {
     public void discardToDraw(VirusGameState vgs) {
         vgs.getDrawDeck().add(vgs.getDiscardDeck());
         vgs.getDiscardDeck().clear();
-        vgs.getDrawDeck().shuffle(new Random(vgs.getGameParameters().getRandomSeed()));
+        vgs.getDrawDeck().shuffle(new FastRandom(vgs.getGameParameters().getRandomSeed()));
     }
 
     @Override
@@ -6,9 +6,9 @@ import core.actions.DrawComponents;
 import core.components.Deck;
 import games.virus.VirusGameState;
 import games.virus.cards.VirusCard;
+import utilities.FastRandom;
 
 import java.util.Objects;
-import java.util.Random;
 
 public class ReplaceAllCards extends DrawComponents {
     protected int deckDraw;
@@ -59,7 +59,7 @@ public class ReplaceAllCards extends DrawComponents {
     public void discardToDraw(VirusGameState vgs) {
         vgs.getDrawDeck().add(vgs.getDiscardDeck());
         vgs.getDiscardDeck().clear();
-        vgs.getDrawDeck().shuffle(new Random(vgs.getGameParameters().getRandomSeed()));
+        vgs.getDrawDeck().shuffle(new FastRandom(vgs.getGameParameters().getRandomSeed()));
     }
 
     @Override
@@ -6,10 +6,10 @@ import core.actions.DrawComponents;
 import core.components.Deck;
 import games.virus.VirusGameState;
 import games.virus.cards.VirusCard;
+import utilities.FastRandom;
 
 import java.util.ArrayList;
 import java.util.Objects;
-import java.util.Random;
 
 /**
  * Move n components (deckFrom -> deckTo), and draw n others to replace them (deckDraw -> deckFrom).
@@ -64,7 +64,7 @@ public class ReplaceCards extends DrawComponents {
             VirusCard card = vgs.getDiscardDeck().draw();
             vgs.getDrawDeck().add(card);
         }
-        vgs.getDrawDeck().shuffle(new Random(vgs.getGameParameters().getRandomSeed()));
+        vgs.getDrawDeck().shuffle(new FastRandom(vgs.getGameParameters().getRandomSeed()));
     }
 
     @Override
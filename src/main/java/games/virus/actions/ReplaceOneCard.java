@@ -7,9 +7,9 @@ import core.actions.DrawCard;
 import core.components.Deck;
 import games.virus.VirusGameState;
 import games.virus.cards.VirusCard;
+import utilities.FastRandom;
 
 import java.util.Objects;
-import java.util.Random;
 
 /**
  * Move 1 component (deckFrom -> deckTo), and draw another to replace them (deckDraw -> deckFrom).
@@ -44,7 +44,7 @@ public class ReplaceOneCard extends DrawCard {
             VirusCard card = vgs.getDiscardDeck().draw();
             vgs.getDrawDeck().add(card);
         }
-        vgs.getDrawDeck().shuffle(new Random(vgs.getGameParameters().getRandomSeed()));
+        vgs.getDrawDeck().shuffle(new FastRandom(vgs.getGameParameters().getRandomSeed()));
     }
 
 
@@ -40,8 +40,13 @@ public class VirusCard extends Card {
         return "VirusCard{" + type + ": " + organ + '}';
     }
 
+    @Override
+    public boolean isImmutable() {
+        return true;
+    }
+
     @Override
     public Card copy() {
-        return new VirusCard(organ, type, componentID);
+        return this;
     }
 }
@@ -12,7 +12,7 @@ public class VirusTreatmentCard extends VirusCard {
         MedicalError
     }
 
-    public TreatmentType treatmentType;
+    public final TreatmentType treatmentType;
 
     public VirusTreatmentCard(TreatmentType treatmentType) {
         super(OrganType.Treatment, VirusCardType.Treatment);
@@ -31,6 +31,6 @@ public class VirusTreatmentCard extends VirusCard {
 
     @Override
     public Card copy() {
-        return new VirusTreatmentCard(treatmentType, componentID);
+        return this;
     }
 }
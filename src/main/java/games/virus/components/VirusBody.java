@@ -2,61 +2,92 @@ package games.virus.components;
 
 import core.CoreConstants;
 import core.components.Component;
-import core.components.Deck;
 import core.interfaces.IComponentContainer;
 import games.virus.cards.VirusCard;
+import games.virus.components.VirusOrgan.VirusOrganState;
 import utilities.Utils;
 
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
 
-public class VirusBody extends Component implements IComponentContainer<VirusOrgan> {
-    public HashMap<VirusCard.OrganType, VirusOrgan> organs;
+import static core.CoreConstants.*;
+
+/**
+ * Body of a player: the state of each organ, and the cards on it. Both are kept in arrays indexed by the ordinal of
+ * the organ type, so checking an organ is an array read and copying a body copies three small arrays. Virus cards are
+ * immutable, so the cards on an organ are shared with the copies.
+ */
+public class VirusBody extends Component implements IComponentContainer<VirusCard> {
+    // Most cards an organ can hold: the organ and two medicines, when immunised
+    private static final int MAX_CARDS = 3;
+    private static final VirusCard.OrganType[] organTypes = VirusCard.OrganType.values();
+
+    // State of each organ, by organ type; Treatment is not an organ, and is always None
+    private VirusOrganState[] states;
+    // Cards on each organ, MAX_CARDS slots per organ type, from the organ card up to the last card added
+    private VirusCard[] cards;
+    private int[] nCards;
 
     public VirusBody()
     {
         super(Utils.ComponentType.TOKEN);
-        organs = new HashMap<>();
-        for (VirusCard.OrganType oType : VirusCard.OrganType.values())
-            if (oType != VirusCard.OrganType.Treatment)
-                organs.put(oType, new VirusOrgan());
+        states = new VirusOrganState[organTypes.length];
+        Arrays.fill(states, VirusOrganState.None);
+        cards = new VirusCard[organTypes.length * MAX_CARDS];
+        nCards = new int[organTypes.length];
     }
 
     protected VirusBody(int ID)
     {
         super(Utils.ComponentType.TOKEN, ID);
-        organs = new HashMap<>();
-        for (VirusCard.OrganType oType : VirusCard.OrganType.values())
-            organs.put(oType, new VirusOrgan());
     }
 
     @Override
     public Component copy() {
         VirusBody vb = new VirusBody(componentID);
-        vb.organs = new HashMap<>();
-        for (Map.Entry<VirusCard.OrganType, VirusOrgan> e: organs.entrySet()) {
-            vb.organs.put(e.getKey(), (VirusOrgan) e.getValue().copy());
-        }
+        vb.states = states.clone();
+        vb.cards = cards.clone();
+        vb.nCards = nCards.clone();
         return vb;
     }
 
     @Override
     public String toString() {
-        String s = "";
-        for (Map.Entry<VirusCard.OrganType, VirusOrgan> e: organs.entrySet()) {
-            s += e.getKey() + ": " + e.getValue().toString() + " ";
+        StringBuilder s = new StringBuilder();
+        for (VirusCard.OrganType organ : organTypes) {
+            if (organ != VirusCard.OrganType.Treatment)
+                s.append(organ).append(": ").append(stateString(states[organ.ordinal()])).append(" ");
         }
-        return s;
+        return s.toString();
     }
 
-    public HashMap<VirusCard.OrganType, VirusOrgan> getOrgans() {
-        return organs;
+    private static String stateString(VirusOrganState state) {
+        switch (state) {
+            case Neutral:        return ANSI_BLUE  + "Neutral       " + ANSI_RESET;
+            case Infected:       return ANSI_RED   + "Infected      " + ANSI_RESET;
+            case InfectedWild:   return ANSI_RED   + "InfectedWild  " + ANSI_RESET;
+            case Immunised:      return ANSI_GREEN + "Immunised     " + ANSI_RESET;
+            case Vaccinated:     return ANSI_GREEN + "Vaccinated    " + ANSI_RESET;
+            case VaccinatedWild: return ANSI_GREEN + "VaccinatedWild" + ANSI_RESET;
+            default:             return               "None          ";
+        }
+    }
+
+    /**
+     * @param organ: organ type
+     * @return state of the organ of this type
+     */
+    public VirusOrganState getOrganState(VirusCard.OrganType organ) {
+        return states[organ.ordinal()];
+    }
+
+    public void setOrganState(VirusCard.OrganType organ, VirusOrganState state) {
+        states[organ.ordinal()] = state;
     }
 
     public boolean hasOrgan(VirusCard.OrganType organ) {
-        return organ != VirusCard.OrganType.Treatment && organs.get(organ).state != VirusOrgan.VirusOrganState.None;
+        return states[organ.ordinal()] != VirusOrganState.None;
     }
 
     /**
@@ -65,7 +96,7 @@ public class VirusBody extends Component implements IComponentContainer<VirusOrg
      * @return true or false
      */
     public boolean hasOrganVaccinatedWild(VirusCard.OrganType organ) {
-        return organ != VirusCard.OrganType.Treatment && organs.get(organ).state == VirusOrgan.VirusOrganState.VaccinatedWild;
+        return states[organ.ordinal()] == VirusOrganState.VaccinatedWild;
     }
 
     /**
@@ -74,7 +105,7 @@ public class VirusBody extends Component implements IComponentContainer<VirusOrg
      * @return true or false
      */
     public boolean hasOrganNeutral(VirusCard.OrganType organ) {
-        return organ != VirusCard.OrganType.Treatment && organs.get(organ).state == VirusOrgan.VirusOrganState.Neutral;
+        return states[organ.ordinal()] == VirusOrganState.Neutral;
     }
 
     /**
@@ -83,7 +114,7 @@ public class VirusBody extends Component implements IComponentContainer<VirusOrg
      * @return true or false
      */
     public boolean hasOrganInfectedWild(VirusCard.OrganType organ) {
-        return organ != VirusCard.OrganType.Treatment && organs.get(organ).state == VirusOrgan.VirusOrganState.InfectedWild;
+        return states[organ.ordinal()] == VirusOrganState.InfectedWild;
     }
 
     /**
@@ -92,89 +123,128 @@ public class VirusBody extends Component implements IComponentContainer<VirusOrg
      * @return true or false
      */
     public boolean hasOrganInfected(VirusCard.OrganType organ) {
-        return organs.get(organ).state == VirusOrgan.VirusOrganState.Infected ||
-                organs.get(organ).state == VirusOrgan.VirusOrganState.InfectedWild;
+        VirusOrganState state = states[organ.ordinal()];
+        return state == VirusOrganState.Infected || state == VirusOrganState.InfectedWild;
     }
 
     public boolean organNotYetImmunised(VirusCard.OrganType organ) {
-        return organs.get(organ).state != VirusOrgan.VirusOrganState.Immunised;
+        return states[organ.ordinal()] != VirusOrganState.Immunised;
     }
 
     public void addOrgan(VirusCard card) {
-        organs.get(card.organ).initialiseOrgan();
-        organs.get(card.organ).cards.add(card);
+        states[card.organ.ordinal()] = VirusOrganState.Neutral;
+        addCard(card, card.organ);
     }
 
     /**
      * Add cards to an organ (at state None) and actualize the state
+     * @param organCards: cards as returned by removeOrgan(), from the organ card up
      * @param organType: organ type
      */
-    public void addCardsToOrgan(Deck<VirusCard> cards, VirusCard.OrganType organType) {
-        // add cards in the correct order
-        for (int i=cards.getSize()-1; i>=0; i--) {
-            organs.get(organType).cards.add(cards.get(i));
+    public void addCardsToOrgan(VirusCard[] organCards, VirusCard.OrganType organType) {
+        for (VirusCard card : organCards) {
+            addCard(card, organType);
         }
 
-        // card 0th is the virus or medicine
-        // card 1st is the organ
-        if (cards.getSize() == 1)
-            organs.get(organType).state = VirusOrgan.VirusOrganState.Neutral;
-        else if (cards.getSize() == 2)
-        {
-            if (organs.get(organType).cards.get(0).type == VirusCard.VirusCardType.Medicine) {
-                if (organs.get(organType).cards.get(0).organ == VirusCard.OrganType.Wild)
-                    organs.get(organType).state = VirusOrgan.VirusOrganState.VaccinatedWild;
-                else
-                    organs.get(organType).state = VirusOrgan.VirusOrganState.Vaccinated;
-            }
-            else if (organs.get(organType).cards.get(0).type == VirusCard.VirusCardType.Virus)
-            {
-                if (organs.get(organType).cards.get(0).organ == VirusCard.OrganType.Wild)
-                    organs.get(organType).state = VirusOrgan.VirusOrganState.InfectedWild;
-                else
-                    organs.get(organType).state = VirusOrgan.VirusOrganState.Infected;
-            }
+        // card 0th is the organ
+        // card 1st is the virus or medicine
+        // with 3 cards (the organ and two medicines) the organ is immunised
+        VirusOrganState state = VirusOrganState.Neutral;
+        if (organCards.length == 2) {
+            VirusCard top = organCards[1];
+            if (top.type == VirusCard.VirusCardType.Medicine)
+                state = top.organ == VirusCard.OrganType.Wild ? VirusOrganState.VaccinatedWild : VirusOrganState.Vaccinated;
+            else if (top.type == VirusCard.VirusCardType.Virus)
+                state = top.organ == VirusCard.OrganType.Wild ? VirusOrganState.InfectedWild : VirusOrganState.Infected;
+        } else if (organCards.length == 3) {
+            state = VirusOrganState.Immunised;
         }
+        states[organType.ordinal()] = state;
     }
 
     /**
      * Returns the cards in the organ organType and set the state of the organ to None
      * @param organType: organ type
-     * @return Deck<VirusCard> included in the organ
+     * @return cards included in the organ, from the organ card up
      */
-    public Deck<VirusCard> removeOrgan(VirusCard.OrganType organType)
+    public VirusCard[] removeOrgan(VirusCard.OrganType organType)
     {
-        Deck<VirusCard> cards = organs.get(organType).cards.copy();
-        organs.get(organType).cards.clear();
-        organs.get(organType).state = VirusOrgan.VirusOrganState.None;
-        return cards;
+        int o = organType.ordinal();
+        VirusCard[] organCards = Arrays.copyOfRange(cards, o * MAX_CARDS, o * MAX_CARDS + nCards[o]);
+        Arrays.fill(cards, o * MAX_CARDS, o * MAX_CARDS + nCards[o], null);
+        nCards[o] = 0;
+        states[o] = VirusOrganState.None;
+        return organCards;
     }
 
-    public VirusOrgan.VirusOrganState applyMedicine(VirusCard card, VirusCard.OrganType organ) {
-        VirusOrgan.VirusOrganState newState = organs.get(organ).applyMedicine(card.organ == VirusCard.OrganType.Wild);
-        organs.get(organ).cards.add(card);
+    /**
+     * Swaps all organs, and the cards on them, with those of another body.
+     * @param other: other body
+     */
+    public void swapOrgans(VirusBody other) {
+        VirusOrganState[] s = states;
+        states = other.states;
+        other.states = s;
+        VirusCard[] c = cards;
+        cards = other.cards;
+        other.cards = c;
+        int[] n = nCards;
+        nCards = other.nCards;
+        other.nCards = n;
+    }
+
+    public VirusOrganState applyMedicine(VirusCard card, VirusCard.OrganType organ) {
+        VirusOrganState newState = states[organ.ordinal()].applyMedicine(card.organ == VirusCard.OrganType.Wild);
+        states[organ.ordinal()] = newState;
+        addCard(card, organ);
         return newState;
     }
 
-    public VirusOrgan.VirusOrganState applyVirus(VirusCard card, VirusCard.OrganType organ) {
-        VirusOrgan.VirusOrganState newState = organs.get(organ).applyVirus(card.organ == VirusCard.OrganType.Wild);
-        organs.get(organ).cards.add(card);
+    public VirusOrganState applyVirus(VirusCard card, VirusCard.OrganType organ) {
+        VirusOrganState newState = states[organ.ordinal()].applyVirus(card.organ == VirusCard.OrganType.Wild);
+        states[organ.ordinal()] = newState;
+        addCard(card, organ);
         return newState;
     }
 
     public VirusCard removeAVirusCard(VirusCard.OrganType organ)
     {
-        return organs.get(organ).removeAVirusCard();
+        return removeACard(organ, VirusCard.VirusCardType.Virus);
     }
 
     public VirusCard removeAMedicineCard(VirusCard.OrganType organ)
     {
-        return organs.get(organ).removeAMedicineCard();
+        return removeACard(organ, VirusCard.VirusCardType.Medicine);
     }
 
     public VirusCard removeAnOrganCard(VirusCard.OrganType organ)
     {
-        return organs.get(organ).removeAnOrganCard();
+        return removeACard(organ, VirusCard.VirusCardType.Organ);
+    }
+
+    private void addCard(VirusCard card, VirusCard.OrganType organ) {
+        int o = organ.ordinal();
+        if (nCards[o] == MAX_CARDS)
+            throw new AssertionError("No room for " + card + " on organ " + organ);
+        cards[o * MAX_CARDS + nCards[o]] = card;
+        nCards[o]++;
+    }
+
+    // Remove from the organ the last card added of the given type.
+    // Return the removed card, or null if there is none
+    private VirusCard removeACard(VirusCard.OrganType organ, VirusCard.VirusCardType type) {
+        int o = organ.ordinal();
+        int first = o * MAX_CARDS;
+        for (int i = first + nCards[o] - 1; i >= first; i--) {
+            VirusCard card = cards[i];
+            if (card.type == type) {
+                System.arraycopy(cards, i + 1, cards, i, first + nCards[o] - 1 - i);
+                nCards[o]--;
+                cards[first + nCards[o]] = null;
+                return card;
+            }
+        }
+        return null;
     }
 
     /**
@@ -184,16 +254,25 @@ public class VirusBody extends Component implements IComponentContainer<VirusOrg
     public int getNOrganHealthy()
     {
         int nHealthy = 0;
-        for (VirusOrgan organ: organs.values()) {
-            if (organ.isHealthy())
+        for (VirusOrganState state : states) {
+            if (state.isHealthy())
                 nHealthy ++;
         }
         return nHealthy;
     }
 
     @Override
-    public List<VirusOrgan> getComponents() {
-        return new ArrayList<>(organs.values());
+    public List<VirusCard> getComponents() {
+        int n = 0;
+        for (int c : nCards) {
+            n += c;
+        }
+        List<VirusCard> onBody = new ArrayList<>(n);
+        for (VirusCard card : cards) {
+            if (card != null)
+                onBody.add(card);
+        }
+        return onBody;
     }
 
     @Override
@@ -0,0 +1,156 @@
+package games.virus.test;
+
+import core.AbstractPlayer;
+import core.components.Deck;
+import games.virus.VirusGame;
+import games.virus.VirusGameParameters;
+import games.virus.VirusGameState;
+import games.virus.actions.PlayMedicalError;
+import games.virus.actions.PlayTransplant;
+import games.virus.cards.VirusCard;
+import games.virus.cards.VirusTreatmentCard;
+import games.virus.components.VirusBody;
+import games.virus.components.VirusOrgan.VirusOrganState;
+import org.junit.*;
+import players.simple.RandomPlayer;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static games.virus.cards.VirusCard.OrganType.*;
+import static games.virus.cards.VirusCard.VirusCardType.*;
+import static org.junit.Assert.*;
+
+public class OrganStates {
+
+    List<AbstractPlayer> players = Arrays.asList(new RandomPlayer(),
+            new RandomPlayer(),
+            new RandomPlayer());
+
+    VirusGame game = new VirusGame(players, new VirusGameParameters(47));
+    VirusGameState state = (VirusGameState) game.getGameState();
+
+    static VirusBody immunisedHeart(VirusBody body) {
+        body.addOrgan(new VirusCard(Heart, Organ));
+        body.applyMedicine(new VirusCard(Heart, Medicine), Heart);
+        body.applyMedicine(new VirusCard(Wild, Medicine), Heart);
+        return body;
+    }
+
+    /**
+     * Puts a treatment card of the given type in the hand of the current player.
+     *
+     * @return - index of the card in the hand.
+     */
+    int handTreatment(VirusTreatmentCard.TreatmentType type) {
+        state.getPlayerDecks().get(state.getCurrentPlayer()).add(new VirusTreatmentCard(type));
+        return 0;
+    }
+
+    @Test
+    public void medicinesAndViruses() {
+        VirusBody body = new VirusBody();
+        assertFalse(body.hasOrgan(Brain));
+        VirusCard brain = new VirusCard(Brain, Organ);
+        body.addOrgan(brain);
+        assertTrue(body.hasOrganNeutral(Brain));
+
+        VirusCard wildVirus = new VirusCard(Wild, Virus);
+        assertEquals(VirusOrganState.InfectedWild, body.applyVirus(wildVirus, Brain));
+        assertTrue(body.hasOrganInfected(Brain));
+        assertTrue(body.hasOrganInfectedWild(Brain));
+        assertEquals(0, body.getNOrganHealthy());
+
+        // A medicine cures the organ, and both cards are discarded
+        VirusCard medicine = new VirusCard(Brain, Medicine);
+        assertEquals(VirusOrganState.Neutral, body.applyMedicine(medicine, Brain));
+        assertEquals(Arrays.asList(brain, wildVirus, medicine), body.getComponents());
+        assertSame(medicine, body.removeAMedicineCard(Brain));
+        assertSame(wildVirus, body.removeAVirusCard(Brain));
+        assertEquals(1, body.getNOrganHealthy());
+
+        assertEquals(VirusOrganState.VaccinatedWild, body.applyMedicine(new VirusCard(Wild, Medicine), Brain));
+        assertTrue(body.hasOrganVaccinatedWild(Brain));
+        assertEquals(VirusOrganState.Immunised, body.applyMedicine(new VirusCard(Brain, Medicine), Brain));
+        assertFalse(body.organNotYetImmunised(Brain));
+        assertEquals(3, body.getComponents().size());
+        assertSame(brain, body.getComponents().get(0));
+        assertFalse(body.hasOrgan(Stomach));
+    }
+
+    @Test
+    public void copiesAreIndependent() {
+        VirusBody body = immunisedHeart(new VirusBody());
+        body.addOrgan(new VirusCard(Bone, Organ));
+        VirusBody copy = (VirusBody) body.copy();
+        assertEquals(body.getComponentID(), copy.getComponentID());
+        assertEquals(VirusOrganState.Immunised, copy.getOrganState(Heart));
+        assertEquals(body.getComponents(), copy.getComponents());
+
+        copy.applyVirus(new VirusCard(Bone, Virus), Bone);
+        copy.removeOrgan(Heart);
+        assertEquals(VirusOrganState.Immunised, body.getOrganState(Heart));
+        assertEquals(VirusOrganState.Neutral, body.getOrganState(Bone));
+        assertEquals(4, body.getComponents().size());
+        assertEquals(VirusOrganState.Infected, copy.getOrganState(Bone));
+        assertEquals(2, copy.getComponents().size());
+    }
+
+    @Test
+    public void transplantKeepsOrganStates() {
+        VirusBody myBody = state.getPlayerBodies().get(0);
+        VirusBody otherBody = state.getPlayerBodies().get(1);
+        immunisedHeart(myBody);
+        VirusCard stomach = new VirusCard(Stomach, Organ);
+        otherBody.addOrgan(stomach);
+        otherBody.applyVirus(new VirusCard(Stomach, Virus), Stomach);
+        List<VirusCard> heartCards = myBody.getComponents();
+
+        Deck<VirusCard> hand = state.getPlayerDecks().get(0);
+        int cardIdx = handTreatment(VirusTreatmentCard.TreatmentType.Transplant);
+        new PlayTransplant(hand.getComponentID(), state.getDiscardDeck().getComponentID(), cardIdx,
+                myBody.getComponentID(), otherBody.getComponentID(), 0, 1, Heart, Stomach).execute(state);
+
+        assertEquals(VirusOrganState.Infected, myBody.getOrganState(Stomach));
+        assertFalse(myBody.hasOrgan(Heart));
+        assertEquals(VirusOrganState.Immunised, otherBody.getOrganState(Heart));
+        assertFalse(otherBody.hasOrgan(Stomach));
+        assertEquals(heartCards, otherBody.getComponents());
+        assertSame(stomach, myBody.getComponents().get(0));
+    }
+
+    @Test
+    public void medicalErrorSwapsBodies() {
+        VirusBody myBody = state.getPlayerBodies().get(0);
+        VirusBody otherBody = state.getPlayerBodies().get(2);
+        immunisedHeart(myBody);
+        myBody.addOrgan(new VirusCard(Brain, Organ));
+        myBody.applyVirus(new VirusCard(Wild, Virus), Brain);
+        otherBody.addOrgan(new VirusCard(Bone, Organ));
+        otherBody.applyMedicine(new VirusCard(Bone, Medicine), Bone);
+        List<VirusCard> myCards = myBody.getComponents();
+        List<VirusCard> otherCards = otherBody.getComponents();
+
+        Deck<VirusCard> hand = state.getPlayerDecks().get(0);
+        int cardIdx = handTreatment(VirusTreatmentCard.TreatmentType.MedicalError);
+        new PlayMedicalError(hand.getComponentID(), state.getDiscardDeck().getComponentID(), cardIdx,
+                myBody.getComponentID(), otherBody.getComponentID(), 0, 2).execute(state);
+
+        // Immunised organs stay immunised, with their cards
+        assertEquals(VirusOrganState.Immunised, otherBody.getOrganState(Heart));
+        assertEquals(VirusOrganState.InfectedWild, otherBody.getOrganState(Brain));
+        assertFalse(otherBody.hasOrgan(Bone));
+        assertEquals(myCards, otherBody.getComponents());
+        assertEquals(VirusOrganState.Vaccinated, myBody.getOrganState(Bone));
+        assertFalse(myBody.hasOrgan(Heart));
+        assertEquals(otherCards, myBody.getComponents());
+        assertEquals(1, myBody.getNOrganHealthy());
+        assertEquals(1, otherBody.getNOrganHealthy());
+
+        // And bodies swapped on a copy are independent of the original ones
+        VirusGameState copy = (VirusGameState) state.copy();
+        copy.getPlayerBodies().get(0).swapOrgans(copy.getPlayerBodies().get(2));
+        assertEquals(VirusOrganState.Immunised, otherBody.getOrganState(Heart));
+        assertEquals(VirusOrganState.Immunised, copy.getPlayerBodies().get(0).getOrganState(Heart));
+    }
+}
@@ -8,7 +8,7 @@ public class WindowInput extends WindowAdapter {
 	/**
 	 * Variable to indicate if the window is closed
 	 */
-	public boolean windowClosed;
+	public volatile boolean windowClosed;
 	
 	/**
 	 * Constructor to initilize the class
@@ -6,10 +6,16 @@ import org.apache.commons.math3.analysis.function.Abs;
 import org.json.simple.*;
 import org.json.simple.parser.JSONParser;
 import org.json.simple.parser.ParseException;
+import players.ismcts.ISMCTSParams;
+import players.ismcts.ISMCTSPlayer;
 import players.mcts.MCTSParams;
 import players.mcts.MCTSPlayer;
+import players.rhea.RHEAParams;
+import players.rhea.RHEAPlayer;
 import players.rmhc.RMHCParams;
 import players.rmhc.RMHCPlayer;
+import players.simple.BanditOSLAParams;
+import players.simple.BanditOSLAPlayer;
 import players.simple.OSLAPlayer;
 import players.simple.RandomPlayer;
 
@@ -88,8 +94,8 @@ public class PlayerFactory {
      * The input can be one of a few things:
      * 1) A JSON file - in which case this is used to generate a player using fromJSONFile()
      * 2) A simple String with any of:
-     * "mcts", "rmhc", "osla", "random", "className"
-     * The first four of these will return the appropriate player with default parameters
+     * "mcts", "ismcts", "rmhc", "rhea", "osla", "banditosla", "random", "className"
+     * The first seven of these will return the appropriate player with default parameters
      * Anything else is interpreted as a class name that implements AbstractPlayer with a no-argument constructor
      *
      * @param data
@@ -114,10 +120,16 @@ public class PlayerFactory {
                 return new RandomPlayer();
             case "osla":
                 return new OSLAPlayer();
+            case "banditosla":
+                return new BanditOSLAPlayer(new BanditOSLAParams(System.currentTimeMillis()));
             case "mcts":
                 return new MCTSPlayer(new MCTSParams(System.currentTimeMillis()));
+            case "ismcts":
+                return new ISMCTSPlayer(new ISMCTSParams(System.currentTimeMillis()));
             case "rmhc":
                 return new RMHCPlayer(new RMHCParams(System.currentTimeMillis()));
+            case "rhea":
+                return new RHEAPlayer(new RHEAParams(System.currentTimeMillis()));
             default:
                 throw new AssertionError("Unknown player key : " + input);
         }
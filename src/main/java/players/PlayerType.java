@@ -4,10 +4,15 @@ import core.*;
 import players.human.ActionController;
 import players.human.HumanConsolePlayer;
 import players.human.HumanGUIPlayer;
+import players.ismcts.ISMCTSParams;
+import players.ismcts.ISMCTSPlayer;
 import players.mcts.MCTSParams;
 import players.mcts.MCTSPlayer;
+import players.rhea.RHEAParams;
+import players.rhea.RHEAPlayer;
 import players.simple.OSLAPlayer;
 import players.simple.RandomPlayer;
+import utilities.FastRandom;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -31,7 +36,9 @@ public enum PlayerType {
     HumanConsolePlayer (new ArrayList<Property>() {{ add(Human); }}),
     Random (new ArrayList<Property>() {{ add(Simple); add(Stochastic); }}),
     OSLA (new ArrayList<Property>() {{ add(Simple); add(Stochastic); add(ForwardPlanning); add(Greedy); }}),
-    MCTS (new ArrayList<Property>() {{ add(Stochastic); add(ForwardPlanning); add(TreeSearch); }});
+    MCTS (new ArrayList<Property>() {{ add(Stochastic); add(ForwardPlanning); add(TreeSearch); }}),
+    ISMCTS (new ArrayList<Property>() {{ add(Stochastic); add(ForwardPlanning); add(TreeSearch); }}),
+    RHEA (new ArrayList<Property>() {{ add(Stochastic); add(ForwardPlanning); }});
 
     /**
      * Converts a given string to the enum type corresponding to the player.
@@ -47,6 +54,10 @@ public enum PlayerType {
                 return OSLA;
             case "mcts":
                 return MCTS;
+            case "ismcts":
+                return ISMCTS;
+            case "rhea":
+                return RHEA;
             case "console":
                 return HumanConsolePlayer;
             case "gui":
@@ -66,7 +77,7 @@ public enum PlayerType {
      */
     public AbstractPlayer createPlayerInstance(long seed, ActionController ac, PlayerParameters params) {
         AbstractPlayer player = null;
-        Random r = new Random(seed);
+        Random r = new FastRandom(seed);
 
         switch(this) {
             case HumanGUIPlayer:
@@ -87,6 +98,18 @@ public enum PlayerType {
                 }
                 player = new MCTSPlayer((MCTSParams) params);
                 break;
+            case ISMCTS:
+                if (params == null) {
+                    params = new ISMCTSParams(seed);
+                }
+                player = new ISMCTSPlayer((ISMCTSParams) params);
+                break;
+            case RHEA:
+                if (params == null) {
+                    params = new RHEAParams(seed);
+                }
+                player = new RHEAPlayer((RHEAParams) params);
+                break;
         }
 
         return player;
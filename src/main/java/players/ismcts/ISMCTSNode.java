@@ -0,0 +1,108 @@
+package players.ismcts;
+
+import core.actions.AbstractAction;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static utilities.Utils.noise;
+
+/**
+ * Node of an Information Set MCTS tree. A node stands for all the states reached by the same sequence of actions from
+ * the root, whatever the hidden information is in each of them, so one node represents an information set of the
+ * player owning the tree rather than a single state. In the tree of one of multiple observers, the actions are those
+ * seen by its player.
+ */
+public class ISMCTSNode {
+    // Parent of this node, null for the root
+    final ISMCTSNode parent;
+    // Depth of this node
+    final int depth;
+    // Children of this node, by the action leading to them
+    final Map<AbstractAction, ISMCTSNode> children = new HashMap<>();
+
+    // Total value of this node for each player
+    final double[] totValue;
+    // Number of visits
+    int nVisits;
+    // Number of times the action leading to this node was legal when its parent was visited, i.e. the number of
+    // times this node could have been selected. Used instead of the parent's visits in UCB, as not all actions are
+    // legal in every determinisation.
+    int nAvailable;
+
+    ISMCTSNode(ISMCTSNode parent, int nPlayers) {
+        this.parent = parent;
+        this.depth = parent == null ? 0 : parent.depth + 1;
+        this.totValue = new double[nPlayers];
+    }
+
+    /**
+     * Selects the child with the highest UCB value among those compatible with the current determinisation.
+     *
+     * @param actions - actions legal in the current determinisation, all of them already expanded.
+     * @param player  - player deciding at this node in the current determinisation.
+     * @return - action chosen.
+     */
+    AbstractAction ucb(List<AbstractAction> actions, int player, double K, double epsilon, Random rnd) {
+        AbstractAction bestAction = null;
+        double bestValue = -Double.MAX_VALUE;
+        for (AbstractAction action : actions) {
+            ISMCTSNode child = children.get(action);
+            double childValue = child.totValue[player] / (child.nVisits + epsilon);
+            double explorationTerm = K * Math.sqrt(Math.log(child.nAvailable) / (child.nVisits + epsilon));
+            double uctValue = noise(childValue + explorationTerm, epsilon, rnd.nextDouble());
+            if (uctValue > bestValue) {
+                bestAction = action;
+                bestValue = uctValue;
+            }
+        }
+        if (bestAction == null)
+            throw new AssertionError("We have a null value in UCT : shouldn't really happen!");
+        return bestAction;
+    }
+
+    /**
+     * @return - the child reached by the given action, created if there is none yet.
+     */
+    ISMCTSNode child(AbstractAction action, int nPlayers) {
+        ISMCTSNode child = children.get(action);
+        if (child == null) {
+            child = new ISMCTSNode(this, nPlayers);
+            children.put(action, child);
+        }
+        return child;
+    }
+
+    /**
+     * Back up the value of an iteration from this node through all parents.
+     *
+     * @param result - value of the iteration for each player.
+     */
+    void backUp(double[] result) {
+        ISMCTSNode n = this;
+        while (n != null) {
+            n.nVisits++;
+            for (int j = 0; j < result.length; j++)
+                n.totValue[j] += result[j];
+            n = n.parent;
+        }
+    }
+
+    public int getVisits() {
+        return nVisits;
+    }
+
+    public int getAvailable() {
+        return nAvailable;
+    }
+
+    public double[] getTotValue() {
+        return totValue;
+    }
+
+    public Map<AbstractAction, ISMCTSNode> getChildren() {
+        return children;
+    }
+}
@@ -0,0 +1,78 @@
+package players.ismcts;
+
+import core.AbstractGameState;
+import core.AbstractParameters;
+import core.AbstractPlayer;
+import core.interfaces.IStateHeuristic;
+import players.PlayerParameters;
+import players.mcts.MCTSEnums;
+import players.simple.RandomPlayer;
+import utilities.FastRandom;
+
+import java.util.Arrays;
+
+import static players.mcts.MCTSEnums.Strategies.RANDOM;
+
+public class ISMCTSParams extends PlayerParameters {
+
+    public double K = Math.sqrt(2);
+    public int rolloutLength = 10;
+    public int maxTreeDepth = 10;
+    public double epsilon = 1e-6;
+    public MCTSEnums.Strategies rolloutType = RANDOM;
+    // One tree per player, following moves as each player sees them (see ISMCTSPlayer)
+    public boolean multipleObserver = false;
+    private IStateHeuristic heuristic = AbstractGameState::getHeuristicScore;
+
+    public ISMCTSParams() {
+        this(System.currentTimeMillis());
+    }
+
+    public ISMCTSParams(long seed) {
+        super(seed);
+        addTunableParameter("K", Math.sqrt(2), Arrays.asList(0.0, 0.1, 1.0, Math.sqrt(2), 3.0, 10.0));
+        addTunableParameter("rolloutLength", 10, Arrays.asList(6, 8, 10, 12, 20));
+        addTunableParameter("maxTreeDepth", 10, Arrays.asList(1, 3, 10, 30));
+        addTunableParameter("epsilon", 1e-6);
+        addTunableParameter("rolloutType", RANDOM);
+        addTunableParameter("multipleObserver", false, Arrays.asList(false, true));
+    }
+
+    @Override
+    public void _reset() {
+        super._reset();
+        K = (double) getParameterValue("K");
+        rolloutLength = (int) getParameterValue("rolloutLength");
+        maxTreeDepth = (int) getParameterValue("maxTreeDepth");
+        epsilon = (double) getParameterValue("epsilon");
+        rolloutType = (MCTSEnums.Strategies) getParameterValue("rolloutType");
+        multipleObserver = (boolean) getParameterValue("multipleObserver");
+    }
+
+    @Override
+    protected AbstractParameters _copy() {
+        return new ISMCTSParams(System.currentTimeMillis());
+    }
+
+    /**
+     * @return Returns the AbstractPlayer policy that will take actions during a rollout.
+     * This defaults to a Random player.
+     */
+    public AbstractPlayer getRolloutStrategy() {
+        switch (rolloutType) {
+            case RANDOM:
+                return new RandomPlayer(new FastRandom(getRandomSeed()).split());
+            default:
+                throw new AssertionError("Unknown rollout type : " + rolloutType);
+        }
+    }
+
+    public IStateHeuristic getHeuristic() {
+        return heuristic;
+    }
+
+    @Override
+    public ISMCTSPlayer instantiate() {
+        return new ISMCTSPlayer(this);
+    }
+}
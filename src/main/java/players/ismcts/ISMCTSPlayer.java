@@ -0,0 +1,272 @@
+package players.ismcts;
+
+import core.AbstractGameState;
+import core.AbstractPlayer;
+import core.CoreConstants;
+import core.actions.AbstractAction;
+import core.interfaces.IPartialObservableAction;
+import core.interfaces.IStateHeuristic;
+import players.PlayerConstants;
+import players.simple.RandomPlayer;
+import utilities.ElapsedCpuTimer;
+import utilities.FastRandom;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static players.PlayerConstants.*;
+import static utilities.Utils.noise;
+
+/**
+ * Information Set MCTS (Cowling, Powley and Whitehouse, 2012).
+ *
+ * The tree is searched from the information set of this player: each iteration samples one determinisation of the
+ * hidden information (the components returned by getUnknownComponentsIds(), via a copy of the state for this player),
+ * and then descends the tree using only the actions legal in that determinisation. UCB uses, for each child, the
+ * number of times it was available for selection instead of the number of visits of its parent.
+ *
+ * Single-observer ISMCTS (the default) builds one tree, in which the moves of other players are told apart as they
+ * are played, even where this player could not see them. With params.multipleObserver, each player has a tree of its
+ * own, in which the moves of others are only told apart as far as that player sees them (see
+ * IPartialObservableAction); each player selects its moves in its own tree, and all trees follow each move played.
+ */
+public class ISMCTSPlayer extends AbstractPlayer {
+
+    // Random object for this player
+    protected Random rnd;
+    // Parameters for this player
+    protected ISMCTSParams params;
+    IStateHeuristic heuristic;
+    AbstractPlayer rolloutStrategy;
+    // Root of the tree searched for the last decision
+    protected ISMCTSNode root;
+    // Roots of the trees of all players with multiple observers, only the root above otherwise
+    private ISMCTSNode[] roots;
+
+    // Budget tracking
+    private int fmCalls;
+    private int copyCalls;
+
+    public ISMCTSPlayer() {
+        this(System.currentTimeMillis());
+    }
+
+    public ISMCTSPlayer(long seed) {
+        this(new ISMCTSParams(seed));
+    }
+
+    public ISMCTSPlayer(ISMCTSParams params) {
+        this(params, "ISMCTSPlayer");
+    }
+
+    public ISMCTSPlayer(ISMCTSParams params, String name) {
+        this.params = params;
+        rnd = new FastRandom(params.getRandomSeed());
+        rolloutStrategy = params.getRolloutStrategy();
+        heuristic = params.getHeuristic();
+        setName(name);
+    }
+
+    /**
+     * The observation is only copied for each determinisation, never modified.
+     */
+    @Override
+    public CoreConstants.ObservationType getObservationType() {
+        return CoreConstants.ObservationType.READ_ONLY;
+    }
+
+    @Override
+    public AbstractAction getAction(AbstractGameState gameState, List<AbstractAction> actions) {
+        int nPlayers = gameState.getNPlayers();
+        roots = new ISMCTSNode[params.multipleObserver ? nPlayers : 1];
+        for (int p = 0; p < roots.length; p++) {
+            roots[p] = new ISMCTSNode(null, nPlayers);
+        }
+        root = roots[tree(getPlayerID())];
+        search(gameState);
+        return bestAction(actions);
+    }
+
+    /**
+     * Runs iterations from the information set of the given state until the budget is used up.
+     */
+    private void search(AbstractGameState gameState) {
+        double acumTimeTaken = 0;
+        ElapsedCpuTimer elapsedTimer = new ElapsedCpuTimer();
+        if (params.budgetType == BUDGET_TIME) {
+            elapsedTimer.setMaxTimeMillis(params.budget);
+        }
+        fmCalls = 0;
+        copyCalls = 0;
+        int numIters = 0;
+        boolean stop = false;
+        // Hide what we cannot see once, then only re-sample the hidden information on each iteration
+        AbstractGameState observed = gameState.copy(getPlayerID());
+        copyCalls++;
+        while (!stop) {
+            ElapsedCpuTimer elapsedTimerIteration = new ElapsedCpuTimer();
+
+            // Determinise: sample the information hidden from us once for this iteration
+            observed.redeterminise(getPlayerID(), rnd);
+            AbstractGameState state = observed.copy();
+            copyCalls++;
+            iteration(state);
+            numIters++;
+
+            PlayerConstants budgetType = params.budgetType;
+            if (budgetType == BUDGET_TIME) {
+                acumTimeTaken += (elapsedTimerIteration.elapsedMillis());
+                double avgTimeTaken = acumTimeTaken / numIters;
+                long remaining = elapsedTimer.remainingTimeMillis();
+                stop = remaining <= 2 * avgTimeTaken || remaining <= params.breakMS;
+            } else if (budgetType == BUDGET_ITERATIONS) {
+                stop = numIters >= params.budget;
+            } else if (budgetType == BUDGET_FM_CALLS) {
+                stop = fmCalls > params.budget || numIters > params.budget;
+            } else if (budgetType == BUDGET_COPY_CALLS) {
+                stop = copyCalls > params.budget || numIters > params.budget;
+            } else if (budgetType == BUDGET_FMANDCOPY_CALLS) {
+                stop = (copyCalls + fmCalls) > params.budget || numIters > params.budget;
+            }
+        }
+
+        if (getStatsLogger() != null) {
+            Map<String, Object> stats = new HashMap<>();
+            stats.put("iterations", numIters);
+            stats.put("fmCalls", fmCalls);
+            stats.put("copyCalls", copyCalls);
+            stats.put("time", elapsedTimer.elapsedMillis());
+            stats.put("nActionsRoot", root.children.size());
+            getStatsLogger().record(stats);
+        }
+    }
+
+    /**
+     * @return - index in roots of the tree in which the given player selects its moves.
+     */
+    private int tree(int player) {
+        return params.multipleObserver ? player : 0;
+    }
+
+    /**
+     * One iteration of ISMCTS on the given determinisation: selection and expansion restricted to the actions legal
+     * in it, rollout, and back up.
+     *
+     * @param state - determinisation of the root information set, advanced in place.
+     */
+    private void iteration(AbstractGameState state) {
+        // Node reached in each tree
+        ISMCTSNode[] nodes = roots.clone();
+        boolean expanded = false;
+        while (!expanded && state.isNotTerminal() && nodes[0].depth < params.maxTreeDepth) {
+            List<AbstractAction> actions = getForwardModel().computeAvailableActions(state);
+            if (actions.isEmpty())
+                break;
+            int player = state.getCurrentPlayer();
+            ISMCTSNode node = nodes[tree(player)];
+
+            // Every child compatible with this determinisation was available for selection
+            List<AbstractAction> unexpanded = new ArrayList<>();
+            for (AbstractAction action : actions) {
+                ISMCTSNode child = node.children.get(action);
+                if (child == null)
+                    unexpanded.add(action);
+                else
+                    child.nAvailable++;
+            }
+
+            AbstractAction chosen;
+            if (!unexpanded.isEmpty()) {
+                chosen = unexpanded.get(rnd.nextInt(unexpanded.size()));
+                ISMCTSNode child = new ISMCTSNode(node, state.getNPlayers());
+                child.nAvailable = 1;
+                node.children.put(chosen, child);
+                expanded = true;
+            } else {
+                chosen = node.ucb(actions, player, params.K, params.epsilon, rnd);
+            }
+
+            // The trees of the other players follow the move as they see it
+            for (int p = 0; p < nodes.length; p++) {
+                if (p != tree(player))
+                    nodes[p] = nodes[p].child(observedAction(state, chosen, p), state.getNPlayers());
+            }
+            // we copy the action so that the one stored in the tree will not have any state changes
+            getForwardModel().next(state, chosen.copy());
+            fmCalls++;
+            nodes[tree(player)] = node.children.get(chosen);
+        }
+
+        double[] result = rollOut(state);
+        for (ISMCTSNode node : nodes) {
+            node.backUp(result);
+        }
+    }
+
+    /**
+     * @return - the given action as seen by the given player, in the state it is about to be applied to.
+     */
+    private static AbstractAction observedAction(AbstractGameState state, AbstractAction action, int player) {
+        if (action instanceof IPartialObservableAction && player != state.getCurrentPlayer())
+            return ((IPartialObservableAction) action).getObservedAction(state, player);
+        return action;
+    }
+
+    /**
+     * Perform a Monte Carlo rollout from the given state, and evaluate the state reached.
+     *
+     * @return - value of rollout for each player.
+     */
+    private double[] rollOut(AbstractGameState state) {
+        int rolloutDepth = 0;
+        while (rolloutDepth < params.rolloutLength && state.isNotTerminal()) {
+            AbstractAction next;
+            if (rolloutStrategy instanceof RandomPlayer) {
+                next = ((RandomPlayer) rolloutStrategy).getAction(getForwardModel(), state);
+            } else {
+                List<AbstractAction> availableActions = getForwardModel().computeAvailableActions(state);
+                next = availableActions.isEmpty() ? null : rolloutStrategy.getAction(state, availableActions);
+            }
+            if (next == null)
+                break;
+            getForwardModel().next(state, next);
+            fmCalls++;
+            rolloutDepth++;
+        }
+        double[] retValue = new double[state.getNPlayers()];
+        for (int i = 0; i < retValue.length; i++) {
+            retValue[i] = heuristic.evaluateState(state, i);
+        }
+        return retValue;
+    }
+
+    /**
+     * @param actions - actions available in the real game state.
+     * @return - the most visited of the given actions at the root.
+     */
+    private AbstractAction bestAction(List<AbstractAction> actions) {
+        AbstractAction bestAction = null;
+        double bestValue = -Double.MAX_VALUE;
+        for (AbstractAction action : actions) {
+            ISMCTSNode child = root.children.get(action);
+            if (child != null) {
+                // Apply small noise to break ties randomly
+                double childValue = noise(child.nVisits, params.epsilon, rnd.nextDouble());
+                if (childValue > bestValue) {
+                    bestValue = childValue;
+                    bestAction = action;
+                }
+            }
+        }
+        if (bestAction == null)
+            return actions.get(rnd.nextInt(actions.size()));
+        return bestAction;
+    }
+
+    public ISMCTSNode getRoot() {
+        return root;
+    }
+}
@@ -0,0 +1,176 @@
+package players.ismcts.test;
+
+import core.AbstractForwardModel;
+import core.AbstractGameState;
+import core.AbstractPlayer;
+import core.Game;
+import core.actions.AbstractAction;
+import games.GameType;
+import games.coltexpress.actions.SchemeAction;
+import games.coltexpress.cards.ColtExpressCard;
+import org.junit.*;
+import players.PlayerConstants;
+import players.ismcts.*;
+import players.simple.RandomPlayer;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class ISMCTSSearch {
+
+    ISMCTSParams params;
+
+    @Before
+    public void setup() {
+        params = new ISMCTSParams(2371);
+        params.budgetType = PlayerConstants.BUDGET_ITERATIONS;
+        params.budget = 200;
+    }
+
+    /**
+     * @return - game of the given type with an ISMCTS player (using the current params) in every seat.
+     */
+    Game createGame(GameType gameType, int nPlayers) {
+        List<AbstractPlayer> players = new ArrayList<>();
+        for (int p = 0; p < nPlayers; p++) {
+            players.add(new ISMCTSPlayer(params));
+        }
+        Game game = gameType.createGameInstance(nPlayers, 3301);
+        game.reset(players);
+        return game;
+    }
+
+    @Test
+    public void iterationsBudgetAtTheRoot() {
+        Game game = createGame(GameType.LoveLetter, 3);
+        AbstractGameState state = game.getGameState();
+        AbstractForwardModel forwardModel = game.getForwardModel();
+        for (int move = 0; move < 6 && state.isNotTerminal(); move++) {
+            ISMCTSPlayer player = (ISMCTSPlayer) game.getPlayers().get(state.getCurrentPlayer());
+            List<AbstractAction> actions = forwardModel.computeAvailableActions(state);
+            AbstractAction chosen = player.getAction(state, actions);
+            assertTrue(actions.contains(chosen));
+
+            ISMCTSNode root = player.getRoot();
+            assertEquals(200, root.getVisits());
+            int childVisits = 0;
+            for (ISMCTSNode child : root.getChildren().values()) {
+                childVisits += child.getVisits();
+                assertTrue(child.getAvailable() >= child.getVisits());
+            }
+            assertEquals(200, childVisits);
+            forwardModel.next(state, chosen);
+        }
+    }
+
+    @Test
+    public void singleObserverGame() {
+        Game game = createGame(GameType.ColtExpress, 3);
+        game.run();
+        assertFalse(game.getGameState().isNotTerminal());
+    }
+
+    @Test
+    public void multipleObserverGame() {
+        params.setParameterValue("multipleObserver", true);
+        params.budget = 200;  // Reset by setting the parameter
+        Game game = createGame(GameType.ColtExpress, 3);
+        game.run();
+        assertFalse(game.getGameState().isNotTerminal());
+    }
+
+    @Test
+    public void schemeActionsAsObserved() {
+        // Other players only tell apart the type of card played, or nothing at all if it is hidden. Each type of
+        // card in hand is only offered once, so only hidden plays are merged.
+        boolean[] seen = new boolean[2];
+        for (long seed = 0; seed < 10; seed++) {
+            Game game = GameType.ColtExpress.createGameInstance(3, seed);
+            game.reset(Arrays.asList(new RandomPlayer(), new RandomPlayer(), new RandomPlayer()));
+            AbstractGameState state = game.getGameState();
+            int other = (state.getCurrentPlayer() + 1) % 3;
+
+            Set<AbstractAction> observedActions = new HashSet<>();
+            Set<String> types = new HashSet<>();
+            int nSchemes = 0;
+            boolean hidden = false;
+            for (AbstractAction action : game.getForwardModel().computeAvailableActions(state)) {
+                if (!(action instanceof SchemeAction)) continue;
+                nSchemes++;
+                SchemeAction scheme = (SchemeAction) action;
+                SchemeAction observed = (SchemeAction) scheme.getObservedAction(state, other);
+                assertEquals(-1, observed.getFromIndex());
+                assertEquals(scheme.getDeckFrom(), observed.getDeckFrom());
+                assertNotEquals(scheme, observed);
+                assertEquals(observed, observed.copy());
+                assertEquals(observed.hashCode(), observed.copy().hashCode());
+
+                hidden = scheme.toString().equals("PlayCard(hidden)");
+                types.add(((ColtExpressCard) scheme.getCard(state)).cardType.name());
+                observedActions.add(observed);
+            }
+            assertTrue(nSchemes > 1);
+            assertEquals(nSchemes, types.size());
+            assertEquals(hidden ? 1 : nSchemes, observedActions.size());
+            seen[hidden ? 1 : 0] = true;
+        }
+        assertTrue(seen[0]);
+        assertTrue(seen[1]);
+    }
+
+    /**
+     * Counts the scheme actions in the tree below the given node, as played ([0]) and as observed ([1]), and checks
+     * that no node has children of both kinds.
+     */
+    static void countSchemes(ISMCTSNode node, int[] counts) {
+        boolean played = false, observed = false;
+        for (Map.Entry<AbstractAction, ISMCTSNode> e : node.getChildren().entrySet()) {
+            if (e.getKey() instanceof SchemeAction) {
+                if (((SchemeAction) e.getKey()).getFromIndex() == -1) {
+                    observed = true;
+                    counts[1]++;
+                } else {
+                    played = true;
+                    counts[0]++;
+                }
+            }
+            countSchemes(e.getValue(), counts);
+        }
+        assertFalse(played && observed);
+    }
+
+    @Test
+    public void treesOfMultipleObservers() {
+        params.setParameterValue("multipleObserver", true);
+        params.budget = 500;
+        Game game = createGame(GameType.ColtExpress, 3);
+        AbstractGameState state = game.getGameState();
+        ISMCTSPlayer player = (ISMCTSPlayer) game.getPlayers().get(state.getCurrentPlayer());
+        List<AbstractAction> actions = game.getForwardModel().computeAvailableActions(state);
+        assertTrue(actions.contains(player.getAction(state, actions)));
+
+        // Our own moves are told apart, those of the other players only as we see them
+        for (AbstractAction action : player.getRoot().getChildren().keySet()) {
+            assertTrue(actions.contains(action));
+        }
+        int[] counts = new int[2];
+        countSchemes(player.getRoot(), counts);
+        assertTrue(counts[0] > 0);
+        assertTrue(counts[1] > 0);
+    }
+
+    @Test
+    public void treeOfSingleObserver() {
+        params.budget = 500;
+        Game game = createGame(GameType.ColtExpress, 3);
+        AbstractGameState state = game.getGameState();
+        ISMCTSPlayer player = (ISMCTSPlayer) game.getPlayers().get(state.getCurrentPlayer());
+        player.getAction(state, game.getForwardModel().computeAvailableActions(state));
+
+        int[] counts = new int[2];
+        countSchemes(player.getRoot(), counts);
+        assertTrue(counts[0] > 0);
+        assertEquals(0, counts[1]);
+    }
+}
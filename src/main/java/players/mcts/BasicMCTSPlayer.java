@@ -3,6 +3,7 @@ package players.mcts;
 import core.AbstractGameState;
 import core.AbstractPlayer;
 import core.actions.AbstractAction;
+import utilities.FastRandom;
 
 import java.util.List;
 import java.util.Random;
@@ -28,7 +29,7 @@ public class BasicMCTSPlayer extends AbstractPlayer {
 
     public BasicMCTSPlayer(long seed) {
         this.params = new MCTSParams(seed);
-        rnd = new Random(seed);
+        rnd = new FastRandom(seed);
 
         // These parameters can be changed, and will impact the Basic MCTS algorithm
         this.params.K = Math.sqrt(2);
@@ -150,10 +150,8 @@ class BasicTreeNode {
      */
     private BasicTreeNode expand() {
         // Find random child not already created
-        Random r = new Random(player.params.getRandomSeed());
-        // pick a random unchosen action
         List<AbstractAction> notChosen = unexpandedActions();
-        AbstractAction chosen = notChosen.get(r.nextInt(notChosen.size()));
+        AbstractAction chosen = notChosen.get(rnd.nextInt(notChosen.size()));
 
         // copy the current state and advance it using the chosen action
         // we first copy the action so that the one stored in the node will not have any state changes
@@ -231,8 +229,7 @@ class BasicTreeNode {
         AbstractGameState rolloutState = state;
         if (player.params.rolloutLength > 0) {
             while (!finishRollout(rolloutState, rolloutDepth)) {
-                List<AbstractAction> availableActions = player.getForwardModel().computeAvailableActions(rolloutState);
-                AbstractAction next = randomPlayer.getAction(rolloutState, availableActions);
+                AbstractAction next = randomPlayer.getAction(player.getForwardModel(), rolloutState);
                 advance(rolloutState, next);
                 rolloutDepth++;
             }
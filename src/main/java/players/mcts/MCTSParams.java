@@ -9,9 +9,9 @@ import evaluation.TunableParameters;
 import org.json.simple.JSONObject;
 import players.PlayerParameters;
 import players.simple.RandomPlayer;
+import utilities.FastRandom;
 
 import java.util.Arrays;
-import java.util.Random;
 
 import static players.mcts.MCTSEnums.OpponentTreePolicy.MaxN;
 import static players.mcts.MCTSEnums.OpponentTreePolicy.Paranoid;
@@ -32,6 +32,10 @@ public class MCTSParams extends PlayerParameters {
     public MCTSEnums.TreePolicy treePolicy = UCB;
     public MCTSEnums.OpponentTreePolicy opponentTreePolicy = Paranoid;
     public double exploreEpsilon = 0.1;
+    public double progressiveWideningConstant = 0.0;  // k: a node visited n times can have k * n^alpha children; 0 for all
+    public double progressiveWideningExponent = 0.5;  // alpha
+    public double progressiveBias = 0.0;              // Weight of the heuristic value of a child in UCB, fading with visits
+    public boolean ponder = false;                    // Keep searching on other players' turns, see MCTSPlayer
     private IStateHeuristic heuristic = AbstractGameState::getHeuristicScore;
 
     public MCTSParams() {
@@ -51,6 +55,10 @@ public class MCTSParams extends PlayerParameters {
         addTunableParameter("treePolicy", UCB);
         addTunableParameter("opponentTreePolicy", MaxN);
         addTunableParameter("exploreEpsilon", 0.1);
+        addTunableParameter("progressiveWideningConstant", 0.0, Arrays.asList(0.0, 1.0, 2.0, 4.0, 8.0, 16.0));
+        addTunableParameter("progressiveWideningExponent", 0.5, Arrays.asList(0.1, 0.2, 0.3, 0.5, 0.7));
+        addTunableParameter("progressiveBias", 0.0, Arrays.asList(0.0, 0.1, 0.5, 1.0, 3.0, 10.0));
+        addTunableParameter("ponder", false);
         addTunableParameter("heuristic", ""); // this marks this as settable via JSON - and will default to the heuristic score
     }
 
@@ -68,6 +76,10 @@ public class MCTSParams extends PlayerParameters {
         treePolicy = (MCTSEnums.TreePolicy) getParameterValue("treePolicy");
         opponentTreePolicy = (MCTSEnums.OpponentTreePolicy) getParameterValue("opponentTreePolicy");
         exploreEpsilon = (double) getParameterValue("exploreEpsilon");
+        progressiveWideningConstant = (double) getParameterValue("progressiveWideningConstant");
+        progressiveWideningExponent = (double) getParameterValue("progressiveWideningExponent");
+        progressiveBias = (double) getParameterValue("progressiveBias");
+        ponder = (boolean) getParameterValue("ponder");
         if (getParameterValue("heuristic") instanceof IStateHeuristic) {
             heuristic = (IStateHeuristic) getParameterValue("heuristic");
             if (heuristic instanceof TunableParameters) {
@@ -110,14 +122,15 @@ public class MCTSParams extends PlayerParameters {
     public AbstractPlayer getRolloutStrategy() {
         switch (rolloutType) {
             case RANDOM:
-                return new RandomPlayer(new Random(getRandomSeed()));
+                // Split, so that rollouts do not draw the same numbers as the tree (seeded the same)
+                return new RandomPlayer(new FastRandom(getRandomSeed()).split());
             default:
                 throw new AssertionError("Unknown rollout type : " + rolloutType);
         }
     }
 
     public AbstractPlayer getOpponentModel() {
-        return new RandomPlayer(new Random(getRandomSeed()));
+        return new RandomPlayer(new FastRandom(getRandomSeed()).split());
     }
 
     public IStateHeuristic getHeuristic() {
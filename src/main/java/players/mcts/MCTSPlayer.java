@@ -2,14 +2,35 @@ package players.mcts;
 
 import core.AbstractGameState;
 import core.AbstractPlayer;
+import core.CoreConstants;
 import core.actions.AbstractAction;
 import core.interfaces.IStateHeuristic;
+import utilities.FastRandom;
 
 import java.util.List;
 import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
 
+import static players.mcts.MCTSEnums.OpponentTreePolicy.SelfOnly;
+
+/**
+ * MCTS player. With params.ponder, the player keeps searching between its decisions: after choosing an action, it
+ * searches the subtree of that action on a background thread while the other players decide, and on its next turn
+ * starts from the node reached by the actions played since (found from the history of the state), if the tree has
+ * it. Pondering stops as soon as the player is asked for an action, so it only uses the CPU time of its own thread,
+ * and the search for each decision still has its full budget on the game thread (its ElapsedCpuChessTimer measures
+ * that thread only). It only pays off with a core to spare, as the other players compete with it for the CPU
+ * otherwise. Pondering needs the history of actions in the observations, so is not done in COMPETITION_MODE, and not
+ * with a SelfOnly tree, which has no nodes for the actions of other players.
+ */
 public class MCTSPlayer extends AbstractPlayer {
 
+    // Pondering may search at most this many times the iterations of the last decision, bounding the tree it grows
+    private static final int MAX_PONDER_FACTOR = 10;
+
     // Random object for this player
     protected Random rnd;
     // Parameters for this player
@@ -20,6 +41,13 @@ public class MCTSPlayer extends AbstractPlayer {
     AbstractPlayer opponentModel;
     protected boolean debug = false;
 
+    // Pondering: tree of the last decision, and size of the history of the state it was made in
+    private SingleTreeNode ponderTree;
+    private int ponderHistorySize;
+    private final AtomicBoolean stopPondering = new AtomicBoolean();
+    private ExecutorService ponderExecutor;
+    private Future<?> pondering;
+
     public MCTSPlayer() {
         this(System.currentTimeMillis());
     }
@@ -33,24 +61,109 @@ public class MCTSPlayer extends AbstractPlayer {
     }
     public MCTSPlayer(MCTSParams params, String name) {
         this.params = params;
-        rnd = new Random(this.params.getRandomSeed());
+        rnd = new FastRandom(this.params.getRandomSeed());
         rolloutStrategy = params.getRolloutStrategy();
         opponentModel = params.getOpponentModel();
         heuristic = params.getHeuristic();
         setName(name);
     }
 
+    @Override
+    public void initializePlayer(AbstractGameState gameState) {
+        stopPondering();
+        ponderTree = null;
+    }
+
+    @Override
+    public void finalizePlayer(AbstractGameState gameState) {
+        stopPondering();
+        ponderTree = null;
+        if (ponderExecutor != null) {
+            ponderExecutor.shutdown();
+            ponderExecutor = null;
+        }
+    }
+
     @Override
     public AbstractAction getAction(AbstractGameState gameState, List<AbstractAction> actions) {
-        // Search for best action from the root
-        SingleTreeNode root = new SingleTreeNode(this, null, gameState, rnd);
-        root.mctsSearch(getStatsLogger());
+        stopPondering();
+
+        // Search for best action from the root, reusing the pondered tree if it has the current state
+        SingleTreeNode root = reusedTree(gameState);
+        if (root == null)
+            root = new SingleTreeNode(this, null, gameState, rnd);
+        int iterations = root.mctsSearch(getStatsLogger());
 
         if (debug)
             System.out.println(root.toString());
 
         // Return best action
-        return root.bestAction();
+        AbstractAction bestAction = root.bestAction();
+        // (Not if the game has given up on this decision, and may well play another action)
+        if (params.ponder && !Thread.currentThread().isInterrupted())
+            startPondering(root, gameState, bestAction, iterations);
+        return bestAction;
+    }
+
+    /**
+     * @return - the node of the pondered tree reached by the actions played since its decision, made the root of the
+     * search for the given state; null if there is none.
+     */
+    private SingleTreeNode reusedTree(AbstractGameState gameState) {
+        SingleTreeNode tree = ponderTree;
+        ponderTree = null;
+        if (tree == null || gameState.getHistorySize() <= ponderHistorySize)
+            return null;
+        List<AbstractAction> history = gameState.getHistory();
+        SingleTreeNode node = tree.descendant(history.subList(ponderHistorySize, history.size()),
+                gameState.getCurrentPlayer());
+        if (node != null)
+            node.makeRoot(gameState);
+        return node;
+    }
+
+    /**
+     * Starts searching the subtree of the chosen action on the ponder thread.
+     */
+    private void startPondering(SingleTreeNode root, AbstractGameState gameState, AbstractAction action,
+                                int iterations) {
+        if (CoreConstants.COMPETITION_MODE || params.opponentTreePolicy == SelfOnly ||
+                gameState.getHistoryMode() == CoreConstants.HistoryMode.OFF)
+            return;
+        AbstractGameState nextState = gameState.copy();
+        getForwardModel().next(nextState, action.copy());
+        if (!nextState.isNotTerminal())
+            return;
+        SingleTreeNode node = root.child(action, nextState);
+        ponderTree = root;
+        ponderHistorySize = gameState.getHistorySize();
+
+        if (ponderExecutor == null) {
+            ponderExecutor = Executors.newSingleThreadExecutor(r -> {
+                Thread t = new Thread(r, "MCTS pondering");
+                t.setDaemon(true);
+                return t;
+            });
+        }
+        stopPondering.set(false);
+        int maxIterations = MAX_PONDER_FACTOR * Math.max(iterations, 1);
+        pondering = ponderExecutor.submit(() -> node.ponder(nextState, stopPondering, maxIterations));
+    }
+
+    /**
+     * Stops pondering, and waits for the iteration in progress to finish.
+     */
+    private void stopPondering() {
+        if (pondering == null)
+            return;
+        stopPondering.set(true);
+        try {
+            pondering.get();
+        } catch (Exception e) {
+            throw new AssertionError("MCTS pondering failed : " + e.getMessage(), e);
+        } finally {
+            pondering = null;
+        }
     }
 
     public AbstractPlayer getOpponentModel(int playerID) {
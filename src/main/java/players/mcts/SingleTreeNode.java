@@ -4,10 +4,12 @@ import core.*;
 import core.actions.AbstractAction;
 import core.interfaces.IStatisticLogger;
 import players.PlayerConstants;
+import players.simple.RandomPlayer;
 import utilities.ElapsedCpuTimer;
 import utilities.Utils;
 
 import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Function;
 import java.util.stream.*;
 
@@ -18,6 +20,9 @@ import static players.mcts.MCTSEnums.TreePolicy.*;
 import static utilities.Utils.*;
 
 public class SingleTreeNode {
+    // Iterations between two updates of the best action published to the game (see AbstractPlayer.publishBestAction())
+    private static final int PUBLISH_INTERVAL = 64;
+
     // Root node of tree
     SingleTreeNode root;
     // Parent of this node
@@ -27,7 +32,7 @@ public class SingleTreeNode {
     // only ever have one position in the array populated: and similarly if we are using a SelfOnly tree).
     Map<AbstractAction, SingleTreeNode[]> children = new HashMap<>();
     // Depth of this node
-    final int depth;
+    int depth;
 
     // Total value of this node
     private final double[] totValue;
@@ -45,6 +50,8 @@ public class SingleTreeNode {
     // State in this node (closed loop)
     private AbstractGameState state;
     private List<AbstractAction> actionsFromState;
+    // Heuristic value of the state this node was created with, for the player deciding in the parent (progressive bias)
+    private double prior;
 
     public AbstractGameState getState() {
         return state;
@@ -58,6 +65,8 @@ public class SingleTreeNode {
         this.root = parent == null ? this : parent.root;
         decisionPlayer = state.getCurrentPlayer();
         totValue = new double[state.getNPlayers()];
+        if (parent != null && player.params.progressiveBias > 0)
+            prior = player.heuristic.evaluateState(state, parent.decisionPlayer);
         setState(state); // this also initialises actions and children
         if (parent != null) {
             depth = parent.depth + 1;
@@ -72,6 +81,10 @@ public class SingleTreeNode {
             throw new AssertionError("Problem: We should never have a state assigned to this node for a different deciding player");
         state = newState;
         actionsFromState = player.getForwardModel().computeAvailableActions(state);
+        // With progressive widening only the children expanded are added, as there may be far too many actions to
+        // list them all (and actionsFromState may decode them on demand, see ActionSpace)
+        if (progressiveWidening())
+            return;
         /*
          * we run through the actions, and add any new ones not currently in the list
          * When in open loop, it is entirely possible that on a transition to a new state we have actions that were
@@ -93,8 +106,10 @@ public class SingleTreeNode {
 
     /**
      * Performs full MCTS search, using the defined budget limits.
+     *
+     * @return - number of iterations done.
      */
-    public void mctsSearch(IStatisticLogger statsLogger) {
+    public int mctsSearch(IStatisticLogger statsLogger) {
 
         // Variables for tracking time budget
         double avgTimeTaken;
@@ -114,25 +129,16 @@ public class SingleTreeNode {
         AbstractGameState rootState = state.copy();
         copyCount++;
         while (!stop) {
-            if (player.params.openLoop) { // this assumes that copy(id) randomises the invisible components
-                setState(player.params.redeterminise ? rootState.copy(player.getPlayerID()) : rootState.copy());
-                copyCount++;
-            } else
-                setState(rootState);
-            // TODO: Can we determinise in Closed Loop? Closed Loop currently means we do not advance the state though
-            // the tree - so shuffling the cards at the root makes no difference.
-
             // New timer for this iteration
             ElapsedCpuTimer elapsedTimerIteration = new ElapsedCpuTimer();
 
-            // Selection + expansion: navigate tree until a node not fully expanded is found, add a new node to the tree
-            SingleTreeNode selected = treePolicy();
-            // Monte carlo rollout: return value of MC rollout from the newly added node
-            double[] delta = selected.rollOut();
-            // Back up the value of the rollout through the tree
-            selected.backUp(delta);
+            iterate(rootState);
             // Finished iteration
             numIters++;
+            // Keep the game informed of the best action so far, in case it stops us before the budget is used up
+            if (numIters % PUBLISH_INTERVAL == 0) {
+                player.publishBestAction(mostVisitedAction());
+            }
      //       System.out.printf("MCTS Iteration %d, timeLeft: %d\n", numIters, elapsedTimer.remainingTimeMillis());
             // Check stopping condition
             PlayerConstants budgetType = player.params.budgetType;
@@ -153,10 +159,130 @@ public class SingleTreeNode {
             } else if (budgetType == BUDGET_FMANDCOPY_CALLS) {
                 stop = (copyCount + fmCallsCount) > player.params.budget || numIters > player.params.budget;
             }
+            // The game gave up on this decision (hard timeouts, see Game.setHardTimeouts())
+            stop |= Thread.currentThread().isInterrupted();
         }
 
-        if (statsLogger != null)
+        if (statsLogger != null && !Thread.currentThread().isInterrupted())
             logTreeStatistics(statsLogger, numIters, elapsedTimer.elapsedMillis());
+        return numIters;
+    }
+
+    /**
+     * One iteration of the search, starting from this node.
+     *
+     * @param masterState - state of this node; in open loop a copy is advanced through the tree, and the master is
+     *                    kept unchanged.
+     */
+    private void iterate(AbstractGameState masterState) {
+        if (player.params.openLoop) {
+            // A fresh sample of the hidden information from the full state on each iteration (copy(id) randomises
+            // the invisible components)
+            setState(player.params.redeterminise ? masterState.copy(player.getPlayerID()) : masterState.copy());
+            root.copyCount++;
+        } else
+            setState(masterState);
+        // TODO: Can we determinise in Closed Loop? Closed Loop currently means we do not advance the state though
+        // the tree - so shuffling the cards at the root makes no difference.
+
+        // Selection + expansion: navigate tree until a node not fully expanded is found, add a new node to the tree
+        SingleTreeNode selected = treePolicy();
+        // Monte carlo rollout: return value of MC rollout from the newly added node
+        double[] delta = selected.rollOut();
+        // Back up the value of the rollout through the tree
+        selected.backUp(delta);
+    }
+
+    /**
+     * Keeps searching from this node, a child of the root, until stopped or after maxIterations: iterations start
+     * here rather than at the root, and are backed up to the root as usual. Used by MCTSPlayer to ponder on the
+     * turns of the other players, on a thread of its own.
+     *
+     * @param nextState     - state reached from the root with the action leading to this node.
+     * @param stop          - set to stop the search.
+     * @param maxIterations - maximum number of iterations.
+     */
+    void ponder(AbstractGameState nextState, AtomicBoolean stop, int maxIterations) {
+        // In closed loop the tree below this node was built from its own state, which is kept
+        AbstractGameState masterState = player.params.openLoop ? nextState : state;
+        for (int i = 0; i < maxIterations && !stop.get(); i++) {
+            iterate(masterState);
+        }
+    }
+
+    /**
+     * @param action    - action from this node.
+     * @param nextState - state reached with the action.
+     * @return - the child reached with the action when the player to decide in nextState is next; created from
+     * nextState if there is none yet.
+     */
+    SingleTreeNode child(AbstractAction action, AbstractGameState nextState) {
+        SingleTreeNode[] nodeArray = children.get(action);
+        if (nodeArray == null) {
+            nodeArray = new SingleTreeNode[nextState.getNPlayers()];
+            children.put(action, nodeArray);
+        }
+        int nextPlayer = nextState.getCurrentPlayer();
+        if (nodeArray[nextPlayer] == null)
+            nodeArray[nextPlayer] = new SingleTreeNode(player, this, nextState, rnd);
+        return nodeArray[nextPlayer];
+    }
+
+    /**
+     * Follows the given actions down the tree from this node.
+     *
+     * @param actions    - actions played from the state of this node, at least one.
+     * @param nextPlayer - player to decide after the last action.
+     * @return - the node reached, or null if the actions leave the tree, or if the player after one of them is not
+     * known (open loop nodes may have children for several players).
+     */
+    SingleTreeNode descendant(List<AbstractAction> actions, int nextPlayer) {
+        SingleTreeNode node = this;
+        for (int i = 0; i < actions.size(); i++) {
+            SingleTreeNode[] nodeArray = node.children.get(actions.get(i));
+            if (nodeArray == null)
+                return null;
+            if (i == actions.size() - 1)
+                return nodeArray[nextPlayer];
+            node = null;
+            for (SingleTreeNode n : nodeArray) {
+                if (n != null) {
+                    if (node != null)
+                        return null;
+                    node = n;
+                }
+            }
+            if (node == null)
+                return null;
+        }
+        return node;
+    }
+
+    /**
+     * Makes this node the root of a new search from the given state, keeping the statistics of its subtree (tree
+     * reuse). The rest of the tree is dropped, and actions no longer available are removed.
+     *
+     * @param newState - state to search from, with this node's player to decide.
+     */
+    void makeRoot(AbstractGameState newState) {
+        parent = null;
+        setRoot(this, depth);
+        fmCallsCount = 0;
+        copyCount = 0;
+        setState(newState);
+        children.keySet().retainAll(new HashSet<>(actionsFromState));
+    }
+
+    private void setRoot(SingleTreeNode newRoot, int depthOffset) {
+        root = newRoot;
+        depth -= depthOffset;
+        for (SingleTreeNode[] nodeArray : children.values()) {
+            if (nodeArray == null) continue;
+            for (SingleTreeNode node : nodeArray) {
+                if (node != null)
+                    node.setRoot(newRoot, depthOffset);
+            }
+        }
     }
 
     private void logTreeStatistics(IStatisticLogger statsLogger, int numIters, long timeTaken) {
@@ -232,9 +358,10 @@ public class SingleTreeNode {
 
         // Keep iterating while the state reached is not terminal and the depth of the tree is not exceeded
         while (cur.state.isNotTerminal() && cur.depth < player.params.maxTreeDepth && cur.actionsFromState.size() > 0) {
-            if (!cur.unexpandedActions().isEmpty()) {
+            AbstractAction toExpand = cur.actionToExpand();
+            if (toExpand != null) {
                 // We have an unexpanded action
-                return cur.expand();
+                return cur.expand(toExpand);
             } else {
                 // Move to next child given by UCT function
                 cur = cur.nextNodeInTree();
@@ -250,18 +377,63 @@ public class SingleTreeNode {
         return actionsFromState.stream().filter(a -> children.get(a) == null).collect(toList());
     }
 
+    private boolean progressiveWidening() {
+        return player.params.progressiveWideningConstant > 0;
+    }
+
     /**
-     * Expands the node by creating a new random child node and adding to the tree.
+     * @return - actions available from this state which have been expanded, and can be selected by the tree policy.
+     */
+    private List<AbstractAction> expandedActions() {
+        if (!progressiveWidening())
+            return actionsFromState;  // All are expanded before we select any
+        if (!player.params.openLoop)
+            return new ArrayList<>(children.keySet());  // Only expanded actions are kept, and the state never changes
+        List<AbstractAction> expanded = new ArrayList<>();
+        for (AbstractAction action : actionsFromState) {
+            if (children.get(action) != null)
+                expanded.add(action);
+        }
+        return expanded;
+    }
+
+    /**
+     * Picks the action to expand next, if any. Without progressive widening this is a random unexpanded action, until
+     * all have been expanded. With progressive widening, a node visited n times can only have k * n^alpha children,
+     * so that search goes deeper on the actions tried so far rather than trying every action once.
      *
-     * @return - new child node.
+     * @return - the action to expand, or null if the tree policy should select among the expanded actions.
      */
-    private SingleTreeNode expand() {
-        // Find random child not already created
-        Random r = new Random(player.params.getRandomSeed());
-        // pick a random unchosen action
+    private AbstractAction actionToExpand() {
+        if (!progressiveWidening()) {
+            List<AbstractAction> notChosen = unexpandedActions();
+            if (notChosen.isEmpty())
+                return null;
+            // Find random child not already created
+            return notChosen.get(rnd.nextInt(notChosen.size()));
+        }
+
+        int nExpanded = expandedActions().size();
+        double maxChildren = player.params.progressiveWideningConstant *
+                Math.pow(nVisits, player.params.progressiveWideningExponent);
+        if (nExpanded > 0 && nExpanded >= maxChildren)
+            return null;
+        // Most actions are not expanded, so a few random guesses usually find one without listing all actions
+        for (int i = 0; i < 8; i++) {
+            AbstractAction action = actionsFromState.get(rnd.nextInt(actionsFromState.size()));
+            if (children.get(action) == null)
+                return action;
+        }
         List<AbstractAction> notChosen = unexpandedActions();
-        AbstractAction chosen = notChosen.get(r.nextInt(notChosen.size()));
+        return notChosen.isEmpty() ? null : notChosen.get(rnd.nextInt(notChosen.size()));
+    }
 
+    /**
+     * Expands the node by creating a new child node for the given action and adding it to the tree.
+     *
+     * @return - new child node.
+     */
+    private SingleTreeNode expand(AbstractAction chosen) {
         // copy the current state and advance it using the chosen action
         // we first copy the action so that the one stored in the node will not have any state changes
         AbstractGameState nextState = state.copy();
@@ -300,10 +472,15 @@ public class SingleTreeNode {
         while (gs.getCurrentPlayer() != id && gs.isNotTerminal()) {
             //       AbstractGameState preGS = gs.copy();
             AbstractPlayer oppModel = player.getOpponentModel(gs.getCurrentPlayer());
-            List<AbstractAction> availableActions = player.getForwardModel().computeAvailableActions(gs);
-            if (availableActions.isEmpty())
+            AbstractAction action;
+            if (oppModel instanceof RandomPlayer) {
+                action = ((RandomPlayer) oppModel).getAction(player.getForwardModel(), gs);
+            } else {
+                List<AbstractAction> availableActions = player.getForwardModel().computeAvailableActions(gs);
+                action = availableActions.isEmpty() ? null : oppModel.getAction(gs, availableActions);
+            }
+            if (action == null)
                 throw new AssertionError("Should always have at least one action possible...");
-            AbstractAction action = oppModel.getAction(gs, availableActions);
             player.getForwardModel().next(gs, action);
             root.fmCallsCount++;
         }
@@ -372,7 +549,7 @@ public class SingleTreeNode {
         double bestValue = -Double.MAX_VALUE;
         // TODO: Need to distinguish between paranoid and Max^N MCTS. But that needs a vector reward to be back-propagated
 
-        for (AbstractAction action : actionsFromState) {
+        for (AbstractAction action : expandedActions()) {
             SingleTreeNode[] childArray = children.get(action);
             if (childArray == null)
                 throw new AssertionError("Should not be here");
@@ -394,6 +571,10 @@ public class SingleTreeNode {
             // If we are Paranoid, then the back-propagation will ensure that childValue is minus our score for opponent nodes
             uctValue = childValue + explorationTerm;
 
+            // Progressive bias: the heuristic value of the child guides selection until it has been visited enough
+            if (player.params.progressiveBias > 0)
+                uctValue += player.params.progressiveBias * actionPrior(childArray) / (actionVisits + 1.0);
+
             // Apply small noise to break ties randomly
             uctValue = noise(uctValue, player.params.epsilon, player.rnd.nextDouble());
 
@@ -411,6 +592,17 @@ public class SingleTreeNode {
     }
 
 
+    /**
+     * @return - heuristic value of the state reached by an action, from the first node created for it.
+     */
+    private double actionPrior(SingleTreeNode[] childArray) {
+        for (SingleTreeNode node : childArray) {
+            if (node != null)
+                return node.prior;
+        }
+        return 0;
+    }
+
     public double exp3Value(AbstractAction action) {
         double actionValue = actionTotValue(action, decisionPlayer);
         int actionVisits = actionVisits(action);
@@ -442,7 +634,7 @@ public class SingleTreeNode {
             default:
                 throw new AssertionError("Should not be any other options!");
         }
-        Map<AbstractAction, Double> actionToValueMap = actionsFromState.stream().collect(toMap(Function.identity(), valueFn));
+        Map<AbstractAction, Double> actionToValueMap = expandedActions().stream().collect(toMap(Function.identity(), valueFn));
 
         // then we normalise to a pdf
         actionToValueMap = Utils.normaliseMap(actionToValueMap);
@@ -483,8 +675,13 @@ public class SingleTreeNode {
 
             AbstractPlayer rolloutStrategy = player.rolloutStrategy;
             while (!finishRollout(rolloutState, rolloutDepth)) {
-                List<AbstractAction> availableActions = player.getForwardModel().computeAvailableActions(rolloutState);
-                AbstractAction next = rolloutStrategy.getAction(rolloutState, availableActions);
+                AbstractAction next;
+                if (rolloutStrategy instanceof RandomPlayer) {
+                    next = ((RandomPlayer) rolloutStrategy).getAction(player.getForwardModel(), rolloutState);
+                } else {
+                    List<AbstractAction> availableActions = player.getForwardModel().computeAvailableActions(rolloutState);
+                    next = rolloutStrategy.getAction(rolloutState, availableActions);
+                }
                 advance(rolloutState, next);
                 rolloutDepth++;
             }
@@ -543,6 +740,25 @@ public class SingleTreeNode {
         }
     }
 
+    /**
+     * @return - the action of the most visited child of this node (no random tie breaks, so that it can be called
+     * during the search), or null if there is none yet
+     */
+    private AbstractAction mostVisitedAction() {
+        AbstractAction bestAction = null;
+        int bestVisits = 0;
+        for (AbstractAction action : children.keySet()) {
+            if (children.get(action) != null) {
+                int visits = actionVisits(action);
+                if (visits > bestVisits) {
+                    bestVisits = visits;
+                    bestAction = action;
+                }
+            }
+        }
+        return bestAction;
+    }
+
     /**
      * Calculates the best action from the root according to the selection policy
      *
@@ -0,0 +1,133 @@
+package players.rhea;
+
+import core.AbstractForwardModel;
+import core.AbstractGameState;
+import core.actions.AbstractAction;
+import core.interfaces.IStateHeuristic;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Sequence of actions for one player, evaluated by rolling it out from the current state (opponents play randomly).
+ *
+ * Genes are not actions, as the actions available depend on the state reached by the genes before: gene i picks
+ * action (genes[i] % number of actions available) in the state where we take our i-th action. Any sequence of genes
+ * is therefore valid, whatever crossover, mutation or shifting does to it.
+ */
+public class RHEAIndividual implements Comparable<RHEAIndividual> {
+
+    int[] genes;
+    double value;                     // Fitness of individual, to be maximised.
+    int length;                       // Number of genes used by the last evaluation, <= genes.length
+    boolean evaluated;
+
+    // Calls to the forward model and state copies made by the last evaluation
+    int fmCalls, copyCalls;
+
+    // Random individual
+    RHEAIndividual(int L, Random rnd) {
+        genes = new int[L];
+        for (int i = 0; i < L; i++) {
+            genes[i] = randomGene(rnd);
+        }
+    }
+
+    // Copy constructor
+    RHEAIndividual(RHEAIndividual I) {
+        genes = I.genes.clone();
+        value = I.value;
+        length = I.length;
+        evaluated = I.evaluated;
+    }
+
+    static int randomGene(Random rnd) {
+        return rnd.nextInt(Integer.MAX_VALUE);
+    }
+
+    /**
+     * Creates an offspring of two individuals, with each gene taken from either parent with equal probability.
+     */
+    static RHEAIndividual uniformCrossover(RHEAIndividual a, RHEAIndividual b, Random rnd) {
+        RHEAIndividual child = new RHEAIndividual(a);
+        for (int i = 0; i < child.genes.length; i++) {
+            if (rnd.nextBoolean()) child.genes[i] = b.genes[i];
+        }
+        child.evaluated = false;
+        return child;
+    }
+
+    /**
+     * Replaces each gene with a random one with the given probability.
+     */
+    void mutate(double mutationRate, Random rnd) {
+        for (int i = 0; i < genes.length; i++) {
+            if (rnd.nextDouble() < mutationRate) {
+                genes[i] = randomGene(rnd);
+                evaluated = false;
+            }
+        }
+    }
+
+    /**
+     * Drops the first gene, which was the action just played, and adds a random one at the end.
+     */
+    void shift(Random rnd) {
+        System.arraycopy(genes, 1, genes, 0, genes.length - 1);
+        genes[genes.length - 1] = randomGene(rnd);
+        evaluated = false;
+    }
+
+    /**
+     * @param actions - actions available.
+     * @param gene    - index of gene.
+     * @return - the action picked by the given gene from the given list.
+     */
+    AbstractAction getAction(List<AbstractAction> actions, int gene) {
+        return actions.get(genes[gene] % actions.size());
+    }
+
+    /**
+     * Evaluates this individual by playing its actions in order from the given state, with other players moving
+     * randomly in between. The value is the discounted sum of the values of the states reached by each action.
+     *
+     * @param gs             - state to evaluate from. This is modified, pass a copy.
+     * @param fm             - forward model, not shared with any other thread evaluating at the same time.
+     * @param playerID       - ID of player, used in state evaluation.
+     * @param heuristic      - heuristic evaluating states, null to use the game's.
+     * @param discountFactor - discount factor for the value of later states.
+     * @param rnd            - random generator for the other players' moves.
+     */
+    void evaluate(AbstractGameState gs, AbstractForwardModel fm, int playerID, IStateHeuristic heuristic,
+                  double discountFactor, Random rnd) {
+        fmCalls = 0;
+        copyCalls = 1;  // gs
+        length = 0;
+        value = 0;
+        double score = 0;
+        for (int i = 0; i < genes.length; i++) {
+            if (!gs.isNotTerminal()) break;
+            fm.next(gs, getAction(fm.computeAvailableActions(gs), i));
+            fmCalls++;
+            // Other players move randomly until it's our turn again
+            while (gs.isNotTerminal() && gs.getCurrentPlayer() != playerID) {
+                fm.next(gs, fm.sampleRandomAction(gs, rnd));
+                fmCalls++;
+            }
+            score = heuristic != null ? heuristic.evaluateState(gs, playerID) : gs.getHeuristicScore(playerID);
+            value += Math.pow(discountFactor, i) * score;
+            length++;
+        }
+        // If the game ended before the horizon, the final state keeps its value for the remaining steps, otherwise a
+        // win reached sooner would be worth less than the same win reached later
+        for (int i = length; i < genes.length; i++) {
+            value += Math.pow(discountFactor, i) * score;
+        }
+        evaluated = true;
+    }
+
+    @Override
+    public int compareTo(RHEAIndividual o) {
+        return Double.compare(o.value, value);
+    }
+}
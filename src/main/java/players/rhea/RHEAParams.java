@@ -0,0 +1,57 @@
+package players.rhea;
+
+import core.AbstractParameters;
+import players.PlayerParameters;
+
+import java.util.Arrays;
+
+public class RHEAParams extends PlayerParameters {
+
+    public int horizon = 10;
+    public int populationSize = 10;
+    public double mutationRate = 0.2;      // Probability of each gene mutating in offspring
+    public int tournamentSize = 2;
+    public int eliteCount = 1;             // Best individuals carried over unchanged to the next generation
+    public double discountFactor = 0.9;
+    public boolean shiftBuffer = true;     // If true, the last population is shifted and reused in the next decision
+    public int nThreads = 1;               // Threads evaluating the population in parallel
+
+    public RHEAParams() {
+        this(System.currentTimeMillis());
+    }
+
+    public RHEAParams(long seed) {
+        super(seed);
+        addTunableParameter("horizon", 10, Arrays.asList(1, 3, 5, 10, 20, 30));
+        addTunableParameter("populationSize", 10, Arrays.asList(2, 5, 10, 15, 20, 30));
+        addTunableParameter("mutationRate", 0.2, Arrays.asList(0.05, 0.1, 0.2, 0.3, 0.5, 0.8));
+        addTunableParameter("tournamentSize", 2, Arrays.asList(1, 2, 3, 4));
+        addTunableParameter("eliteCount", 1, Arrays.asList(0, 1, 2));
+        addTunableParameter("discountFactor", 0.9, Arrays.asList(0.5, 0.8, 0.9, 0.95, 0.99, 0.999, 1.0));
+        addTunableParameter("shiftBuffer", true, Arrays.asList(false, true));
+        addTunableParameter("nThreads", 1);
+    }
+
+    @Override
+    public void _reset() {
+        super._reset();
+        horizon = (int) getParameterValue("horizon");
+        populationSize = (int) getParameterValue("populationSize");
+        mutationRate = (double) getParameterValue("mutationRate");
+        tournamentSize = (int) getParameterValue("tournamentSize");
+        eliteCount = (int) getParameterValue("eliteCount");
+        discountFactor = (double) getParameterValue("discountFactor");
+        shiftBuffer = (boolean) getParameterValue("shiftBuffer");
+        nThreads = (int) getParameterValue("nThreads");
+    }
+
+    @Override
+    protected AbstractParameters _copy() {
+        return new RHEAParams(System.currentTimeMillis());
+    }
+
+    @Override
+    public RHEAPlayer instantiate() {
+        return new RHEAPlayer(this);
+    }
+}
@@ -0,0 +1,223 @@
+package players.rhea;
+
+import core.AbstractForwardModel;
+import core.AbstractGameState;
+import core.AbstractPlayer;
+import core.CoreConstants;
+import core.actions.AbstractAction;
+import core.interfaces.IStateHeuristic;
+import players.PlayerConstants;
+import utilities.ElapsedCpuTimer;
+import utilities.FastRandom;
+
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Rolling Horizon Evolutionary Algorithm: evolves a population of action sequences (see RHEAIndividual) with
+ * tournament selection, uniform crossover, mutation and elitism, and plays the first action of the best one.
+ * With shiftBuffer, the population of the last decision is shifted by one action and used as the starting population
+ * of the next one instead of a random population.
+ *
+ * With nThreads > 1 the individuals of a generation are evaluated in parallel, each thread with its own copy of the
+ * forward model.
+ */
+public class RHEAPlayer extends AbstractPlayer {
+
+    RHEAParams params;
+    private final FastRandom randomGenerator;
+    IStateHeuristic heuristic;
+    private List<RHEAIndividual> population;
+    private ExecutorService executor;
+
+    // Budgets
+    private double avgTimeTaken = 0, acumTimeTaken = 0;
+    private int numIters = 0;
+    private int fmCalls = 0;
+    private int copyCalls = 0;
+
+    public RHEAPlayer() {
+        this(System.currentTimeMillis());
+    }
+
+    public RHEAPlayer(RHEAParams params) {
+        randomGenerator = new FastRandom(params.getRandomSeed());
+        this.params = params;
+        this.heuristic = params.gameHeuristic;
+        setName("RHEA");
+    }
+
+    public RHEAPlayer(long seed) {
+        this(new RHEAParams(seed));
+    }
+
+    public RHEAPlayer(RHEAParams params, IStateHeuristic heuristic) {
+        this(params);
+        this.heuristic = heuristic;
+    }
+
+    @Override
+    public void initializePlayer(AbstractGameState gameState) {
+        population = null;
+    }
+
+    @Override
+    public void finalizePlayer(AbstractGameState gameState) {
+        if (executor != null) {
+            executor.shutdown();
+            executor = null;
+        }
+    }
+
+    @Override
+    public AbstractAction getAction(AbstractGameState stateObs, List<AbstractAction> actions) {
+        ElapsedCpuTimer timer = new ElapsedCpuTimer();  // New timer for this game tick
+        avgTimeTaken = 0;
+        acumTimeTaken = 0;
+        numIters = 0;
+        fmCalls = 0;
+        copyCalls = 0;
+
+        // Initialise population, from the last one if we can
+        if (params.shiftBuffer && population != null && population.get(0).genes.length == params.horizon) {
+            for (RHEAIndividual ind : population) {
+                ind.shift(randomGenerator);
+            }
+        } else {
+            population = new ArrayList<>();
+        }
+        while (population.size() < params.populationSize) {
+            population.add(new RHEAIndividual(params.horizon, randomGenerator));
+        }
+        while (population.size() > params.populationSize) {
+            population.remove(population.size() - 1);
+        }
+        evaluate(population, stateObs);
+        Collections.sort(population);
+
+        // Run evolution
+        boolean keepIterating = true;
+        while (keepIterating) {
+            runIteration(stateObs);
+
+            // Check budget depending on budget type
+            if (params.budgetType == PlayerConstants.BUDGET_TIME) {
+                long remaining = timer.remainingTimeMillis();
+                keepIterating = remaining > avgTimeTaken && remaining > params.breakMS;
+            } else if (params.budgetType == PlayerConstants.BUDGET_FM_CALLS) {
+                keepIterating = fmCalls < params.budget && numIters < params.budget;
+            } else if (params.budgetType == PlayerConstants.BUDGET_COPY_CALLS) {
+                keepIterating = copyCalls < params.budget && numIters < params.budget;
+            } else if (params.budgetType == PlayerConstants.BUDGET_FMANDCOPY_CALLS) {
+                keepIterating = (fmCalls + copyCalls) < params.budget && numIters < params.budget;
+            } else if (params.budgetType == PlayerConstants.BUDGET_ITERATIONS) {
+                keepIterating = numIters < params.budget;
+            }
+        }
+
+        // Return first action of best individual
+        return population.get(0).getAction(actions, 0);
+    }
+
+    /**
+     * Run evolutionary process for one generation
+     * @param stateObs - current game state
+     */
+    private void runIteration(AbstractGameState stateObs) {
+        ElapsedCpuTimer elapsedTimerIteration = new ElapsedCpuTimer();
+
+        // Elites are kept with their current fitness, the rest of the population is replaced by offspring (at least
+        // one, so that each generation searches, and uses budget, even if eliteCount >= populationSize)
+        int nElites = Math.max(0, Math.min(params.eliteCount, population.size() - 1));
+        List<RHEAIndividual> nextPopulation = new ArrayList<>(population.subList(0, nElites));
+        List<RHEAIndividual> offspring = new ArrayList<>();
+        while (nextPopulation.size() + offspring.size() < params.populationSize) {
+            RHEAIndividual child = RHEAIndividual.uniformCrossover(tournament(), tournament(), randomGenerator);
+            child.mutate(params.mutationRate, randomGenerator);
+            offspring.add(child);
+        }
+        evaluate(offspring, stateObs);
+        nextPopulation.addAll(offspring);
+        Collections.sort(nextPopulation);
+        population = nextPopulation;
+
+        // Update budgets
+        numIters++;
+        acumTimeTaken += (elapsedTimerIteration.elapsedMillis());
+        avgTimeTaken = acumTimeTaken / numIters;
+    }
+
+    /**
+     * @return - the best of tournamentSize individuals picked at random from the current population.
+     */
+    private RHEAIndividual tournament() {
+        RHEAIndividual best = null;
+        for (int i = 0; i < Math.max(1, params.tournamentSize); i++) {
+            RHEAIndividual ind = population.get(randomGenerator.nextInt(population.size()));
+            if (best == null || ind.value > best.value) best = ind;
+        }
+        return best;
+    }
+
+    /**
+     * Evaluates all individuals in the list which have not been evaluated yet, in parallel if nThreads > 1.
+     * States are copied here, so that the evaluations never read the same state concurrently.
+     */
+    private void evaluate(List<RHEAIndividual> individuals, AbstractGameState stateObs) {
+        List<RHEAIndividual> toEvaluate = new ArrayList<>();
+        List<AbstractGameState> states = new ArrayList<>();
+        List<Random> rnds = new ArrayList<>();
+        for (RHEAIndividual ind : individuals) {
+            if (!ind.evaluated) {
+                toEvaluate.add(ind);
+                states.add(stateObs.copy());
+                rnds.add(randomGenerator.split());
+            }
+        }
+        int nThreads = Math.min(params.nThreads, toEvaluate.size());
+        if (nThreads <= 1) {
+            for (int i = 0; i < toEvaluate.size(); i++) {
+                toEvaluate.get(i).evaluate(states.get(i), getForwardModel(), getPlayerID(), heuristic,
+                        params.discountFactor, rnds.get(i));
+            }
+        } else {
+            if (executor == null) {
+                executor = Executors.newFixedThreadPool(params.nThreads, r -> {
+                    Thread t = new Thread(r, "RHEA evaluation");
+                    t.setDaemon(true);
+                    return t;
+                });
+            }
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < nThreads; t++) {
+                final int first = t;
+                AbstractForwardModel fm = getForwardModel().copy();
+                futures.add(executor.submit(() -> {
+                    for (int i = first; i < toEvaluate.size(); i += nThreads) {
+                        toEvaluate.get(i).evaluate(states.get(i), fm, getPlayerID(), heuristic,
+                                params.discountFactor, rnds.get(i));
+                    }
+                }));
+            }
+            try {
+                for (Future<?> f : futures) {
+                    f.get();
+                }
+            } catch (Exception e) {
+                throw new AssertionError("RHEA evaluation failed : " + e.getMessage(), e);
+            }
+        }
+        for (RHEAIndividual ind : toEvaluate) {
+            fmCalls += ind.fmCalls;
+            copyCalls += ind.copyCalls;
+        }
+    }
+
+    @Override
+    public CoreConstants.ObservationType getObservationType() {
+        // Individuals are always evaluated on copies, the observation itself is never modified
+        return CoreConstants.ObservationType.READ_ONLY;
+    }
+}
@@ -0,0 +1,139 @@
+package players.rhea.test;
+
+import core.AbstractForwardModel;
+import core.AbstractGameState;
+import core.AbstractPlayer;
+import core.Game;
+import core.actions.AbstractAction;
+import core.interfaces.IStateHeuristic;
+import games.GameType;
+import org.junit.*;
+import players.PlayerConstants;
+import players.rhea.*;
+import players.simple.RandomPlayer;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class RHEAEvolution {
+
+    RHEAParams params;
+    int nEvaluations;
+    IStateHeuristic countingHeuristic = (state, playerId) -> {
+        synchronized (this) {
+            nEvaluations++;
+        }
+        return state.getHeuristicScore(playerId);
+    };
+
+    @Before
+    public void setup() {
+        params = new RHEAParams(5512);
+        params.budgetType = PlayerConstants.BUDGET_ITERATIONS;
+        params.budget = 20;
+        params.horizon = 5;
+        params.populationSize = 6;
+    }
+
+    Game createGame(RHEAPlayer rhea) {
+        List<AbstractPlayer> players = Arrays.asList(rhea, new RandomPlayer(new Random(71)));
+        // No hidden information or chance, so that searches with the same seed are repeatable
+        Game game = GameType.DotsAndBoxes.createGameInstance(2, 887);
+        game.reset(players);
+        return game;
+    }
+
+    /**
+     * Plays the given number of moves of the game with the given player, and returns the actions chosen by it.
+     */
+    static List<AbstractAction> play(Game game, int moves) {
+        AbstractGameState state = game.getGameState();
+        AbstractForwardModel forwardModel = game.getForwardModel();
+        List<AbstractAction> chosen = new ArrayList<>();
+        for (int move = 0; move < moves && state.isNotTerminal(); move++) {
+            AbstractPlayer player = game.getPlayers().get(state.getCurrentPlayer());
+            List<AbstractAction> actions = forwardModel.computeAvailableActions(state);
+            AbstractAction action = player.getAction(state.copy(player.getPlayerID()), actions);
+            assertTrue(actions.contains(action));
+            if (player instanceof RHEAPlayer) chosen.add(action);
+            forwardModel.next(state, action);
+        }
+        return chosen;
+    }
+
+    @Test
+    public void fullGame() {
+        Game game = createGame(new RHEAPlayer(params, countingHeuristic));
+        game.run();
+        assertFalse(game.getGameState().isNotTerminal());
+        assertTrue(nEvaluations > 0);
+    }
+
+    @Test
+    public void offspringEachGeneration() {
+        RHEAPlayer rhea = new RHEAPlayer(params, countingHeuristic);
+        Game game = createGame(rhea);
+        AbstractGameState state = game.getGameState();
+        assertEquals(0, state.getCurrentPlayer());
+        rhea.getAction(state.copy(0), game.getForwardModel().computeAvailableActions(state));
+        // The first population, then all but the elite replaced in each generation; each individual evaluated at
+        // most once per step of the horizon
+        int individuals = params.populationSize + params.budget * (params.populationSize - params.eliteCount);
+        assertTrue(nEvaluations > params.populationSize * params.horizon);
+        assertTrue(nEvaluations <= individuals * params.horizon);
+    }
+
+    @Test
+    public void elitesFillThePopulation() {
+        // With no room left for offspring, one is still bred in each generation rather than searching forever
+        params.populationSize = 2;
+        params.eliteCount = 2;
+        RHEAPlayer rhea = new RHEAPlayer(params, countingHeuristic);
+        Game game = createGame(rhea);
+        assertFalse(play(game, 10).isEmpty());
+        assertTrue(nEvaluations > 0);
+    }
+
+    @Test
+    public void parallelEvaluationSameAsSequential() {
+        params.shiftBuffer = false;
+        List<AbstractAction> sequential = play(createGame(new RHEAPlayer(params)), 30);
+
+        RHEAParams parallelParams = new RHEAParams(5512);
+        parallelParams.budgetType = params.budgetType;
+        parallelParams.budget = params.budget;
+        parallelParams.horizon = params.horizon;
+        parallelParams.populationSize = params.populationSize;
+        parallelParams.shiftBuffer = false;
+        parallelParams.nThreads = 4;
+        RHEAPlayer parallel = new RHEAPlayer(parallelParams);
+        Game game = createGame(parallel);
+        // Each individual is evaluated with its own generator, whichever thread evaluates it
+        assertEquals(sequential, play(game, 30));
+
+        assertTrue(evaluationThreads() > 0);
+        parallel.finalizePlayer(game.getGameState());
+        waitForNoEvaluationThreads();
+        assertEquals(0, evaluationThreads());
+    }
+
+    static int evaluationThreads() {
+        int n = 0;
+        for (Thread t : Thread.getAllStackTraces().keySet()) {
+            if (t.getName().equals("RHEA evaluation") && t.isAlive()) n++;
+        }
+        return n;
+    }
+
+    static void waitForNoEvaluationThreads() {
+        for (int i = 0; i < 100 && evaluationThreads() > 0; i++) {
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+}
@@ -4,17 +4,28 @@ import core.AbstractGameState;
 import core.actions.AbstractAction;
 import core.interfaces.IStateHeuristic;
 
-import java.util.List;
 import java.util.Random;
 
+/**
+ * Sequence of actions for one player, evaluated by rolling it out from the current state (opponents play randomly).
+ *
+ * gameStates[i] is the state in which action i is taken, i.e. the state reached after actions 0..i-1 and the moves
+ * of any other players in between. States are never modified once stored in an individual, so the copy constructor
+ * shares them (and the actions) with the parent, and a mutation only re-simulates the individual from the mutation
+ * point onwards: the prefix before it is kept as it is, together with its cached discounted value.
+ */
 public class Individual implements Comparable {
 
     AbstractAction[] actions;         // Actions in individual. Intended max length of individual = actions.length
-    AbstractGameState[] gameStates;   // Game states in individual.
+    AbstractGameState[] gameStates;   // Game states in individual, gameStates[i] is the state action i is taken in
+    double[] cumValues;               // cumValues[i] is the discounted value of the states reached by actions 0..i-1
     double value;                     // Fitness of individual, to be maximised.
     int length;                       // Actual length of individual, <= actions.length
     double discountFactor;            // Discount factor for calculating rewards
 
+    // Calls to the forward model and state copies made by the last rollout (initialisation or mutation)
+    int fmCalls, copyCalls;
+
     private Random gen;               // Random generator
     IStateHeuristic heuristic;
 
@@ -24,27 +35,25 @@ public class Individual implements Comparable {
         this.discountFactor = discountFactor;
         actions = new AbstractAction[L];
         gameStates = new AbstractGameState[L+1];
+        cumValues = new double[L+1];
         gameStates[0] = gs.copy();
         this.heuristic = heuristic;
 
         // Rollout with random actions and assign fitness value
-        rollout(gs, fm, 0, L, playerID);  // TODO: cheating, init should also count FM calls
+        rollout(fm, 0, playerID);
+        copyCalls++;
     }
 
-    // Copy constructor
+    // Copy constructor, the new individual shares all game states and actions with the original
     Individual(Individual I){
-        actions = new AbstractAction[I.actions.length];
-        gameStates = new AbstractGameState[I.gameStates.length];
+        actions = I.actions.clone();
+        gameStates = I.gameStates.clone();
+        cumValues = I.cumValues.clone();
         length = I.length;
         discountFactor = I.discountFactor;
-
-        for (int i = 0; i < length; i++){
-            actions[i] = I.actions[i].copy();
-            gameStates[i] = I.gameStates[i].copy();
-        }
-
         value = I.value;
         gen = I.gen;
+        heuristic = I.heuristic;
     }
 
     /**
@@ -53,97 +62,80 @@ public class Individual implements Comparable {
      * Also evaluates the individual as a rollout is needed for mutation, and updates the value.
      * @param fm - forward model
      * @param playerID - ID of player, used in evaluation of fitness
-     * @return number of calls to the FM.next() function, as the difference between length after rollout and start
-     *          index of rollout
+     * @return number of calls to the FM.next() function made by the rollout from the mutation point
      */
     public int mutate(AbstractForwardModel fm, int playerID){
+        fmCalls = 0;
+        copyCalls = 0;
         if (length > 0) {
             // Find index from which to mutate individual, random in range of currently valid length
-            int startIndex = 0;
-            if (length > 1) {
-                gen.nextInt(length - 1);
-            }
-            // Last index is maximum intended individual length
-            int endIndex = actions.length;
-            // Game state to start from
-            AbstractGameState gs = gameStates[startIndex];
+            int startIndex = gen.nextInt(length);
             // Perform rollout and return number of FM calls taken
-            return rollout(gs, fm, startIndex, endIndex, playerID);
+            return rollout(fm, startIndex, playerID);
         }
         return 0;
     }
 
     /**
-     * Performs a rollout with random actions from startIndex to endIndex in the individual, from root game state gs.
-     * Evaluates the final state reached and returns the number of calls to the FM.next() function.
-     * @param gs - root game state from which to start rollout
+     * Performs a rollout with random actions from startIndex to the end of the individual, starting from the game
+     * state stored at startIndex. Actions and states before startIndex are kept. Each new state is evaluated, and
+     * the individual's value is updated.
      * @param fm - forward model
      * @param startIndex - index in individual from which to start rollout
-     * @param endIndex - index in individual where to end rollout
      * @param playerID - ID of player, used in state evaluation
      * @return - number of calls to the FM.next() function
      */
-    private int rollout(AbstractGameState gs, AbstractForwardModel fm, int startIndex, int endIndex, int playerID) {
-        length = 0;
-        int fmCalls = 0;
-        double delta = 0;
-        for (int i = 0; i < startIndex; i++) {
-            double score;
-            if (this.heuristic != null){
-                score = heuristic.evaluateState(gameStates[i+1], playerID);
-            } else {
-                score = gameStates[i+1].getHeuristicScore(playerID);
+    private int rollout(AbstractForwardModel fm, int startIndex, int playerID) {
+        fmCalls = 0;
+        copyCalls = 0;
+        length = startIndex;
+        for (int i = startIndex; i < actions.length; i++){
+            // Rolls from chosen index to the end, randomly changing actions and game states
+            // Length of individual is updated depending on if it reaches a terminal game state
+            if (!gameStates[i].isNotTerminal()) break;
+
+            // Copy the game state, the one stored must not be modified
+            AbstractGameState gs = gameStates[i].copy();
+            copyCalls++;
+            AbstractAction action = randomAction(fm, gs);
+            fm.next(gs, action);
+            fmCalls++;
+            // Other players move randomly until it's our turn again
+            while (gs.isNotTerminal() && gs.getCurrentPlayer() != playerID) {
+                fm.next(gs, randomAction(fm, gs));
+                fmCalls++;
             }
 
-            delta += Math.pow(discountFactor, i) * score;
+            actions[i] = action;
+            gameStates[i + 1] = gs;
+            length++;
+
+            // Add value of state, discounted
+            cumValues[i + 1] = cumValues[i] + Math.pow(discountFactor, i) * evaluate(gs, playerID);
         }
-        for (int i = startIndex; i < endIndex; i++){
-            // Rolls from chosen index to the end, randomly changing actions and game states
-            // Length of individual is updated depending on if it reaches a terminal game state
-            if (gs.isNotTerminal()) {
-                // Copy the game state
-                AbstractGameState gsCopy = gs.copy();
-                List<AbstractAction> currentActions = fm.computeAvailableActions(gsCopy);
-                AbstractAction action = null;
-                if (currentActions.size() > 0) {
-                    action = currentActions.get(gen.nextInt(currentActions.size()));
-                }
-
-                // Advance game state with random action
-                fm.next(gsCopy, action);
-                fmCalls ++;
-
-                // If it's my turn, store this in the individual
-                boolean iAmMoving = (gameStates[i].getCurrentPlayer() == playerID);
-                if (iAmMoving) {
-                    gameStates[i + 1] = gsCopy;
-                    actions[i] = action;
-
-                    // Individual length increased
-                    length++;
-
-                    // Add value of state, discounted
-                    double score;
-                    if (this.heuristic != null){
-                        score = heuristic.evaluateState(gameStates[i+1], playerID);
-                    } else {
-                        score = gameStates[i+1].getHeuristicScore(playerID);
-                    }
-                    delta += Math.pow(discountFactor, i) * score;
-                } else {
-                    i--;
-                }
-
-                gs = gsCopy;
-            } else {
-                break;
+        this.value = cumValues[length];
+        if (length < actions.length && !gameStates[length].isNotTerminal()) {
+            // The game ended before the horizon: the final state keeps its value for the remaining steps, otherwise
+            // a win reached sooner would be worth less than the same win reached later
+            double score = evaluate(gameStates[length], playerID);
+            for (int i = length; i < actions.length; i++) {
+                this.value += Math.pow(discountFactor, i) * score;
             }
         }
-//        this.value = gs.getScore(playerID);
-        this.value = delta;
         return fmCalls;
     }
 
+    private double evaluate(AbstractGameState gs, int playerID) {
+        if (this.heuristic != null){
+            return heuristic.evaluateState(gs, playerID);
+        }
+        return gs.getHeuristicScore(playerID);
+    }
+
+    private AbstractAction randomAction(AbstractForwardModel fm, AbstractGameState gs) {
+        return fm.sampleRandomAction(gs, gen);
+    }
+
     @Override
     public int compareTo(Object o) {
         Individual a = this;
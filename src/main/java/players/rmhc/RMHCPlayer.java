@@ -6,6 +6,7 @@ import core.actions.AbstractAction;
 import core.interfaces.IStateHeuristic;
 import players.PlayerConstants;
 import utilities.ElapsedCpuTimer;
+import utilities.FastRandom;
 
 import java.util.*;
 
@@ -28,7 +29,7 @@ public class RMHCPlayer extends AbstractPlayer {
     }
 
     public RMHCPlayer(RMHCParams params) {
-        randomGenerator = new Random(params.getRandomSeed());
+        randomGenerator = new FastRandom(params.getRandomSeed());
         this.params = params;
         setName("RMHC");
     }
@@ -63,7 +64,8 @@ public class RMHCPlayer extends AbstractPlayer {
 
         // Initialise individual
         bestIndividual = new Individual(params.horizon, params.discountFactor, getForwardModel(), stateObs, getPlayerID(), randomGenerator, heuristic);
-        fmCalls += bestIndividual.length;
+        fmCalls += bestIndividual.fmCalls;
+        copyCalls += bestIndividual.copyCalls;
 
         // Run evolution
         boolean keepIterating = true;
@@ -96,12 +98,10 @@ public class RMHCPlayer extends AbstractPlayer {
     private void runIteration(AbstractGameState stateObs) {
         ElapsedCpuTimer elapsedTimerIteration = new ElapsedCpuTimer();
 
-        // Create new individual through mutation
+        // Create new individual through mutation, sharing the states before the mutation point with the current best
         Individual newIndividual = new Individual(bestIndividual);
-        copyCalls += newIndividual.length;
-        int statesUpdated = newIndividual.mutate(getForwardModel(), getPlayerID());
-        fmCalls += statesUpdated;
-        copyCalls += statesUpdated; // as mutate() copyies once each time it applies the forward model
+        fmCalls += newIndividual.mutate(getForwardModel(), getPlayerID());
+        copyCalls += newIndividual.copyCalls;
 
         // Keep new individual if better than current
         if (newIndividual.value > bestIndividual.value)
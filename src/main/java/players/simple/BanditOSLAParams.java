@@ -0,0 +1,56 @@
+package players.simple;
+
+import core.AbstractParameters;
+import players.PlayerParameters;
+
+import java.util.Arrays;
+
+public class BanditOSLAParams extends PlayerParameters {
+
+    /**
+     * How samples are shared between actions.
+     * SUCCESSIVE_HALVING - the budget is split in rounds; every action left is sampled equally in each round, and the
+     * worse half is then discarded.
+     * UCB - samples go one at a time to the actions with the highest UCB1 value, and actions whose upper bound falls
+     * below the best lower bound are discarded.
+     */
+    public enum Allocation {
+        SUCCESSIVE_HALVING, UCB
+    }
+
+    public Allocation allocation = Allocation.SUCCESSIVE_HALVING;
+    public double K = 1.0;           // Exploration constant for UCB, also the width of its confidence bounds
+    public double epsilon = 1e-6;
+    public int nThreads = 1;         // Threads sampling in parallel
+
+    public BanditOSLAParams() {
+        this(System.currentTimeMillis());
+    }
+
+    public BanditOSLAParams(long seed) {
+        super(seed);
+        addTunableParameter("allocation", Allocation.SUCCESSIVE_HALVING, Arrays.asList(Allocation.values()));
+        addTunableParameter("K", 1.0, Arrays.asList(0.1, 0.5, 1.0, Math.sqrt(2), 3.0));
+        addTunableParameter("epsilon", 1e-6);
+        addTunableParameter("nThreads", 1);
+    }
+
+    @Override
+    public void _reset() {
+        super._reset();
+        allocation = (Allocation) getParameterValue("allocation");
+        K = (double) getParameterValue("K");
+        epsilon = (double) getParameterValue("epsilon");
+        nThreads = (int) getParameterValue("nThreads");
+    }
+
+    @Override
+    protected AbstractParameters _copy() {
+        return new BanditOSLAParams(System.currentTimeMillis());
+    }
+
+    @Override
+    public BanditOSLAPlayer instantiate() {
+        return new BanditOSLAPlayer(this);
+    }
+}
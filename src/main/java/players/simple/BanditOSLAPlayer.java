@@ -0,0 +1,292 @@
+package players.simple;
+
+import core.AbstractForwardModel;
+import core.AbstractGameState;
+import core.AbstractPlayer;
+import core.CoreConstants;
+import core.actions.AbstractAction;
+import core.interfaces.IStateHeuristic;
+import core.turnorders.SimultaneousTurnOrder;
+import players.PlayerConstants;
+import utilities.ElapsedCpuTimer;
+import utilities.FastRandom;
+
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static utilities.Utils.noise;
+
+/**
+ * One step look ahead treating the actions available as arms of a multi-armed bandit. Instead of evaluating the state
+ * reached by each action once, as OSLAPlayer does, the successor of each action is sampled repeatedly within the
+ * budget, and the action with the best mean value is played. Samples are allocated with successive halving or UCB
+ * (see BanditOSLAParams.Allocation), so that clearly worse actions stop using up the budget early. If all actions
+ * left keep giving the same value (deterministic successors), sampling stops.
+ *
+ * With nThreads > 1 samples are taken in parallel, each thread with its own copies of the state and forward model.
+ */
+public class BanditOSLAPlayer extends AbstractPlayer {
+
+    BanditOSLAParams params;
+    private final FastRandom random;
+    IStateHeuristic heuristic;
+    private ExecutorService executor;
+
+    // Budgets
+    private ElapsedCpuTimer timer;
+    private int nSamples, fmCalls, copyCalls;
+    private double acumTimeTaken;
+
+    // Per thread state and forward model for the current decision
+    private AbstractGameState[] threadStates;
+    private AbstractForwardModel[] threadModels;
+
+    private static class Arm {
+        final AbstractAction action;
+        int n;
+        double sum, min = Double.POSITIVE_INFINITY, max = Double.NEGATIVE_INFINITY;
+
+        Arm(AbstractAction action) {
+            this.action = action;
+        }
+
+        void add(double value) {
+            n++;
+            sum += value;
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+        }
+
+        double mean() {
+            return sum / n;
+        }
+    }
+
+    public BanditOSLAPlayer() {
+        this(new BanditOSLAParams());
+    }
+
+    public BanditOSLAPlayer(BanditOSLAParams params) {
+        this.params = params;
+        this.random = new FastRandom(params.getRandomSeed());
+        this.heuristic = params.gameHeuristic;
+        setName("BanditOSLA");
+    }
+
+    public BanditOSLAPlayer(BanditOSLAParams params, IStateHeuristic heuristic) {
+        this(params);
+        this.heuristic = heuristic;
+    }
+
+    @Override
+    public void finalizePlayer(AbstractGameState gameState) {
+        if (executor != null) {
+            executor.shutdown();
+            executor = null;
+        }
+    }
+
+    @Override
+    public AbstractAction getAction(AbstractGameState gs, List<AbstractAction> actions) {
+        if (actions.size() == 1) return actions.get(0);
+
+        timer = new ElapsedCpuTimer();
+        if (params.budgetType == PlayerConstants.BUDGET_TIME) {
+            timer.setMaxTimeMillis(params.budget);
+        }
+        nSamples = 0;
+        fmCalls = 0;
+        copyCalls = 0;
+        acumTimeTaken = 0;
+
+        int nThreads = Math.max(1, params.nThreads);
+        threadStates = new AbstractGameState[nThreads];
+        threadModels = new AbstractForwardModel[nThreads];
+        if (nThreads == 1) {
+            threadStates[0] = gs;
+            threadModels[0] = getForwardModel();
+        } else {
+            // Each thread copies from its own state, so that no state is ever read by two threads at once
+            for (int t = 0; t < nThreads; t++) {
+                threadStates[t] = gs.copy();
+                threadModels[t] = getForwardModel().copy();
+                copyCalls++;
+            }
+        }
+
+        List<Arm> arms = new ArrayList<>();
+        for (AbstractAction a : actions) {
+            arms.add(new Arm(a));
+        }
+        List<Arm> alive = new ArrayList<>(arms);
+        if (params.allocation == BanditOSLAParams.Allocation.UCB) {
+            runUCB(alive);
+        } else {
+            runSuccessiveHalving(alive);
+        }
+
+        // Play the action with the best mean value, ties broken randomly
+        double maxQ = Double.NEGATIVE_INFINITY;
+        AbstractAction bestAction = null;
+        for (Arm arm : alive) {
+            double Q = noise(arm.mean(), params.epsilon, random.nextDouble());
+            if (Q > maxQ) {
+                maxQ = Q;
+                bestAction = arm.action;
+            }
+        }
+        threadStates = null;
+        return bestAction;
+    }
+
+    private void runSuccessiveHalving(List<Arm> alive) {
+        int nRounds = 32 - Integer.numberOfLeadingZeros(alive.size() - 1);  // ceil(log2(n))
+        for (int r = 0; r < nRounds && alive.size() > 1; r++) {
+            // Share what is left of the budget equally between the remaining rounds and actions, at least 1 sample each
+            int perArm = r == 0 ? Math.max(1, samplesLeft() / (alive.size() * nRounds)) :
+                    samplesLeft() / (alive.size() * (nRounds - r));
+            if (perArm < 1) break;
+            List<Arm> toSample = new ArrayList<>();
+            for (Arm arm : alive) {
+                for (int i = 0; i < perArm; i++) {
+                    toSample.add(arm);
+                }
+            }
+            sample(toSample);
+            if (deterministic(alive)) break;
+
+            alive.sort(Comparator.comparingDouble(Arm::mean).reversed());
+            alive.subList((alive.size() + 1) / 2, alive.size()).clear();
+        }
+    }
+
+    private void runUCB(List<Arm> alive) {
+        sample(new ArrayList<>(alive));
+        int batchSize = Math.max(1, params.nThreads);
+        while (alive.size() > 1 && samplesLeft() > 0 && !deterministic(alive)) {
+            // Sample the actions with the highest UCB values, one sample each
+            double logN = Math.log(nSamples);
+            alive.sort(Comparator.comparingDouble((Arm a) -> a.mean() + params.K * Math.sqrt(logN / a.n)).reversed());
+            sample(new ArrayList<>(alive.subList(0, Math.min(batchSize, alive.size()))));
+
+            // Discard actions with an upper bound below the best lower bound
+            double bestLower = Double.NEGATIVE_INFINITY;
+            double logN2 = Math.log(nSamples);
+            for (Arm arm : alive) {
+                bestLower = Math.max(bestLower, arm.mean() - params.K * Math.sqrt(logN2 / arm.n));
+            }
+            final double threshold = bestLower;
+            alive.removeIf(arm -> arm.mean() + params.K * Math.sqrt(logN2 / arm.n) < threshold);
+        }
+    }
+
+    /**
+     * @return - true if every action was sampled at least twice, always giving the same value.
+     */
+    private boolean deterministic(List<Arm> arms) {
+        for (Arm arm : arms) {
+            if (arm.n < 2 || arm.min != arm.max) return false;
+        }
+        return true;
+    }
+
+    /**
+     * @return - estimate of the number of samples that can still be taken within the budget.
+     */
+    private int samplesLeft() {
+        PlayerConstants budgetType = params.budgetType;
+        if (budgetType == PlayerConstants.BUDGET_TIME) {
+            if (nSamples == 0) return 0;  // No idea yet of how long a sample takes
+            double remaining = timer.remainingTimeMillis() - params.breakMS;
+            return (int) Math.max(0, remaining / (acumTimeTaken / nSamples));
+        } else if (budgetType == PlayerConstants.BUDGET_FM_CALLS) {
+            return params.budget - fmCalls;
+        } else if (budgetType == PlayerConstants.BUDGET_COPY_CALLS) {
+            return params.budget - copyCalls;
+        } else if (budgetType == PlayerConstants.BUDGET_FMANDCOPY_CALLS) {
+            return (params.budget - fmCalls - copyCalls) / 2;
+        }
+        return params.budget - nSamples;
+    }
+
+    /**
+     * Takes one sample of the successor of each arm in the list (arms may be repeated), in parallel if nThreads > 1.
+     */
+    private void sample(List<Arm> toSample) {
+        ElapsedCpuTimer elapsedTimer = new ElapsedCpuTimer();
+        double[] values = new double[toSample.size()];
+        int[] fm = new int[threadStates.length];
+        int nThreads = Math.min(threadStates.length, toSample.size());
+        if (nThreads <= 1) {
+            for (int i = 0; i < toSample.size(); i++) {
+                values[i] = sample(toSample.get(i).action, 0, random, fm);
+            }
+        } else {
+            if (executor == null) {
+                executor = Executors.newFixedThreadPool(threadStates.length, r -> {
+                    Thread t = new Thread(r, "BanditOSLA sampling");
+                    t.setDaemon(true);
+                    return t;
+                });
+            }
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < nThreads; t++) {
+                final int thread = t;
+                Random rnd = random.split();
+                futures.add(executor.submit(() -> {
+                    for (int i = thread; i < toSample.size(); i += nThreads) {
+                        values[i] = sample(toSample.get(i).action, thread, rnd, fm);
+                    }
+                }));
+            }
+            try {
+                for (Future<?> f : futures) {
+                    f.get();
+                }
+            } catch (Exception e) {
+                throw new AssertionError("BanditOSLA sampling failed : " + e.getMessage(), e);
+            }
+        }
+        for (int i = 0; i < toSample.size(); i++) {
+            toSample.get(i).add(values[i]);
+        }
+        for (int f : fm) {
+            fmCalls += f;
+        }
+        nSamples += toSample.size();
+        copyCalls += toSample.size();
+        acumTimeTaken += elapsedTimer.elapsedMillis();
+    }
+
+    /**
+     * Applies the action to a copy of the state of the given thread, and evaluates the state reached.
+     */
+    private double sample(AbstractAction action, int thread, Random rnd, int[] fmCalls) {
+        AbstractForwardModel fm = threadModels[thread];
+        AbstractGameState gsCopy = threadStates[thread].copy();
+        // Actions may keep data from their execution, so each sample gets its own copy
+        fm.next(gsCopy, action.copy());
+        fmCalls[thread]++;
+
+        if (gsCopy.getTurnOrder() instanceof SimultaneousTurnOrder) {
+            // we assume that every other player now has to make a decision
+            for (int p = 0; p < gsCopy.getNPlayers() - 1; p++) {
+                fm.next(gsCopy, fm.sampleRandomAction(gsCopy, rnd));
+                fmCalls[thread]++;
+            }
+        }
+
+        if (heuristic != null) {
+            return heuristic.evaluateState(gsCopy, getPlayerID());
+        }
+        return gsCopy.getHeuristicScore(getPlayerID());
+    }
+
+    @Override
+    public CoreConstants.ObservationType getObservationType() {
+        // Every action is evaluated on a copy, the observation itself is never modified
+        return CoreConstants.ObservationType.READ_ONLY;
+    }
+}
@@ -3,9 +3,11 @@ package players.simple;
 import core.AbstractForwardModel;
 import core.AbstractGameState;
 import core.AbstractPlayer;
+import core.CoreConstants;
 import core.actions.AbstractAction;
 import core.interfaces.IStateHeuristic;
 import core.turnorders.SimultaneousTurnOrder;
+import utilities.FastRandom;
 
 import java.util.List;
 import java.util.Random;
@@ -25,11 +27,11 @@ public class OSLAPlayer extends AbstractPlayer {
     }
 
     public OSLAPlayer() {
-        this(new Random());
+        this(new FastRandom());
     }
 
     public OSLAPlayer(IStateHeuristic heuristic) {
-        this(heuristic, new Random());
+        this(heuristic, new FastRandom());
     }
 
     public OSLAPlayer(IStateHeuristic heuristic, Random random) {
@@ -73,6 +75,12 @@ public class OSLAPlayer extends AbstractPlayer {
         return bestAction;
     }
 
+    @Override
+    public CoreConstants.ObservationType getObservationType() {
+        // Every action is evaluated on a copy, the observation itself is never modified
+        return CoreConstants.ObservationType.READ_ONLY;
+    }
+
     private void advanceToEndOfRoundWithRandomActions(AbstractGameState gsCopy) {
         // we assume that every other player now has to make a decision
         RandomPlayer rnd = new RandomPlayer(random);
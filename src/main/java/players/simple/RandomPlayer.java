@@ -3,7 +3,9 @@ package players.simple;
 import core.AbstractForwardModel;
 import core.AbstractGameState;
 import core.AbstractPlayer;
+import core.CoreConstants;
 import core.actions.AbstractAction;
+import utilities.FastRandom;
 
 import java.util.List;
 import java.util.Random;
@@ -21,7 +23,7 @@ public class RandomPlayer extends AbstractPlayer {
 
     public RandomPlayer()
     {
-        this(new Random());
+        this(new FastRandom());
     }
 
     @Override
@@ -30,6 +32,22 @@ public class RandomPlayer extends AbstractPlayer {
         return actions.get(randomAction);
     }
 
+    /**
+     * Picks an action at random in the given state, without the forward model having to compute all actions available
+     * (see AbstractForwardModel.sampleRandomAction()). For rollouts and opponent models.
+     *
+     * @return - the action picked, or null if there are no actions available.
+     */
+    public AbstractAction getAction(AbstractForwardModel forwardModel, AbstractGameState gameState) {
+        return forwardModel.sampleRandomAction(gameState, rnd);
+    }
+
+    @Override
+    public CoreConstants.ObservationType getObservationType() {
+        // Never looks at the state
+        return CoreConstants.ObservationType.NONE;
+    }
+
     @Override
     public String toString() {
         return "Random";
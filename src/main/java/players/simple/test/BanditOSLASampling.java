@@ -0,0 +1,148 @@
+package players.simple.test;
+
+import core.AbstractForwardModel;
+import core.AbstractGameState;
+import core.Game;
+import core.actions.AbstractAction;
+import core.actions.SetGridValueAction;
+import core.interfaces.IStateHeuristic;
+import games.GameType;
+import org.junit.*;
+import players.PlayerConstants;
+import players.simple.*;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class BanditOSLASampling {
+
+    BanditOSLAParams params;
+    int nEvaluations;
+    IStateHeuristic countingHeuristic = (state, playerId) -> {
+        synchronized (this) {
+            nEvaluations++;
+        }
+        return state.getHeuristicScore(playerId);
+    };
+
+    @Before
+    public void setup() {
+        params = new BanditOSLAParams(6617);
+        params.budgetType = PlayerConstants.BUDGET_ITERATIONS;
+        params.budget = 1000;
+    }
+
+    BanditOSLAPlayer createPlayer(Game game) {
+        BanditOSLAPlayer player = new BanditOSLAPlayer(params, countingHeuristic);
+        game.reset(Arrays.asList(player, new RandomPlayer(new Random(19))));
+        return player;
+    }
+
+    /**
+     * Plays the given cells in order, alternating between the players.
+     */
+    static void playCells(Game game, int[][] cells) {
+        AbstractForwardModel forwardModel = game.getForwardModel();
+        AbstractGameState state = game.getGameState();
+        for (int[] cell : cells) {
+            AbstractAction move = null;
+            for (AbstractAction action : forwardModel.computeAvailableActions(state)) {
+                SetGridValueAction<?> set = (SetGridValueAction<?>) action;
+                if (set.getX() == cell[0] && set.getY() == cell[1]) move = action;
+            }
+            assertNotNull(move);
+            forwardModel.next(state, move);
+        }
+    }
+
+    /**
+     * Sets up a game of Tic Tac Toe in which the first player wins by playing (2, 0), and asks the player given for
+     * its move.
+     */
+    void findsWinningMove(BanditOSLAPlayer player, Game game) {
+        playCells(game, new int[][]{{0, 0}, {0, 1}, {1, 0}, {1, 1}});
+        AbstractGameState state = game.getGameState();
+        assertEquals(0, state.getCurrentPlayer());
+        List<AbstractAction> actions = game.getForwardModel().computeAvailableActions(state);
+        SetGridValueAction<?> chosen = (SetGridValueAction<?>) player.getAction(state.copy(0), actions);
+        assertEquals(2, chosen.getX());
+        assertEquals(0, chosen.getY());
+    }
+
+    @Test
+    public void successiveHalvingFindsWin() {
+        Game game = GameType.TicTacToe.createGameInstance(2, 431);
+        findsWinningMove(createPlayer(game), game);
+        assertTrue(nEvaluations <= params.budget);
+    }
+
+    @Test
+    public void ucbFindsWin() {
+        params.allocation = BanditOSLAParams.Allocation.UCB;
+        Game game = GameType.TicTacToe.createGameInstance(2, 431);
+        findsWinningMove(createPlayer(game), game);
+        assertTrue(nEvaluations <= params.budget);
+    }
+
+    @Test
+    public void deterministicSuccessorsSampledOnce() {
+        // Every action always leads to the same state in Tic Tac Toe, so sampling stops after the first round
+        Game game = GameType.TicTacToe.createGameInstance(2, 431);
+        BanditOSLAPlayer player = createPlayer(game);
+        AbstractGameState state = game.getGameState();
+        List<AbstractAction> actions = game.getForwardModel().computeAvailableActions(state);
+        assertTrue(actions.contains(player.getAction(state.copy(0), actions)));
+        assertTrue(nEvaluations >= 2 * actions.size());
+        assertTrue(nEvaluations < params.budget / 2);
+    }
+
+    @Test
+    public void budgetRespectedWithChance() {
+        for (BanditOSLAParams.Allocation allocation : BanditOSLAParams.Allocation.values()) {
+            params.allocation = allocation;
+            Game game = GameType.Dominion.createGameInstance(2, 58);
+            BanditOSLAPlayer player = createPlayer(game);
+            AbstractGameState state = game.getGameState();
+            AbstractForwardModel forwardModel = game.getForwardModel();
+            for (int move = 0; move < 20 && state.isNotTerminal(); move++) {
+                List<AbstractAction> actions = forwardModel.computeAvailableActions(state);
+                nEvaluations = 0;
+                AbstractAction action = game.getPlayers().get(state.getCurrentPlayer())
+                        .getAction(state.copy(state.getCurrentPlayer()), actions);
+                assertTrue(actions.contains(action));
+                assertTrue(nEvaluations <= params.budget);
+                forwardModel.next(state, action);
+            }
+            player.finalizePlayer(state);
+        }
+    }
+
+    @Test
+    public void parallelSampling() {
+        params.nThreads = 4;
+        Game game = GameType.TicTacToe.createGameInstance(2, 431);
+        BanditOSLAPlayer player = createPlayer(game);
+        findsWinningMove(player, game);
+        assertTrue(samplingThreads() > 0);
+
+        player.finalizePlayer(game.getGameState());
+        for (int i = 0; i < 100 && samplingThreads() > 0; i++) {
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        assertEquals(0, samplingThreads());
+    }
+
+    static int samplingThreads() {
+        int n = 0;
+        for (Thread t : Thread.getAllStackTraces().keySet()) {
+            if (t.getName().equals("BanditOSLA sampling") && t.isAlive()) n++;
+        }
+        return n;
+    }
+}
@@ -25,6 +25,14 @@ public class ElapsedCpuChessTimer extends ElapsedCpuTimer {
         timeRemaining -= elapsed();
     }
 
+    /**
+     * Takes time spent on another thread from the time remaining (pause() takes the time of the current thread).
+     * @param nanos - time spent, in nanoseconds.
+     */
+    public void spend(long nanos) {
+        timeRemaining -= nanos;
+    }
+
     public void incrementAction() {
         // Add increment
         timeRemaining += incrementAction;
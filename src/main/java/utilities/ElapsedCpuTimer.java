@@ -105,6 +105,20 @@ public class ElapsedCpuTimer {
         return getCpuTime();
     }
 
+    /**
+     * CPU time of another thread, measured as this timer measures that of the current thread.
+     *
+     * @param threadId - ID of a live thread.
+     * @return - CPU time used by the thread so far, in nanoseconds (wall clock time on Windows, or if not supported).
+     */
+    public static long threadCpuTime(long threadId) {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (OS_WIN || !threads.isThreadCpuTimeSupported())
+            return System.nanoTime();
+        long time = threads.getThreadCpuTime(threadId);
+        return time == -1 ? System.nanoTime() : time;
+    }
+
     protected long getCpuTime() {
         if(OS_WIN)
             return System.nanoTime();
@@ -0,0 +1,152 @@
+package utilities;
+
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Random number generator for the framework and its players. It is a java.util.Random, so can be passed anywhere one
+ * is expected (Deck.shuffle(), RandomPlayer, redeterminise()...), but draws numbers with the SplitMix64 algorithm of
+ * java.util.SplittableRandom rather than with an atomic update of a shared seed: drawing costs a few arithmetic
+ * operations, and generators used by different threads do not contend.
+ *
+ * It is not thread safe. Each thread (each game, player, or search thread) should draw from a generator of its own,
+ * which split() derives from a parent generator: the child is independent of the parent, and the same for the same
+ * seed and sequence of calls, so runs in parallel are as reproducible as runs one after another. A generator shared
+ * by threads still works, but may give some numbers twice.
+ *
+ * The sequences drawn are not those of a java.util.Random with the same seed.
+ */
+public class FastRandom extends Random {
+    private static final long serialVersionUID = 1L;
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+    private static final double DOUBLE_UNIT = 0x1.0p-53;
+    private static final float FLOAT_UNIT = 0x1.0p-24f;
+    // Seeds generators created without a seed, as for java.util.Random
+    private static final AtomicLong seeder = new AtomicLong(mix64(System.currentTimeMillis()) ^ mix64(System.nanoTime()));
+
+    // No initializers: fields are set by setSeed(), which the constructor of Random calls before they would run
+    private long seed;
+    private long gamma;  // Odd, added to the seed for each number drawn
+    private double nextNextGaussian;
+    private boolean haveNextNextGaussian;
+
+    public FastRandom() {
+        this(mix64(seeder.getAndAdd(2 * GOLDEN_GAMMA)) ^ System.nanoTime());
+    }
+
+    public FastRandom(long seed) {
+        super(seed);
+    }
+
+    private FastRandom(long seed, long gamma) {
+        super(seed);
+        this.gamma = gamma;
+    }
+
+    /**
+     * @return - a new generator, independent of this one, seeded with the next numbers drawn from this one.
+     */
+    public FastRandom split() {
+        return new FastRandom(nextLong(), mixGamma(nextSeed()));
+    }
+
+    /**
+     * Restarts the sequence of this generator from the given seed, as the constructor does.
+     */
+    @Override
+    public void setSeed(long seed) {
+        this.seed = seed;
+        this.gamma = GOLDEN_GAMMA;
+        this.haveNextNextGaussian = false;
+    }
+
+    @Override
+    protected int next(int bits) {
+        return (int) (mix64(nextSeed()) >>> (64 - bits));
+    }
+
+    @Override
+    public int nextInt() {
+        return mix32(nextSeed());
+    }
+
+    @Override
+    public int nextInt(int bound) {
+        if (bound <= 0)
+            throw new IllegalArgumentException("bound must be positive");
+        int r = mix32(nextSeed());
+        int m = bound - 1;
+        if ((bound & m) == 0) {
+            // Power of two
+            r &= m;
+        } else {
+            // Reject the top values that would make some results more likely than others
+            for (int u = r >>> 1; u + m - (r = u % bound) < 0; u = mix32(nextSeed()) >>> 1)
+                ;
+        }
+        return r;
+    }
+
+    @Override
+    public long nextLong() {
+        return mix64(nextSeed());
+    }
+
+    @Override
+    public boolean nextBoolean() {
+        return mix32(nextSeed()) < 0;
+    }
+
+    @Override
+    public float nextFloat() {
+        return (mix32(nextSeed()) >>> 8) * FLOAT_UNIT;
+    }
+
+    @Override
+    public double nextDouble() {
+        return (mix64(nextSeed()) >>> 11) * DOUBLE_UNIT;
+    }
+
+    @Override
+    public double nextGaussian() {
+        // Polar method, as java.util.Random, without its lock
+        if (haveNextNextGaussian) {
+            haveNextNextGaussian = false;
+            return nextNextGaussian;
+        }
+        double v1, v2, s;
+        do {
+            v1 = 2 * nextDouble() - 1;
+            v2 = 2 * nextDouble() - 1;
+            s = v1 * v1 + v2 * v2;
+        } while (s >= 1 || s == 0);
+        double multiplier = StrictMath.sqrt(-2 * StrictMath.log(s) / s);
+        nextNextGaussian = v2 * multiplier;
+        haveNextNextGaussian = true;
+        return v1 * multiplier;
+    }
+
+    private long nextSeed() {
+        return seed += gamma;
+    }
+
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    private static int mix32(long z) {
+        z = (z ^ (z >>> 33)) * 0x62a9d9ed799705f5L;
+        return (int) (((z ^ (z >>> 28)) * 0xcb24d0a5c88c35b3L) >>> 32);
+    }
+
+    // Odd gamma for a split generator, with enough bit transitions to spread its sequence
+    private static long mixGamma(long z) {
+        z = (z ^ (z >>> 33)) * 0xff51afd7ed558ccdL;
+        z = (z ^ (z >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        z = (z ^ (z >>> 33)) | 1L;
+        int n = Long.bitCount(z ^ (z >>> 1));
+        return n < 24 ? z ^ 0xaaaaaaaaaaaaaaaaL : z;
+    }
+}
@@ -0,0 +1,104 @@
+package utilities;
+
+import core.AbstractGameState;
+import core.CoreConstants;
+import core.Game;
+import core.GameRecord;
+import core.actions.AbstractAction;
+import core.interfaces.IGameListener;
+
+import java.io.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import static core.CoreConstants.GameEvents.*;
+
+/**
+ * Records every game it listens to as a GameRecord. Records are appended to a binary file (gzipped if the file name
+ * ends in .gz) as each game finishes, and/or kept in memory; read them back with GameRecord.readAll().
+ */
+public class GameRecordListener implements IGameListener {
+
+    private DataOutputStream out;
+    private final List<GameRecord> records;
+    private Game game;
+    private GameRecord current;
+
+    /**
+     * @param fileName - file to write records to, null to only keep them in memory.
+     * @param keepInMemory - if true, records are also kept and can be retrieved with getRecords().
+     */
+    public GameRecordListener(String fileName, boolean keepInMemory) {
+        records = keepInMemory ? new ArrayList<>() : null;
+        if (fileName != null) {
+            try {
+                OutputStream file = new FileOutputStream(fileName);
+                if (fileName.endsWith(".gz")) file = new GZIPOutputStream(file);
+                out = new DataOutputStream(new BufferedOutputStream(file));
+            } catch (IOException e) {
+                throw new AssertionError("Problem opening file " + fileName + " : " + e.getMessage());
+            }
+        }
+    }
+
+    public GameRecordListener(String fileName) {
+        this(fileName, false);
+    }
+
+    public GameRecordListener() {
+        this(null, true);
+    }
+
+    @Override
+    public void onGameEvent(CoreConstants.GameEvents type, Game game) {
+        if (type == ABOUT_TO_START) {
+            this.game = game;
+            current = new GameRecord(game);
+        } else if (type == GAME_OVER && current != null) {
+            if (records != null) records.add(current);
+            if (out != null) {
+                try {
+                    current.write(out);
+                } catch (IOException e) {
+                    throw new AssertionError("Problem writing game record : " + e.getMessage());
+                }
+            }
+            current = null;
+        }
+    }
+
+    @Override
+    public void onEvent(CoreConstants.GameEvents type, AbstractGameState state, AbstractAction action) {
+        if (type == ACTION_CHOSEN) {
+            if (current == null)
+                throw new AssertionError("We have not yet received an ABOUT_TO_START event to start the record");
+            int index = game.getLastActionIndex();
+            if (action != null && index == -1)
+                throw new AssertionError("Action " + action + " is not one of the actions available, so the game can " +
+                        "not be recorded");
+            current.addDecision(index);
+        }
+    }
+
+    @Override
+    public void allGamesFinished() {
+        if (out != null) {
+            try {
+                out.close();
+            } catch (IOException e) {
+                throw new AssertionError("Problem closing game record file : " + e.getMessage());
+            }
+            out = null;
+        }
+    }
+
+    /**
+     * @return - records of all games finished so far, if kept in memory.
+     */
+    public List<GameRecord> getRecords() {
+        if (records == null)
+            throw new AssertionError("Records are not being kept in memory");
+        return records;
+    }
+}
@@ -1,34 +1,34 @@
 package utilities;
 
-import java.util.HashMap;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Registry of integer keys for property (and other) names. Shared by all games, including games running in parallel
+ * threads, so it is thread-safe.
+ */
 public class Hash
 {
-    private static Hash hash;
+    private static final Hash hash = new Hash();
 
-    private HashMap<String, Integer> hashmap;
+    private final ConcurrentHashMap<String, Integer> hashmap;
 
     public static Hash GetInstance()
     {
-        if(hash == null)
-            hash = new Hash();
         return hash;
     }
 
     private Hash()
     {
-        hashmap = new HashMap<>();
+        hashmap = new ConcurrentHashMap<>();
     }
 
 
     public int hash(String key)
     {
-        if(hashmap.containsKey(key))
-            return hashmap.get(key);
-
-        int newValue = key.hashCode();
-        hashmap.put(key, newValue);
-        return newValue;
+        Integer value = hashmap.get(key);
+        if (value == null)
+            value = hashmap.computeIfAbsent(key, String::hashCode);
+        return value;
     }
 
 }
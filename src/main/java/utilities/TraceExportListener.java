@@ -0,0 +1,110 @@
+package utilities;
+
+import core.AbstractGameState;
+import core.CoreConstants;
+import core.Game;
+import core.actions.AbstractAction;
+import core.interfaces.IFeatureRepresentation;
+import core.interfaces.IGameListener;
+import core.interfaces.IVectorObservation;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static core.CoreConstants.GameEvents.*;
+
+/**
+ * Exports a trace of every decision made in the games it listens to, for learning offline: the features of the state
+ * the decision was made in, the number of actions available, the index of the action chosen and the final result of
+ * the player deciding. Decisions are kept in memory until the game is over, and then handed over to a TraceWriter,
+ * which writes them to chunked, compressed binary files on its own thread (see TraceWriter for the format).
+ *
+ * Features come from IVectorObservation.getNumericalObservation() if the game state implements it, otherwise from
+ * IFeatureRepresentation.getDistanceFeatures() for the player deciding. They are computed on the game state passed
+ * to listeners, so games with hidden information should only encode what the player deciding can observe.
+ *
+ * A listener follows one game at a time; for parallel runs (e.g. in BatchSimulation) create one listener per game,
+ * all sharing the same TraceWriter.
+ */
+public class TraceExportListener implements IGameListener {
+
+    private final TraceWriter writer;
+    private final boolean ownsWriter;
+    private Game game;
+    private List<float[]> features;
+    private List<int[]> info;
+
+    /**
+     * @param writer - writer to hand finished games to. This is not closed by allGamesFinished(), as it may be shared
+     *               by several listeners; close it once all of them are finished.
+     */
+    public TraceExportListener(TraceWriter writer) {
+        this.writer = writer;
+        this.ownsWriter = false;
+    }
+
+    /**
+     * @param prefix - path and start of the name of the chunk files to write; a writer is created for this listener
+     *               only, and closed by allGamesFinished().
+     */
+    public TraceExportListener(String prefix) {
+        this.writer = new TraceWriter(prefix);
+        this.ownsWriter = true;
+    }
+
+    @Override
+    public void onGameEvent(CoreConstants.GameEvents type, Game game) {
+        if (type == ABOUT_TO_START) {
+            this.game = game;
+            features = new ArrayList<>();
+            info = new ArrayList<>();
+        } else if (type == GAME_OVER && features != null) {
+            AbstractGameState state = game.getGameState();
+            double[] scores = new double[state.getNPlayers()];
+            for (int p = 0; p < scores.length; p++) {
+                scores[p] = state.getGameScore(p);
+            }
+            writer.add(TraceWriter.pack(features, info, state.getPlayerResults(), scores));
+            features = null;
+            info = null;
+        }
+    }
+
+    @Override
+    public void onEvent(CoreConstants.GameEvents type, AbstractGameState state, AbstractAction action) {
+        if (type == ACTION_CHOSEN) {
+            if (features == null)
+                throw new AssertionError("We have not yet received an ABOUT_TO_START event to start the trace");
+            int player = state.getCurrentPlayer();
+            List<Pair<Integer, Integer>> actionSpace = game.getActionSpaceSize();
+            int nActions = actionSpace.get(actionSpace.size() - 1).b;
+            features.add(getFeatures(state, player));
+            info.add(new int[]{player, nActions, action == null ? -1 : game.getLastActionIndex()});
+        }
+    }
+
+    /**
+     * @return - features of the given state, as seen by the given player.
+     */
+    public static float[] getFeatures(AbstractGameState state, int player) {
+        double[] values;
+        if (state instanceof IVectorObservation) {
+            values = ((IVectorObservation) state).getNumericalObservation();
+        } else if (state instanceof IFeatureRepresentation) {
+            values = ((IFeatureRepresentation) state).getDistanceFeatures(player);
+        } else {
+            throw new IllegalArgumentException(state.getGameType().name() + " does not implement IVectorObservation " +
+                    "or IFeatureRepresentation, no features to export");
+        }
+        float[] result = new float[values.length];
+        for (int i = 0; i < values.length; i++) {
+            result[i] = (float) values[i];
+        }
+        return result;
+    }
+
+    @Override
+    public void allGamesFinished() {
+        if (ownsWriter) writer.close();
+    }
+}
@@ -0,0 +1,217 @@
+package utilities;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes decision traces (see TraceExportListener) to a series of gzipped binary chunk files, on its own thread, so
+ * that the game threads only pay for encoding the features. One writer can be shared by the listeners of any number
+ * of games running in parallel: whole games are queued, and written one after the other.
+ *
+ * Chunk files are named prefix_00000.bin.gz, prefix_00001.bin.gz..., and a new chunk is started once the current one
+ * holds rowsPerChunk decisions (only between games, so a game is never split), or when the feature length changes.
+ * Each chunk, once decompressed, is a 16 byte header followed by fixed size rows, all little-endian:
+ *
+ *   header: int32 magic (0x54414754, "TAGT"), int32 version, int32 number of features F, int32 reserved (0)
+ *   row:    int32 game, int32 player, int32 number of actions available, int32 index of action chosen (-1 if none),
+ *           int32 player result (ordinal of Utils.GameResult), float32 player final score, float32[F] features
+ *
+ * so that a chunk can be loaded without parsing, e.g. with numpy:
+ *
+ *   data = gzip.open(f).read()
+ *   F = np.frombuffer(data, '<i4', 4)[2]
+ *   rows = np.frombuffer(data, np.dtype([('game', '<i4'), ('player', '<i4'), ('n_actions', '<i4'), ('action', '<i4'),
+ *                        ('result', '<i4'), ('score', '<f4'), ('features', '<f4', (F,))]), offset=16)
+ *
+ * Game numbers are unique within a writer, in the order games were queued. The legal action mask of a decision is the
+ * first n_actions entries of the action list, as actions are not indexed in a fixed action space.
+ */
+public class TraceWriter implements AutoCloseable {
+
+    public static final int MAGIC = 0x54414754;  // "TAGT"
+    public static final int VERSION = 1;
+    private static final int HEADER_BYTES = 16;
+    private static final int ROW_INTS = 6;
+
+    /**
+     * Decisions of one finished game, packed in one array of rows (ROW_INTS + nFeatures values each).
+     */
+    static class GameTrace {
+        final int nFeatures;
+        final int nRows;
+        final ByteBuffer rows;  // Game number left as 0, set by the writer thread
+
+        GameTrace(int nFeatures, int nRows, ByteBuffer rows) {
+            this.nFeatures = nFeatures;
+            this.nRows = nRows;
+            this.rows = rows;
+        }
+    }
+
+    private static final GameTrace END = new GameTrace(0, 0, null);
+
+    private final String prefix;
+    private final int rowsPerChunk;
+    private final BlockingQueue<GameTrace> queue;
+    private final Thread thread;
+    private volatile Throwable failure;
+    private volatile boolean closed;
+
+    // Writer thread only
+    private OutputStream out;
+    private int chunk, chunkRows, chunkFeatures = -1, nGames;
+
+    /**
+     * @param prefix       - path and start of the name of the chunk files; directories are created if needed.
+     * @param rowsPerChunk - decisions after which a new chunk file is started.
+     * @param queueSize    - games that can be waiting to be written before game threads block.
+     */
+    public TraceWriter(String prefix, int rowsPerChunk, int queueSize) {
+        if (rowsPerChunk < 1 || queueSize < 1)
+            throw new IllegalArgumentException("rowsPerChunk and queueSize must be positive");
+        this.prefix = prefix;
+        this.rowsPerChunk = rowsPerChunk;
+        this.queue = new ArrayBlockingQueue<>(queueSize);
+        File parent = new File(prefix).getAbsoluteFile().getParentFile();
+        if (parent != null && !parent.exists() && !parent.mkdirs())
+            throw new AssertionError("Problem creating directory " + parent);
+        thread = new Thread(this::run, "Trace writer " + prefix);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    public TraceWriter(String prefix) {
+        this(prefix, 1 << 20, 1024);
+    }
+
+    /**
+     * Packs the decisions of one game into a GameTrace.
+     *
+     * @param decisions - features of each decision, all the same length.
+     * @param info      - player, number of actions and action chosen of each decision.
+     * @param results   - result of each player.
+     * @param scores    - final score of each player.
+     */
+    static GameTrace pack(List<float[]> decisions, List<int[]> info, Utils.GameResult[] results, double[] scores) {
+        int nFeatures = decisions.isEmpty() ? 0 : decisions.get(0).length;
+        int rowBytes = 4 * (ROW_INTS + nFeatures);
+        ByteBuffer rows = ByteBuffer.allocate(rowBytes * decisions.size()).order(ByteOrder.LITTLE_ENDIAN);
+        for (int i = 0; i < decisions.size(); i++) {
+            float[] features = decisions.get(i);
+            if (features.length != nFeatures)
+                throw new IllegalArgumentException("Feature vectors change length during the game: " + nFeatures +
+                        " and " + features.length);
+            int[] row = info.get(i);
+            int player = row[0];
+            rows.putInt(0).putInt(player).putInt(row[1]).putInt(row[2]);
+            rows.putInt(results[player].ordinal()).putFloat((float) scores[player]);
+            for (float f : features) {
+                rows.putFloat(f);
+            }
+        }
+        return new GameTrace(nFeatures, decisions.size(), rows);
+    }
+
+    /**
+     * Queues a game to be written, blocking if the writer is behind by more than queueSize games.
+     */
+    void add(GameTrace trace) {
+        checkFailure();
+        if (closed)
+            throw new AssertionError("Trace writer " + prefix + " is closed");
+        try {
+            queue.put(trace);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AssertionError("Interrupted while queueing game trace");
+        }
+    }
+
+    private void run() {
+        try {
+            while (true) {
+                GameTrace trace = queue.take();
+                if (trace == END) break;
+                write(trace);
+            }
+            closeChunk();
+        } catch (Throwable e) {
+            failure = e;
+            // Keep draining, so that game threads never block on a writer that has stopped
+            try {
+                while (queue.take() != END) ;
+            } catch (InterruptedException ignored) {
+            }
+        }
+    }
+
+    private void write(GameTrace trace) throws IOException {
+        if (trace.nRows == 0) return;
+        if (out != null && (chunkRows >= rowsPerChunk || chunkFeatures != trace.nFeatures)) {
+            closeChunk();
+        }
+        if (out == null) {
+            String fileName = String.format("%s_%05d.bin.gz", prefix, chunk++);
+            out = new BufferedOutputStream(new GZIPOutputStream(new FileOutputStream(fileName), 1 << 16), 1 << 16);
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            header.putInt(MAGIC).putInt(VERSION).putInt(trace.nFeatures).putInt(0);
+            out.write(header.array());
+            chunkFeatures = trace.nFeatures;
+            chunkRows = 0;
+        }
+        ByteBuffer rows = trace.rows;
+        int rowBytes = 4 * (ROW_INTS + trace.nFeatures);
+        for (int i = 0; i < trace.nRows; i++) {
+            rows.putInt(i * rowBytes, nGames);
+        }
+        out.write(rows.array(), 0, rows.limit());
+        chunkRows += trace.nRows;
+        nGames++;
+    }
+
+    private void closeChunk() throws IOException {
+        if (out != null) {
+            out.close();
+            out = null;
+        }
+    }
+
+    private void checkFailure() {
+        if (failure != null)
+            throw new AssertionError("Problem writing game traces to " + prefix + " : " + failure.getMessage(), failure);
+    }
+
+    /**
+     * @return - names of the chunk files written so far (the last one may still be open).
+     */
+    public List<String> getChunkFiles() {
+        List<String> files = new ArrayList<>();
+        for (int i = 0; new File(String.format("%s_%05d.bin.gz", prefix, i)).exists(); i++) {
+            files.add(String.format("%s_%05d.bin.gz", prefix, i));
+        }
+        return files;
+    }
+
+    /**
+     * Writes all games queued so far, closes the last chunk and stops the writer thread. Calling it again does nothing.
+     */
+    @Override
+    public synchronized void close() {
+        if (closed) return;
+        closed = true;
+        try {
+            queue.put(END);
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AssertionError("Interrupted while closing trace writer " + prefix);
+        }
+        checkFailure();
+    }
+}
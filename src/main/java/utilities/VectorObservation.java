@@ -13,6 +13,32 @@ public class VectorObservation<T> implements IPrintable {
         this.values = arrayValues;
     }
 
+    public T[] getValues() {
+        return values;
+    }
+
+    /**
+     * Converts the observation to numbers: numbers are kept, booleans become 0 or 1 and enum values their ordinal.
+     *
+     * @return - the observation as an array of doubles, one per value.
+     */
+    public double[] toDoubleArray() {
+        double[] result = new double[values.length];
+        for (int i = 0; i < values.length; i++) {
+            T v = values[i];
+            if (v instanceof Number) {
+                result[i] = ((Number) v).doubleValue();
+            } else if (v instanceof Boolean) {
+                result[i] = (Boolean) v ? 1 : 0;
+            } else if (v instanceof Enum) {
+                result[i] = ((Enum<?>) v).ordinal();
+            } else {
+                throw new IllegalArgumentException("Value " + v + " at index " + i + " can not be converted to a number");
+            }
+        }
+        return result;
+    }
+
     @Override
     public void printToConsole(AbstractGameState gameState) {
         System.out.println(Arrays.toString(values));
@@ -0,0 +1,139 @@
+package utilities.test;
+
+import org.junit.*;
+import utilities.FastRandom;
+
+import java.io.*;
+import java.util.SplittableRandom;
+
+import static org.junit.Assert.*;
+
+public class FastRandomSequences {
+
+    @Test
+    public void sameSeedSameSequence() {
+        FastRandom a = new FastRandom(42);
+        FastRandom b = new FastRandom(42);
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(a.nextLong(), b.nextLong());
+            assertEquals(a.nextInt(17), b.nextInt(17));
+            assertEquals(a.nextDouble(), b.nextDouble(), 0);
+            assertEquals(a.nextGaussian(), b.nextGaussian(), 0);
+        }
+    }
+
+    @Test
+    public void sameNumbersAsSplittableRandom() {
+        FastRandom fast = new FastRandom(8721);
+        SplittableRandom splittable = new SplittableRandom(8721);
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(splittable.nextLong(), fast.nextLong());
+            assertEquals(splittable.nextInt(), fast.nextInt());
+            assertEquals(splittable.nextInt(1000), fast.nextInt(1000));
+            assertEquals(splittable.nextInt(64), fast.nextInt(64));
+            assertEquals(splittable.nextDouble(), fast.nextDouble(), 0);
+            assertEquals(splittable.nextBoolean(), fast.nextBoolean());
+        }
+    }
+
+    @Test
+    public void splitSameAsSplittableRandom() {
+        FastRandom fast = new FastRandom(-5);
+        SplittableRandom splittable = new SplittableRandom(-5);
+        FastRandom fastChild = fast.split();
+        SplittableRandom splittableChild = splittable.split();
+        for (int i = 0; i < 100; i++) {
+            assertEquals(splittableChild.nextLong(), fastChild.nextLong());
+            assertEquals(splittable.nextLong(), fast.nextLong());
+        }
+    }
+
+    @Test
+    public void splitIsReproducibleAndIndependent() {
+        FastRandom a = new FastRandom(3).split();
+        FastRandom b = new FastRandom(3).split();
+        FastRandom parent = new FastRandom(3);
+        FastRandom sibling1 = parent.split();
+        FastRandom sibling2 = parent.split();
+        boolean differ = false;
+        for (int i = 0; i < 100; i++) {
+            assertEquals(a.nextLong(), b.nextLong());
+            long x = sibling1.nextLong();
+            long y = sibling2.nextLong();
+            differ |= x != y;
+        }
+        assertTrue(differ);
+    }
+
+    @Test
+    public void setSeedRestartsSequence() {
+        FastRandom a = new FastRandom(11);
+        long first = a.nextLong();
+        a.nextGaussian();  // Leaves a second gaussian pending
+        a.setSeed(11);
+        assertEquals(first, a.nextLong());
+        FastRandom b = new FastRandom(11);
+        b.nextLong();
+        assertEquals(b.nextGaussian(), a.nextGaussian(), 0);
+    }
+
+    @Test
+    public void valuesInRange() {
+        FastRandom rnd = new FastRandom(99);
+        int[] counts = new int[6];
+        for (int i = 0; i < 60000; i++) {
+            int r = rnd.nextInt(6);
+            assertTrue(r >= 0 && r < 6);
+            counts[r]++;
+            double d = rnd.nextDouble();
+            assertTrue(d >= 0 && d < 1);
+            float f = rnd.nextFloat();
+            assertTrue(f >= 0 && f < 1);
+        }
+        for (int c : counts) {
+            assertEquals(10000.0, c, 500.0);
+        }
+    }
+
+    @Test
+    public void gaussianDistribution() {
+        FastRandom rnd = new FastRandom(1234);
+        double sum = 0, sumSq = 0;
+        int n = 100000;
+        for (int i = 0; i < n; i++) {
+            double g = rnd.nextGaussian();
+            sum += g;
+            sumSq += g * g;
+        }
+        double mean = sum / n;
+        assertEquals(0, mean, 0.02);
+        assertEquals(1, sumSq / n - mean * mean, 0.02);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void boundMustBePositive() {
+        new FastRandom(1).nextInt(0);
+    }
+
+    @Test
+    public void unseededGeneratorsDiffer() {
+        assertNotEquals(new FastRandom().nextLong(), new FastRandom().nextLong());
+    }
+
+    @Test
+    public void serialisedGeneratorContinuesSequence() throws IOException, ClassNotFoundException {
+        FastRandom rnd = new FastRandom(77);
+        rnd.nextLong();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(rnd);
+        }
+        FastRandom read;
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            read = (FastRandom) in.readObject();
+        }
+        for (int i = 0; i < 10; i++) {
+            assertEquals(rnd.nextLong(), read.nextLong());
+        }
+    }
+}